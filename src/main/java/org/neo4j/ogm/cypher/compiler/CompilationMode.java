@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.cypher.compiler;
+
+/**
+ * Determines the shape of the Cypher that a {@link SingleStatementCypherCompiler} builds for an object graph.
+ */
+public enum CompilationMode {
+
+    /**
+     * The whole object graph is saved by one statement, written out for the nodes and relationships it contains.
+     * This is the default.
+     */
+    SINGLE_STATEMENT,
+
+    /**
+     * The object graph is saved by a few statements taken from a small, fixed set of templates, one for each kind of
+     * change and label set or relationship type, whose rows are passed as a parameter. The same object graph shape
+     * always produces the same statement text, so the database can reuse the plans it has cached for it.
+     * <p>
+     * Relationships to nodes that are created by the same save need the ids of those nodes, so they are sent in a
+     * second request to the same transaction.
+     * </p>
+     */
+    TEMPLATED
+}
@@ -16,6 +16,7 @@ package org.neo4j.ogm.cypher.compiler;
 
 import org.neo4j.ogm.cypher.statement.ParameterisedStatement;
 import org.neo4j.ogm.mapper.MappedRelationship;
+import org.neo4j.ogm.mapper.RelationshipRegister;
 
 import java.util.*;
 
@@ -32,13 +33,21 @@ public class CypherContext {
     private final Set<Long> visitedRelationshipEntities = new HashSet<>();
 
     private final Map<String, Object> createdObjects = new HashMap<>();
-    private final Collection<MappedRelationship> registeredRelationships = new HashSet<>();
+    // the relationships known to the session, which this context sees through rather than copies:
+    // the registered relationships are those in the session that have not been deregistered, plus
+    // those registered in this context that the session does not know about
+    private RelationshipRegister mappedRelationships = new RelationshipRegister();
+    private final Set<MappedRelationship> deregisteredRelationships = new LinkedHashSet<>();
+    private final RelationshipRegister registeredRelationships = new RelationshipRegister();
     private final Collection<MappedRelationship> deletedRelationships = new HashSet<>();
 
 
     private final Collection<Object> log = new HashSet<>();
 
     private List<ParameterisedStatement> statements;
+    private DependentStatements dependentStatements;
+
+    private final Map<String, Long> identities = new HashMap<>();
 
     public boolean visited(Long obj) {
         return this.visitedObjects.containsKey(obj);
@@ -48,12 +57,60 @@ public class CypherContext {
         this.visitedObjects.put(toPersist, nodeBuilder);
     }
 
+    /**
+     * Sets the relationships already known to the session, which are registered in this context until they are
+     * deregistered. The session's register is consulted as it stands, so none of it needs to be copied here.
+     *
+     * @param mappedRelationships the session's {@link RelationshipRegister}
+     */
+    public void setMappedRelationships(RelationshipRegister mappedRelationships) {
+        this.mappedRelationships = mappedRelationships;
+    }
+
     public void registerRelationship(MappedRelationship mappedRelationship) {
-        this.registeredRelationships.add(mappedRelationship);
+        if (mappedRelationships.contains(mappedRelationship)) {
+            this.deregisteredRelationships.remove(mappedRelationship);
+        } else {
+            this.registeredRelationships.add(mappedRelationship);
+        }
     }
 
     public boolean removeRegisteredRelationship(MappedRelationship mappedRelationship) {
-        return this.registeredRelationships.remove(mappedRelationship);
+        if (this.registeredRelationships.remove(mappedRelationship)) {
+            return true;
+        }
+        return mappedRelationships.contains(mappedRelationship) && this.deregisteredRelationships.add(mappedRelationship);
+    }
+
+    /**
+     * Removes a relationship from the session without it being considered obsolete. It remains registered in
+     * this context unless it has already been deregistered.
+     *
+     * @param mappedRelationship the relationship to forget
+     * @return true if the session knew about the relationship, false otherwise
+     */
+    public boolean forgetRelationship(MappedRelationship mappedRelationship) {
+        if (!mappedRelationships.remove(mappedRelationship)) {
+            return false;
+        }
+        if (!this.deregisteredRelationships.remove(mappedRelationship)) {
+            this.registeredRelationships.add(mappedRelationship);
+        }
+        return true;
+    }
+
+    /**
+     * @return the relationships known to the session that have been deregistered in this context and not
+     * registered again, and which therefore no longer exist in the domain
+     */
+    public Collection<MappedRelationship> obsoleteRelationships() {
+        List<MappedRelationship> obsolete = new ArrayList<>();
+        for (MappedRelationship mappedRelationship : deregisteredRelationships) {
+            if (mappedRelationships.contains(mappedRelationship)) {
+                obsolete.add(mappedRelationship);
+            }
+        }
+        return obsolete;
     }
 
     public NodeBuilder nodeBuilder(Long obj) {
@@ -61,7 +118,8 @@ public class CypherContext {
     }
 
     public boolean isRegisteredRelationship(MappedRelationship mappedRelationship) {
-        return this.registeredRelationships.contains(mappedRelationship);
+        return this.registeredRelationships.contains(mappedRelationship)
+                || (mappedRelationships.contains(mappedRelationship) && !deregisteredRelationships.contains(mappedRelationship));
     }
 
     public void setStatements(List<ParameterisedStatement> statements) {
@@ -72,6 +130,41 @@ public class CypherContext {
         return this.statements;
     }
 
+    void setDependentStatements(DependentStatements dependentStatements) {
+        this.dependentStatements = dependentStatements;
+    }
+
+    /**
+     * @return true if there are statements still to be executed once the ids of the new objects created by the
+     * current statements are known
+     */
+    public boolean hasDependentStatements() {
+        return dependentStatements != null;
+    }
+
+    /**
+     * Replaces the statements that have been executed with the ones that depend on them, now that the ids of the
+     * new objects they created have been registered.
+     */
+    public void compileDependentStatements() {
+        this.statements = dependentStatements.compile(identities);
+        this.dependentStatements = null;
+    }
+
+    /**
+     * Records the id given by the database to the new node or relationship with the given cypher name.
+     */
+    public void registerIdentity(String cypherName, Long identity) {
+        identities.put(cypherName, identity);
+    }
+
+    /**
+     * @return the ids of all the new nodes and relationships created so far, keyed by their cypher names
+     */
+    public Map<String, Long> identities() {
+        return identities;
+    }
+
     public void registerNewObject(String cypherName, Object toPersist) {
         createdObjects.put(cypherName, toPersist);
     }
@@ -81,7 +174,13 @@ public class CypherContext {
     }
 
     public Collection<MappedRelationship> registeredRelationships() {
-        return registeredRelationships;
+        Set<MappedRelationship> registered = new HashSet<>(registeredRelationships);
+        for (MappedRelationship mappedRelationship : mappedRelationships) {
+            if (!deregisteredRelationships.contains(mappedRelationship)) {
+                registered.add(mappedRelationship);
+            }
+        }
+        return registered;
     }
 
     public void log(Object object) {
@@ -112,14 +211,12 @@ public class CypherContext {
      * @return true if the relationship was deleted or doesn't exist in the graph, false otherwise
      */
     public boolean deregisterOutgoingRelationships(Long src, String relationshipType, Class endNodeType) {
-        Iterator<MappedRelationship> iterator = registeredRelationships.iterator();
         boolean nothingToDelete = true;
         List<MappedRelationship> cleared = new ArrayList<>();
-        while (iterator.hasNext()) {
-           MappedRelationship mappedRelationship = iterator.next();
-           if (mappedRelationship.getStartNodeId() == src && mappedRelationship.getRelationshipType().equals(relationshipType) && endNodeType.equals(mappedRelationship.getEndNodeType())) {
+        for (MappedRelationship mappedRelationship : registeredRelationships(true, src, relationshipType)) {
+           if (endNodeType.equals(mappedRelationship.getEndNodeType())) {
                cleared.add(mappedRelationship);
-               iterator.remove();
+               removeRegisteredRelationship(mappedRelationship);
                nothingToDelete = false;
            }
         }
@@ -128,7 +225,7 @@ public class CypherContext {
         }
 
         //Check to see if the relationships were previously deleted, if so, restore them
-        iterator = cleared.iterator();
+        Iterator<MappedRelationship> iterator = cleared.iterator();
         while(iterator.hasNext()) {
             MappedRelationship mappedRelationship = iterator.next();
             if(isMappedRelationshipAlreadyDeleted(mappedRelationship)) {
@@ -162,14 +259,12 @@ public class CypherContext {
      * @return true if the relationship was deleted or doesn't exist in the graph, false otherwise
      */
     public boolean deregisterIncomingRelationships(Long tgt, String relationshipType, Class endNodeType, boolean relationshipEntity) {
-        Iterator<MappedRelationship> iterator = registeredRelationships.iterator();
         List<MappedRelationship> cleared = new ArrayList<>();
         boolean nothingToDelete = true;
-        while (iterator.hasNext()) {
-            MappedRelationship mappedRelationship = iterator.next();
-            if (mappedRelationship.getEndNodeId() == tgt && mappedRelationship.getRelationshipType().equals(relationshipType) && endNodeType.equals(relationshipEntity?mappedRelationship.getEndNodeType():mappedRelationship.getStartNodeType())) {
+        for (MappedRelationship mappedRelationship : registeredRelationships(false, tgt, relationshipType)) {
+            if (endNodeType.equals(relationshipEntity?mappedRelationship.getEndNodeType():mappedRelationship.getStartNodeType())) {
                 cleared.add(mappedRelationship);
-                iterator.remove();
+                removeRegisteredRelationship(mappedRelationship);
                 nothingToDelete=false;
             }
         }
@@ -179,7 +274,7 @@ public class CypherContext {
         }
 
         //Check to see if the relationships were previously deleted, if so, restore them
-        iterator = cleared.iterator();
+        Iterator<MappedRelationship> iterator = cleared.iterator();
         while(iterator.hasNext()) {
             MappedRelationship mappedRelationship = iterator.next();
             if(isMappedRelationshipAlreadyDeleted(mappedRelationship)) {
@@ -203,6 +298,17 @@ public class CypherContext {
         return visitedRelationshipEntities.contains(relationshipEntity);
     }
 
+    private List<MappedRelationship> registeredRelationships(boolean outgoing, Long nodeId, String relationshipType) {
+        List<MappedRelationship> registered = new ArrayList<>();
+        for (MappedRelationship mappedRelationship : outgoing ? mappedRelationships.outgoing(nodeId, relationshipType) : mappedRelationships.incoming(nodeId, relationshipType)) {
+            if (!deregisteredRelationships.contains(mappedRelationship)) {
+                registered.add(mappedRelationship);
+            }
+        }
+        registered.addAll(outgoing ? registeredRelationships.outgoing(nodeId, relationshipType) : registeredRelationships.incoming(nodeId, relationshipType));
+        return registered;
+    }
+
     private boolean isMappedRelationshipAlreadyDeleted(MappedRelationship mappedRelationship) {
         for (MappedRelationship deletedRelationship : deletedRelationships) {
             if (deletedRelationship.getEndNodeId() == mappedRelationship.getEndNodeId() && deletedRelationship.getStartNodeId() == mappedRelationship.getStartNodeId() && deletedRelationship.getRelationshipType().equals(mappedRelationship.getRelationshipType())) {
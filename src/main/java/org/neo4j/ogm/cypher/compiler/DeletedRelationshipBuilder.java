@@ -37,6 +37,22 @@ public class DeletedRelationshipBuilder implements CypherEmitter, Comparable<Del
         this.relId = relId;
     }
 
+    String getType() {
+        return type;
+    }
+
+    String getStartNodeIdentifier() {
+        return src;
+    }
+
+    String getEndNodeIdentifier() {
+        return tgt;
+    }
+
+    Long getRelationshipId() {
+        return relId;
+    }
+
     public boolean emit(StringBuilder queryBuilder, Map<String, Object> parameters, Set<String> varStack) {
 
         if (!varStack.isEmpty()) {
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.cypher.compiler;
+
+import java.util.List;
+import java.util.Map;
+
+import org.neo4j.ogm.cypher.statement.ParameterisedStatement;
+
+/**
+ * Statements that cannot be compiled until the statements they follow have been executed, because they refer to
+ * nodes created by them.
+ */
+interface DependentStatements {
+
+    /**
+     * @param identities the ids of the newly created nodes and relationships, keyed by their references
+     * @return the statements, with every reference to a new node replaced by its id
+     */
+    List<ParameterisedStatement> compile(Map<String, Long> identities);
+}
@@ -14,6 +14,7 @@
 
 package org.neo4j.ogm.cypher.compiler;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
 
@@ -41,6 +42,15 @@ class ExistingNodeBuilder extends NodeBuilder {
         return this;
     }
 
+    @Override
+    public NodeBuilder mapChangedProperties(Object entity, ClassInfo classInfo, EntityAccessStrategy objectAccessStrategy, Collection<String> changedProperties) {
+        for (PropertyReader propertyReader : objectAccessStrategy.getPropertyReaders(classInfo)) {
+            if (changedProperties.contains(propertyReader.propertyName())) {
+                addProperty(propertyReader.propertyName(), propertyReader.read(entity));
+            }
+        }
+        return this;
+    }
 
     @Override
     public boolean emit(StringBuilder queryBuilder, Map<String, Object> parameters, Set<String> varStack) {
@@ -15,6 +15,7 @@
 package org.neo4j.ogm.cypher.compiler;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -62,6 +63,20 @@ public abstract class NodeBuilder implements CypherEmitter, Comparable<NodeBuild
 
     public abstract NodeBuilder mapProperties(Object toPersist, ClassInfo classInfo, EntityAccessStrategy objectAccessStrategy);
 
+    /**
+     * Maps the properties of the given object that have changed since it was last read from or written to the graph.
+     * Nodes that don't yet exist have no previous properties, so all their properties are mapped.
+     *
+     * @param toPersist the object whose properties are to be mapped
+     * @param classInfo metadata about the object
+     * @param objectAccessStrategy the {@link EntityAccessStrategy} used to read the properties
+     * @param changedProperties the names of the properties that have changed
+     * @return this {@link NodeBuilder}
+     */
+    public NodeBuilder mapChangedProperties(Object toPersist, ClassInfo classInfo, EntityAccessStrategy objectAccessStrategy, Collection<String> changedProperties) {
+        return mapProperties(toPersist, classInfo, objectAccessStrategy);
+    }
+
     @Override
     public String toString() {
         return "(" + cypherReference + ":" + this.labels + " " + this.props + ")";
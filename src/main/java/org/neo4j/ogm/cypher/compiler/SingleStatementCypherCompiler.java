@@ -25,12 +25,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Implementation of {@link CypherCompiler} that builds a single query for the object graph.
+ * Implementation of {@link CypherCompiler} that builds a single query for the object graph, or, in the
+ * {@link CompilationMode#TEMPLATED} mode, a few statements of fixed shape.
  *
  * @author Vince Bickers
  */
 public class SingleStatementCypherCompiler implements CypherCompiler {
 
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
     private final IdentifierManager identifiers = new IdentifierManager();
 
     private final Set<CypherEmitter> newNodes = new TreeSet<>();
@@ -43,12 +46,28 @@ public class SingleStatementCypherCompiler implements CypherCompiler {
     private final CypherContext context = new CypherContext();
 
     private final MetaData metaData; //TODO in OGM 2.0, we should remove this dependency on the MetaData when we refactor the compiler
+    private final CompilationMode compilationMode;
+    private final int batchSize;
 
     private final Logger logger = LoggerFactory.getLogger(SingleStatementCypherCompiler.class);
 
 
     public SingleStatementCypherCompiler(MetaData metaData) {
+        this(metaData, CompilationMode.SINGLE_STATEMENT, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param metaData The {@link MetaData} containing the mapping information
+     * @param compilationMode The shape of the statements to build
+     * @param batchSize The maximum number of rows passed to each statement in the {@link CompilationMode#TEMPLATED} mode
+     */
+    public SingleStatementCypherCompiler(MetaData metaData, CompilationMode compilationMode, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be at least 1, not " + batchSize);
+        }
         this.metaData = metaData;
+        this.compilationMode = compilationMode;
+        this.batchSize = batchSize;
     }
 
     @Deprecated
@@ -106,6 +125,10 @@ public class SingleStatementCypherCompiler implements CypherCompiler {
     @Override
     public List<ParameterisedStatement> getStatements() {
 
+        if (compilationMode == CompilationMode.TEMPLATED) {
+            return templates().getStatements();
+        }
+
         StringBuilder queryBuilder = new StringBuilder();
 
         Set<String> varStack = new TreeSet<>();
@@ -200,6 +223,12 @@ public class SingleStatementCypherCompiler implements CypherCompiler {
     @Override
     public CypherContext compile() {
         context.setStatements(getStatements());
+        if (compilationMode == CompilationMode.TEMPLATED) {
+            TemplateStatementBuilder templates = templates();
+            if (templates.hasDependentStatements()) {
+                context.setDependentStatements(templates);
+            }
+        }
         return context;
     }
 
@@ -213,6 +242,10 @@ public class SingleStatementCypherCompiler implements CypherCompiler {
         return identifiers.nextIdentifier();
     }
 
+    private TemplateStatementBuilder templates() {
+        return new TemplateStatementBuilder(newNodes, updatedNodes, newRelationships, updatedRelationships, deletedRelationships, batchSize);
+    }
+
     private boolean existingRelationshipQuery() {
         if (this.newNodes.isEmpty()
                 && this.updatedRelationships.isEmpty()
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.cypher.compiler;
+
+import java.util.*;
+
+import org.neo4j.ogm.cypher.statement.ParameterisedStatement;
+
+/**
+ * Builds the statements of the {@link CompilationMode#TEMPLATED} compilation mode.
+ * <p>
+ * Each kind of change is written as an UNWIND over a list of rows passed as the "rows" parameter, and rows whose
+ * template is the same are sent in a single statement. A template depends only on the kind of change and on the
+ * labels, relationship type and relationship property keys involved, never on the ids or the number of the objects
+ * saved, so the database sees the same few statements whatever the object graph. A template with more rows than the
+ * batch size is sent as several statements, each with at most that many rows.
+ * </p>
+ * Relationships to or from new nodes cannot be matched until the ids of those nodes are known, so they are left
+ * out of the statements and compiled as {@link DependentStatements} instead.
+ */
+class TemplateStatementBuilder implements DependentStatements {
+
+    private static final String NEW_NODE = "_";
+
+    private final Collection<CypherEmitter> newNodes;
+    private final Collection<CypherEmitter> updatedNodes;
+    private final Collection<CypherEmitter> newRelationships;
+    private final Collection<CypherEmitter> updatedRelationships;
+    private final Collection<CypherEmitter> deletedRelationships;
+    private final int batchSize;
+
+    TemplateStatementBuilder(Collection<CypherEmitter> newNodes, Collection<CypherEmitter> updatedNodes, Collection<CypherEmitter> newRelationships,
+                             Collection<CypherEmitter> updatedRelationships, Collection<CypherEmitter> deletedRelationships, int batchSize) {
+        this.newNodes = newNodes;
+        this.updatedNodes = updatedNodes;
+        this.newRelationships = newRelationships;
+        this.updatedRelationships = updatedRelationships;
+        this.deletedRelationships = deletedRelationships;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @return the statements that create and update the nodes, and create, update and delete the relationships
+     * between existing nodes
+     */
+    List<ParameterisedStatement> getStatements() {
+        List<ParameterisedStatement> statements = new ArrayList<>();
+
+        Templates created = new Templates();
+        for (CypherEmitter emitter : newNodes) {
+            NodeBuilder node = (NodeBuilder) emitter;
+            Map<String, Object> row = new HashMap<>();
+            row.put("ref", node.reference());
+            row.put("props", node.props);
+            created.add("UNWIND {rows} AS row CREATE (n" + labels(node) + ") SET n=row.props RETURN row.ref AS ref, id(n) AS id", row);
+        }
+        created.addTo(statements);
+
+        Templates updated = new Templates();
+        for (CypherEmitter emitter : updatedNodes) {
+            NodeBuilder node = (NodeBuilder) emitter;
+            if (!node.props.isEmpty()) {
+                Map<String, Object> row = new HashMap<>();
+                row.put("id", existingId(node.reference()));
+                row.put("props", node.props);
+                String setLabels = node.labels.isEmpty() ? "" : "n" + labels(node) + ", ";
+                updated.add("UNWIND {rows} AS row MATCH (n) WHERE id(n)=row.id SET " + setLabels + "n+=row.props", row);
+            }
+        }
+        updated.addTo(statements);
+
+        newRelationships(statements, Collections.<String, Long>emptyMap(), false);
+
+        Templates relationshipsUpdated = new Templates();
+        for (CypherEmitter emitter : updatedRelationships) {
+            RelationshipBuilder relationship = (RelationshipBuilder) emitter;
+            if (relationship.startNodeIdentifier != null && relationship.endNodeIdentifier != null && !relationship.props.isEmpty()) {
+                Map<String, Object> row = new HashMap<>();
+                row.put("startNodeId", existingId(relationship.startNodeIdentifier));
+                row.put("id", relationship.getId());
+                row.put("props", relationship.props);
+                relationshipsUpdated.add("UNWIND {rows} AS row MATCH (s)-[r]-() WHERE id(s)=row.startNodeId AND id(r)=row.id SET r+=row.props", row);
+            }
+        }
+        relationshipsUpdated.addTo(statements);
+
+        Templates relationshipsDeleted = new Templates();
+        for (CypherEmitter emitter : deletedRelationships) {
+            DeletedRelationshipBuilder relationship = (DeletedRelationshipBuilder) emitter;
+            Map<String, Object> row = new HashMap<>();
+            row.put("startNodeId", existingId(relationship.getStartNodeIdentifier()));
+            row.put("endNodeId", existingId(relationship.getEndNodeIdentifier()));
+            String matchId = "";
+            if (relationship.getRelationshipId() != null) {
+                row.put("id", relationship.getRelationshipId());
+                matchId = " AND id(r)=row.id";
+            }
+            relationshipsDeleted.add("UNWIND {rows} AS row MATCH (s)-[r:`" + relationship.getType() + "`]->(e) " +
+                    "WHERE id(s)=row.startNodeId AND id(e)=row.endNodeId" + matchId + " DELETE r", row);
+        }
+        relationshipsDeleted.addTo(statements);
+
+        return statements;
+    }
+
+    /**
+     * @return true if there are new relationships to or from new nodes, which need {@link DependentStatements}
+     */
+    boolean hasDependentStatements() {
+        for (CypherEmitter emitter : newRelationships) {
+            RelationshipBuilder relationship = (RelationshipBuilder) emitter;
+            if (isEmitted(relationship) && isDependent(relationship)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the statements that create the new relationships to or from new nodes
+     */
+    @Override
+    public List<ParameterisedStatement> compile(Map<String, Long> identities) {
+        List<ParameterisedStatement> statements = new ArrayList<>();
+        newRelationships(statements, identities, true);
+        return statements;
+    }
+
+    private void newRelationships(List<ParameterisedStatement> statements, Map<String, Long> identities, boolean dependent) {
+        Templates created = new Templates();
+        for (CypherEmitter emitter : newRelationships) {
+            RelationshipBuilder relationship = (RelationshipBuilder) emitter;
+            if (isEmitted(relationship) && isDependent(relationship) == dependent) {
+                Map<String, Object> row = new HashMap<>();
+                row.put("ref", relationship.getReference());
+                row.put("startNodeId", nodeId(relationship.startNodeIdentifier, identities));
+                row.put("endNodeId", nodeId(relationship.endNodeIdentifier, identities));
+                row.put("props", relationship.props);
+
+                String properties = properties(relationship);
+                StringBuilder template = new StringBuilder("UNWIND {rows} AS row MATCH (s) WHERE id(s)=row.startNodeId MATCH (e) WHERE id(e)=row.endNodeId");
+                template.append(" MERGE (s)-[r:`").append(relationship.type).append('`').append(properties).append("]->(e)");
+                if (relationship instanceof NewBiDirectionalRelationshipBuilder) {
+                    template.append(" MERGE (e)-[:`").append(relationship.type).append('`').append(properties).append("]->(s)");
+                }
+                template.append(" RETURN row.ref AS ref, id(r) AS id");
+                created.add(template.toString(), row);
+            }
+        }
+        created.addTo(statements);
+    }
+
+    private static boolean isEmitted(RelationshipBuilder relationship) {
+        // a relationship that isn't used to link any nodes is never written
+        return relationship.startNodeIdentifier != null && relationship.endNodeIdentifier != null;
+    }
+
+    private static boolean isDependent(RelationshipBuilder relationship) {
+        return relationship.startNodeIdentifier.startsWith(NEW_NODE) || relationship.endNodeIdentifier.startsWith(NEW_NODE);
+    }
+
+    private static Long nodeId(String identifier, Map<String, Long> identities) {
+        if (identifier.startsWith(NEW_NODE)) {
+            Long id = identities.get(identifier);
+            if (id == null) {
+                throw new RuntimeException("Couldn't get identity for " + identifier);
+            }
+            return id;
+        }
+        return existingId(identifier);
+    }
+
+    private static Long existingId(String identifier) {
+        return Long.parseLong(identifier.substring(1));
+    }
+
+    /**
+     * The labels are sorted, so that the same set of labels always gives the same template.
+     */
+    private static String labels(NodeBuilder node) {
+        StringBuilder labels = new StringBuilder();
+        for (String label : new TreeSet<>(node.labels)) {
+            labels.append(":`").append(label).append('`');
+        }
+        return labels.toString();
+    }
+
+    /**
+     * A relationship is merged on its non-null properties, so the keys of those properties are part of its template.
+     */
+    private static String properties(RelationshipBuilder relationship) {
+        Set<String> keys = new TreeSet<>();
+        for (Map.Entry<String, Object> property : relationship.props.entrySet()) {
+            if (property.getValue() != null) {
+                keys.add(property.getKey());
+            }
+        }
+        if (keys.isEmpty()) {
+            return "";
+        }
+        StringBuilder properties = new StringBuilder("{");
+        for (String key : keys) {
+            if (properties.length() > 1) {
+                properties.append(',');
+            }
+            properties.append('`').append(key).append("`:row.props.`").append(key).append('`');
+        }
+        return properties.append('}').toString();
+    }
+
+    /**
+     * The rows of each template, in the order in which the templates were first used.
+     */
+    private class Templates {
+
+        private final Map<String, List<Map<String, Object>>> rows = new LinkedHashMap<>();
+
+        void add(String template, Map<String, Object> row) {
+            List<Map<String, Object>> templateRows = rows.get(template);
+            if (templateRows == null) {
+                templateRows = new ArrayList<>();
+                rows.put(template, templateRows);
+            }
+            templateRows.add(row);
+        }
+
+        void addTo(List<ParameterisedStatement> statements) {
+            for (Map.Entry<String, List<Map<String, Object>>> template : rows.entrySet()) {
+                List<Map<String, Object>> templateRows = template.getValue();
+                for (int from = 0; from < templateRows.size(); from += batchSize) {
+                    List<Map<String, Object>> batch = templateRows.subList(from, Math.min(from + batchSize, templateRows.size()));
+                    statements.add(new ParameterisedStatement(template.getKey(), Collections.singletonMap("rows", batch)));
+                }
+            }
+        }
+    }
+}
@@ -20,6 +20,7 @@ import org.neo4j.ogm.cypher.query.SortOrder;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 /**
  * Simple encapsulation of a Cypher query and its parameters and other optional parts (paging/sort).
@@ -32,6 +33,8 @@ import java.util.Map;
  */
 public class ParameterisedStatement {
 
+    private static final Pattern WRITE_CYPHER_KEYWORDS = Pattern.compile("\\b(CREATE|MERGE|SET|DELETE|REMOVE)\\b");
+
     private String statement;
 
     private int withIndex;
@@ -114,6 +117,17 @@ public class ParameterisedStatement {
         return stmt;
     }
 
+    /**
+     * Classifies a Cypher statement by looking for the clauses that update the graph. A statement is only
+     * considered read-only if it contains none of them, even as part of an identifier or string literal.
+     *
+     * @param cypher The Cypher statement
+     * @return true if the statement does not update the graph
+     */
+    public static boolean isReadOnly(String cypher) {
+        return !WRITE_CYPHER_KEYWORDS.matcher(cypher.toUpperCase()).find();
+    }
+
     public Map<String, Object> getParameters() {
         return parameters;
     }
@@ -49,16 +49,6 @@ public class DefaultEntityAccessStrategy implements EntityAccessStrategy {
 
     private final Logger logger = LoggerFactory.getLogger(DefaultEntityAccessStrategy.class);
 
-    //TODO make these LRU caches with configurable size
-    private static Map<ClassInfo,Map<DirectedRelationship,RelationalReader>> relationalReaderCache = new HashMap<>();
-    private static Map<ClassInfo,Map<DirectedRelationshipForType,RelationalWriter>> relationalWriterCache = new HashMap<>();
-    private static Map<ClassInfo,Map<DirectedRelationshipForType,RelationalWriter>> iterableWriterCache = new HashMap<>();
-    private static Map<ClassInfo, Map<DirectedRelationshipForType,RelationalReader>> iterableReaderCache = new HashMap<>();
-    private static Map<ClassInfo, Map<String, EntityAccess>> propertyWriterCache = new HashMap<>();
-    private static Map<ClassInfo, Map<String, PropertyReader>> propertyReaderCache = new HashMap<>();
-    private static Map<ClassInfo,Collection<PropertyReader>> propertyReaders = new HashMap<>();
-    private static Map<ClassInfo,Collection<RelationalReader>> relationalReaders = new HashMap<>();
-
     private final boolean STRICT_MODE = true; //strict mode for matching readers and writers, will only look for explicit annotations
     private final boolean INFERRED_MODE = false; //inferred mode for matching readers and writers, will infer the relationship type from the getter/setter
 
@@ -72,51 +62,47 @@ public class DefaultEntityAccessStrategy implements EntityAccessStrategy {
 
     @Override
     public EntityAccess getPropertyWriter(final ClassInfo classInfo, String propertyName) {
-        if(!propertyWriterCache.containsKey(classInfo)) {
-            propertyWriterCache.put(classInfo,new HashMap<String, EntityAccess>());
-        }
-        if(propertyWriterCache.get(classInfo).containsKey(propertyName)) {
-            return propertyWriterCache.get(classInfo).get(propertyName);
+        EntityAccessPlan plan = plan(classInfo);
+        if (plan.propertyWriters.contains(propertyName)) {
+            return plan.propertyWriters.get(propertyName);
         }
 
         MethodInfo setterInfo = classInfo.propertySetter(propertyName);
         EntityAccess propertyWriter = determinePropertyAccessor(classInfo, propertyName, setterInfo, new AccessorFactory<EntityAccess>() {
             @Override
             public EntityAccess makeMethodAccessor(MethodInfo methodInfo) {
-                return new MethodWriter(classInfo, methodInfo);
+                return methodWriter(classInfo, methodInfo);
             }
 
             @Override
             public EntityAccess makeFieldAccessor(FieldInfo fieldInfo) {
-                return new FieldWriter(classInfo, fieldInfo);
+                return fieldWriter(classInfo, fieldInfo);
             }
         });
-        propertyWriterCache.get(classInfo).put(propertyName, propertyWriter);
+        plan.propertyWriters.put(propertyName, propertyWriter);
         return propertyWriter;
     }
 
     @Override
     public PropertyReader getPropertyReader(final ClassInfo classInfo, String propertyName) {
-        if(!propertyReaderCache.containsKey(classInfo)) {
-            propertyReaderCache.put(classInfo, new HashMap<String, PropertyReader>());
-        }
-        if(propertyReaderCache.get(classInfo).containsKey(propertyName)) {
-            return propertyReaderCache.get(classInfo).get(propertyName);
+        EntityAccessPlan plan = plan(classInfo);
+        if (plan.propertyReadersByName.contains(propertyName)) {
+            return plan.propertyReadersByName.get(propertyName);
         }
 
         MethodInfo getterInfo = classInfo.propertyGetter(propertyName);
         PropertyReader propertyReader =  determinePropertyAccessor(classInfo, propertyName, getterInfo, new AccessorFactory<PropertyReader>() {
             @Override
             public PropertyReader makeMethodAccessor(MethodInfo methodInfo) {
-                return new MethodReader(classInfo, methodInfo);
+                return methodReader(classInfo, methodInfo);
             }
 
             @Override
             public PropertyReader makeFieldAccessor(FieldInfo fieldInfo) {
-                return new FieldReader(classInfo, fieldInfo);
+                return fieldReader(classInfo, fieldInfo);
             }
         });
-        propertyReaderCache.get(classInfo).put(propertyName, propertyReader);
+        plan.propertyReadersByName.put(propertyName, propertyReader);
         return propertyReader;
     }
 
@@ -143,12 +129,10 @@ public class DefaultEntityAccessStrategy implements EntityAccessStrategy {
 
 	@Override
 	public RelationalWriter getRelationalWriter(ClassInfo classInfo, String relationshipType, String relationshipDirection, Object scalarValue) {
-		if (!relationalWriterCache.containsKey(classInfo)) {
-			relationalWriterCache.put(classInfo, new HashMap<DirectedRelationshipForType, RelationalWriter>());
-		}
+		EntityAccessPlan plan = plan(classInfo);
 		DirectedRelationshipForType directedRelationship = new DirectedRelationshipForType(relationshipType, relationshipDirection, scalarValue.getClass());
-		if (relationalWriterCache.get(classInfo).containsKey(directedRelationship)) {
-			return relationalWriterCache.get(classInfo).get(directedRelationship);
+		if (plan.relationalWriters.contains(directedRelationship)) {
+			return plan.relationalWriters.get(directedRelationship);
 		}
 		// 1st, try to find a scalar method which is explicitly annotated with the relationship type and direction
 		for (MethodInfo methodInfo : classInfo.candidateRelationshipSetters(relationshipType, relationshipDirection, STRICT_MODE)) {
@@ -157,8 +141,8 @@ public class DefaultEntityAccessStrategy implements EntityAccessStrategy {
 				if (methodInfo.isTypeOf(scalarValue.getClass()) ||
 						methodInfo.isParameterisedTypeOf(scalarValue.getClass()) ||
 						methodInfo.isArrayOf(scalarValue.getClass())) {
-					MethodWriter methodWriter = new MethodWriter(classInfo, methodInfo);
-					relationalWriterCache.get(classInfo).put(directedRelationship, methodWriter);
+					MethodWriter methodWriter = methodWriter(classInfo, methodInfo);
+					plan.relationalWriters.put(directedRelationship, methodWriter);
 					return methodWriter;
 				}
 			}
@@ -170,8 +154,8 @@ public class DefaultEntityAccessStrategy implements EntityAccessStrategy {
 				if (fieldInfo.isTypeOf(scalarValue.getClass()) ||
 						fieldInfo.isParameterisedTypeOf(scalarValue.getClass()) ||
 						fieldInfo.isArrayOf(scalarValue.getClass())) {
-					FieldWriter fieldWriter = new FieldWriter(classInfo, fieldInfo);
-					relationalWriterCache.get(classInfo).put(directedRelationship, fieldWriter);
+					FieldWriter fieldWriter = fieldWriter(classInfo, fieldInfo);
+					plan.relationalWriters.put(directedRelationship, fieldWriter);
 					return fieldWriter;
 				}
 			}
@@ -187,8 +171,8 @@ public class DefaultEntityAccessStrategy implements EntityAccessStrategy {
 					if (methodInfo.isTypeOf(scalarValue.getClass()) ||
 							methodInfo.isParameterisedTypeOf(scalarValue.getClass()) ||
 							methodInfo.isArrayOf(scalarValue.getClass())) {
-						MethodWriter methodWriter = new MethodWriter(classInfo, methodInfo);
-						relationalWriterCache.get(classInfo).put(directedRelationship, methodWriter);
+						MethodWriter methodWriter = methodWriter(classInfo, methodInfo);
+						plan.relationalWriters.put(directedRelationship, methodWriter);
 						return methodWriter;
 					}
 				}
@@ -200,8 +184,8 @@ public class DefaultEntityAccessStrategy implements EntityAccessStrategy {
 					if (fieldInfo.isTypeOf(scalarValue.getClass()) ||
 							fieldInfo.isParameterisedTypeOf(scalarValue.getClass()) ||
 							fieldInfo.isArrayOf(scalarValue.getClass())) {
-						FieldWriter fieldWriter = new FieldWriter(classInfo, fieldInfo);
-						relationalWriterCache.get(classInfo).put(directedRelationship, fieldWriter);
+						FieldWriter fieldWriter = fieldWriter(classInfo, fieldInfo);
+						plan.relationalWriters.put(directedRelationship, fieldWriter);
 						return fieldWriter;
 					}
 				}
@@ -213,8 +197,8 @@ public class DefaultEntityAccessStrategy implements EntityAccessStrategy {
 					if (methodInfo.isTypeOf(scalarValue.getClass()) ||
 							methodInfo.isParameterisedTypeOf(scalarValue.getClass()) ||
 							methodInfo.isArrayOf(scalarValue.getClass())) {
-						MethodWriter methodWriter = new MethodWriter(classInfo, methodInfo);
-						relationalWriterCache.get(classInfo).put(directedRelationship, methodWriter);
+						MethodWriter methodWriter = methodWriter(classInfo, methodInfo);
+						plan.relationalWriters.put(directedRelationship, methodWriter);
 						return methodWriter;
 					}
 				}
@@ -226,8 +210,8 @@ public class DefaultEntityAccessStrategy implements EntityAccessStrategy {
 					if (fieldInfo.isTypeOf(scalarValue.getClass()) ||
 							fieldInfo.isParameterisedTypeOf(scalarValue.getClass()) ||
 							fieldInfo.isArrayOf(scalarValue.getClass())) {
-						FieldWriter fieldWriter = new FieldWriter(classInfo, fieldInfo);
-						relationalWriterCache.get(classInfo).put(directedRelationship, fieldWriter);
+						FieldWriter fieldWriter = fieldWriter(classInfo, fieldInfo);
+						plan.relationalWriters.put(directedRelationship, fieldWriter);
 						return fieldWriter;
 					}
 				}
@@ -238,8 +222,8 @@ public class DefaultEntityAccessStrategy implements EntityAccessStrategy {
 			if (methodInfos.size() == 1) {
 				MethodInfo candidateMethodInfo = methodInfos.iterator().next();
 				if (!candidateMethodInfo.relationshipDirection(Relationship.UNDIRECTED).equals(Relationship.INCOMING)) {
-					MethodWriter methodWriter = new MethodWriter(classInfo, candidateMethodInfo);
-					relationalWriterCache.get(classInfo).put(directedRelationship, methodWriter);
+					MethodWriter methodWriter = methodWriter(classInfo, candidateMethodInfo);
+					plan.relationalWriters.put(directedRelationship, methodWriter);
 					return methodWriter;
 				}
 			}
@@ -249,39 +233,37 @@ public class DefaultEntityAccessStrategy implements EntityAccessStrategy {
 			if (fieldInfos.size() == 1) {
 				FieldInfo candidateFieldInfo = fieldInfos.iterator().next();
 				if (!candidateFieldInfo.relationshipDirection(Relationship.UNDIRECTED).equals(Relationship.INCOMING)) {
-					FieldWriter fieldWriter = new FieldWriter(classInfo, candidateFieldInfo);
-					relationalWriterCache.get(classInfo).put(directedRelationship, fieldWriter);
+					FieldWriter fieldWriter = fieldWriter(classInfo, candidateFieldInfo);
+					plan.relationalWriters.put(directedRelationship, fieldWriter);
 					return fieldWriter;
 				}
 			}
 		}
-		relationalWriterCache.get(classInfo).put(directedRelationship, null);
+		plan.relationalWriters.put(directedRelationship, null);
 		return null;
 	}
 
     @Override
     public RelationalReader getRelationalReader(ClassInfo classInfo, String relationshipType, String relationshipDirection) {
-        if(!relationalReaderCache.containsKey(classInfo)) {
-            relationalReaderCache.put(classInfo, new HashMap<DirectedRelationship, RelationalReader>());
-        }
+        EntityAccessPlan plan = plan(classInfo);
         DirectedRelationship directedRelationship = new DirectedRelationship(relationshipType,relationshipDirection);
-        if(relationalReaderCache.get(classInfo).containsKey(directedRelationship)) {
-            return relationalReaderCache.get(classInfo).get(directedRelationship);
+        if (plan.relationalReadersByType.contains(directedRelationship)) {
+            return plan.relationalReadersByType.get(directedRelationship);
         }
 
         // 1st, try to find a method explicitly annotated with the relationship type and direction.
         MethodInfo methodInfo = classInfo.relationshipGetter(relationshipType, relationshipDirection, STRICT_MODE);
         if (methodInfo != null && !methodInfo.getAnnotations().isEmpty()) {
-            MethodReader methodReader = new MethodReader(classInfo, methodInfo);
-            relationalReaderCache.get(classInfo).put(directedRelationship, methodReader);
+            MethodReader methodReader = methodReader(classInfo, methodInfo);
+            plan.relationalReadersByType.put(directedRelationship, methodReader);
             return methodReader;
         }
 
         // 2nd, try to find a field explicitly annotated with the neo4j relationship type and direction
         FieldInfo fieldInfo = classInfo.relationshipField(relationshipType, relationshipDirection, STRICT_MODE);
         if (fieldInfo != null && !fieldInfo.getAnnotations().isEmpty()) {
-            FieldReader fieldReader =  new FieldReader(classInfo, fieldInfo);
-            relationalReaderCache.get(classInfo).put(directedRelationship, fieldReader);
+            FieldReader fieldReader =  fieldReader(classInfo, fieldInfo);
+            plan.relationalReadersByType.put(directedRelationship, fieldReader);
             return fieldReader;
         }
 
@@ -292,78 +274,121 @@ public class DefaultEntityAccessStrategy implements EntityAccessStrategy {
             // 3rd, try to find a method  annotated with the relationship type and direction, allowing for implied relationships
             methodInfo = classInfo.relationshipGetter(relationshipType, relationshipDirection, INFERRED_MODE);
             if (methodInfo != null && !methodInfo.getAnnotations().isEmpty()) {
-                MethodReader methodReader = new MethodReader(classInfo, methodInfo);
-                relationalReaderCache.get(classInfo).put(directedRelationship, methodReader);
+                MethodReader methodReader = methodReader(classInfo, methodInfo);
+                plan.relationalReadersByType.put(directedRelationship, methodReader);
                 return methodReader;
             }
 
             // 4th, try to find a field  annotated with the neo4j relationship type and direction, allowing for implied relationships
             fieldInfo = classInfo.relationshipField(relationshipType, relationshipDirection, INFERRED_MODE);
             if (fieldInfo != null && !fieldInfo.getAnnotations().isEmpty()) {
-                FieldReader fieldReader = new FieldReader(classInfo, fieldInfo);
-                relationalReaderCache.get(classInfo).put(directedRelationship, fieldReader);
+                FieldReader fieldReader = fieldReader(classInfo, fieldInfo);
+                plan.relationalReadersByType.put(directedRelationship, fieldReader);
                 return fieldReader;
             }
 
 
             // 5th, try to find a "getXYZ" method where XYZ is derived from the given relationship type
             if (methodInfo != null) {
-                MethodReader methodReader =  new MethodReader(classInfo, methodInfo);
-                relationalReaderCache.get(classInfo).put(directedRelationship, methodReader);
+                MethodReader methodReader =  methodReader(classInfo, methodInfo);
+                plan.relationalReadersByType.put(directedRelationship, methodReader);
                 return methodReader;
             }
 
             // 6th, try to find a "XYZ" field name where XYZ is derived from the relationship type
             if (fieldInfo != null) {
-                FieldReader fieldReader =  new FieldReader(classInfo, fieldInfo);
-                relationalReaderCache.get(classInfo).put(directedRelationship, fieldReader);
+                FieldReader fieldReader =  fieldReader(classInfo, fieldInfo);
+                plan.relationalReadersByType.put(directedRelationship, fieldReader);
                 return fieldReader;
             }
         }
-        relationalReaderCache.get(classInfo).put(directedRelationship, null);
+        plan.relationalReadersByType.put(directedRelationship, null);
         return null;
     }
 
     @Override
     public Collection<PropertyReader> getPropertyReaders(ClassInfo classInfo) {
+        return plan(classInfo).propertyReaders;
+    }
+
+    @Override
+    public Collection<RelationalReader> getRelationalReaders(ClassInfo classInfo) {
+        return plan(classInfo).relationalReaders;
+    }
+
+    /**
+     * Returns the plan for accessing instances of the given class, making it if the class hasn't been accessed before
+     * by a strategy of this kind.
+     */
+    private EntityAccessPlan plan(ClassInfo classInfo) {
+        EntityAccessPlan plan = (EntityAccessPlan) classInfo.attachment(getClass());
+        if (plan == null) {
+            // threads that get here together make equivalent plans, and whichever is set last is kept
+            plan = new EntityAccessPlan(propertyReaders(classInfo), relationalReaders(classInfo));
+            classInfo.attach(getClass(), plan);
+        }
+        return plan;
+    }
+
+    /**
+     * Makes the writer that sets a property or relationship through the given setter.
+     * Subclasses override this and the other accessor factory methods to change how members are accessed.
+     */
+    protected MethodWriter methodWriter(ClassInfo classInfo, MethodInfo methodInfo) {
+        return new MethodWriter(classInfo, methodInfo);
+    }
+
+    /**
+     * Makes the writer that assigns a property or relationship to the given field.
+     */
+    protected FieldWriter fieldWriter(ClassInfo classInfo, FieldInfo fieldInfo) {
+        return new FieldWriter(classInfo, fieldInfo);
+    }
+
+    /**
+     * Makes the reader that reads a property or relationship through the given getter.
+     */
+    protected MethodReader methodReader(ClassInfo classInfo, MethodInfo methodInfo) {
+        return new MethodReader(classInfo, methodInfo);
+    }
+
+    /**
+     * Makes the reader that reads a property or relationship from the given field.
+     */
+    protected FieldReader fieldReader(ClassInfo classInfo, FieldInfo fieldInfo) {
+        return new FieldReader(classInfo, fieldInfo);
+    }
+
+    private PropertyReader[] propertyReaders(ClassInfo classInfo) {
         // do we care about "implicit" fields?  i.e., setX/getX with no matching X field
-        if(propertyReaders.containsKey(classInfo)) {
-            return propertyReaders.get(classInfo);
-        }
-        Collection<PropertyReader> readers = new ArrayList<>();
+        List<PropertyReader> readers = new ArrayList<>();
         for (FieldInfo fieldInfo : classInfo.propertyFields()) {
             MethodInfo getterInfo = classInfo.propertyGetter(fieldInfo.property());
             if (getterInfo != null) { //if we have a getter
                 if (getterInfo.hasAnnotation(Property.CLASS) || fieldInfo.getAnnotations().isEmpty()) { //and the getter is annotated with @Property OR the field is not annotated
-                    readers.add(new MethodReader(classInfo, getterInfo)); //use the getter
+                    readers.add(methodReader(classInfo, getterInfo)); //use the getter
                     continue;
                 }
             }
-            readers.add(new FieldReader(classInfo, fieldInfo)); //otherwise use the field
+            readers.add(fieldReader(classInfo, fieldInfo)); //otherwise use the field
         }
-        propertyReaders.put(classInfo, readers);
-        return readers;
+        return readers.toArray(new PropertyReader[readers.size()]);
     }
 
-    @Override
-    public Collection<RelationalReader> getRelationalReaders(ClassInfo classInfo) {
-        if(relationalReaders.containsKey(classInfo)) {
-            return relationalReaders.get(classInfo);
-        }
-        Collection<RelationalReader> readers = new ArrayList<>();
+    private RelationalReader[] relationalReaders(ClassInfo classInfo) {
+        List<RelationalReader> readers = new ArrayList<>();
 
         for (FieldInfo fieldInfo : classInfo.relationshipFields()) {
             MethodInfo getterInfo = classInfo.methodsInfo().get(inferGetterName(fieldInfo));
             if (getterInfo != null) {
                 if (getterInfo.hasAnnotation(Relationship.CLASS) || !fieldInfo.hasAnnotation(Relationship.CLASS)) {
-                    readers.add(new MethodReader(classInfo, getterInfo));
+                    readers.add(methodReader(classInfo, getterInfo));
                     continue;
                 }
             }
-            readers.add(new FieldReader(classInfo, fieldInfo));
+            readers.add(fieldReader(classInfo, fieldInfo));
         }
-       relationalReaders.put(classInfo, readers);
-        return readers;
+        return readers.toArray(new RelationalReader[readers.size()]);
     }
 
     private static String inferGetterName(FieldInfo fieldInfo) {
@@ -374,18 +399,16 @@ public class DefaultEntityAccessStrategy implements EntityAccessStrategy {
 
     @Override
     public RelationalWriter getIterableWriter(ClassInfo classInfo, Class<?> parameterType, String relationshipType, String relationshipDirection) {
-        if(!iterableWriterCache.containsKey(classInfo)) {
-            iterableWriterCache.put(classInfo, new HashMap<DirectedRelationshipForType, RelationalWriter>());
-        }
+        EntityAccessPlan plan = plan(classInfo);
         DirectedRelationshipForType directedRelationshipForType = new DirectedRelationshipForType(relationshipType,relationshipDirection, parameterType);
-        if(iterableWriterCache.get(classInfo).containsKey(directedRelationshipForType)) {
-            return iterableWriterCache.get(classInfo).get(directedRelationshipForType);
+        if (plan.iterableWriters.contains(directedRelationshipForType)) {
+            return plan.iterableWriters.get(directedRelationshipForType);
         }
 
         //1st find a method annotated with type and direction
         MethodInfo methodInfo = getIterableSetterMethodInfo(classInfo, parameterType, relationshipType, relationshipDirection, STRICT_MODE);
         if (methodInfo != null) {
-            MethodWriter methodWriter =  new MethodWriter(classInfo, methodInfo);
+            MethodWriter methodWriter =  methodWriter(classInfo, methodInfo);
             cacheIterableMethodWriter(classInfo, parameterType, relationshipType, relationshipDirection, directedRelationshipForType, methodInfo, methodWriter);
             return methodWriter;
         }
@@ -393,7 +416,7 @@ public class DefaultEntityAccessStrategy implements EntityAccessStrategy {
         //2nd find a field annotated with type and direction
         FieldInfo fieldInfo = getIterableFieldInfo(classInfo, parameterType, relationshipType, relationshipDirection, STRICT_MODE);
         if (fieldInfo != null) {
-            FieldWriter fieldWriter = new FieldWriter(classInfo, fieldInfo);
+            FieldWriter fieldWriter = fieldWriter(classInfo, fieldInfo);
             cacheIterableFieldWriter(classInfo, parameterType, relationshipType, relationshipDirection, directedRelationshipForType, fieldInfo, fieldWriter);
             return fieldWriter;
         }
@@ -404,7 +427,7 @@ public class DefaultEntityAccessStrategy implements EntityAccessStrategy {
             //3rd find a method with implied type and direction
             methodInfo = getIterableSetterMethodInfo(classInfo, parameterType, relationshipType, relationshipDirection, INFERRED_MODE);
             if (methodInfo != null) {
-                MethodWriter methodWriter = new MethodWriter(classInfo, methodInfo);
+                MethodWriter methodWriter = methodWriter(classInfo, methodInfo);
                 cacheIterableMethodWriter(classInfo, parameterType, relationshipType, relationshipDirection, directedRelationshipForType, methodInfo, methodWriter);
                 return methodWriter;
             }
@@ -412,12 +435,12 @@ public class DefaultEntityAccessStrategy implements EntityAccessStrategy {
             //4th find a field with implied type and direction
             fieldInfo = getIterableFieldInfo(classInfo, parameterType, relationshipType, relationshipDirection, INFERRED_MODE);
             if (fieldInfo != null) {
-                FieldWriter fieldWriter = new FieldWriter(classInfo, fieldInfo);
+                FieldWriter fieldWriter = fieldWriter(classInfo, fieldInfo);
                 cacheIterableFieldWriter(classInfo, parameterType, relationshipType, relationshipDirection, directedRelationshipForType, fieldInfo, fieldWriter);
                 return fieldWriter;
             }
         }
-        iterableWriterCache.get(classInfo).put(directedRelationshipForType, null);
+        plan.iterableWriters.put(directedRelationshipForType, null);
         return null;
     }
 
@@ -425,27 +448,25 @@ public class DefaultEntityAccessStrategy implements EntityAccessStrategy {
 
     @Override
     public RelationalReader getIterableReader(ClassInfo classInfo, Class<?> parameterType, String relationshipType, String relationshipDirection) {
-        if(!iterableReaderCache.containsKey(classInfo)) {
-            iterableReaderCache.put(classInfo, new HashMap<DirectedRelationshipForType, RelationalReader>());
-        }
+        EntityAccessPlan plan = plan(classInfo);
         DirectedRelationshipForType directedRelationshipForType = new DirectedRelationshipForType(relationshipType,relationshipDirection, parameterType);
-        if(iterableReaderCache.get(classInfo).containsKey(directedRelationshipForType)) {
-            return iterableReaderCache.get(classInfo).get(directedRelationshipForType);
+        if (plan.iterableReaders.contains(directedRelationshipForType)) {
+            return plan.iterableReaders.get(directedRelationshipForType);
         }
 
         //1st find a method annotated with type and direction
         MethodInfo methodInfo = getIterableGetterMethodInfo(classInfo, parameterType, relationshipType, relationshipDirection, STRICT_MODE);
         if (methodInfo != null) {
-            MethodReader methodReader =  new MethodReader(classInfo, methodInfo);
-            iterableReaderCache.get(classInfo).put(directedRelationshipForType, methodReader);
+            MethodReader methodReader =  methodReader(classInfo, methodInfo);
+            plan.iterableReaders.put(directedRelationshipForType, methodReader);
             return methodReader;
         }
 
         //2nd find a field annotated with type and direction
         FieldInfo fieldInfo = getIterableFieldInfo(classInfo, parameterType, relationshipType, relationshipDirection, STRICT_MODE);
         if (fieldInfo != null) {
-            FieldReader fieldReader = new FieldReader(classInfo, fieldInfo);
-            iterableReaderCache.get(classInfo).put(directedRelationshipForType, fieldReader);
+            FieldReader fieldReader = fieldReader(classInfo, fieldInfo);
+            plan.iterableReaders.put(directedRelationshipForType, fieldReader);
             return fieldReader;
         }
 
@@ -455,47 +476,55 @@ public class DefaultEntityAccessStrategy implements EntityAccessStrategy {
             //3rd find a method with implied type and direction
             methodInfo = getIterableGetterMethodInfo(classInfo, parameterType, relationshipType, relationshipDirection, INFERRED_MODE);
             if (methodInfo != null) {
-                MethodReader methodReader = new MethodReader(classInfo, methodInfo);
-                iterableReaderCache.get(classInfo).put(directedRelationshipForType, methodReader);
+                MethodReader methodReader = methodReader(classInfo, methodInfo);
+                plan.iterableReaders.put(directedRelationshipForType, methodReader);
                 return methodReader;
             }
 
             //4th find a field with implied type and direction
             fieldInfo = getIterableFieldInfo(classInfo, parameterType, relationshipType, relationshipDirection, INFERRED_MODE);
             if (fieldInfo != null) {
-                FieldReader fieldReader = new FieldReader(classInfo, fieldInfo);
-                iterableReaderCache.get(classInfo).put(directedRelationshipForType, fieldReader);
+                FieldReader fieldReader = fieldReader(classInfo, fieldInfo);
+                plan.iterableReaders.put(directedRelationshipForType, fieldReader);
                 return fieldReader;
             }
         }
-        iterableReaderCache.get(classInfo).put(directedRelationshipForType, null);
+        plan.iterableReaders.put(directedRelationshipForType, null);
         return null;
     }
 
     @Override
     public PropertyReader getIdentityPropertyReader(ClassInfo classInfo) {
-        return new FieldReader(classInfo, classInfo.identityField());
+        EntityAccessPlan plan = plan(classInfo);
+        if (plan.identityReader == null) {
+            plan.identityReader = fieldReader(classInfo, classInfo.identityField());
+        }
+        return plan.identityReader;
     }
 
     @Override
     public RelationalReader getEndNodeReader(ClassInfo relationshipEntityClassInfo) {
-        for (FieldInfo fieldInfo : relationshipEntityClassInfo.relationshipFields()) {
-            if (fieldInfo.getAnnotations().get(EndNode.CLASS) != null) {
-                return new FieldReader(relationshipEntityClassInfo, fieldInfo);
-            }
-        }
-        logger.warn("Failed to find an @EndNode on {}", relationshipEntityClassInfo);
-        return null;
+        return getNodeReader(relationshipEntityClassInfo, EndNode.CLASS);
     }
 
     @Override
     public RelationalReader getStartNodeReader(ClassInfo relationshipEntityClassInfo) {
+        return getNodeReader(relationshipEntityClassInfo, StartNode.CLASS);
+    }
+
+    private RelationalReader getNodeReader(ClassInfo relationshipEntityClassInfo, String nodeAnnotation) {
+        EntityAccessPlan plan = plan(relationshipEntityClassInfo);
+        if (plan.nodeReaders.contains(nodeAnnotation)) {
+            return plan.nodeReaders.get(nodeAnnotation);
+        }
         for (FieldInfo fieldInfo : relationshipEntityClassInfo.relationshipFields()) {
-            if (fieldInfo.getAnnotations().get(StartNode.CLASS) != null) {
-                return new FieldReader(relationshipEntityClassInfo, fieldInfo);
+            if (fieldInfo.getAnnotations().get(nodeAnnotation) != null) {
+                FieldReader fieldReader = fieldReader(relationshipEntityClassInfo, fieldInfo);
+                plan.nodeReaders.put(nodeAnnotation, fieldReader);
+                return fieldReader;
             }
         }
-        logger.warn("Failed to find an @StartNode on {}", relationshipEntityClassInfo);
+        logger.warn("Failed to find an @{} on {}", nodeAnnotation.substring(nodeAnnotation.lastIndexOf('.') + 1), relationshipEntityClassInfo);
         return null;
     }
 
@@ -504,6 +533,15 @@ public class DefaultEntityAccessStrategy implements EntityAccessStrategy {
         if (entityAnnotation.getName() == null) {
             throw new RuntimeException(entityAnnotation.getSimpleName() + " is not defined on " + classInfo.name());
         }
+        EntityAccessPlan plan = plan(classInfo);
+        if (plan.entityWriters.contains(entityAnnotation.getName())) {
+            return plan.entityWriters.get(entityAnnotation.getName());
+        }
+        plan.entityWriters.put(entityAnnotation.getName(), findRelationalEntityWriter(classInfo, entityAnnotation));
+        return plan.entityWriters.get(entityAnnotation.getName());
+    }
+
+    private RelationalWriter findRelationalEntityWriter(ClassInfo classInfo, Class entityAnnotation) {
         //Find annotated field
         FieldInfo field = null;
         for(FieldInfo fieldInfo : classInfo.relationshipFields()) {
@@ -517,12 +555,12 @@ public class DefaultEntityAccessStrategy implements EntityAccessStrategy {
             //Preferably find a setter for the field
             for(MethodInfo methodInfo : classInfo.relationshipSetters()) {
                 if (methodInfo.getName().equals(setter)) {
-                    return new MethodWriter(classInfo, methodInfo);
+                    return methodWriter(classInfo, methodInfo);
                 }
 
             }
             //Otherwise use the field
-            return new FieldWriter(classInfo,field);
+            return fieldWriter(classInfo,field);
         }
         return null;
     }
@@ -637,7 +675,7 @@ public class DefaultEntityAccessStrategy implements EntityAccessStrategy {
             //Cache the writer for the superclass used in the type param
             directedRelationshipForType = new DirectedRelationshipForType(relationshipType,relationshipDirection, ClassUtils.getType(fieldInfo.getTypeParameterDescriptor()));
         }
-        iterableWriterCache.get(classInfo).put(directedRelationshipForType, fieldWriter);
+        plan(classInfo).iterableWriters.put(directedRelationshipForType, fieldWriter);
     }
 
     private void cacheIterableMethodWriter(ClassInfo classInfo, Class<?> parameterType, String relationshipType, String relationshipDirection, DirectedRelationshipForType directedRelationshipForType, MethodInfo methodInfo, MethodWriter methodWriter) {
@@ -645,7 +683,7 @@ public class DefaultEntityAccessStrategy implements EntityAccessStrategy {
             //Cache the writer for the superclass used in the type param
             directedRelationshipForType = new DirectedRelationshipForType(relationshipType, relationshipDirection, ClassUtils.getType(methodInfo.getTypeParameterDescriptor()));
         }
-        iterableWriterCache.get(classInfo).put(directedRelationshipForType, methodWriter);
+        plan(classInfo).iterableWriters.put(directedRelationshipForType, methodWriter);
     }
 
 }
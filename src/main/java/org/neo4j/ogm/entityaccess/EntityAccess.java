@@ -15,9 +15,11 @@
 package org.neo4j.ogm.entityaccess;
 
 import java.lang.reflect.Array;
+import java.lang.reflect.Method;
 import java.util.*;
 
 import org.neo4j.ogm.session.Utils;
+import org.neo4j.ogm.typeconversion.AttributeConverter;
 
 /**
  * @author Vince Bickers
@@ -102,4 +104,20 @@ public abstract class EntityAccess implements PropertyWriter, RelationalWriter {
         }
         return result;
     }
+
+    /**
+     * Determines the type of the graph property produced by the given converter.
+     *
+     * @param converter The {@link AttributeConverter} of a property
+     * @param defaultType The type to return if the converter doesn't declare a <code>toGraphProperty</code> method
+     * @return The return type of the converter's <code>toGraphProperty</code> method
+     */
+    static Class<?> graphPropertyType(AttributeConverter<?, ?> converter, Class<?> defaultType) {
+        for (Method method : converter.getClass().getDeclaredMethods()) {
+            if (method.getName().equals("toGraphProperty") && !method.isSynthetic()) { //we don't want the method on the AttributeConverter interface
+                return method.getReturnType();
+            }
+        }
+        return defaultType;
+    }
 }
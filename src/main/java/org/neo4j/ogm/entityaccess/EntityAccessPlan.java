@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.entityaccess;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.neo4j.ogm.mapper.DirectedRelationship;
+import org.neo4j.ogm.mapper.DirectedRelationshipForType;
+import org.neo4j.ogm.metadata.info.ClassInfo;
+
+/**
+ * The readers and writers chosen by the {@link DefaultEntityAccessStrategy} for the instances of one class.
+ * <p>
+ * A plan is built the first time a class is accessed by a given kind of strategy and attached to its {@link ClassInfo},
+ * so every {@link org.neo4j.ogm.metadata.MetaData} has plans of its own. The readers of all the properties and
+ * relationships of the class are determined when the plan is built. Accessors found by name, relationship type or
+ * parameter type are determined when first asked for, and remembered, whether or not one was found.
+ * </p>
+ * Plans may be used by any number of sessions at once. Looking up an accessor that has already been determined
+ * takes no locks.
+ */
+public class EntityAccessPlan {
+
+    final Collection<PropertyReader> propertyReaders;
+    final Collection<RelationalReader> relationalReaders;
+
+    final Accessors<String, EntityAccess> propertyWriters = new Accessors<>();
+    final Accessors<String, PropertyReader> propertyReadersByName = new Accessors<>();
+    final Accessors<DirectedRelationship, RelationalReader> relationalReadersByType = new Accessors<>();
+    final Accessors<DirectedRelationshipForType, RelationalWriter> relationalWriters = new Accessors<>();
+    final Accessors<DirectedRelationshipForType, RelationalWriter> iterableWriters = new Accessors<>();
+    final Accessors<DirectedRelationshipForType, RelationalReader> iterableReaders = new Accessors<>();
+    final Accessors<String, RelationalReader> nodeReaders = new Accessors<>();
+    final Accessors<String, RelationalWriter> entityWriters = new Accessors<>();
+
+    volatile PropertyReader identityReader;
+
+    EntityAccessPlan(PropertyReader[] propertyReaders, RelationalReader[] relationalReaders) {
+        this.propertyReaders = Collections.unmodifiableList(Arrays.asList(propertyReaders));
+        this.relationalReaders = Collections.unmodifiableList(Arrays.asList(relationalReaders));
+    }
+
+    /**
+     * The accessors of one kind that have been determined so far, including the keys for which none was found.
+     */
+    static class Accessors<K, T> {
+
+        private static final Object NONE = new Object();
+
+        private final ConcurrentMap<K, Object> accessors = new ConcurrentHashMap<>();
+
+        boolean contains(K key) {
+            return accessors.containsKey(key);
+        }
+
+        @SuppressWarnings("unchecked")
+        T get(K key) {
+            Object accessor = accessors.get(key);
+            return accessor == NONE ? null : (T) accessor;
+        }
+
+        void put(K key, T accessor) {
+            accessors.put(key, accessor == null ? NONE : accessor);
+        }
+    }
+}
@@ -22,7 +22,6 @@ import java.util.Map;
 import org.neo4j.ogm.metadata.BaseClassNotFoundException;
 import org.neo4j.ogm.metadata.MappingException;
 import org.neo4j.ogm.metadata.MetaData;
-import org.neo4j.ogm.metadata.classloader.MetaDataClassLoader;
 import org.neo4j.ogm.metadata.info.ClassInfo;
 import org.neo4j.ogm.model.NodeModel;
 import org.neo4j.ogm.model.RelationshipModel;
@@ -34,7 +33,7 @@ import org.neo4j.ogm.model.RelationshipModel;
  */
 public class EntityFactory {
 
-    private final Map<String, String> taxaLeafClass = new HashMap<>();
+    private final Map<String, ClassInfo> taxaLeafClass = new HashMap<>();
 
     private final MetaData metadata;
 
@@ -98,30 +97,29 @@ public class EntityFactory {
             throw new BaseClassNotFoundException("<null>");
         }
 
-        String fqn = resolve(taxa);
+        ClassInfo classInfo = resolve(taxa);
 
-        try {
-            @SuppressWarnings("unchecked")
-            Class<T> loadedClass = (Class<T>) MetaDataClassLoader.loadClass(fqn); //Class.forName(fqn);
-            return instantiate(loadedClass);
-        } catch (ClassNotFoundException e) {
-            throw new MappingException("Unable to load class with FQN: " + fqn, e);
+        @SuppressWarnings("unchecked")
+        Class<T> loadedClass = (Class<T>) classInfo.getUnderlyingClass();
+        if (loadedClass == null) {
+            throw new MappingException("Unable to load class with FQN: " + classInfo.name());
         }
+        return instantiate(loadedClass);
     }
 
-    private String resolve(String... taxa) {
+    private ClassInfo resolve(String... taxa) {
 
-        String fqn = taxaLeafClass.get(Arrays.toString(taxa));
+        ClassInfo classInfo = taxaLeafClass.get(Arrays.toString(taxa));
 
-        if (fqn == null) {
-            ClassInfo classInfo = metadata.resolve(taxa);
+        if (classInfo == null) {
+            classInfo = metadata.resolve(taxa);
             if (classInfo != null) {
-                taxaLeafClass.put(Arrays.toString(taxa), fqn=classInfo.name());
+                taxaLeafClass.put(Arrays.toString(taxa), classInfo);
             } else {
                 throw new BaseClassNotFoundException(Arrays.toString(taxa));
             }
         }
-        return fqn;
+        return classInfo;
     }
 
     private static <T> T instantiate(Class<T> loadedClass) {
@@ -14,6 +14,8 @@
 
 package org.neo4j.ogm.entityaccess;
 
+import java.lang.reflect.Field;
+
 import org.neo4j.ogm.annotation.Relationship;
 import org.neo4j.ogm.metadata.info.AnnotationInfo;
 import org.neo4j.ogm.metadata.info.ClassInfo;
@@ -29,6 +31,8 @@ public class FieldReader implements RelationalReader, PropertyReader {
     private final ClassInfo classInfo;
     private final FieldInfo fieldInfo;
 
+    private Field field;
+
     FieldReader(ClassInfo classInfo, FieldInfo fieldInfo) {
         this.classInfo = classInfo;
         this.fieldInfo = fieldInfo;
@@ -36,13 +40,36 @@ public class FieldReader implements RelationalReader, PropertyReader {
 
     @Override
     public Object read(Object instance) {
-        Object value = FieldWriter.read(classInfo.getField(fieldInfo), instance);
+        Object value = get(instance);
         if (fieldInfo.hasConverter()) {
             value = fieldInfo.converter().toGraphProperty(value);
         }
         return value;
     }
 
+    /**
+     * Reads the unconverted value of the field from the given instance.
+     *
+     * @param instance The object whose field is to be read
+     * @return The value of the field
+     */
+    protected Object get(Object instance) {
+        try {
+            return field().get(instance);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    protected Field field() {
+        if (field == null) {
+            Field accessibleField = classInfo.getField(fieldInfo);
+            accessibleField.setAccessible(true);
+            field = accessibleField;
+        }
+        return field;
+    }
+
     @Override
     public String relationshipType() {
         return fieldInfo.relationship();
@@ -69,4 +96,9 @@ public class FieldReader implements RelationalReader, PropertyReader {
     public String typeParameterDescriptor() {
        return fieldInfo.getTypeDescriptor();
     }
+
+    @Override
+    public Class<?> typeParameterClass() {
+        return fieldInfo.getTypeDescriptorClass();
+    }
 }
@@ -15,7 +15,6 @@
 package org.neo4j.ogm.entityaccess;
 
 import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 
 import org.neo4j.ogm.annotation.Relationship;
 import org.neo4j.ogm.metadata.ClassUtils;
@@ -33,10 +32,14 @@ public class FieldWriter extends EntityAccess {
     private final Field field;
     private final Class<?> fieldType;
 
+    private Class<?> valueType;
+    private Class<?> graphPropertyType;
+
     public FieldWriter(ClassInfo classInfo, FieldInfo fieldInfo) {
         this.fieldInfo = fieldInfo;
         this.field = classInfo.getField(fieldInfo);
         this.fieldType = this.field.getType();
+        this.field.setAccessible(true);
     }
 
     public static void write(Field field, Object instance, Object value) {
@@ -64,23 +67,38 @@ public class FieldWriter extends EntityAccess {
             value = fieldInfo.converter().toEntityAttribute(value);
         }
 
-        String descriptor = fieldInfo.getTypeParameterDescriptor() == null ? fieldInfo.getDescriptor() : fieldInfo.getTypeParameterDescriptor();
-        value = Utils.coerceTypes(ClassUtils.getType(descriptor), value);
-        FieldWriter.write(field, instance, value);
+        if (valueType == null) {
+            String descriptor = fieldInfo.getTypeParameterDescriptor() == null ? fieldInfo.getDescriptor() : fieldInfo.getTypeParameterDescriptor();
+            valueType = ClassUtils.getType(descriptor);
+        }
+        set(instance, Utils.coerceTypes(valueType, value));
+    }
+
+    /**
+     * Assigns a value that has already been converted and coerced to the field of the given instance.
+     *
+     * @param instance The object whose field is to be set
+     * @param value The new value of the field
+     */
+    protected void set(Object instance, Object value) {
+        try {
+            field.set(instance, value);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    protected Field field() {
+        return field;
     }
 
     @Override
     public Class<?> type() {
         if (fieldInfo.hasConverter()) {
-            try {
-                for(Method method : fieldInfo.converter().getClass().getDeclaredMethods()) {
-                    if(method.getName().equals("toGraphProperty") && !method.isSynthetic()) { //we don't want the method on the AttributeConverter interface
-                        return method.getReturnType();
-                    }
-                }
-            } catch (Exception e) {
-                throw new RuntimeException(e);
+            if (graphPropertyType == null) {
+                graphPropertyType = graphPropertyType(fieldInfo.converter(), fieldType);
             }
+            return graphPropertyType;
         }
         return fieldType;
     }
@@ -110,4 +128,9 @@ public class FieldWriter extends EntityAccess {
     public String typeParameterDescriptor() {
         return fieldInfo.getTypeDescriptor();
     }
+
+    @Override
+    public Class<?> typeParameterClass() {
+        return fieldInfo.getTypeDescriptorClass();
+    }
 }
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.entityaccess;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import org.neo4j.ogm.metadata.info.ClassInfo;
+import org.neo4j.ogm.metadata.info.FieldInfo;
+import org.neo4j.ogm.metadata.info.MethodInfo;
+
+/**
+ * An {@link EntityAccessStrategy} that chooses the same readers and writers as the {@link DefaultEntityAccessStrategy},
+ * but reads and writes the fields and invokes the methods of entities through {@link MethodHandle}s rather than
+ * through reflection.
+ * <p>
+ * A handle is made once for each field or method, when its reader or writer is first used, and kept with that
+ * reader or writer for as long as its class is mapped. Members that can't be reached through a handle, such as final
+ * fields, are accessed reflectively instead.
+ * </p>
+ */
+public class MethodHandleEntityAccessStrategy extends DefaultEntityAccessStrategy {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final MethodType READER = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType WRITER = MethodType.methodType(void.class, Object.class, Object.class);
+
+    @Override
+    protected MethodWriter methodWriter(ClassInfo classInfo, MethodInfo methodInfo) {
+        return new MethodHandleWriter(classInfo, methodInfo);
+    }
+
+    @Override
+    protected FieldWriter fieldWriter(ClassInfo classInfo, FieldInfo fieldInfo) {
+        return new FieldHandleWriter(classInfo, fieldInfo);
+    }
+
+    @Override
+    protected MethodReader methodReader(ClassInfo classInfo, MethodInfo methodInfo) {
+        return new MethodHandleReader(classInfo, methodInfo);
+    }
+
+    @Override
+    protected FieldReader fieldReader(ClassInfo classInfo, FieldInfo fieldInfo) {
+        return new FieldHandleReader(classInfo, fieldInfo);
+    }
+
+    /**
+     * @return a handle of the given type that invokes the method, or null if the method can't be invoked through one
+     */
+    private static MethodHandle unreflect(Method method, MethodType type) {
+        try {
+            method.setAccessible(true);
+            return LOOKUP.unreflect(method).asType(type);
+        } catch (IllegalAccessException | SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return a handle of the given type that reads or writes the field, or null if the field can't be accessed through one
+     */
+    private static MethodHandle unreflect(Field field, MethodType type) {
+        try {
+            return (type == READER ? LOOKUP.unreflectGetter(field) : LOOKUP.unreflectSetter(field)).asType(type);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static RuntimeException failure(String message, Throwable cause) {
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new EntityAccessException(message, (Exception) cause);
+    }
+
+    private static class MethodHandleWriter extends MethodWriter {
+
+        private final MethodHandle setter;
+
+        MethodHandleWriter(ClassInfo classInfo, MethodInfo methodInfo) {
+            super(classInfo, methodInfo);
+            this.setter = unreflect(method(), WRITER);
+        }
+
+        @Override
+        protected void invoke(Object instance, Object value) {
+            if (setter == null) {
+                super.invoke(instance, value);
+                return;
+            }
+            try {
+                setter.invokeExact(instance, value);
+            } catch (ClassCastException cce) {
+                throw new EntityAccessException("Failed to invoke method '" + method().getName() + "'. Expected argument type: " + method().getParameterTypes()[0] + " actual argument type: " + value.getClass(), cce);
+            } catch (Throwable t) {
+                throw failure("Failed to invoke method '" + method().getName() + "'", t);
+            }
+        }
+    }
+
+    private static class FieldHandleWriter extends FieldWriter {
+
+        private final MethodHandle setter;
+
+        FieldHandleWriter(ClassInfo classInfo, FieldInfo fieldInfo) {
+            super(classInfo, fieldInfo);
+            this.setter = unreflect(field(), WRITER);
+        }
+
+        @Override
+        protected void set(Object instance, Object value) {
+            if (setter == null) {
+                super.set(instance, value);
+                return;
+            }
+            try {
+                setter.invokeExact(instance, value);
+            } catch (Throwable t) {
+                throw failure("Failed to set field '" + field().getName() + "'", t);
+            }
+        }
+    }
+
+    private static class MethodHandleReader extends MethodReader {
+
+        private MethodHandle getter;
+
+        MethodHandleReader(ClassInfo classInfo, MethodInfo methodInfo) {
+            super(classInfo, methodInfo);
+        }
+
+        @Override
+        protected Object invoke(Object instance) {
+            if (getter == null) {
+                getter = unreflect(method(), READER);
+                if (getter == null) {
+                    return super.invoke(instance);
+                }
+            }
+            try {
+                return getter.invokeExact(instance);
+            } catch (Throwable t) {
+                throw failure("Failed to invoke method '" + method().getName() + "'", t);
+            }
+        }
+    }
+
+    private static class FieldHandleReader extends FieldReader {
+
+        private MethodHandle getter;
+
+        FieldHandleReader(ClassInfo classInfo, FieldInfo fieldInfo) {
+            super(classInfo, fieldInfo);
+        }
+
+        @Override
+        protected Object get(Object instance) {
+            if (getter == null) {
+                getter = unreflect(field(), READER);
+                if (getter == null) {
+                    return super.get(instance);
+                }
+            }
+            try {
+                return getter.invokeExact(instance);
+            } catch (Throwable t) {
+                throw failure("Failed to read field '" + field().getName() + "'", t);
+            }
+        }
+    }
+}
@@ -14,6 +14,8 @@
 
 package org.neo4j.ogm.entityaccess;
 
+import java.lang.reflect.Method;
+
 import org.neo4j.ogm.annotation.Relationship;
 import org.neo4j.ogm.metadata.info.AnnotationInfo;
 import org.neo4j.ogm.metadata.info.ClassInfo;
@@ -29,6 +31,8 @@ public class MethodReader implements RelationalReader, PropertyReader {
     private final ClassInfo classInfo;
     private final MethodInfo methodInfo;
 
+    private Method method;
+
     MethodReader(ClassInfo classInfo, MethodInfo methodInfo) {
         this.classInfo = classInfo;
         this.methodInfo = methodInfo;
@@ -36,13 +40,30 @@ public class MethodReader implements RelationalReader, PropertyReader {
 
     @Override
     public Object read(Object instance) {
-        Object value = MethodWriter.read(classInfo.getMethod(methodInfo), instance);
+        Object value = invoke(instance);
         if (methodInfo.hasConverter()) {
             value = methodInfo.converter().toGraphProperty(value);
         }
         return value;
     }
 
+    /**
+     * Invokes the getter of the given instance and returns its unconverted result.
+     *
+     * @param instance The object whose getter is to be invoked
+     * @return The value returned by the getter
+     */
+    protected Object invoke(Object instance) {
+        return MethodWriter.read(method(), instance);
+    }
+
+    protected Method method() {
+        if (method == null) {
+            method = classInfo.getMethod(methodInfo);
+        }
+        return method;
+    }
+
     @Override
     public String relationshipType() {
         return methodInfo.relationship();
@@ -65,6 +86,11 @@ public class MethodReader implements RelationalReader, PropertyReader {
         return methodInfo.getTypeDescriptor();
     }
 
+    @Override
+    public Class<?> typeParameterClass() {
+        return methodInfo.getTypeDescriptorClass();
+    }
+
     @Override
     public String propertyName() {
         return methodInfo.property();
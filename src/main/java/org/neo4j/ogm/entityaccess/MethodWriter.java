@@ -32,6 +32,9 @@ public class MethodWriter extends EntityAccess {
     private final Class<?> parameterType;
     private final Method method;
 
+    private Class<?> valueType;
+    private Class<?> graphPropertyType;
+
     MethodWriter(ClassInfo classInfo, MethodInfo methodInfo) {
         this.setterMethodInfo = methodInfo;
         this.parameterType = ClassUtils.getType(setterMethodInfo.getDescriptor());
@@ -63,23 +66,34 @@ public class MethodWriter extends EntityAccess {
             value = setterMethodInfo.converter().toEntityAttribute(value);
         }
 
-        String descriptor = setterMethodInfo.getTypeParameterDescriptor() == null ? setterMethodInfo.getDescriptor() : setterMethodInfo.getTypeParameterDescriptor();
-        value = Utils.coerceTypes(ClassUtils.getType(descriptor), value);
+        if (valueType == null) {
+            String descriptor = setterMethodInfo.getTypeParameterDescriptor() == null ? setterMethodInfo.getDescriptor() : setterMethodInfo.getTypeParameterDescriptor();
+            valueType = ClassUtils.getType(descriptor);
+        }
+        invoke(instance, Utils.coerceTypes(valueType, value));
+    }
+
+    /**
+     * Invokes the setter of the given instance with a value that has already been converted and coerced.
+     *
+     * @param instance The object whose setter is to be invoked
+     * @param value The argument to pass to the setter
+     */
+    protected void invoke(Object instance, Object value) {
         MethodWriter.write(method, instance, value);
     }
 
+    protected Method method() {
+        return method;
+    }
+
     @Override
     public Class<?> type() {
         if (setterMethodInfo.hasConverter()) {
-            try {
-                for(Method method : setterMethodInfo.converter().getClass().getDeclaredMethods()) {
-                    if(method.getName().equals("toGraphProperty") && !method.isSynthetic()) { //we don't want the method on the AttributeConverter interface
-                        return method.getReturnType();
-                    }
-                }
-            } catch (Exception e) {
-                throw new RuntimeException(e);
+            if (graphPropertyType == null) {
+                graphPropertyType = graphPropertyType(setterMethodInfo.converter(), parameterType);
             }
+            return graphPropertyType;
         }
         return parameterType;
     }
@@ -109,4 +123,9 @@ public class MethodWriter extends EntityAccess {
     public String typeParameterDescriptor() {
         return setterMethodInfo.getTypeDescriptor();
     }
+
+    @Override
+    public Class<?> typeParameterClass() {
+        return setterMethodInfo.getTypeDescriptorClass();
+    }
 }
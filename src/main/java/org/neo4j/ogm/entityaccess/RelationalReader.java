@@ -32,4 +32,6 @@ public interface RelationalReader {
 
     String typeParameterDescriptor();
 
+    Class<?> typeParameterClass();
+
 }
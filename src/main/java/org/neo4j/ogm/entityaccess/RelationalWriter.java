@@ -29,4 +29,6 @@ public interface RelationalWriter extends PropertyWriter {
     boolean forScalar();
 
     String typeParameterDescriptor();
+
+    Class<?> typeParameterClass();
 }
@@ -14,16 +14,15 @@
 
 package org.neo4j.ogm.mapper;
 
-import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
 
 import org.neo4j.ogm.annotation.Relationship;
 import org.neo4j.ogm.annotation.RelationshipEntity;
 import org.neo4j.ogm.cypher.compiler.*;
-import org.neo4j.ogm.entityaccess.DefaultEntityAccessStrategy;
 import org.neo4j.ogm.entityaccess.EntityAccessStrategy;
 import org.neo4j.ogm.entityaccess.PropertyReader;
 import org.neo4j.ogm.entityaccess.RelationalReader;
-import org.neo4j.ogm.metadata.ClassUtils;
 import org.neo4j.ogm.metadata.EntityUtils;
 import org.neo4j.ogm.metadata.MappingException;
 import org.neo4j.ogm.metadata.MetaData;
@@ -45,6 +44,8 @@ public class EntityGraphMapper implements EntityToGraphMapper {
     private final MetaData metaData;
     private final EntityAccessStrategy entityAccessStrategy;
     private final MappingContext mappingContext;
+    private final CompilationMode compilationMode;
+    private final int batchSize;
 
     /**
      * Constructs a new {@link EntityGraphMapper} that uses the given {@link MetaData}.
@@ -53,9 +54,35 @@ public class EntityGraphMapper implements EntityToGraphMapper {
      * @param mappingContext The {@link MappingContext} for the current session
      */
     public EntityGraphMapper(MetaData metaData, MappingContext mappingContext) {
+        this(metaData, mappingContext, CompilationMode.SINGLE_STATEMENT);
+    }
+
+    /**
+     * Constructs a new {@link EntityGraphMapper} that uses the given {@link MetaData} and compiles Cypher in the given mode.
+     *
+     * @param metaData The {@link MetaData} containing the mapping information
+     * @param mappingContext The {@link MappingContext} for the current session
+     * @param compilationMode The {@link CompilationMode} of the Cypher compiler
+     */
+    public EntityGraphMapper(MetaData metaData, MappingContext mappingContext, CompilationMode compilationMode) {
+        this(metaData, mappingContext, compilationMode, SingleStatementCypherCompiler.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Constructs a new {@link EntityGraphMapper} that uses the given {@link MetaData} and compiles Cypher in the given mode,
+     * passing at most the given number of rows to each statement.
+     *
+     * @param metaData The {@link MetaData} containing the mapping information
+     * @param mappingContext The {@link MappingContext} for the current session
+     * @param compilationMode The {@link CompilationMode} of the Cypher compiler
+     * @param batchSize The maximum number of rows passed to each statement in the {@link CompilationMode#TEMPLATED} mode
+     */
+    public EntityGraphMapper(MetaData metaData, MappingContext mappingContext, CompilationMode compilationMode, int batchSize) {
         this.metaData = metaData;
         this.mappingContext = mappingContext;
-        this.entityAccessStrategy = new DefaultEntityAccessStrategy();
+        this.compilationMode = compilationMode;
+        this.batchSize = batchSize;
+        this.entityAccessStrategy = mappingContext.entityAccessStrategy();
     }
 
     @Override
@@ -70,17 +97,42 @@ public class EntityGraphMapper implements EntityToGraphMapper {
             throw new NullPointerException("Cannot map null object");
         }
 
-        CypherCompiler compiler = new SingleStatementCypherCompiler(metaData);
+        CypherCompiler compiler = newCompiler();
+        mapRoot(entity, horizon, compiler);
+        deleteObsoleteRelationships(compiler);
+
+        return compiler.compile();
+    }
 
-        // add all the relationships we know about. This includes the relationships that
-        // won't be modified by the mapping request.
-        for (MappedRelationship mappedRelationship : mappingContext.mappedRelationships()) {
-            logger.debug("context-init: (${})-[:{}]->(${})", mappedRelationship.getStartNodeId(), mappedRelationship.getRelationshipType(), mappedRelationship.getEndNodeId());
-            compiler.context().registerRelationship(mappedRelationship);
+    @Override
+    public CypherContext map(Map<Object, Integer> entities) {
+
+        CypherCompiler compiler = newCompiler();
+        for (Map.Entry<Object, Integer> entry : entities.entrySet()) {
+            if (entry.getKey() == null) {
+                throw new NullPointerException("Cannot map null object");
+            }
+            mapRoot(entry.getKey(), entry.getValue(), compiler);
         }
+        deleteObsoleteRelationships(compiler);
+
+        return compiler.compile();
+    }
+
+    private CypherCompiler newCompiler() {
+
+        CypherCompiler compiler = new SingleStatementCypherCompiler(metaData, compilationMode, batchSize);
+
+        // the context sees all the relationships we know about. This includes the relationships that
+        // won't be modified by the mapping request, which it has no need to visit.
+        compiler.context().setMappedRelationships(mappingContext.mappedRelationships());
 
         logger.debug("context initialised with {} relationships", mappingContext.mappedRelationships().size());
 
+        return compiler;
+    }
+
+    private void mapRoot(Object entity, int horizon, CypherCompiler compiler) {
 
         // if the object is a RelationshipEntity, persist it by persisting both the start node and the end node
         // and then ensure the relationship between the two is created or updated as necessary
@@ -128,10 +180,6 @@ public class EntityGraphMapper implements EntityToGraphMapper {
         } else { // not an RE, simply map the entity
             mapEntity(entity, horizon, compiler);
         }
-
-        deleteObsoleteRelationships(compiler);
-
-        return compiler.compile();
     }
 
     /**
@@ -142,34 +190,29 @@ public class EntityGraphMapper implements EntityToGraphMapper {
      */
     private void deleteObsoleteRelationships(CypherCompiler compiler) {
         CypherContext context=compiler.context();
-        Iterator<MappedRelationship> mappedRelationshipIterator = mappingContext.mappedRelationships().iterator();
-
-        while (mappedRelationshipIterator.hasNext()) {
-            MappedRelationship mappedRelationship = mappedRelationshipIterator.next();
-            if (!context.removeRegisteredRelationship(mappedRelationship)) {
-                logger.debug("context-del: (${})-[{}:{}]->(${})", mappedRelationship.getStartNodeId(), mappedRelationship.getRelationshipId(), mappedRelationship.getRelationshipType(), mappedRelationship.getEndNodeId());
-                compiler.unrelate("$" + mappedRelationship.getStartNodeId(), mappedRelationship.getRelationshipType(), "$" + mappedRelationship.getEndNodeId(), mappedRelationship.getRelationshipId());
-                clearRelatedObjects(mappedRelationship.getStartNodeId());
-                mappedRelationshipIterator.remove();
-            }
+
+        // only relationships deregistered while mapping can have been deleted from the domain
+        for (MappedRelationship mappedRelationship : context.obsoleteRelationships()) {
+            logger.debug("context-del: (${})-[{}:{}]->(${})", mappedRelationship.getStartNodeId(), mappedRelationship.getRelationshipId(), mappedRelationship.getRelationshipType(), mappedRelationship.getEndNodeId());
+            compiler.unrelate("$" + mappedRelationship.getStartNodeId(), mappedRelationship.getRelationshipType(), "$" + mappedRelationship.getEndNodeId(), mappedRelationship.getRelationshipId());
+            clearRelatedObjects(mappedRelationship.getStartNodeId());
+            mappingContext.mappedRelationships().remove(mappedRelationship);
         }
     }
 
     private void clearRelatedObjects(Long node) {
-        for (MappedRelationship mappedRelationship : mappingContext.mappedRelationships()) {
-            if (mappedRelationship.getStartNodeId() == node || mappedRelationship.getEndNodeId() == node) {
-                Object dirty = mappingContext.getNodeEntity(mappedRelationship.getEndNodeId());
-                // forward
-                if (dirty != null) {
-                    logger.debug("flushing end node of: (${})-[:{}]->(${})", mappedRelationship.getStartNodeId(), mappedRelationship.getRelationshipType(), mappedRelationship.getEndNodeId());
-                    mappingContext.deregister(dirty, mappedRelationship.getEndNodeId());
-                }
-                // reverse
-                dirty = mappingContext.getNodeEntity(mappedRelationship.getStartNodeId());
-                if (dirty != null) {
-                    logger.debug("flushing start node of: (${})-[:{}]->(${})", mappedRelationship.getStartNodeId(), mappedRelationship.getRelationshipType(), mappedRelationship.getEndNodeId());
-                    mappingContext.deregister(dirty, mappedRelationship.getStartNodeId());
-                }
+        for (MappedRelationship mappedRelationship : mappingContext.mappedRelationships().relationships(node)) {
+            Object dirty = mappingContext.getNodeEntity(mappedRelationship.getEndNodeId());
+            // forward
+            if (dirty != null) {
+                logger.debug("flushing end node of: (${})-[:{}]->(${})", mappedRelationship.getStartNodeId(), mappedRelationship.getRelationshipType(), mappedRelationship.getEndNodeId());
+                mappingContext.deregister(dirty, mappedRelationship.getEndNodeId());
+            }
+            // reverse
+            dirty = mappingContext.getNodeEntity(mappedRelationship.getStartNodeId());
+            if (dirty != null) {
+                logger.debug("flushing start node of: (${})-[:{}]->(${})", mappedRelationship.getStartNodeId(), mappedRelationship.getRelationshipType(), mappedRelationship.getEndNodeId());
+                mappingContext.deregister(dirty, mappedRelationship.getStartNodeId());
             }
         }
     }
@@ -209,18 +252,25 @@ public class EntityGraphMapper implements EntityToGraphMapper {
     }
 
     /**
-     * Creates a new node or updates an existing one in the graph, if it has changed.
+     * Creates a new node or updates an existing one in the graph, if it has changed. Only the properties
+     * of an existing node that have changed since it was last read or written are updated.
      *
      * @param entity the domain object to be persisted
      * @param context  the current {@link CypherContext}
      * @param nodeBuilder a {@link NodeBuilder} that knows how to compile node create/update cypher phrases
      */
     private void updateNode(Object entity, CypherContext context, NodeBuilder nodeBuilder) {
-        if (mappingContext.isDirty(entity)) {
-            logger.debug("{} has changed", entity);
+        Set<String> changedProperties = mappingContext.changedProperties(entity);
+        if (changedProperties == null) {
+            logger.debug("{} is new or not remembered", entity);
             context.log(entity);
             ClassInfo classInfo = metaData.classInfo(entity);
             nodeBuilder.mapProperties(entity, classInfo, entityAccessStrategy);
+        } else if (!changedProperties.isEmpty()) {
+            logger.debug("{} has changed: {}", entity, changedProperties);
+            context.log(entity);
+            ClassInfo classInfo = metaData.classInfo(entity);
+            nodeBuilder.mapChangedProperties(entity, classInfo, entityAccessStrategy, changedProperties);
         } else {
             logger.debug("{}, has not changed", entity);
         }
@@ -280,7 +330,7 @@ public class EntityGraphMapper implements EntityToGraphMapper {
             String relationshipType = reader.relationshipType();
             String relationshipDirection = reader.relationshipDirection();
             Class startNodeType = srcInfo.getUnderlyingClass();
-            Class endNodeType = ClassUtils.getType(reader.typeParameterDescriptor());
+            Class endNodeType = reader.typeParameterClass();
 
             DirectedRelationship directedRelationship = new DirectedRelationship(relationshipType, relationshipDirection);
 
@@ -463,14 +513,14 @@ public class EntityGraphMapper implements EntityToGraphMapper {
 
         boolean relationshipEndsChanged= false;
 
-        for (MappedRelationship mappedRelationship : mappingContext.mappedRelationships()) {
-			if (mappedRelationship.getRelationshipId()!=null && relId!=null && mappedRelationship.getRelationshipId().equals(relId)) {
-				if (srcIdentity==null || tgtIdentity==null || mappedRelationship.getStartNodeId() != srcIdentity || mappedRelationship.getEndNodeId() != tgtIdentity) {
-					relationshipEndsChanged=true;
+        if (relId != null) {
+            for (MappedRelationship mappedRelationship : mappingContext.mappedRelationships().relationshipEntity(relId)) {
+                if (srcIdentity==null || tgtIdentity==null || mappedRelationship.getStartNodeId() != srcIdentity || mappedRelationship.getEndNodeId() != tgtIdentity) {
+                    relationshipEndsChanged=true;
                     break;
-				}
-			}
-		}
+                }
+            }
+        }
         return relationshipEndsChanged;
     }
 
@@ -512,7 +562,7 @@ public class EntityGraphMapper implements EntityToGraphMapper {
             context.log(relationshipEntity);
             if (tgtIdentity != null && srcIdentity!=null) {
                 MappedRelationship mappedRelationship = createMappedRelationship(relationshipBuilder, relNodes);
-                if (mappingContext.mappedRelationships().remove(mappedRelationship)) {
+                if (context.forgetRelationship(mappedRelationship)) {
                     logger.debug("RE successfully marked for re-writing");
                 } else {
                     logger.debug("RE is new");
@@ -725,8 +775,7 @@ public class EntityGraphMapper implements EntityToGraphMapper {
             //If its a rel entity then we want to rebase the startClass to the @StartNode of the rel entity and the endClass to the rel entity
             if (metaData.isRelationshipEntity(tgtClass.getName())) {
                 srcClass = tgtClass;
-                String start = entityAccessStrategy.getStartNodeReader(metaData.classInfo(tgtClass.getName())).typeParameterDescriptor();
-                tgtClass = ClassUtils.getType(start);
+                tgtClass = entityAccessStrategy.getStartNodeReader(metaData.classInfo(tgtClass.getName())).typeParameterClass();
             }
             reallyCreateRelationship(context, tgt, relationshipBuilder, src, tgtClass, srcClass);
         } else {
@@ -14,52 +14,57 @@
 
 package org.neo4j.ogm.mapper;
 
+import java.lang.reflect.Array;
 import java.lang.reflect.Field;
-import java.util.Map;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
-import org.neo4j.ogm.entityaccess.FieldWriter;
 import org.neo4j.ogm.metadata.MetaData;
 import org.neo4j.ogm.metadata.info.ClassInfo;
 import org.neo4j.ogm.metadata.info.FieldInfo;
 
 /**
+ * Remembers the property values of the entities in a session as they were last read from or written to the graph,
+ * so that changes made to them since can be detected.
+ * <p>
+ * Each remembered entity is held as a snapshot of its property fields, one value per field. Immutable values are
+ * kept as they are, arrays, collections and dates are copied, and values with a converter are kept in the form
+ * they take in the graph. Values of any other type are kept as their string representation.
+ * </p>
+ *
  * @author Vince Bickers
  */
 public class EntityMemo {
 
-    private final Map<Long, Long> nodeHash = new ConcurrentHashMap<>();
-    private final Map<Long, Long> relEntityHash = new ConcurrentHashMap<>();
+    private final Map<Long, Snapshot> nodeSnapshots = new ConcurrentHashMap<>();
+    private final Map<Long, Snapshot> relEntitySnapshots = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, PropertyFields> propertyFields = new ConcurrentHashMap<>();
     private  final MetaData metaData;
 
-    // objects with no properties will always hash to this value.
-    private static final long seed = 0xDEADBEEF / (11 * 257);
-
     public EntityMemo(MetaData meta) {
         metaData = meta;
     }
 
     /**
-     * constructs a 64-bit hash of this object's node properties
-     * and maps the object to that hash. The object must not be null
+     * takes a snapshot of this object's properties and maps
+     * the object's id to it. The object must not be null
      * @param entityId the id of the entity
-     * @param object the object whose persistable properties we want to hash
+     * @param object the object whose persistable properties we want to remember
      * @param classInfo metadata about the object
      */
     public void remember(Long entityId, Object object, ClassInfo classInfo) {
-        if (metaData.isRelationshipEntity(classInfo.name())) {
-            relEntityHash.put(entityId, hash(object, classInfo));
-        }
-        else {
-            nodeHash.put(entityId, hash(object, classInfo));
-        }
+        PropertyFields fields = propertyFields(classInfo);
+        snapshots(classInfo).put(entityId, new Snapshot(fields, fields.snapshot(object)));
     }
 
     /**
      * determines whether the specified has already
      * been memorised. The object must not be null. An object
-     * is regarded as memorised if its hash value in the memo hash
-     * is identical to a recalculation of its hash value.
+     * is regarded as memorised if every one of its properties
+     * is equal to the value remembered for it.
      *
      *
      * @param entityId the id of the entity
@@ -68,50 +73,186 @@ public class EntityMemo {
      * @return true if the object hasn't changed since it was remembered, false otherwise
      */
     public boolean remembered(Long entityId, Object object, ClassInfo classInfo) {
-        boolean isRelEntity = false;
-
-        if (entityId != null) {
-            if (metaData.isRelationshipEntity(classInfo.name())) {
-                isRelEntity = true;
+        Snapshot snapshot = snapshot(entityId, classInfo);
+        if (snapshot == null) {
+            return false;
+        }
+        PropertyFields fields = snapshot.fields;
+        for (int i = 0; i < fields.size(); i++) {
+            if (fields.changed(i, object, snapshot.values[i])) {
+                return false;
             }
+        }
+        return true;
+    }
 
-            if ((!isRelEntity && !nodeHash.containsKey(entityId)) || (isRelEntity && !relEntityHash.containsKey(entityId))) {
-                return false;
+    /**
+     * determines which of the properties of the specified object
+     * have changed since it was remembered. The object must not be null.
+     *
+     * @param entityId the id of the entity
+     * @param object the object whose persistable properties we want to check
+     * @param classInfo metadata about the object
+     * @return the names of the properties that have changed, which is empty if the object hasn't changed, or null if
+     * the object hasn't been remembered, in which case all its properties must be regarded as changed
+     */
+    public Set<String> changedProperties(Long entityId, Object object, ClassInfo classInfo) {
+        Snapshot snapshot = snapshot(entityId, classInfo);
+        if (snapshot == null) {
+            return null;
+        }
+        Set<String> changed = new HashSet<>();
+        PropertyFields fields = snapshot.fields;
+        for (int i = 0; i < fields.size(); i++) {
+            if (fields.changed(i, object, snapshot.values[i])) {
+                changed.add(fields.infos[i].property());
             }
+        }
+        return changed;
+    }
+
+    public void clear() {
+        nodeSnapshots.clear();
+        relEntitySnapshots.clear();
+    }
 
-            long actual = hash(object, classInfo);
-            long expected = isRelEntity ? relEntityHash.get(entityId) : nodeHash.get(entityId);
+    private Map<Long, Snapshot> snapshots(ClassInfo classInfo) {
+        return metaData.isRelationshipEntity(classInfo.name()) ? relEntitySnapshots : nodeSnapshots;
+    }
 
-            return (actual == expected);
+    private Snapshot snapshot(Long entityId, ClassInfo classInfo) {
+        if (entityId == null) {
+            return null;
+        }
+        Snapshot snapshot = snapshots(classInfo).get(entityId);
+        // an id may be reused by an object of another class once the original has been deleted
+        if (snapshot == null || snapshot.fields != propertyFields(classInfo)) {
+            return null;
         }
-        return false;
+        return snapshot;
     }
 
-    public void clear() {
-        nodeHash.clear();
-        relEntityHash.clear();
+    private PropertyFields propertyFields(ClassInfo classInfo) {
+        PropertyFields fields = propertyFields.get(classInfo.name());
+        if (fields == null) {
+            propertyFields.putIfAbsent(classInfo.name(), new PropertyFields(classInfo));
+            fields = propertyFields.get(classInfo.name());
+        }
+        return fields;
     }
 
+    private static class Snapshot {
 
-    private static long hash(Object object, ClassInfo classInfo) {
-        long hash = seed;
-        for (FieldInfo fieldInfo : classInfo.propertyFields()) {
-            Field field = classInfo.getField(fieldInfo);
-            Object value = FieldWriter.read(field, object);
-            if (value != null) {
-                hash = hash * 31L + hash(value.toString());
+        private final PropertyFields fields;
+        private final Object[] values;
+
+        Snapshot(PropertyFields fields, Object[] values) {
+            this.fields = fields;
+            this.values = values;
+        }
+    }
+
+    /**
+     * The property fields of a class, made accessible once so they can be read directly.
+     */
+    private static class PropertyFields {
+
+        private final FieldInfo[] infos;
+        private final Field[] fields;
+
+        PropertyFields(ClassInfo classInfo) {
+            Collection<FieldInfo> propertyFields = classInfo.propertyFields();
+            this.infos = propertyFields.toArray(new FieldInfo[propertyFields.size()]);
+            this.fields = new Field[infos.length];
+            for (int i = 0; i < infos.length; i++) {
+                fields[i] = classInfo.getField(infos[i]);
+                fields[i].setAccessible(true);
+            }
+        }
+
+        int size() {
+            return infos.length;
+        }
+
+        Object[] snapshot(Object object) {
+            Object[] values = new Object[infos.length];
+            for (int i = 0; i < infos.length; i++) {
+                values[i] = copy(value(i, object));
             }
+            return values;
+        }
+
+        boolean changed(int i, Object object, Object remembered) {
+            return !same(value(i, object), remembered);
+        }
+
+        private Object value(int i, Object object) {
+            try {
+                Object value = fields[i].get(object);
+                if (infos[i].hasConverter()) {
+                    value = infos[i].converter().toGraphProperty(value);
+                }
+                return value;
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    private static Object copy(Object value) {
+        if (value == null || isImmutable(value)) {
+            return value;
+        }
+        if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+            System.arraycopy(value, 0, copy, 0, length);
+            return copy;
+        }
+        if (value instanceof Collection) {
+            return new ArrayList<>((Collection<?>) value);
+        }
+        if (value instanceof Date) {
+            return ((Date) value).clone();
         }
-        return hash;
+        return value.toString();
     }
 
-    private static long hash(String string) {
-        long h = 1125899906842597L; // prime
-        int len = string.length();
+    private static boolean same(Object value, Object remembered) {
+        if (value == remembered) {
+            return true;
+        }
+        if (value == null || remembered == null) {
+            return false;
+        }
+        if (isImmutable(value) || value instanceof Date) {
+            return value.equals(remembered);
+        }
+        if (value.getClass().isArray()) {
+            return Objects.deepEquals(value, remembered);
+        }
+        if (value instanceof Collection) {
+            return remembered instanceof List && sameElements((Collection<?>) value, (List<?>) remembered);
+        }
+        return value.toString().equals(remembered);
+    }
 
-        for (int i = 0; i < len; i++) {
-            h = 31*h + string.charAt(i);
+    private static boolean sameElements(Collection<?> collection, List<?> remembered) {
+        if (collection.size() != remembered.size()) {
+            return false;
         }
-        return h;
+        Iterator<?> iterator = remembered.iterator();
+        for (Object element : collection) {
+            if (!Objects.deepEquals(element, iterator.next())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isImmutable(Object value) {
+        return value instanceof String || value instanceof Boolean || value instanceof Character || value instanceof Enum
+                || value instanceof Byte || value instanceof Short || value instanceof Integer || value instanceof Long
+                || value instanceof Float || value instanceof Double || value instanceof BigInteger || value instanceof BigDecimal;
     }
 }
@@ -14,6 +14,8 @@
 
 package org.neo4j.ogm.mapper;
 
+import java.util.Map;
+
 import org.neo4j.ogm.cypher.compiler.CypherContext;
 
 /**
@@ -46,4 +48,16 @@ public interface EntityToGraphMapper {
      */
     CypherContext map(Object entity, int depth);
 
+    /**
+     * Processes several objects and their composite persistent objects and produces Cypher queries to persist their state
+     * in Neo4j, all in a single {@link CypherContext}. An object reachable from more than one of the given objects is
+     * therefore only persisted once.
+     *
+     * @param entities The "root" nodes of the object graphs to persist, each mapped to the depth to which it is traversed
+     * @return A {@link CypherContext} object containing the statements required to persist the given objects to Neo4j, along
+     *         with a representation of the changes to be made by the Cypher statements never <code>null</code>
+     * @throws NullPointerException if any of the objects is <code>null</code>
+     */
+    CypherContext map(Map<Object, Integer> entities);
+
 }
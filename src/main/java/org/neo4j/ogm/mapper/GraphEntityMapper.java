@@ -22,7 +22,6 @@ import org.neo4j.ogm.annotation.Relationship;
 import org.neo4j.ogm.annotation.StartNode;
 import org.neo4j.ogm.entityaccess.*;
 import org.neo4j.ogm.metadata.BaseClassNotFoundException;
-import org.neo4j.ogm.metadata.ClassUtils;
 import org.neo4j.ogm.metadata.MappingException;
 import org.neo4j.ogm.metadata.MetaData;
 import org.neo4j.ogm.metadata.info.ClassInfo;
@@ -51,7 +50,7 @@ public class GraphEntityMapper implements GraphToEntityMapper<GraphModel> {
 		this.metadata = metaData;
 		this.entityFactory = new EntityFactory(metadata);
 		this.mappingContext = mappingContext;
-		this.entityAccessStrategy = new DefaultEntityAccessStrategy();
+		this.entityAccessStrategy = mappingContext.entityAccessStrategy();
 	}
 
 	@Override
@@ -216,7 +215,7 @@ public class GraphEntityMapper implements GraphToEntityMapper<GraphModel> {
 		} else {
 			RelationalWriter writer = entityAccessStrategy.getRelationalWriter(metadata.classInfo(source), edge.getType(), Relationship.OUTGOING, target);
 
-			mappingContext.registerRelationship(new MappedRelationship(edge.getStartNode(), edge.getType(), edge.getEndNode(), edge.getId(), source.getClass(), ClassUtils.getType(writer.typeParameterDescriptor())));
+			mappingContext.registerRelationship(new MappedRelationship(edge.getStartNode(), edge.getType(), edge.getEndNode(), edge.getId(), source.getClass(), writer.typeParameterClass()));
 		}
 	}
 
@@ -239,7 +238,7 @@ public class GraphEntityMapper implements GraphToEntityMapper<GraphModel> {
 		} else {
 			if (writer.forScalar()) {
 				writer.write(source, relationshipEntity);
-				mappingContext.registerRelationship(new MappedRelationship(edge.getStartNode(), edge.getType(), edge.getEndNode(), edge.getId(), source.getClass(), ClassUtils.getType(writer.typeParameterDescriptor())));
+				mappingContext.registerRelationship(new MappedRelationship(edge.getStartNode(), edge.getType(), edge.getEndNode(), edge.getId(), source.getClass(), writer.typeParameterClass()));
 			} else {
 				oneToMany.add(edge);
 			}
@@ -313,12 +312,12 @@ public class GraphEntityMapper implements GraphToEntityMapper<GraphModel> {
                 RelationalWriter outgoingWriter = findIterableWriter(instance, relationshipEntity, edge.getType(), Relationship.OUTGOING);
                 if (outgoingWriter!=null) {
                     entityCollector.recordTypeRelationship(edge.getStartNode(), relationshipEntity, edge.getType(), Relationship.OUTGOING);
-                    relationshipsToRegister.add(new MappedRelationship(edge.getStartNode(), edge.getType(), edge.getEndNode(), edge.getId(), instance.getClass(), ClassUtils.getType(outgoingWriter.typeParameterDescriptor())));
+                    relationshipsToRegister.add(new MappedRelationship(edge.getStartNode(), edge.getType(), edge.getEndNode(), edge.getId(), instance.getClass(), outgoingWriter.typeParameterClass()));
                 }
                 RelationalWriter incomingWriter = findIterableWriter(parameter, relationshipEntity, edge.getType(), Relationship.INCOMING);
                 if (incomingWriter!=null) {
                     entityCollector.recordTypeRelationship(edge.getEndNode(), relationshipEntity, edge.getType(), Relationship.INCOMING);
-                    relationshipsToRegister.add(new MappedRelationship(edge.getStartNode(), edge.getType(), edge.getEndNode(), edge.getId(), parameter.getClass(), ClassUtils.getType(incomingWriter.typeParameterDescriptor())));
+                    relationshipsToRegister.add(new MappedRelationship(edge.getStartNode(), edge.getType(), edge.getEndNode(), edge.getId(), parameter.getClass(), incomingWriter.typeParameterClass()));
                 }
                 if (incomingWriter != null || outgoingWriter != null) {
                     registeredEdges.add(edge) ;
@@ -327,12 +326,12 @@ public class GraphEntityMapper implements GraphToEntityMapper<GraphModel> {
                 RelationalWriter outgoingWriter = findIterableWriter(instance, parameter, edge.getType(), Relationship.OUTGOING);
                 if (outgoingWriter!=null) {
                     entityCollector.recordTypeRelationship(edge.getStartNode(), parameter, edge.getType(), Relationship.OUTGOING);
-                    relationshipsToRegister.add(new MappedRelationship(edge.getStartNode(), edge.getType(), edge.getEndNode(), edge.getId(), instance.getClass(), ClassUtils.getType(outgoingWriter.typeParameterDescriptor())));
+                    relationshipsToRegister.add(new MappedRelationship(edge.getStartNode(), edge.getType(), edge.getEndNode(), edge.getId(), instance.getClass(), outgoingWriter.typeParameterClass()));
                 }
                 RelationalWriter incomingWriter = findIterableWriter(parameter, instance, edge.getType(), Relationship.INCOMING);
                 if (incomingWriter!=null) {
                     entityCollector.recordTypeRelationship(edge.getEndNode(), instance, edge.getType(), Relationship.INCOMING);
-                    relationshipsToRegister.add(new MappedRelationship(edge.getStartNode(), edge.getType(), edge.getEndNode(), edge.getId(), parameter.getClass(), ClassUtils.getType(incomingWriter.typeParameterDescriptor())));
+                    relationshipsToRegister.add(new MappedRelationship(edge.getStartNode(), edge.getType(), edge.getEndNode(), edge.getId(), parameter.getClass(), incomingWriter.typeParameterClass()));
 
                 }
                 if (incomingWriter != null || outgoingWriter != null) {
@@ -367,7 +366,7 @@ public class GraphEntityMapper implements GraphToEntityMapper<GraphModel> {
                 RelationalWriter writer = entityAccessStrategy.getRelationalWriter(metadata.classInfo(source), edge.getType(), Relationship.OUTGOING, target);
                 // ensures its tracked in the domain
                 if (writer != null) {
-                    MappedRelationship mappedRelationship = new MappedRelationship(edge.getStartNode(), edge.getType(), edge.getEndNode(), edge.getId(), source.getClass(), ClassUtils.getType(writer.typeParameterDescriptor()));
+                    MappedRelationship mappedRelationship = new MappedRelationship(edge.getStartNode(), edge.getType(), edge.getEndNode(), edge.getId(), source.getClass(), writer.typeParameterClass());
                     if (!mappingContext.isRegisteredRelationship(mappedRelationship)) {
                         mappingContext.registerRelationship(mappedRelationship);
                     }
@@ -23,7 +23,6 @@ import org.neo4j.ogm.entityaccess.EntityAccessStrategy;
 import org.neo4j.ogm.entityaccess.PropertyReader;
 import org.neo4j.ogm.entityaccess.RelationalReader;
 import org.neo4j.ogm.metadata.MetaData;
-import org.neo4j.ogm.metadata.classloader.MetaDataClassLoader;
 import org.neo4j.ogm.metadata.info.ClassInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,20 +47,31 @@ public class MappingContext {
 
     private final ConcurrentMap<Long, Object> relationshipEntityRegister = new ConcurrentHashMap<>();
     private final ConcurrentMap<Long, Object> nodeEntityRegister = new ConcurrentHashMap<>();
-    private final Set<MappedRelationship> relationshipRegister =  Collections.newSetFromMap(new ConcurrentHashMap<MappedRelationship, Boolean>());
+    private final RelationshipRegister relationshipRegister = new RelationshipRegister();
 
     /** register of all mapped entities of a specific type (including supertypes) */
     private final ConcurrentMap<Class<?>, Set<Object>> typeRegister = new ConcurrentHashMap<>();
     private final EntityMemo objectMemo;
 
     private final MetaData metaData;
-    private final EntityAccessStrategy entityAccessStrategy = new DefaultEntityAccessStrategy();
+    private volatile EntityAccessStrategy entityAccessStrategy = new DefaultEntityAccessStrategy();
 
     public MappingContext(MetaData metaData) {
         this.metaData = metaData;
         objectMemo = new EntityMemo(metaData);
     }
 
+    /**
+     * @return the strategy used to read and write the entities of this context
+     */
+    public EntityAccessStrategy entityAccessStrategy() {
+        return entityAccessStrategy;
+    }
+
+    public void setEntityAccessStrategy(EntityAccessStrategy entityAccessStrategy) {
+        this.entityAccessStrategy = entityAccessStrategy;
+    }
+
     public Object getNodeEntity(Long id) {
         return nodeEntityRegister.get(id);
     }
@@ -144,12 +154,23 @@ public class MappingContext {
         return !objectMemo.remembered((Long)id, entity, classInfo);
     }
 
+    /**
+     * @param entity the object to check
+     * @return the names of the properties of the object that have changed since it was remembered, or null if it
+     * isn't remembered at all
+     */
+    public Set<String> changedProperties(Object entity) {
+        ClassInfo classInfo = metaData.classInfo(entity);
+        Object id = entityAccessStrategy.getIdentityPropertyReader(classInfo).read(entity);
+        return objectMemo.changedProperties((Long)id, entity, classInfo);
+    }
+
     // these methods belong on the relationship registry
     public boolean isRegisteredRelationship(MappedRelationship relationship) {
         return relationshipRegister.contains(relationship);
     }
 
-    public Set<MappedRelationship> mappedRelationships() {
+    public RelationshipRegister mappedRelationships() {
         return relationshipRegister;
     }
 
@@ -194,13 +215,11 @@ public class MappingContext {
         if (classInfo.isInterface()) {
             List<ClassInfo> implementingClasses = metaData.getImplementingClassInfos(classInfo.name());
             for (ClassInfo implementingClass : implementingClasses) {
-                try {
-                    String implementingClassName = implementingClass.name();
-                    //clear(Class.forName(implementingClassName));
-                    clear(MetaDataClassLoader.loadClass(implementingClassName));
-                } catch (Exception e) {
-                    throw new RuntimeException(e);
+                Class<?> implementingType = implementingClass.getUnderlyingClass();
+                if (implementingType == null) {
+                    throw new RuntimeException(new ClassNotFoundException(implementingClass.name()));
                 }
+                clear(implementingType);
             }
         }
         else {
@@ -246,6 +265,58 @@ public class MappingContext {
         getAll(type).remove(entity);
     }
 
+    /**
+     * purges all information about these objects from the mapping context
+     *
+     * @param entities the objects whose object references and relationship mappings we want to purge
+     */
+    public void clearAll(Collection<?> entities) {
+        Map<Class<?>, List<Object>> entitiesByType = new HashMap<>();
+        for (Object entity : entities) {
+            List<Object> entitiesOfType = entitiesByType.get(entity.getClass());
+            if (entitiesOfType == null) {
+                entitiesOfType = new ArrayList<>();
+                entitiesByType.put(entity.getClass(), entitiesOfType);
+            }
+            entitiesOfType.add(entity);
+        }
+        for (Map.Entry<Class<?>, List<Object>> entry : entitiesByType.entrySet()) {
+            ClassInfo classInfo = metaData.classInfo(entry.getKey().getName());
+            PropertyReader identityReader = entityAccessStrategy.getIdentityPropertyReader(classInfo);
+            for (Object entity : entry.getValue()) {
+                purge(entity, identityReader);
+            }
+            getAll(entry.getKey()).removeAll(entry.getValue());
+        }
+    }
+
+    /**
+     * purges all information about the objects of the supplied type with
+     * the given ids from the mapping context, including the relationship mappings
+     * of any that haven't been loaded
+     *
+     * @param type the type of the objects we want to purge
+     * @param ids the ids of the objects in Neo4j
+     */
+    public void clear(Class<?> type, Collection<Long> ids) {
+        boolean relationshipEntity = metaData.isRelationshipEntity(type.getName());
+        List<Object> entities = new ArrayList<>();
+        for (Long id : ids) {
+            Object entity = relationshipEntity ? relationshipEntityRegister.get(id) : nodeEntityRegister.get(id);
+            if (entity != null) {
+                // whatever is registered under an id of some other type was not deleted
+                if (type.isInstance(entity)) {
+                    entities.add(entity);
+                }
+            } else {
+                for (MappedRelationship mappedRelationship : relationshipEntity ? relationshipRegister.relationshipEntity(id) : relationshipRegister.relationships(id)) {
+                    relationshipRegister.remove(mappedRelationship);
+                }
+            }
+        }
+        clearAll(entities);
+    }
+
     private void purge(Object entity, PropertyReader identityReader) {
         Long id = (Long) identityReader.read(entity);
         if (id != null) {
@@ -253,12 +324,8 @@ public class MappingContext {
                 nodeEntityRegister.remove(id);
 
                 // remove all relationship mappings to/from this object
-                Iterator<MappedRelationship> mappedRelationshipIterator = mappedRelationships().iterator();
-                while (mappedRelationshipIterator.hasNext()) {
-                    MappedRelationship mappedRelationship = mappedRelationshipIterator.next();
-                    if (mappedRelationship.getStartNodeId() == id || mappedRelationship.getEndNodeId() == id) {
-                        mappedRelationshipIterator.remove();
-                    }
+                for (MappedRelationship mappedRelationship : relationshipRegister.relationships(id)) {
+                    relationshipRegister.remove(mappedRelationship);
                 }
             }
             if (relationshipEntityRegister.containsValue(entity)) {
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.mapper;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The set of {@link MappedRelationship}s known to a session, indexed by start node, end node and relationship type,
+ * and by relationship id for relationship entities.
+ * <p>
+ * Finding the relationships of a node costs as much as the number of relationships that node has, whatever the
+ * number held, so the work done by a save depends on the part of the graph it touches rather than on the size of
+ * the session.
+ * </p>
+ * Lookups may be made while the register is being changed, and return copies.
+ */
+public class RelationshipRegister extends AbstractSet<MappedRelationship> {
+
+    private final Set<MappedRelationship> relationships = Collections.newSetFromMap(new ConcurrentHashMap<MappedRelationship, Boolean>());
+
+    private final ConcurrentMap<Long, ConcurrentMap<String, Set<MappedRelationship>>> outgoing = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, ConcurrentMap<String, Set<MappedRelationship>>> incoming = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Set<MappedRelationship>> relationshipEntities = new ConcurrentHashMap<>();
+
+    @Override
+    public synchronized boolean add(MappedRelationship relationship) {
+        if (!relationships.add(relationship)) {
+            return false;
+        }
+        index(outgoing, relationship.getStartNodeId(), relationship);
+        index(incoming, relationship.getEndNodeId(), relationship);
+        if (relationship.getRelationshipId() != null) {
+            add(relationshipEntities, relationship.getRelationshipId(), relationship);
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized boolean remove(Object object) {
+        if (!relationships.remove(object)) {
+            return false;
+        }
+        MappedRelationship relationship = (MappedRelationship) object;
+        unindex(outgoing, relationship.getStartNodeId(), relationship);
+        unindex(incoming, relationship.getEndNodeId(), relationship);
+        if (relationship.getRelationshipId() != null) {
+            remove(relationshipEntities, relationship.getRelationshipId(), relationship);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object object) {
+        return relationships.contains(object);
+    }
+
+    @Override
+    public int size() {
+        return relationships.size();
+    }
+
+    @Override
+    public synchronized void clear() {
+        relationships.clear();
+        outgoing.clear();
+        incoming.clear();
+        relationshipEntities.clear();
+    }
+
+    @Override
+    public Iterator<MappedRelationship> iterator() {
+        final Iterator<MappedRelationship> iterator = relationships.iterator();
+        return new Iterator<MappedRelationship>() {
+
+            private MappedRelationship current;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public MappedRelationship next() {
+                current = iterator.next();
+                return current;
+            }
+
+            @Override
+            public void remove() {
+                if (current == null) {
+                    throw new IllegalStateException();
+                }
+                RelationshipRegister.this.remove(current);
+                current = null;
+            }
+        };
+    }
+
+    /**
+     * @param startNodeId the id of the start node
+     * @param relationshipType the type of relationship
+     * @return the relationships of the given type from the given node
+     */
+    public List<MappedRelationship> outgoing(long startNodeId, String relationshipType) {
+        return lookup(outgoing, startNodeId, relationshipType);
+    }
+
+    /**
+     * @param endNodeId the id of the end node
+     * @param relationshipType the type of relationship
+     * @return the relationships of the given type to the given node
+     */
+    public List<MappedRelationship> incoming(long endNodeId, String relationshipType) {
+        return lookup(incoming, endNodeId, relationshipType);
+    }
+
+    /**
+     * @param nodeId the id of a node
+     * @return the relationships of any type from or to the given node
+     */
+    public List<MappedRelationship> relationships(long nodeId) {
+        Set<MappedRelationship> found = new LinkedHashSet<>();
+        for (ConcurrentMap<Long, ConcurrentMap<String, Set<MappedRelationship>>> index : Arrays.asList(outgoing, incoming)) {
+            Map<String, Set<MappedRelationship>> byType = index.get(nodeId);
+            if (byType != null) {
+                for (Set<MappedRelationship> typed : byType.values()) {
+                    found.addAll(typed);
+                }
+            }
+        }
+        return new ArrayList<>(found);
+    }
+
+    /**
+     * @param relationshipId the id of a relationship entity
+     * @return the relationships recorded for that relationship entity
+     */
+    public List<MappedRelationship> relationshipEntity(Long relationshipId) {
+        Set<MappedRelationship> found = relationshipEntities.get(relationshipId);
+        return found == null ? Collections.<MappedRelationship>emptyList() : new ArrayList<>(found);
+    }
+
+    private static List<MappedRelationship> lookup(Map<Long, ConcurrentMap<String, Set<MappedRelationship>>> index, long nodeId, String relationshipType) {
+        Map<String, Set<MappedRelationship>> byType = index.get(nodeId);
+        if (byType == null) {
+            return Collections.emptyList();
+        }
+        Set<MappedRelationship> found = byType.get(relationshipType);
+        return found == null ? Collections.<MappedRelationship>emptyList() : new ArrayList<>(found);
+    }
+
+    private static void index(ConcurrentMap<Long, ConcurrentMap<String, Set<MappedRelationship>>> index, long nodeId, MappedRelationship relationship) {
+        ConcurrentMap<String, Set<MappedRelationship>> byType = index.get(nodeId);
+        if (byType == null) {
+            byType = new ConcurrentHashMap<>();
+            index.put(nodeId, byType);
+        }
+        add(byType, relationship.getRelationshipType(), relationship);
+    }
+
+    private static void unindex(ConcurrentMap<Long, ConcurrentMap<String, Set<MappedRelationship>>> index, long nodeId, MappedRelationship relationship) {
+        ConcurrentMap<String, Set<MappedRelationship>> byType = index.get(nodeId);
+        if (byType != null) {
+            remove(byType, relationship.getRelationshipType(), relationship);
+            if (byType.isEmpty()) {
+                index.remove(nodeId);
+            }
+        }
+    }
+
+    private static <K> void add(ConcurrentMap<K, Set<MappedRelationship>> index, K key, MappedRelationship relationship) {
+        Set<MappedRelationship> found = index.get(key);
+        if (found == null) {
+            found = Collections.newSetFromMap(new ConcurrentHashMap<MappedRelationship, Boolean>());
+            index.put(key, found);
+        }
+        found.add(relationship);
+    }
+
+    private static <K> void remove(ConcurrentMap<K, Set<MappedRelationship>> index, K key, MappedRelationship relationship) {
+        Set<MappedRelationship> found = index.get(key);
+        if (found != null) {
+            found.remove(relationship);
+            if (found.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+}
@@ -15,8 +15,9 @@
 package org.neo4j.ogm.metadata;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
-import org.neo4j.ogm.annotation.NodeEntity;
 import org.neo4j.ogm.annotation.RelationshipEntity;
 import org.neo4j.ogm.metadata.info.AnnotationInfo;
 import org.neo4j.ogm.metadata.info.ClassInfo;
@@ -34,8 +35,13 @@ public class MetaData {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MetaData.class);
 
+    private static final Object UNRESOLVED = new Object();
+
     private final DomainInfo domainInfo;
 
+    private final ConcurrentMap<List<String>, Object> resolvedTaxa = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Set<ClassInfo>> classInfosByLabelOrType = new ConcurrentHashMap<>();
+
     public MetaData(String... packages) {
         domainInfo = new DomainInfo(packages);
     }
@@ -50,14 +56,14 @@ public class MetaData {
      */
     public ClassInfo classInfo(String name) {
 
-        ClassInfo classInfo = _classInfo(name, NodeEntity.class.getName(), "label");
+        ClassInfo classInfo = domainInfo.getClassInfoForLabel(name);
         if (classInfo != null) {
             return classInfo;
         }
 
-        classInfo = _classInfo(name, RelationshipEntity.class.getName(), "type");
-        if (classInfo != null) {
-            return classInfo;
+        List<ClassInfo> relationshipEntities = domainInfo.getClassInfosForType(name);
+        if (!relationshipEntities.isEmpty()) {
+            return relationshipEntities.get(0);
         }
 
         classInfo = domainInfo.getClassSimpleName(name);
@@ -80,35 +86,6 @@ public class MetaData {
         return classInfo(object.getClass().getName());
     }
 
-    private ClassInfo _classInfo(String name, String nodeEntityAnnotation, String annotationPropertyName) {
-        List<ClassInfo> labelledClasses = domainInfo.getClassInfosWithAnnotation(nodeEntityAnnotation);
-        if (labelledClasses != null) {
-            for (ClassInfo labelledClass : labelledClasses) {
-                AnnotationInfo annotationInfo = labelledClass.annotationsInfo().get(nodeEntityAnnotation);
-                String value = annotationInfo.get(annotationPropertyName, labelledClass.neo4jName());
-                if (value.equals(name)) {
-                    return labelledClass;
-                }
-            }
-        }
-        return null;
-    }
-
-    private Set<ClassInfo> _classInfos(String name, String nodeEntityAnnotation, String annotationPropertyName) {
-        Set<ClassInfo> classInfos = new HashSet<>();
-        List<ClassInfo> labelledClasses = domainInfo.getClassInfosWithAnnotation(nodeEntityAnnotation);
-        if (labelledClasses != null) {
-            for (ClassInfo labelledClass : labelledClasses) {
-                AnnotationInfo annotationInfo = labelledClass.annotationsInfo().get(nodeEntityAnnotation);
-                String value = annotationInfo.get(annotationPropertyName, labelledClass.neo4jName());
-                if (value.equals(name)) {
-                    classInfos.add(labelledClass);
-                }
-            }
-        }
-        return classInfos;
-    }
-
     /**
      * Given an set of names (simple or fully-qualified) that are possibly within a type hierarchy, this function returns the
      * base class from among them.
@@ -117,6 +94,17 @@ public class MetaData {
      * @return The ClassInfo representing the base class among the taxa or <code>null</code> if it cannot be found
      */
     public ClassInfo resolve(String... taxa) {
+        List<String> key = Arrays.asList(taxa.clone());
+        Object resolved = resolvedTaxa.get(key);
+        if (resolved == null) {
+            ClassInfo classInfo = _resolve(taxa);
+            resolvedTaxa.putIfAbsent(key, classInfo == null ? UNRESOLVED : classInfo);
+            return classInfo;
+        }
+        return resolved == UNRESOLVED ? null : (ClassInfo) resolved;
+    }
+
+    private ClassInfo _resolve(String... taxa) {
 
         if (taxa.length > 0) {
 
@@ -187,18 +175,25 @@ public class MetaData {
      * @return A Set of ClassInfo matching the supplied name, or empty if it doesn't exist
      */
     public Set<ClassInfo> classInfoByLabelOrType(String name) {
+        Set<ClassInfo> classInfos = classInfosByLabelOrType.get(name);
+        if (classInfos == null) {
+            classInfos = Collections.unmodifiableSet(_classInfoByLabelOrType(name));
+            classInfosByLabelOrType.putIfAbsent(name, classInfos);
+        }
+        return classInfos;
+    }
+
+    private Set<ClassInfo> _classInfoByLabelOrType(String name) {
 
         Set<ClassInfo> classInfos = new HashSet<>();
 
-        ClassInfo classInfo = _classInfo(name, NodeEntity.class.getName(), "label");
+        ClassInfo classInfo = domainInfo.getClassInfoForLabel(name);
         if (classInfo != null) {
             classInfos.add(classInfo);
         }
 
         //Potentially many relationship entities annotated with the same type
-        for(ClassInfo info : _classInfos(name, RelationshipEntity.class.getName(), "type")) {
-            classInfos.add(info);
-        }
+        classInfos.addAll(domainInfo.getClassInfosForType(name));
 
         classInfo = domainInfo.getClassSimpleName(name);
         if (classInfo != null) {
@@ -28,6 +28,7 @@ import java.io.InputStream;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Maintains object to graph mapping details at the class (type) level
@@ -73,12 +74,12 @@ public class ClassInfo {
     private final List<ClassInfo> directInterfaces = new ArrayList<>();
     private final List<ClassInfo> directImplementingClasses = new ArrayList<>();
 
+    private volatile FieldInfo identityField = null;
+    private volatile DerivedViews derivedViews;
 
-    private Map<Class, List<MethodInfo>> iterableGettersForType = new HashMap<>();
-    private Map<Class, List<MethodInfo>> iterableSettersForType = new HashMap<>();
-    private Map<Class,List<FieldInfo>> iterableFieldsForType = new HashMap<>();
-
-    private FieldInfo identityField = null;
+    private final Map<Object, Object> attachments = new ConcurrentHashMap<>();
+    private final Map<FieldInfo, Field> fields = new ConcurrentHashMap<>();
+    private volatile Class<?> underlyingClass;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ClassInfo.class);
 
@@ -147,6 +148,33 @@ public class ClassInfo {
 
         this.fieldsInfo.append(classInfo.fieldsInfo());
         this.methodsInfo.append(classInfo.methodsInfo());
+        this.attachments.clear();
+        invalidateDerivedViews();
+    }
+
+    void implement(ClassInfo interfaceInfo) {
+        this.directInterfaces.add(interfaceInfo);
+        invalidateDerivedViews();
+    }
+
+    private void invalidateDerivedViews() {
+        this.identityField = null;
+        this.derivedViews = null;
+    }
+
+    /**
+     * The views of this class' fields and methods are derived when first needed, and again after its hierarchy changes.
+     * Once the domain has been post-processed they no longer change, so they are built at most once or twice per class.
+     *
+     * @return the views derived from the current fields and methods of this class
+     */
+    DerivedViews derivedViews() {
+        DerivedViews views = derivedViews;
+        if (views == null) {
+            views = new DerivedViews(this);
+            derivedViews = views;
+        }
+        return views;
     }
 
     /**
@@ -317,8 +345,12 @@ public class ClassInfo {
      * @return A Collection of FieldInfo objects describing the classInfo's property fields
      */
     public Collection<FieldInfo> propertyFields() {
+        return derivedViews().propertyFields;
+    }
+
+    private Collection<FieldInfo> collectPropertyFields() {
         FieldInfo identityField = identityFieldOrNull();
-        Set<FieldInfo> fieldInfos = new HashSet<>();
+        List<FieldInfo> fieldInfos = new ArrayList<>();
         for (FieldInfo fieldInfo : fieldsInfo().fields()) {
             if (fieldInfo != identityField) {
                 AnnotationInfo annotationInfo = fieldInfo.getAnnotations().get(Property.CLASS);
@@ -341,12 +373,7 @@ public class ClassInfo {
      * @return A FieldInfo object describing the required property field, or null if it doesn't exist.
      */
     public FieldInfo propertyField(String propertyName) {
-        for (FieldInfo fieldInfo : propertyFields()) {
-            if (fieldInfo.property().equalsIgnoreCase(propertyName)) {
-                return fieldInfo;
-            }
-        }
-        return null;
+        return derivedViews().propertyFieldsByProperty.get(propertyName);
     }
 
     /**
@@ -356,12 +383,7 @@ public class ClassInfo {
      * @return A FieldInfo object describing the required property field, or null if it doesn't exist.
      */
     public FieldInfo propertyFieldByName(String propertyName) {
-        for (FieldInfo fieldInfo : propertyFields()) {
-            if (fieldInfo.getName().equalsIgnoreCase(propertyName)) {
-                return fieldInfo;
-            }
-        }
-        return null;
+        return derivedViews().propertyFieldsByName.get(propertyName);
     }
 
     /**
@@ -371,8 +393,12 @@ public class ClassInfo {
      * @return A Collection of FieldInfo objects describing the classInfo's relationship fields
      */
     public Collection<FieldInfo> relationshipFields() {
+        return derivedViews().relationshipFields;
+    }
+
+    private Collection<FieldInfo> collectRelationshipFields() {
         FieldInfo identityField = identityFieldOrNull();
-        Set<FieldInfo> fieldInfos = new HashSet<>();
+        List<FieldInfo> fieldInfos = new ArrayList<>();
         for (FieldInfo fieldInfo : fieldsInfo().fields()) {
             if (fieldInfo != identityField) {
                 AnnotationInfo annotationInfo = fieldInfo.getAnnotations().get(Relationship.CLASS);
@@ -395,12 +421,7 @@ public class ClassInfo {
      * @return A FieldInfo object describing the required relationship field, or null if it doesn't exist.
      */
     public FieldInfo relationshipField(String relationshipName) {
-        for (FieldInfo fieldInfo : relationshipFields()) {
-            if (fieldInfo.relationship().equalsIgnoreCase(relationshipName)) {
-                return fieldInfo;
-            }
-        }
-        return null;
+        return derivedViews().relationshipFieldsByRelationship.get(relationshipName);
     }
 
     /**
@@ -412,16 +433,8 @@ public class ClassInfo {
      * @return A FieldInfo object describing the required relationship field, or null if it doesn't exist.
      */
     public FieldInfo relationshipField(String relationshipName, String relationshipDirection, boolean strict) {
-        for (FieldInfo fieldInfo : relationshipFields()) {
-            String relationship = strict ? fieldInfo.relationshipTypeAnnotation() : fieldInfo.relationship();
-            if (relationshipName.equalsIgnoreCase(relationship)) {
-                if(((fieldInfo.relationshipDirection(Relationship.OUTGOING).equals(Relationship.INCOMING) || fieldInfo.relationshipDirection(Relationship.OUTGOING).equals(Relationship.UNDIRECTED))&& (relationshipDirection.equals(Relationship.INCOMING)))
-                        || (relationshipDirection.equals(Relationship.OUTGOING) && !(fieldInfo.relationshipDirection(Relationship.OUTGOING).equals(Relationship.INCOMING)))) {
-                    return fieldInfo;
-                }
-            }
-        }
-        return null;
+        Iterator<FieldInfo> candidateFields = candidateRelationshipFields(relationshipName, relationshipDirection, strict).iterator();
+        return candidateFields.hasNext() ? candidateFields.next() : null;
     }
 
     /**
@@ -433,7 +446,18 @@ public class ClassInfo {
      * @return Set of  FieldInfo objects describing the required relationship field, or empty set if it doesn't exist.
      */
     public Set<FieldInfo> candidateRelationshipFields(String relationshipName, String relationshipDirection, boolean strict) {
-        Set<FieldInfo> candidateFields = new HashSet<>();
+        List<Object> key = Arrays.<Object>asList(relationshipName, relationshipDirection, strict);
+        Map<List<Object>, Set<FieldInfo>> memo = derivedViews().candidateRelationshipFields;
+        Set<FieldInfo> candidateFields = memo.get(key);
+        if (candidateFields == null) {
+            candidateFields = Collections.unmodifiableSet(collectCandidateRelationshipFields(relationshipName, relationshipDirection, strict));
+            memo.put(key, candidateFields);
+        }
+        return candidateFields;
+    }
+
+    private Set<FieldInfo> collectCandidateRelationshipFields(String relationshipName, String relationshipDirection, boolean strict) {
+        Set<FieldInfo> candidateFields = new LinkedHashSet<>();
         for (FieldInfo fieldInfo : relationshipFields()) {
             String relationship = strict ? fieldInfo.relationshipTypeAnnotation() : fieldInfo.relationship();
             if (relationshipName.equalsIgnoreCase(relationship)) {
@@ -453,12 +477,7 @@ public class ClassInfo {
      * @return A FieldInfo object describing the required relationship field, or null if it doesn't exist.
      */
     public FieldInfo relationshipFieldByName(String fieldName) {
-        for (FieldInfo fieldInfo : relationshipFields()) {
-            if (fieldInfo.getName().equalsIgnoreCase(fieldName)) {
-                return fieldInfo;
-            }
-        }
-        return null;
+        return derivedViews().relationshipFieldsByName.get(fieldName);
     }
 
     /**
@@ -732,10 +751,35 @@ public class ClassInfo {
     }
 
 
+    /**
+     * @param key the key the object was attached with, e.g. the class of the component that made it
+     * @return the object attached to this class under the given key, or null if none has been attached since the
+     * class was last changed
+     */
+    public Object attachment(Object key) {
+        return attachments.get(key);
+    }
+
+    /**
+     * Keeps an object derived from this class, such as the way its instances are accessed, for as long as the class
+     * is unchanged.
+     */
+    public void attach(Object key, Object attachment) {
+        attachments.put(key, attachment);
+    }
+
     public Field getField(FieldInfo fieldInfo) {
+        Field field = fields.get(fieldInfo);
+        if (field == null) {
+            field = findField(fieldInfo);
+            fields.put(fieldInfo, field);
+        }
+        return field;
+    }
+
+    private Field findField(FieldInfo fieldInfo) {
         try {
-            //return Class.forName(name()).getDeclaredField(fieldInfo.getName());
-            return MetaDataClassLoader.loadClass(name()).getDeclaredField(fieldInfo.getName());
+            return loadUnderlyingClass().getDeclaredField(fieldInfo.getName());
         } catch (NoSuchFieldException e) {
             if (directSuperclass() != null) {
                 return directSuperclass().getField(fieldInfo);
@@ -751,8 +795,7 @@ public class ClassInfo {
 
     public Method getMethod(MethodInfo methodInfo, Class... parameterTypes) {
         try {
-            //return Class.forName(name()).getMethod(methodInfo.getName(), parameterTypes);
-            return MetaDataClassLoader.loadClass(name()).getMethod(methodInfo.getName(), parameterTypes);
+            return loadUnderlyingClass().getMethod(methodInfo.getName(), parameterTypes);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -832,7 +875,12 @@ public class ClassInfo {
      * @return {@link List} of {@link FieldInfo}
      */
     public List<FieldInfo> findIterableFields() {
-        List<FieldInfo> fieldInfos = new ArrayList<>();
+        DerivedViews views = derivedViews();
+        List<FieldInfo> fieldInfos = views.iterableFields;
+        if (fieldInfos != null) {
+            return fieldInfos;
+        }
+        fieldInfos = new ArrayList<>();
         try {
             for (FieldInfo fieldInfo : fieldsInfo().fields() ) {
                 Class type = getField(fieldInfo).getType();
@@ -840,6 +888,8 @@ public class ClassInfo {
                     fieldInfos.add(fieldInfo);
                 }
             }
+            fieldInfos = Collections.unmodifiableList(fieldInfos);
+            views.iterableFields = fieldInfos;
             return fieldInfos;
         }
         catch (Exception e) {
@@ -855,6 +905,7 @@ public class ClassInfo {
      * @return {@link List} of {@link MethodInfo}, never <code>null</code>
      */
     public List<FieldInfo> findIterableFields(Class iteratedType) {
+        Map<Class, List<FieldInfo>> iterableFieldsForType = derivedViews().iterableFieldsForType;
         if(iterableFieldsForType.containsKey(iteratedType)) {
             return iterableFieldsForType.get(iteratedType);
         }
@@ -871,6 +922,7 @@ public class ClassInfo {
                     fieldInfos.add(fieldInfo);
                 }
             }
+            fieldInfos = Collections.unmodifiableList(fieldInfos);
             iterableFieldsForType.put(iteratedType, fieldInfos);
             return fieldInfos;
         }
@@ -890,6 +942,17 @@ public class ClassInfo {
      * @return {@link List} of {@link MethodInfo}, never <code>null</code>
      */
     public List<FieldInfo> findIterableFields(Class iteratedType, String relationshipType, String relationshipDirection, boolean strict) {
+        List<Object> key = Arrays.<Object>asList(iteratedType, relationshipType, relationshipDirection, strict);
+        Map<List<Object>, List<FieldInfo>> memo = derivedViews().iterableFieldsForRelationship;
+        List<FieldInfo> fieldInfos = memo.get(key);
+        if (fieldInfos == null) {
+            fieldInfos = Collections.unmodifiableList(collectIterableFields(iteratedType, relationshipType, relationshipDirection, strict));
+            memo.put(key, fieldInfos);
+        }
+        return fieldInfos;
+    }
+
+    private List<FieldInfo> collectIterableFields(Class iteratedType, String relationshipType, String relationshipDirection, boolean strict) {
         List<FieldInfo> fieldInfos = new ArrayList<>();
         for(FieldInfo fieldInfo : findIterableFields(iteratedType)) {
             String relationship = strict ? fieldInfo.relationshipTypeAnnotation() : fieldInfo.relationship();
@@ -913,6 +976,7 @@ public class ClassInfo {
      *
      */
     public List<MethodInfo> findIterableSetters(Class iteratedType) {
+        Map<Class, List<MethodInfo>> iterableSettersForType = derivedViews().iterableSettersForType;
         if(iterableSettersForType.containsKey(iteratedType)) {
             return iterableSettersForType.get(iteratedType);
         }
@@ -943,6 +1007,7 @@ public class ClassInfo {
                     }
                 }
             }
+            methodInfos = Collections.unmodifiableList(methodInfos);
             iterableSettersForType.put(iteratedType, methodInfos);
             return methodInfos;
         }
@@ -964,6 +1029,17 @@ public class ClassInfo {
      * @return {@link List} of {@link MethodInfo}, never <code>null</code>
      * */
     public List<MethodInfo> findIterableSetters(Class iteratedType, String relationshipType, String relationshipDirection, boolean strict) {
+        List<Object> key = Arrays.<Object>asList(iteratedType, relationshipType, relationshipDirection, strict);
+        Map<List<Object>, List<MethodInfo>> memo = derivedViews().iterableSettersForRelationship;
+        List<MethodInfo> methodInfos = memo.get(key);
+        if (methodInfos == null) {
+            methodInfos = Collections.unmodifiableList(collectIterableSetters(iteratedType, relationshipType, relationshipDirection, strict));
+            memo.put(key, methodInfos);
+        }
+        return methodInfos;
+    }
+
+    private List<MethodInfo> collectIterableSetters(Class iteratedType, String relationshipType, String relationshipDirection, boolean strict) {
         List<MethodInfo> methodInfos = new ArrayList<>();
         for(MethodInfo methodInfo : findIterableSetters(iteratedType)) {
             String relationship = strict ? methodInfo.relationshipTypeAnnotation() : methodInfo.relationship();
@@ -986,6 +1062,7 @@ public class ClassInfo {
      * @return {@link List} of {@link MethodInfo}, never <code>null</code>
      */
     public List<MethodInfo> findIterableGetters(Class iteratedType) {
+        Map<Class, List<MethodInfo>> iterableGettersForType = derivedViews().iterableGettersForType;
         if(iterableGettersForType.containsKey(iteratedType)) {
             return iterableGettersForType.get(iteratedType);
         }
@@ -1016,6 +1093,7 @@ public class ClassInfo {
                     }
                 }
             }
+            methodInfos = Collections.unmodifiableList(methodInfos);
             iterableGettersForType.put(iteratedType, methodInfos);
             return methodInfos;
         }
@@ -1036,6 +1114,17 @@ public class ClassInfo {
      * @return {@link List} of {@link MethodInfo}, never <code>null</code>
      */
     public List<MethodInfo> findIterableGetters(Class iteratedType, String relationshipType, String relationshipDirection, boolean strict) {
+        List<Object> key = Arrays.<Object>asList(iteratedType, relationshipType, relationshipDirection, strict);
+        Map<List<Object>, List<MethodInfo>> memo = derivedViews().iterableGettersForRelationship;
+        List<MethodInfo> methodInfos = memo.get(key);
+        if (methodInfos == null) {
+            methodInfos = Collections.unmodifiableList(collectIterableGetters(iteratedType, relationshipType, relationshipDirection, strict));
+            memo.put(key, methodInfos);
+        }
+        return methodInfos;
+    }
+
+    private List<MethodInfo> collectIterableGetters(Class iteratedType, String relationshipType, String relationshipDirection, boolean strict) {
         List<MethodInfo> methodInfos = new ArrayList<>();
         for(MethodInfo methodInfo : findIterableGetters(iteratedType)) {
             String relationship = strict ? methodInfo.relationshipTypeAnnotation() : methodInfo.relationship();
@@ -1092,13 +1181,33 @@ public class ClassInfo {
      */
     public Class getUnderlyingClass() {
         try {
-            return MetaDataClassLoader.loadClass(className);//Class.forName(className);
+            return loadUnderlyingClass();
         } catch (ClassNotFoundException e) {
            LOGGER.error("Could not get underlying class for {}", className);
         }
         return null;
     }
 
+    /**
+     * Loads the underlying class when the domain is scanned, so that the class loader doesn't have to be resolved
+     * again when entities of this class are mapped.
+     */
+    void resolveUnderlyingClass() {
+        try {
+            loadUnderlyingClass();
+        } catch (ClassNotFoundException | LinkageError e) {
+            LOGGER.debug("Could not load underlying class for {}", className);
+        }
+    }
+
+    private Class<?> loadUnderlyingClass() throws ClassNotFoundException {
+        Class<?> clazz = underlyingClass;
+        if (clazz == null) {
+            underlyingClass = clazz = MetaDataClassLoader.loadClass(className);//Class.forName(className);
+        }
+        return clazz;
+    }
+
     /** Gets the class of the type parameter description of the entity related to this.
      *  The match is done based on the following-
      * 1. Look for a setter explicitly annotated with @Relationship for a type and implied direction
@@ -1117,22 +1226,22 @@ public class ClassInfo {
         try {
             MethodInfo methodInfo = relationshipSetter(relationshipType, relationshipDirection, STRICT_MODE);
             if (methodInfo != null && methodInfo.getTypeDescriptor() != null) {
-                return ClassUtils.getType(methodInfo.getTypeDescriptor());
+                return methodInfo.getTypeDescriptorClass();
             }
 
             FieldInfo fieldInfo = relationshipField(relationshipType, relationshipDirection, STRICT_MODE);
             if (fieldInfo != null && fieldInfo.getTypeDescriptor() != null) {
-                return ClassUtils.getType(fieldInfo.getTypeDescriptor());
+                return fieldInfo.getTypeDescriptorClass();
             }
 
             if (!relationshipDirection.equals(Relationship.INCOMING)) { //we always expect an annotation for INCOMING
                 methodInfo = relationshipSetter(relationshipType, relationshipDirection, INFERRED_MODE);
                 if (methodInfo != null && methodInfo.getTypeDescriptor() != null) {
-                    return ClassUtils.getType(methodInfo.getTypeDescriptor());
+                    return methodInfo.getTypeDescriptorClass();
                 }
                 fieldInfo = relationshipField(relationshipType, relationshipDirection, INFERRED_MODE);
                 if (fieldInfo != null && fieldInfo.getTypeDescriptor() != null) {
-                    return ClassUtils.getType(fieldInfo.getTypeDescriptor());
+                    return fieldInfo.getTypeDescriptorClass();
                 }
             }
         }
@@ -1143,5 +1252,52 @@ public class ClassInfo {
 
     }
 
-}
+    /**
+     * The views of a class' fields and methods that are used whenever its instances are mapped, derived from its
+     * fields and methods once instead of on every call. The views are immutable, and those looked up by argument are
+     * remembered as they are asked for.
+     */
+    static class DerivedViews {
+
+        final Collection<FieldInfo> propertyFields;
+        final Collection<FieldInfo> relationshipFields;
+
+        final Map<String, FieldInfo> propertyFieldsByProperty = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        final Map<String, FieldInfo> propertyFieldsByName = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        final Map<String, FieldInfo> relationshipFieldsByRelationship = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        final Map<String, FieldInfo> relationshipFieldsByName = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+        final Map<List<Object>, Set<FieldInfo>> candidateRelationshipFields = new ConcurrentHashMap<>();
+        final Map<Class, List<FieldInfo>> iterableFieldsForType = new ConcurrentHashMap<>();
+        final Map<Class, List<MethodInfo>> iterableSettersForType = new ConcurrentHashMap<>();
+        final Map<Class, List<MethodInfo>> iterableGettersForType = new ConcurrentHashMap<>();
+        final Map<List<Object>, List<FieldInfo>> iterableFieldsForRelationship = new ConcurrentHashMap<>();
+        final Map<List<Object>, List<MethodInfo>> iterableSettersForRelationship = new ConcurrentHashMap<>();
+        final Map<List<Object>, List<MethodInfo>> iterableGettersForRelationship = new ConcurrentHashMap<>();
+
+        volatile List<FieldInfo> iterableFields;
+
+        DerivedViews(ClassInfo classInfo) {
+            Collection<FieldInfo> propertyFields = classInfo.collectPropertyFields();
+            for (FieldInfo fieldInfo : propertyFields) {
+                index(propertyFieldsByProperty, fieldInfo.property(), fieldInfo);
+                index(propertyFieldsByName, fieldInfo.getName(), fieldInfo);
+            }
+            this.propertyFields = Collections.unmodifiableList(Arrays.asList(propertyFields.toArray(new FieldInfo[propertyFields.size()])));
 
+            Collection<FieldInfo> relationshipFields = classInfo.collectRelationshipFields();
+            for (FieldInfo fieldInfo : relationshipFields) {
+                index(relationshipFieldsByRelationship, fieldInfo.relationship(), fieldInfo);
+                index(relationshipFieldsByName, fieldInfo.getName(), fieldInfo);
+            }
+            this.relationshipFields = Collections.unmodifiableList(Arrays.asList(relationshipFields.toArray(new FieldInfo[relationshipFields.size()])));
+        }
+
+        // the first field found with a name is the one looked up by it
+        private static void index(Map<String, FieldInfo> fieldInfos, String name, FieldInfo fieldInfo) {
+            if (name != null && !fieldInfos.containsKey(name)) {
+                fieldInfos.put(name, fieldInfo);
+            }
+        }
+    }
+}
@@ -18,6 +18,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
 
+import org.neo4j.ogm.annotation.NodeEntity;
+import org.neo4j.ogm.annotation.RelationshipEntity;
 import org.neo4j.ogm.annotation.typeconversion.Convert;
 import org.neo4j.ogm.metadata.ClassPathScanner;
 import org.neo4j.ogm.metadata.ClassUtils;
@@ -50,6 +52,12 @@ public class DomainInfo implements ClassFileProcessor {
     private final Map<String, ArrayList<ClassInfo>> annotationNameToClassInfo = new HashMap<>();
     private final Map<String, ArrayList<ClassInfo>> interfaceNameToClassInfo = new HashMap<>();
 
+    private final Map<String, ClassInfo> labelToClassInfo = new HashMap<>();
+    private final Map<String, ArrayList<ClassInfo>> typeToClassInfo = new HashMap<>();
+    private final Map<String, ClassInfo> partialClassNameToClassInfo = new HashMap<>();
+    private final Set<String> ambiguousPartialClassNames = new HashSet<>();
+    private boolean indexed;
+
     private final Set<Class> enumTypes = new HashSet<>();
 
     private final ConversionCallbackRegistry conversionCallbackRegistry = new ConversionCallbackRegistry();
@@ -156,10 +164,72 @@ public class DomainInfo implements ClassFileProcessor {
             removeTransientClass(transientClass);
         }
 
+        for (ClassInfo classInfo : classNameToClassInfo.values()) {
+            if (classInfo.name() != null) {
+                classInfo.resolveUnderlyingClass();
+                classInfo.derivedViews();
+            }
+        }
+
+        buildNameIndexes();
+
         LOGGER.info("Post-processing complete");
 
     }
 
+    /**
+     * Indexes the classes by label, relationship type and every partial class name that can be used to look them up,
+     * so that the lookups don't have to search all the classes.
+     */
+    private void buildNameIndexes() {
+
+        LOGGER.info("Building name indexes");
+
+        List<ClassInfo> nodeEntities = annotationNameToClassInfo.get(NodeEntity.CLASS);
+        if (nodeEntities != null) {
+            for (ClassInfo classInfo : nodeEntities) {
+                String label = classInfo.annotationsInfo().get(NodeEntity.CLASS).get(NodeEntity.LABEL, classInfo.neo4jName());
+                if (!labelToClassInfo.containsKey(label)) {
+                    labelToClassInfo.put(label, classInfo);
+                }
+            }
+        }
+
+        List<ClassInfo> relationshipEntities = annotationNameToClassInfo.get(RelationshipEntity.CLASS);
+        if (relationshipEntities != null) {
+            for (ClassInfo classInfo : relationshipEntities) {
+                String type = classInfo.annotationsInfo().get(RelationshipEntity.CLASS).get(RelationshipEntity.TYPE, classInfo.neo4jName());
+                ArrayList<ClassInfo> classInfoList = typeToClassInfo.get(type);
+                if (classInfoList == null) {
+                    typeToClassInfo.put(type, classInfoList = new ArrayList<>());
+                }
+                classInfoList.add(classInfo);
+            }
+        }
+
+        // a class can be found by its fully qualified name or by any part of it that follows a dot
+        for (Map.Entry<String, ClassInfo> entry : classNameToClassInfo.entrySet()) {
+            String fqn = entry.getKey();
+            if (fqn == null) {
+                continue;
+            }
+            indexPartialClassName(fqn, entry.getValue());
+            for (int dot = fqn.indexOf('.'); dot >= 0; dot = fqn.indexOf('.', dot + 1)) {
+                indexPartialClassName(fqn.substring(dot + 1), entry.getValue());
+            }
+        }
+
+        indexed = true;
+    }
+
+    private void indexPartialClassName(String partialClassName, ClassInfo classInfo) {
+        if (partialClassNameToClassInfo.containsKey(partialClassName)) {
+            ambiguousPartialClassNames.add(partialClassName);
+        } else {
+            partialClassNameToClassInfo.put(partialClassName, classInfo);
+        }
+    }
+
     private void removeTransientClass(ClassInfo transientClass) {
         if (transientClass != null && !transientClass.name().equals("java.lang.Object")) {
             LOGGER.debug("Removing @Transient class: {}", transientClass.name());
@@ -189,7 +259,7 @@ public class DomainInfo implements ClassFileProcessor {
         if (interfaceClass != null) {
             if (!implementingClass.directInterfaces().contains(interfaceClass)) {
                 LOGGER.debug(" - Setting {} implements {}", implementingClass.simpleName(), interfaceClass.simpleName());
-                implementingClass.directInterfaces().add(interfaceClass);
+                implementingClass.implement(interfaceClass);
             }
 
             if (!interfaceClass.directImplementingClasses().contains(implementingClass)) {
@@ -250,6 +320,11 @@ public class DomainInfo implements ClassFileProcessor {
         classNameToClassInfo.clear();
         annotationNameToClassInfo.clear();
         interfaceNameToClassInfo.clear();
+        labelToClassInfo.clear();
+        typeToClassInfo.clear();
+        partialClassNameToClassInfo.clear();
+        ambiguousPartialClassNames.clear();
+        indexed = false;
 
         for (String packageName : packages) {
             String path = packageName.replace(".", "/");
@@ -266,8 +341,30 @@ public class DomainInfo implements ClassFileProcessor {
 
     // all classes, including interfaces will be registered in classNameToClassInfo map
     public ClassInfo getClassSimpleName(String fullOrPartialClassName) {
-        ClassInfo classInfo = getClassInfo(fullOrPartialClassName, classNameToClassInfo);
-        return classInfo;
+        if (!indexed) {
+            return getClassInfo(fullOrPartialClassName, classNameToClassInfo);
+        }
+        if (ambiguousPartialClassNames.contains(fullOrPartialClassName)) {
+            throw new MappingException("More than one class has simple name: " + fullOrPartialClassName);
+        }
+        return partialClassNameToClassInfo.get(fullOrPartialClassName);
+    }
+
+    /**
+     * @param label the label of a node entity, which is its simple class name unless its @NodeEntity annotation says otherwise
+     * @return the first node entity class found with the given label, or null if there isn't one
+     */
+    public ClassInfo getClassInfoForLabel(String label) {
+        return labelToClassInfo.get(label);
+    }
+
+    /**
+     * @param type the relationship type of a relationship entity
+     * @return the relationship entity classes with the given type, in the order in which they were found, never null
+     */
+    public List<ClassInfo> getClassInfosForType(String type) {
+        List<ClassInfo> classInfos = typeToClassInfo.get(type);
+        return classInfos == null ? Collections.<ClassInfo>emptyList() : classInfos;
     }
 
 
@@ -16,6 +16,7 @@ package org.neo4j.ogm.metadata.info;
 
 import org.neo4j.ogm.annotation.Property;
 import org.neo4j.ogm.annotation.Relationship;
+import org.neo4j.ogm.metadata.ClassUtils;
 import org.neo4j.ogm.metadata.RelationshipUtils;
 import org.neo4j.ogm.metadata.classloader.MetaDataClassLoader;
 import org.neo4j.ogm.typeconversion.AttributeConverter;
@@ -33,6 +34,7 @@ public class FieldInfo {
     private final String name;
     private final String descriptor;
     private final String typeParameterDescriptor;
+    private volatile Class<?> typeDescriptorClass;
     private final ObjectAnnotations annotations;
 
     private AttributeConverter<?, ?> converter;
@@ -255,4 +257,19 @@ public class FieldInfo {
         }
         return typeParameterDescriptor;
     }
+
+    /**
+     * Get the class of the type descriptor, which is loaded the first time it is asked for
+     * @return the class of {@link #getTypeDescriptor()}, or null if there is no type descriptor
+     */
+    public Class<?> getTypeDescriptorClass() {
+        Class<?> type = typeDescriptorClass;
+        if (type == null) {
+            String typeDescriptor = getTypeDescriptor();
+            if (typeDescriptor != null) {
+                typeDescriptorClass = type = ClassUtils.getType(typeDescriptor);
+            }
+        }
+        return type;
+    }
 }
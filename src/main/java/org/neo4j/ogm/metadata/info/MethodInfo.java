@@ -16,6 +16,7 @@ package org.neo4j.ogm.metadata.info;
 
 import org.neo4j.ogm.annotation.Property;
 import org.neo4j.ogm.annotation.Relationship;
+import org.neo4j.ogm.metadata.ClassUtils;
 import org.neo4j.ogm.metadata.RelationshipUtils;
 import org.neo4j.ogm.metadata.classloader.MetaDataClassLoader;
 import org.neo4j.ogm.typeconversion.AttributeConverter;
@@ -35,6 +36,7 @@ public class MethodInfo {
     private final String descriptor;
     private final ObjectAnnotations annotations;
     private final String typeParameterDescriptor;
+    private volatile Class<?> typeDescriptorClass;
 
     private AttributeConverter<?, ?> converter;
 
@@ -293,4 +295,18 @@ public class MethodInfo {
         return typeParameterDescriptor;
     }
 
+    /**
+     * Get the class of the type descriptor, which is loaded the first time it is asked for
+     * @return the class of {@link #getTypeDescriptor()}, or null if there is no type descriptor
+     */
+    public Class<?> getTypeDescriptorClass() {
+        Class<?> type = typeDescriptorClass;
+        if (type == null) {
+            String typeDescriptor = getTypeDescriptor();
+            if (typeDescriptor != null) {
+                typeDescriptorClass = type = ClassUtils.getType(typeDescriptor);
+            }
+        }
+        return type;
+    }
 }
@@ -0,0 +1,352 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.session;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.neo4j.ogm.cypher.Filters;
+import org.neo4j.ogm.session.result.Result;
+
+/**
+ * Runs the operations of a {@link Session} on an {@link Executor}, so that the calling thread does not wait for them
+ * to complete. Each operation returns a {@link Future} for its result, and may be given a {@link Callback} to be
+ * notified when it completes.
+ * <p>
+ * A {@link Session} is not thread-safe, so the operations submitted to an {@link AsyncSession} are run one at a time,
+ * in the order in which they were submitted. Many asynchronous sessions can share one bounded executor, and the
+ * connection pool of the {@link SessionFactory} that opened them.
+ * </p>
+ * <p>
+ * The operations are not non-blocking: they are run on the session's synchronous HTTP client, so each operation
+ * occupies one of the executor's threads until its request has completed. The executor therefore needs as many
+ * threads as there are to be requests in flight at once, whichever sessions they belong to.
+ * </p>
+ * Transactions are bound to the thread that begins them, so each operation runs in its own transaction unless it
+ * begins and completes one itself, see {@link #submit(Operation)}. An operation that the executor rejects fails with
+ * the {@link RejectedExecutionException}, and the operations submitted after it are still offered to the executor.
+ */
+public class AsyncSession {
+
+    private final Session session;
+    private final Executor executor;
+    private final Queue<Task<?>> tasks = new ArrayDeque<>();
+    private Task<?> active;
+
+    /**
+     * @param session The {@link Session} whose operations are run asynchronously
+     * @param executor The {@link Executor} on which the operations are run
+     */
+    public AsyncSession(Session session, Executor executor) {
+        this.session = session;
+        this.executor = executor;
+    }
+
+    /**
+     * An arbitrary unit of work to run against the underlying {@link Session}.
+     *
+     * @param <T> The type of the result of the work
+     */
+    public interface Operation<T> {
+        T apply(Session session);
+    }
+
+    /**
+     * Notified when an asynchronous operation completes. Callbacks are invoked on the executor's thread.
+     *
+     * @param <T> The type of the result of the operation
+     */
+    public interface Callback<T> {
+        void onSuccess(T result);
+        void onFailure(Throwable cause);
+    }
+
+    /**
+     * @return The underlying {@link Session}. It must not be used while asynchronous operations are outstanding.
+     */
+    public Session session() {
+        return session;
+    }
+
+    public <T> Future<T> load(final Class<T> type, final Long id) {
+        return submit(new Operation<T>() {
+            @Override
+            public T apply(Session session) {
+                return session.load(type, id);
+            }
+        });
+    }
+
+    public <T> Future<T> load(final Class<T> type, final Long id, final int depth) {
+        return submit(new Operation<T>() {
+            @Override
+            public T apply(Session session) {
+                return session.load(type, id, depth);
+            }
+        });
+    }
+
+    public <T> Future<Collection<T>> loadAll(final Class<T> type) {
+        return submit(new Operation<Collection<T>>() {
+            @Override
+            public Collection<T> apply(Session session) {
+                return session.loadAll(type);
+            }
+        });
+    }
+
+    public <T> Future<Collection<T>> loadAll(final Class<T> type, final int depth) {
+        return submit(new Operation<Collection<T>>() {
+            @Override
+            public Collection<T> apply(Session session) {
+                return session.loadAll(type, depth);
+            }
+        });
+    }
+
+    public <T> Future<Collection<T>> loadAll(final Class<T> type, final Collection<Long> ids) {
+        return submit(new Operation<Collection<T>>() {
+            @Override
+            public Collection<T> apply(Session session) {
+                return session.loadAll(type, ids);
+            }
+        });
+    }
+
+    public <T> Future<Collection<T>> loadAll(final Class<T> type, final Collection<Long> ids, final int depth) {
+        return submit(new Operation<Collection<T>>() {
+            @Override
+            public Collection<T> apply(Session session) {
+                return session.loadAll(type, ids, depth);
+            }
+        });
+    }
+
+    public <T> Future<Collection<T>> loadAll(final Class<T> type, final Filters filters) {
+        return submit(new Operation<Collection<T>>() {
+            @Override
+            public Collection<T> apply(Session session) {
+                return session.loadAll(type, filters);
+            }
+        });
+    }
+
+    public <T> Future<Collection<T>> loadAll(final Class<T> type, final Filters filters, final int depth) {
+        return submit(new Operation<Collection<T>>() {
+            @Override
+            public Collection<T> apply(Session session) {
+                return session.loadAll(type, filters, depth);
+            }
+        });
+    }
+
+    /**
+     * @return A {@link Future} for the saved object, once its id has been set
+     */
+    public <T> Future<T> save(final T object) {
+        return submit(new Operation<T>() {
+            @Override
+            public T apply(Session session) {
+                session.save(object);
+                return object;
+            }
+        });
+    }
+
+    /**
+     * @return A {@link Future} for the saved object, once its id has been set
+     */
+    public <T> Future<T> save(final T object, final int depth) {
+        return submit(new Operation<T>() {
+            @Override
+            public T apply(Session session) {
+                session.save(object, depth);
+                return object;
+            }
+        });
+    }
+
+    public <T> Future<Void> delete(final T object) {
+        return submit(new Operation<Void>() {
+            @Override
+            public Void apply(Session session) {
+                session.delete(object);
+                return null;
+            }
+        });
+    }
+
+    public <T> Future<T> queryForObject(final Class<T> objectType, final String cypher, final Map<String, ?> parameters) {
+        return submit(new Operation<T>() {
+            @Override
+            public T apply(Session session) {
+                return session.queryForObject(objectType, cypher, parameters);
+            }
+        });
+    }
+
+    public <T> Future<Iterable<T>> query(final Class<T> objectType, final String cypher, final Map<String, ?> parameters) {
+        return submit(new Operation<Iterable<T>>() {
+            @Override
+            public Iterable<T> apply(Session session) {
+                return session.query(objectType, cypher, parameters);
+            }
+        });
+    }
+
+    public Future<Result> query(final String cypher, final Map<String, ?> parameters) {
+        return submit(new Operation<Result>() {
+            @Override
+            public Result apply(Session session) {
+                return session.query(cypher, parameters);
+            }
+        });
+    }
+
+    public Future<Result> query(final String cypher, final Map<String, ?> parameters, final boolean readOnly) {
+        return submit(new Operation<Result>() {
+            @Override
+            public Result apply(Session session) {
+                return session.query(cypher, parameters, readOnly);
+            }
+        });
+    }
+
+    public Future<Long> countEntitiesOfType(final Class<?> entity) {
+        return submit(new Operation<Long>() {
+            @Override
+            public Long apply(Session session) {
+                return session.countEntitiesOfType(entity);
+            }
+        });
+    }
+
+    /**
+     * Runs arbitrary work against the underlying {@link Session}, after any operations already submitted. Work that
+     * needs a transaction spanning several session calls must begin and complete it within the operation.
+     *
+     * @param operation The work to run
+     * @return A {@link Future} for the result of the work
+     */
+    public <T> Future<T> submit(Operation<T> operation) {
+        return submit(operation, null);
+    }
+
+    /**
+     * Runs arbitrary work against the underlying {@link Session}, after any operations already submitted, notifying
+     * the given {@link Callback} once it completes.
+     *
+     * @param operation The work to run
+     * @param callback The {@link Callback} to notify, which may be <code>null</code>
+     * @return A {@link Future} for the result of the work
+     */
+    public <T> Future<T> submit(final Operation<T> operation, final Callback<? super T> callback) {
+        Task<T> task = new Task<>(new Callable<T>() {
+            @Override
+            public T call() {
+                return operation.apply(session);
+            }
+        }, callback);
+        failRejected(enqueue(task));
+        return task;
+    }
+
+    private synchronized Map<Task<?>, RejectedExecutionException> enqueue(Task<?> task) {
+        tasks.add(task);
+        if (active == null) {
+            return scheduleNext();
+        }
+        return null;
+    }
+
+    /**
+     * Hands the next operation to the executor, failing any that it rejects until one is accepted or none are left.
+     *
+     * @return The operations that were rejected, which are failed by the caller once it no longer holds the lock, as
+     * their callbacks may submit further operations
+     */
+    private synchronized Map<Task<?>, RejectedExecutionException> scheduleNext() {
+        Map<Task<?>, RejectedExecutionException> rejected = null;
+        while ((active = tasks.poll()) != null) {
+            try {
+                executor.execute(active);
+                break;
+            } catch (RejectedExecutionException ree) {
+                if (rejected == null) {
+                    rejected = new LinkedHashMap<>();
+                }
+                rejected.put(active, ree);
+            }
+        }
+        return rejected;
+    }
+
+    private void failRejected(Map<Task<?>, RejectedExecutionException> rejected) {
+        if (rejected != null) {
+            for (Map.Entry<Task<?>, RejectedExecutionException> entry : rejected.entrySet()) {
+                entry.getKey().reject(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * An operation, which notifies its {@link Callback} once it completes and then hands the next operation to the
+     * executor.
+     */
+    private class Task<T> extends FutureTask<T> {
+
+        private final Callback<? super T> callback;
+
+        Task(Callable<T> callable, Callback<? super T> callback) {
+            super(callable);
+            this.callback = callback;
+        }
+
+        @Override
+        public void run() {
+            try {
+                super.run();
+            } finally {
+                failRejected(scheduleNext());
+            }
+        }
+
+        void reject(RejectedExecutionException cause) {
+            setException(cause);
+        }
+
+        @Override
+        protected void done() {
+            if (callback != null && !isCancelled()) {
+                try {
+                    callback.onSuccess(get());
+                } catch (ExecutionException e) {
+                    callback.onFailure(e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
@@ -105,6 +105,7 @@ public interface Capability {
 
     interface Delete {
         <T> void delete(T object);
+
         <T> void deleteAll(Class<T> type);
         void purgeDatabase();
         void clear();
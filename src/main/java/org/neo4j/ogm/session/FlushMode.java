@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.session;
+
+/**
+ * Determines when the objects passed to {@link Session#save(Object)} are sent to the database.
+ */
+public enum FlushMode {
+
+    /**
+     * Each save is sent to the database as soon as it is requested. This is the default.
+     */
+    IMMEDIATE,
+
+    /**
+     * Saves are held by the session and sent together in a single request when the session is flushed,
+     * when the current transaction is committed, when the number of objects waiting to be saved reaches the session's
+     * write-behind threshold, or before any other request is sent to the database.
+     */
+    WRITE_BEHIND
+}
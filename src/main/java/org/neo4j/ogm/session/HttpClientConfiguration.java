@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.session;
+
+/**
+ * Configures the pooled HTTP client a {@link SessionFactory} uses to communicate with the Neo4j server.
+ * <p>
+ * All the sessions opened by a {@link SessionFactory} share its connection pool, so the number of connections per
+ * route should be at least the number of threads expected to use those sessions concurrently. The defaults are
+ * suitable for a single Neo4j server used by a moderate number of threads.
+ * </p>
+ * <p>
+ * How the sessions use the client is configured separately, by a {@link SessionConfiguration}.
+ * </p>
+ * Times are all in milliseconds. A timeout of zero means that the operation never times out.
+ */
+public class HttpClientConfiguration {
+
+    private int maxTotalConnections = 100;
+    private int maxConnectionsPerRoute = 100;
+    private long keepAlive = 60000;
+    private long idleConnectionTimeout = 30000;
+    private long idleConnectionEvictionInterval = 0;
+    private int connectTimeout = 0;
+    private int socketTimeout = 0;
+    private int connectionRequestTimeout = 0;
+    private boolean staleConnectionCheckEnabled = true;
+    private boolean compressionEnabled = false;
+    private long requestCompressionThreshold = -1;
+
+    /**
+     * @return The maximum number of connections in the pool, across all routes
+     */
+    public int getMaxTotalConnections() {
+        return maxTotalConnections;
+    }
+
+    public void setMaxTotalConnections(int maxTotalConnections) {
+        this.maxTotalConnections = maxTotalConnections;
+    }
+
+    /**
+     * @return The maximum number of connections in the pool to any one server
+     */
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    }
+
+    /**
+     * @return How long an unused connection may be kept alive, unless the server's <code>Keep-Alive</code> header
+     * says otherwise. A negative value keeps connections alive indefinitely.
+     */
+    public long getKeepAlive() {
+        return keepAlive;
+    }
+
+    public void setKeepAlive(long keepAlive) {
+        this.keepAlive = keepAlive;
+    }
+
+    /**
+     * @return How long a connection may be idle in the pool before it is evicted. Zero or less disables the eviction
+     * of idle connections, though expired connections are still evicted.
+     */
+    public long getIdleConnectionTimeout() {
+        return idleConnectionTimeout;
+    }
+
+    public void setIdleConnectionTimeout(long idleConnectionTimeout) {
+        this.idleConnectionTimeout = idleConnectionTimeout;
+    }
+
+    /**
+     * @return How often the pool is checked for expired and idle connections, by a background thread that runs until
+     * the {@link SessionFactory} is closed. Zero or less, the default, starts no thread and evicts no connections; the
+     * stale connection check still stops a closed connection from being reused.
+     */
+    public long getIdleConnectionEvictionInterval() {
+        return idleConnectionEvictionInterval;
+    }
+
+    public void setIdleConnectionEvictionInterval(long idleConnectionEvictionInterval) {
+        this.idleConnectionEvictionInterval = idleConnectionEvictionInterval;
+    }
+
+    /**
+     * @return How long to wait for a connection to the server to be established
+     */
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(int connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    /**
+     * @return How long to wait for data from the server once connected
+     */
+    public int getSocketTimeout() {
+        return socketTimeout;
+    }
+
+    public void setSocketTimeout(int socketTimeout) {
+        this.socketTimeout = socketTimeout;
+    }
+
+    /**
+     * @return How long to wait for a connection to become available in the pool
+     */
+    public int getConnectionRequestTimeout() {
+        return connectionRequestTimeout;
+    }
+
+    public void setConnectionRequestTimeout(int connectionRequestTimeout) {
+        this.connectionRequestTimeout = connectionRequestTimeout;
+    }
+
+    /**
+     * @return Whether a pooled connection is checked to be still open before it is reused. This costs a
+     * little time on every request, but without it a request may fail if the server has closed a connection that the
+     * pool has not yet evicted, e.g. because the server was restarted.
+     */
+    public boolean isStaleConnectionCheckEnabled() {
+        return staleConnectionCheckEnabled;
+    }
+
+    public void setStaleConnectionCheckEnabled(boolean staleConnectionCheckEnabled) {
+        this.staleConnectionCheckEnabled = staleConnectionCheckEnabled;
+    }
+
+    /**
+     * @return Whether gzip compressed responses are requested from the server. The bytes saved are reported by
+     * {@link SessionFactory#metrics()}.
+     */
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+    public void setCompressionEnabled(boolean compressionEnabled) {
+        this.compressionEnabled = compressionEnabled;
+    }
+
+    /**
+     * @return The size in bytes above which request bodies are gzip compressed when compression is enabled. A negative
+     * value, the default, never compresses request bodies. The server, or a proxy in front of it, must accept
+     * compressed request bodies.
+     */
+    public long getRequestCompressionThreshold() {
+        return requestCompressionThreshold;
+    }
+
+    public void setRequestCompressionThreshold(long requestCompressionThreshold) {
+        this.requestCompressionThreshold = requestCompressionThreshold;
+    }
+}
@@ -22,13 +22,17 @@ import org.apache.http.impl.client.CloseableHttpClient;
 import org.neo4j.ogm.authentication.UsernamePasswordCredentials;
 import org.neo4j.ogm.cypher.Filter;
 import org.neo4j.ogm.cypher.Filters;
+import org.neo4j.ogm.cypher.compiler.CompilationMode;
 import org.neo4j.ogm.cypher.query.Pagination;
 import org.neo4j.ogm.cypher.query.SortOrder;
+import org.neo4j.ogm.entityaccess.EntityAccessStrategy;
 import org.neo4j.ogm.mapper.MappingContext;
 import org.neo4j.ogm.metadata.MetaData;
 import org.neo4j.ogm.session.delegates.*;
-import org.neo4j.ogm.session.request.DefaultRequest;
 import org.neo4j.ogm.session.request.Neo4jRequest;
+import org.neo4j.ogm.session.request.RequestCoalescer;
+import org.neo4j.ogm.session.request.RetryPolicy;
+import org.neo4j.ogm.session.request.RetryingRequest;
 import org.neo4j.ogm.session.request.RequestHandler;
 import org.neo4j.ogm.session.request.SessionRequestHandler;
 import org.neo4j.ogm.session.request.strategy.QueryStatements;
@@ -40,6 +44,8 @@ import org.neo4j.ogm.session.result.QueryStatistics;
 import org.neo4j.ogm.session.result.Result;
 import org.neo4j.ogm.session.transaction.Transaction;
 import org.neo4j.ogm.session.transaction.TransactionManager;
+import org.neo4j.ogm.session.transport.HttpTransport;
+import org.neo4j.ogm.session.transport.Neo4jTransport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -68,25 +74,28 @@ public class Neo4jSession implements Session {
     private final GraphIdDelegate graphIdDelegate = new GraphIdDelegate(this);
 
     private Neo4jRequest<String> request;
+    private RequestCoalescer coalescer;
+    private RetryPolicy retryPolicy;
+    private final Object principal;
 
     public Neo4jSession(MetaData metaData, String url, CloseableHttpClient client, ObjectMapper mapper) {
-        this.metaData = metaData;
-        this.mapper = mapper;
-        this.mappingContext = new MappingContext(metaData);
-        this.txManager = new TransactionManager(client, url);
-        this.request = new DefaultRequest(client);
-
-        transactionsDelegate.autoCommit(url);
+        this(metaData, new HttpTransport(url, client, mapper, null), mapper);
     }
 
     public Neo4jSession(MetaData metaData, String url, CloseableHttpClient client, ObjectMapper mapper, UsernamePasswordCredentials credentials) {
+        this(metaData, new HttpTransport(url, client, mapper, credentials), mapper);
+    }
+
+    public Neo4jSession(MetaData metaData, Neo4jTransport transport, ObjectMapper mapper) {
         this.metaData = metaData;
         this.mapper = mapper;
         this.mappingContext = new MappingContext(metaData);
-        this.txManager = new TransactionManager(client, url, credentials);
-        this.request = new DefaultRequest(client,credentials);
+        this.txManager = new TransactionManager(transport.transactionEndpoint(), transport.url());
+        this.txManager.setSynchronization(new WriteBehindSynchronization());
+        this.request = transport.request(txManager);
+        this.principal = RequestCoalescer.principal(transport);
 
-        transactionsDelegate.autoCommit(url);
+        transactionsDelegate.autoCommit(transport.url());
     }
 
     /*
@@ -371,6 +380,17 @@ public class Neo4jSession implements Session {
         deleteDelegate.delete(object);
     }
 
+    /**
+     * Deletes the entities of the given type with the given ids, whether or not they have been loaded. The ids
+     * are deleted in batches of at most the session's batch size, all in the same request.
+     *
+     * @param type the type of the entities to delete
+     * @param ids the ids of the entities to delete
+     */
+    public <T> void delete(Class<T> type, Collection<Long> ids) {
+        deleteDelegate.delete(type, ids);
+    }
+
     @Override
     public <T> void deleteAll(Class<T> type) {
         deleteDelegate.deleteAll(type);
@@ -391,6 +411,75 @@ public class Neo4jSession implements Session {
         saveDelegate.save(object, depth);
     }
 
+    /**
+     * Sets when the objects passed to <code>save</code> are sent to the database. The default is
+     * {@link FlushMode#IMMEDIATE}.
+     *
+     * @param flushMode the {@link FlushMode} to use from now on
+     */
+    public void setFlushMode(FlushMode flushMode) {
+        saveDelegate.setFlushMode(flushMode);
+    }
+
+    public FlushMode getFlushMode() {
+        return saveDelegate.getFlushMode();
+    }
+
+    /**
+     * Sends any saves held by the session in {@link FlushMode#WRITE_BEHIND} mode to the database,
+     * in the current transaction.
+     */
+    public void flush() {
+        saveDelegate.flush();
+    }
+
+    /**
+     * Sets the number of objects that may wait to be saved in {@link FlushMode#WRITE_BEHIND} mode before they are
+     * flushed to the database. The default is 100.
+     *
+     * @param writeBehindThreshold The maximum number of objects to hold
+     */
+    public void setWriteBehindThreshold(int writeBehindThreshold) {
+        saveDelegate.setWriteBehindThreshold(writeBehindThreshold);
+    }
+
+    /**
+     * Sets the shape of the Cypher statements used to save objects. The default is
+     * {@link CompilationMode#SINGLE_STATEMENT}.
+     *
+     * @param compilationMode The {@link CompilationMode} to use from now on
+     */
+    public void setCompilationMode(CompilationMode compilationMode) {
+        saveDelegate.setCompilationMode(compilationMode);
+    }
+
+    /**
+     * Sets the maximum number of nodes or relationships written by each statement in the
+     * {@link CompilationMode#TEMPLATED} mode, and deleted by each statement when several entities are deleted at
+     * once. Larger saves and deletes are sent as several statements in the same request. The default is 1000.
+     *
+     * @param batchSize The maximum number of rows to pass to each statement
+     */
+    public void setBatchSize(int batchSize) {
+        saveDelegate.setBatchSize(batchSize);
+    }
+
+    public int getBatchSize() {
+        return saveDelegate.getBatchSize();
+    }
+
+    /**
+     * Sets the strategy used to read and write the fields and methods of entities when they are saved and loaded.
+     * The default is the reflective {@link org.neo4j.ogm.entityaccess.DefaultEntityAccessStrategy}; a
+     * {@link org.neo4j.ogm.entityaccess.MethodHandleEntityAccessStrategy} makes the accessors cheaper to call when
+     * large numbers of entities are mapped.
+     *
+     * @param entityAccessStrategy The {@link EntityAccessStrategy} to use from now on
+     */
+    public void setEntityAccessStrategy(EntityAccessStrategy entityAccessStrategy) {
+        mappingContext.setEntityAccessStrategy(entityAccessStrategy);
+    }
+
 
     /*
     *----------------------------------------------------------------------------------------------------------
@@ -467,11 +556,34 @@ public class Neo4jSession implements Session {
         this.request=neo4jRequest;
     }
 
+    /**
+     * @param coalescer The coalescer with which identical read-only loads made outside transactions are shared with
+     * other callers, or <code>null</code> to always send them
+     */
+    public void setRequestCoalescer(RequestCoalescer coalescer) {
+        this.coalescer = coalescer;
+    }
+
+    /**
+     * @param retryPolicy The policy with which failed requests sent outside transactions are retried, or
+     * <code>null</code> to never retry them
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+    }
+
     public RequestHandler requestHandler() {
-        return new SessionRequestHandler(mapper, request);
+        String autoCommitUrl = transactionsDelegate.autoCommitUrl();
+        Neo4jRequest<String> request = retryPolicy == null ? this.request : new RetryingRequest(this.request, retryPolicy, autoCommitUrl);
+        return new SessionRequestHandler(mapper, request, coalescer, autoCommitUrl, principal);
     }
 
     public Transaction ensureTransaction() {
+        // saves held in write-behind mode must reach the database before any other request does. They are flushed
+        // before the transaction is handed out, because the first request sent may change the transaction's url
+        if (saveDelegate.hasPending()) {
+            saveDelegate.flush();
+        }
         return transactionsDelegate.getCurrentOrAutocommitTransaction();
     }
 
@@ -499,4 +611,21 @@ public class Neo4jSession implements Session {
         logger.error(msg);
     }
 
+    /**
+     * Sends saves held in write-behind mode with the request that commits a transaction, and abandons them if it
+     * rolls back.
+     */
+    private class WriteBehindSynchronization implements TransactionManager.Synchronization {
+
+        @Override
+        public boolean beforeCommit(Transaction tx, String commitUrl) {
+            return saveDelegate.flush(commitUrl);
+        }
+
+        @Override
+        public void afterRollback(Transaction tx) {
+            saveDelegate.discard();
+        }
+    }
+
 }
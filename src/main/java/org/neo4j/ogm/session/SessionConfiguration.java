@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.session;
+
+import org.neo4j.ogm.session.request.RequestCoalescer;
+
+/**
+ * Configures how the sessions opened by a {@link SessionFactory} send their requests, whatever the HTTP client that
+ * carries them: whether long transactions are kept alive, whether identical loads are shared and failed requests
+ * retried, and how often the read replicas of a routing transport are health-checked.
+ * <p>
+ * By default long transactions are not kept alive, loads are not shared and failed requests are not retried.
+ * </p>
+ * Times are all in milliseconds.
+ */
+public class SessionConfiguration {
+
+    private long transactionTimeout = 0;
+    private double transactionKeepAliveRatio = 0.5;
+    private long routingHealthCheckInterval = 5000;
+    private boolean requestCoalescingEnabled = false;
+    private int requestCoalescingBufferLimit = RequestCoalescer.DEFAULT_BUFFER_LIMIT;
+    private int retryMaxAttempts = 1;
+    private long retryInitialBackoff = 50;
+    private long retryMaxBackoff = 1000;
+    private double retryBudgetRatio = 0.1;
+    private int retryBudgetMinRetries = 10;
+
+    /**
+     * @return The time in milliseconds after which the server expires an idle transaction, i.e. its
+     * org.neo4j.server.transaction.timeout setting. When positive, long transactions that stay idle for part of this
+     * time are kept open by sending them an empty request. Zero, the default, never sends keep-alive requests.
+     */
+    public long getTransactionTimeout() {
+        return transactionTimeout;
+    }
+
+    public void setTransactionTimeout(long transactionTimeout) {
+        this.transactionTimeout = transactionTimeout;
+    }
+
+    /**
+     * @return The fraction of the transaction timeout for which a long transaction may stay idle before it is sent a
+     * keep-alive request. It must be between 0 and 1; the default is 0.5.
+     */
+    public double getTransactionKeepAliveRatio() {
+        return transactionKeepAliveRatio;
+    }
+
+    public void setTransactionKeepAliveRatio(double transactionKeepAliveRatio) {
+        this.transactionKeepAliveRatio = transactionKeepAliveRatio;
+    }
+
+    /**
+     * @return The time in milliseconds between health checks of the read replicas of a routing transport. A replica
+     * that failed a request is sent no more reads until it passes a check. Zero or less never checks, so a failed
+     * replica stays out of use.
+     */
+    public long getRoutingHealthCheckInterval() {
+        return routingHealthCheckInterval;
+    }
+
+    public void setRoutingHealthCheckInterval(long routingHealthCheckInterval) {
+        this.routingHealthCheckInterval = routingHealthCheckInterval;
+    }
+
+    /**
+     * @return Whether identical read-only loads made at the same time outside transactions, by any of the factory's
+     * sessions, share a single request to the server. Each session still maps the shared result into its own
+     * entities. Disabled by default.
+     */
+    public boolean isRequestCoalescingEnabled() {
+        return requestCoalescingEnabled;
+    }
+
+    public void setRequestCoalescingEnabled(boolean requestCoalescingEnabled) {
+        this.requestCoalescingEnabled = requestCoalescingEnabled;
+    }
+
+    /**
+     * @return The number of records of a load after which identical loads no longer join it, unless one already has.
+     * Until then, the records are kept for the callers that may join. The default is
+     * {@link RequestCoalescer#DEFAULT_BUFFER_LIMIT}.
+     */
+    public int getRequestCoalescingBufferLimit() {
+        return requestCoalescingBufferLimit;
+    }
+
+    public void setRequestCoalescingBufferLimit(int requestCoalescingBufferLimit) {
+        this.requestCoalescingBufferLimit = requestCoalescingBufferLimit;
+    }
+
+    /**
+     * @return The number of times a request sent outside a transaction may be attempted, including the first. Only
+     * failures that cannot have applied the request's statements are retried, see
+     * {@link org.neo4j.ogm.session.request.FailureClassifier}. The default of 1 never retries.
+     */
+    public int getRetryMaxAttempts() {
+        return retryMaxAttempts;
+    }
+
+    public void setRetryMaxAttempts(int retryMaxAttempts) {
+        this.retryMaxAttempts = retryMaxAttempts;
+    }
+
+    /**
+     * @return The longest time in milliseconds to wait before the first retry. The wait is random, and its limit
+     * doubles with each further attempt. The default is 50.
+     */
+    public long getRetryInitialBackoff() {
+        return retryInitialBackoff;
+    }
+
+    public void setRetryInitialBackoff(long retryInitialBackoff) {
+        this.retryInitialBackoff = retryInitialBackoff;
+    }
+
+    /**
+     * @return The longest time in milliseconds to wait before any retry. The default is 1000.
+     */
+    public long getRetryMaxBackoff() {
+        return retryMaxBackoff;
+    }
+
+    public void setRetryMaxBackoff(long retryMaxBackoff) {
+        this.retryMaxBackoff = retryMaxBackoff;
+    }
+
+    /**
+     * @return The fraction of a retry that each request earns for the retry budget shared by the factory's sessions,
+     * which bounds the extra load retries put on a failing server. The default is 0.1.
+     */
+    public double getRetryBudgetRatio() {
+        return retryBudgetRatio;
+    }
+
+    public void setRetryBudgetRatio(double retryBudgetRatio) {
+        this.retryBudgetRatio = retryBudgetRatio;
+    }
+
+    /**
+     * @return The number of retries the budget holds when full, which are available however few requests have been
+     * sent. The default is 10.
+     */
+    public int getRetryBudgetMinRetries() {
+        return retryBudgetMinRetries;
+    }
+
+    public void setRetryBudgetMinRetries(int retryBudgetMinRetries) {
+        this.retryBudgetMinRetries = retryBudgetMinRetries;
+    }
+}
@@ -14,14 +14,39 @@
 
 package org.neo4j.ogm.session;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
 import org.neo4j.ogm.authentication.UsernamePasswordCredentials;
 import org.neo4j.ogm.metadata.MetaData;
+import org.neo4j.ogm.session.request.GzipRequestInterceptor;
+import org.neo4j.ogm.session.request.GzipResponseInterceptor;
+import org.neo4j.ogm.session.request.RequestCoalescer;
+import org.neo4j.ogm.session.request.RetryPolicy;
+import org.neo4j.ogm.session.transaction.TransactionKeepAlive;
+import org.neo4j.ogm.session.transport.Neo4jTransport;
+import org.neo4j.ogm.session.transport.routing.LoadBalancingPolicy;
+import org.neo4j.ogm.session.transport.routing.RoutingTransport;
 
 /**
  * Used to create {@link Session} instances for interacting with Neo4j.
@@ -32,7 +57,16 @@ import org.neo4j.ogm.metadata.MetaData;
 public class SessionFactory {
 
     private static final ObjectMapper objectMapper = new ObjectMapper();
-    private final CloseableHttpClient httpClient = HttpClients.createDefault();
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final ScheduledExecutorService connectionEvictor;
+    private final ScheduledExecutorService transactionScheduler;
+    private final TransactionKeepAlive transactionKeepAlive;
+    private final SessionMetrics metrics = new SessionMetrics();
+    private final List<RoutingTransport> routingTransports = new CopyOnWriteArrayList<>();
+    private final long routingHealthCheckInterval;
+    private final RequestCoalescer requestCoalescer;
+    private final RetryPolicy retryPolicy;
     private final MetaData metaData;
 
     /**
@@ -47,7 +81,50 @@ public class SessionFactory {
      * @param packages The packages to scan for domain objects
      */
     public SessionFactory(String... packages) {
+        this(new HttpClientConfiguration(), packages);
+    }
+
+    /**
+     * Constructs a new {@link SessionFactory} by initialising the object-graph mapping meta-data from the given list of domain
+     * object packages, whose sessions communicate with Neo4j using an HTTP client configured as specified.
+     *
+     * @param configuration The configuration of the HTTP client and its connection pool
+     * @param packages The packages to scan for domain objects
+     */
+    public SessionFactory(HttpClientConfiguration configuration, String... packages) {
+        this(configuration, new SessionConfiguration(), packages);
+    }
+
+    /**
+     * Constructs a new {@link SessionFactory} by initialising the object-graph mapping meta-data from the given list of domain
+     * object packages, whose sessions communicate with Neo4j using an HTTP client and send their requests as specified.
+     *
+     * @param httpClientConfiguration The configuration of the HTTP client and its connection pool
+     * @param sessionConfiguration The configuration of the keep-alive, coalescing, retrying and routing of the sessions' requests
+     * @param packages The packages to scan for domain objects
+     */
+    public SessionFactory(HttpClientConfiguration httpClientConfiguration, SessionConfiguration sessionConfiguration, String... packages) {
         this.metaData = new MetaData(packages);
+        this.connectionManager = connectionManager(httpClientConfiguration);
+        this.httpClient = httpClient(httpClientConfiguration, connectionManager, metrics);
+        this.connectionEvictor = connectionEvictor(httpClientConfiguration, connectionManager);
+        this.routingHealthCheckInterval = sessionConfiguration.getRoutingHealthCheckInterval();
+        this.requestCoalescer = sessionConfiguration.isRequestCoalescingEnabled()
+                ? new RequestCoalescer(metrics, sessionConfiguration.getRequestCoalescingBufferLimit())
+                : null;
+        this.retryPolicy = sessionConfiguration.getRetryMaxAttempts() > 1
+                ? new RetryPolicy(sessionConfiguration.getRetryMaxAttempts(), sessionConfiguration.getRetryInitialBackoff(),
+                        sessionConfiguration.getRetryMaxBackoff(), sessionConfiguration.getRetryBudgetRatio(),
+                        sessionConfiguration.getRetryBudgetMinRetries(), metrics)
+                : null;
+        if (sessionConfiguration.getTransactionTimeout() > 0) {
+            this.transactionScheduler = daemonScheduler("neo4j-ogm-transaction-keep-alive");
+            this.transactionKeepAlive = new TransactionKeepAlive(transactionScheduler, sessionConfiguration.getTransactionTimeout(),
+                    sessionConfiguration.getTransactionKeepAliveRatio(), metrics);
+        } else {
+            this.transactionScheduler = null;
+            this.transactionKeepAlive = null;
+        }
     }
 
     /**
@@ -74,10 +151,10 @@ public class SessionFactory {
             }
 
             if(username!=null && password!=null) {
-                return new Neo4jSession(metaData, uriStr, httpClient, objectMapper, new UsernamePasswordCredentials(username, password));
+                return configure(new Neo4jSession(metaData, uriStr, httpClient, objectMapper, new UsernamePasswordCredentials(username, password)));
 
             }
-            return new Neo4jSession(metaData, uriStr, httpClient, objectMapper);
+            return configure(new Neo4jSession(metaData, uriStr, httpClient, objectMapper));
         } catch (URISyntaxException e) {
             throw new RuntimeException(e);
         }
@@ -92,7 +169,50 @@ public class SessionFactory {
      * @return A new {@link Session}
      */
     public Session openSession(String url, String username, String password) {
-        return new Neo4jSession(metaData, url, httpClient, objectMapper, new UsernamePasswordCredentials(username, password));
+        return configure(new Neo4jSession(metaData, url, httpClient, objectMapper, new UsernamePasswordCredentials(username, password)));
+    }
+
+    /**
+     * Opens a new Neo4j mapping {@link Session} that talks to the database using the given transport, e.g. an
+     * {@link org.neo4j.ogm.session.transport.embedded.EmbeddedTransport} to a database running in the same JVM.
+     *
+     * @param transport The {@link Neo4jTransport} with which the session sends statements and completes transactions
+     * @return A new {@link Session}
+     */
+    public Session openSession(Neo4jTransport transport) {
+        return configure(new Neo4jSession(metaData, transport, objectMapper));
+    }
+
+    /**
+     * Creates a transport to a cluster of Neo4j servers, which sends reads that run in a transaction of their own to
+     * the read replicas and everything else to the writer. Sessions opened with it using {@link #openSession(Neo4jTransport)}
+     * share this factory's HTTP connection pool. Its replicas are health-checked as configured by
+     * {@link SessionConfiguration#getRoutingHealthCheckInterval()} until this factory is closed.
+     * If authentication is required, the username and password will be read from System properties.
+     *
+     * @param writerUrl The base URL of the server to which writes and long transactions are sent
+     * @param readerUrls The base URLs of the read replicas
+     * @param policy The {@link LoadBalancingPolicy} that chooses the replica for each read
+     * @return A new {@link RoutingTransport}
+     */
+    public RoutingTransport routingTransport(String writerUrl, List<String> readerUrls, LoadBalancingPolicy policy) {
+        RoutingTransport transport = new RoutingTransport(writerUrl, readerUrls, policy, routingHealthCheckInterval,
+                httpClient, objectMapper, null);
+        routingTransports.add(transport);
+        return transport;
+    }
+
+    /**
+     * Opens a new Neo4j mapping {@link Session} against the specified Neo4j database, whose operations are run
+     * asynchronously on the given {@link Executor}. Each operation blocks one of the executor's threads while it runs.
+     *
+     * @param url The base URL of the Neo4j database with which to communicate
+     * @param executor The {@link Executor} on which the session's operations are run, which may be shared with other sessions
+     * @return A new {@link AsyncSession}
+     * @see #openSession(String)
+     */
+    public AsyncSession openAsyncSession(String url, Executor executor) {
+        return new AsyncSession(openSession(url), executor);
     }
 
     /**
@@ -104,4 +224,135 @@ public class SessionFactory {
         return metaData;
     }
 
+    /**
+     * Retrieves the current state of the HTTP connection pool shared by the sessions opened by this {@link SessionFactory}.
+     *
+     * @return The {@link ConnectionPoolStatistics} at the time of the call
+     */
+    public ConnectionPoolStatistics connectionPoolStatistics() {
+        PoolStats stats = connectionManager.getTotalStats();
+        return new ConnectionPoolStatistics(stats.getLeased(), stats.getAvailable(), stats.getPending(), stats.getMax());
+    }
+
+    /**
+     * Retrieves the metrics describing the traffic between the sessions opened by this {@link SessionFactory} and the server.
+     *
+     * @return The {@link SessionMetrics} shared by this factory's sessions
+     */
+    public SessionMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Closes the HTTP connection pool shared by the sessions opened by this {@link SessionFactory}. Those sessions
+     * can no longer be used afterwards.
+     */
+    public void close() {
+        if (connectionEvictor != null) {
+            connectionEvictor.shutdownNow();
+        }
+        if (transactionScheduler != null) {
+            transactionKeepAlive.cancel();
+            transactionScheduler.shutdownNow();
+        }
+        for (RoutingTransport transport : routingTransports) {
+            transport.close();
+        }
+        try {
+            httpClient.close();
+        } catch (IOException ioe) {
+            throw new RuntimeException(ioe);
+        }
+    }
+
+    private static PoolingHttpClientConnectionManager connectionManager(HttpClientConfiguration configuration) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(configuration.getMaxTotalConnections());
+        connectionManager.setDefaultMaxPerRoute(configuration.getMaxConnectionsPerRoute());
+        connectionManager.setDefaultSocketConfig(SocketConfig.custom()
+                .setSoTimeout(configuration.getSocketTimeout())
+                .setTcpNoDelay(true)
+                .build());
+        return connectionManager;
+    }
+
+    private static CloseableHttpClient httpClient(HttpClientConfiguration configuration, PoolingHttpClientConnectionManager connectionManager, SessionMetrics metrics) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(configuration.getConnectTimeout())
+                .setSocketTimeout(configuration.getSocketTimeout())
+                .setConnectionRequestTimeout(configuration.getConnectionRequestTimeout())
+                .setStaleConnectionCheckEnabled(configuration.isStaleConnectionCheckEnabled())
+                .build();
+
+        HttpClientBuilder builder = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(new KeepAliveStrategy(configuration.getKeepAlive()));
+
+        if (configuration.isCompressionEnabled()) {
+            builder.disableContentCompression()
+                    .addInterceptorFirst(new GzipRequestInterceptor(configuration.getRequestCompressionThreshold(), metrics))
+                    .addInterceptorFirst(new GzipResponseInterceptor(metrics));
+        }
+
+        return builder.build();
+    }
+
+    private static ScheduledExecutorService connectionEvictor(HttpClientConfiguration configuration, final PoolingHttpClientConnectionManager connectionManager) {
+        long interval = configuration.getIdleConnectionEvictionInterval();
+        if (interval <= 0) {
+            return null;
+        }
+        final long idleTimeout = configuration.getIdleConnectionTimeout();
+        ScheduledExecutorService evictor = daemonScheduler("neo4j-ogm-connection-evictor");
+        evictor.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                connectionManager.closeExpiredConnections();
+                if (idleTimeout > 0) {
+                    connectionManager.closeIdleConnections(idleTimeout, TimeUnit.MILLISECONDS);
+                }
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+        return evictor;
+    }
+
+    private static ScheduledExecutorService daemonScheduler(final String name) {
+        return Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    private Neo4jSession configure(Neo4jSession session) {
+        if (transactionKeepAlive != null) {
+            session.transactionManager().setKeepAlive(transactionKeepAlive);
+        }
+        session.setRequestCoalescer(requestCoalescer);
+        session.setRetryPolicy(retryPolicy);
+        return session;
+    }
+
+    /**
+     * Keeps connections alive for as long as the server asks, or for the configured time if it doesn't say.
+     */
+    private static class KeepAliveStrategy implements ConnectionKeepAliveStrategy {
+
+        private final long keepAlive;
+
+        KeepAliveStrategy(long keepAlive) {
+            this.keepAlive = keepAlive;
+        }
+
+        @Override
+        public long getKeepAliveDuration(HttpResponse response, HttpContext context) {
+            long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return duration > 0 ? duration : keepAlive;
+        }
+    }
+
 }
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.session;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters describing the traffic between the sessions opened by a {@link SessionFactory} and the Neo4j server.
+ * <p>
+ * The counters are updated concurrently by all the sessions sharing the factory and are never reset, so
+ * rates can be derived by sampling them periodically.
+ * </p>
+ */
+public class SessionMetrics {
+
+    private final AtomicLong compressedRequests = new AtomicLong();
+    private final AtomicLong requestBytesUncompressed = new AtomicLong();
+    private final AtomicLong requestBytesSent = new AtomicLong();
+
+    private final AtomicLong compressedResponses = new AtomicLong();
+    private final AtomicLong responseBytesReceived = new AtomicLong();
+    private final AtomicLong responseBytesUncompressed = new AtomicLong();
+
+    private final AtomicLong keepAlivesSent = new AtomicLong();
+    private final AtomicLong keepAliveFailures = new AtomicLong();
+
+    private final AtomicLong requestsCoalesced = new AtomicLong();
+
+    private final ConcurrentMap<String, AtomicLong> failedRequests = new ConcurrentHashMap<>();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong retriesAbandoned = new AtomicLong();
+
+    /**
+     * Records a request body that was compressed before being sent.
+     *
+     * @param uncompressed The size of the body before compression
+     * @param sent The number of bytes actually sent
+     */
+    public void compressedRequest(long uncompressed, long sent) {
+        compressedRequests.incrementAndGet();
+        requestBytesUncompressed.addAndGet(uncompressed);
+        requestBytesSent.addAndGet(sent);
+    }
+
+    /**
+     * Records a response body that was compressed by the server.
+     *
+     * @param received The number of bytes actually received
+     * @param uncompressed The size of the body after decompression
+     */
+    public void compressedResponse(long received, long uncompressed) {
+        compressedResponses.incrementAndGet();
+        responseBytesReceived.addAndGet(received);
+        responseBytesUncompressed.addAndGet(uncompressed);
+    }
+
+    /**
+     * Records a keep-alive request sent to an idle transaction.
+     *
+     * @param succeeded Whether the server kept the transaction open
+     */
+    public void keepAlive(boolean succeeded) {
+        keepAlivesSent.incrementAndGet();
+        if (!succeeded) {
+            keepAliveFailures.incrementAndGet();
+        }
+    }
+
+    /**
+     * Records a request that was not sent, because an identical one was already in flight and its response was shared.
+     */
+    public void coalescedRequest() {
+        requestsCoalesced.incrementAndGet();
+    }
+
+    /**
+     * Records a failed attempt to send an autocommit request.
+     *
+     * @param code The code describing the failure, see {@link org.neo4j.ogm.session.request.FailureClassifier#code(Throwable)}
+     */
+    public void failedRequest(String code) {
+        AtomicLong count = failedRequests.get(code);
+        if (count == null) {
+            AtomicLong existing = failedRequests.putIfAbsent(code, count = new AtomicLong());
+            if (existing != null) {
+                count = existing;
+            }
+        }
+        count.incrementAndGet();
+    }
+
+    /**
+     * Records a failed request that is about to be sent again.
+     */
+    public void retry() {
+        retries.incrementAndGet();
+    }
+
+    /**
+     * Records a failed request that could have been retried, but had used up its attempts or the retry budget.
+     */
+    public void retryAbandoned() {
+        retriesAbandoned.incrementAndGet();
+    }
+
+    /**
+     * @return The number of request bodies that were compressed
+     */
+    public long getCompressedRequests() {
+        return compressedRequests.get();
+    }
+
+    /**
+     * @return The number of bytes not sent because request bodies were compressed
+     */
+    public long getRequestBytesSaved() {
+        return requestBytesUncompressed.get() - requestBytesSent.get();
+    }
+
+    /**
+     * @return The number of response bodies that were compressed
+     */
+    public long getCompressedResponses() {
+        return compressedResponses.get();
+    }
+
+    /**
+     * @return The number of bytes not received because response bodies were compressed
+     */
+    public long getResponseBytesSaved() {
+        return responseBytesUncompressed.get() - responseBytesReceived.get();
+    }
+
+    /**
+     * @return The total number of bytes that compression saved sending over the network
+     */
+    public long getBytesSaved() {
+        return getRequestBytesSaved() + getResponseBytesSaved();
+    }
+
+    /**
+     * @return The number of keep-alive requests sent to idle transactions
+     */
+    public long getKeepAlivesSent() {
+        return keepAlivesSent.get();
+    }
+
+    /**
+     * @return The number of keep-alive requests that failed, typically because the transaction had already expired
+     */
+    public long getKeepAliveFailures() {
+        return keepAliveFailures.get();
+    }
+
+    /**
+     * @return The number of requests answered by sharing the response to an identical request already in flight
+     */
+    public long getRequestsCoalesced() {
+        return requestsCoalesced.get();
+    }
+
+    /**
+     * @return The number of failed attempts to send autocommit requests, by the code describing the failure, when
+     * retries are enabled
+     */
+    public Map<String, Long> getFailedRequests() {
+        Map<String, Long> counts = new TreeMap<>();
+        for (Map.Entry<String, AtomicLong> entry : failedRequests.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().get());
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * @return The number of times a failed request was sent again
+     */
+    public long getRetries() {
+        return retries.get();
+    }
+
+    /**
+     * @return The number of failed requests that were not sent again because they had used up their attempts or the
+     * retry budget
+     */
+    public long getRetriesAbandoned() {
+        return retriesAbandoned.get();
+    }
+
+    @Override
+    public String toString() {
+        return "compressed requests: " + getCompressedRequests() + ", request bytes saved: " + getRequestBytesSaved()
+                + ", compressed responses: " + getCompressedResponses() + ", response bytes saved: " + getResponseBytesSaved()
+                + ", keep-alives sent: " + getKeepAlivesSent() + ", keep-alive failures: " + getKeepAliveFailures()
+                + ", requests coalesced: " + getRequestsCoalesced()
+                + ", retries: " + getRetries() + ", retries abandoned: " + getRetriesAbandoned()
+                + ", failed requests: " + getFailedRequests();
+    }
+}
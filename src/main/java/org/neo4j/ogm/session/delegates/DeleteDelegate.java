@@ -21,11 +21,17 @@ import org.neo4j.ogm.session.Neo4jSession;
 import org.neo4j.ogm.session.request.strategy.DeleteNodeStatements;
 import org.neo4j.ogm.session.request.strategy.DeleteRelationshipStatements;
 import org.neo4j.ogm.session.request.strategy.DeleteStatements;
+import org.neo4j.ogm.session.response.MultiStatementResponse;
 import org.neo4j.ogm.session.response.Neo4jResponse;
+import org.neo4j.ogm.session.result.RowModel;
 
+import java.lang.reflect.Array;
 import java.lang.reflect.Field;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * @author Vince Bickers
@@ -47,15 +53,85 @@ public class DeleteDelegate implements Capability.Delete {
 
 
     private <T> void deleteAll(T object) {
-        List<T> list;
-        if (object.getClass().isArray()) {
-            list = Arrays.asList(object);
-        } else {
-            list = (List<T>) object;
+        List<Object> objects = new ArrayList<>();
+        Set<Long> nodeIds = new LinkedHashSet<>();
+        Set<Long> relationshipIds = new LinkedHashSet<>();
+        for (Object element : elements(object)) {
+            Long identity = identity(element);
+            if (identity != null) {
+                objects.add(element);
+                if (session.metaData().isRelationshipEntity(element.getClass().getName())) {
+                    relationshipIds.add(identity);
+                } else {
+                    nodeIds.add(identity);
+                }
+            }
+        }
+        if (objects.isEmpty()) {
+            return;
+        }
+        List<ParameterisedStatement> statements = deleteStatements(new DeleteRelationshipStatements(), null, relationshipIds);
+        statements.addAll(deleteStatements(new DeleteNodeStatements(), null, nodeIds));
+        execute(statements);
+        session.context().clearAll(objects);
+    }
+
+    public <T> void delete(Class<T> type, Collection<Long> ids) {
+        ClassInfo classInfo = session.metaData().classInfo(type.getName());
+        if (classInfo == null) {
+            session.info(type.getName() + " is not a persistable class");
+            return;
+        }
+        if (ids.isEmpty()) {
+            return;
         }
-        for (T element : list) {
-            delete(element);
+        // the label (or relationship type) keeps an id of some other entity from being deleted
+        List<Long> deleted = execute(deleteStatements(getDeleteStatementsBasedOnType(type), session.entityType(classInfo.name()), ids));
+        session.context().clear(type, deleted);
+    }
+
+    /**
+     * Deletes the given ids in statements of at most the session's batch size each, restricted to
+     * the given label or relationship type unless it is null.
+     */
+    private List<ParameterisedStatement> deleteStatements(DeleteStatements deleteStatements, String type, Collection<Long> ids) {
+        List<ParameterisedStatement> statements = new ArrayList<>();
+        List<Long> batch = new ArrayList<>();
+        for (Long id : ids) {
+            batch.add(id);
+            if (batch.size() == session.getBatchSize()) {
+                statements.add(deleteStatement(deleteStatements, type, batch));
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            statements.add(deleteStatement(deleteStatements, type, batch));
+        }
+        return statements;
+    }
+
+    private ParameterisedStatement deleteStatement(DeleteStatements deleteStatements, String type, List<Long> ids) {
+        return type == null ? deleteStatements.deleteAll(ids) : deleteStatements.deleteByTypeAndIds(type, ids);
+    }
+
+    /**
+     * Executes the statements, returning the ids of whatever they deleted if they return any.
+     */
+    private List<Long> execute(List<ParameterisedStatement> statements) {
+        // all the deletes are sent to the server in a single request
+        List<Long> deleted = new ArrayList<>();
+        String url = session.ensureTransaction().url();
+        try (MultiStatementResponse response = session.requestHandler().executeAll(statements, url)) {
+            for (int i = 0; i < statements.size(); i++) {
+                try (Neo4jResponse<RowModel> result = response.nextRowModelResponse()) {
+                    RowModel row;
+                    while ((row = result.next()) != null) {
+                        deleted.add(((Number) row.getValues()[0]).longValue());
+                    }
+                }
+            }
         }
+        return deleted;
     }
 
     @Override
@@ -63,23 +139,58 @@ public class DeleteDelegate implements Capability.Delete {
         if (object.getClass().isArray() || Iterable.class.isAssignableFrom(object.getClass())) {
             deleteAll(object);
         } else {
-            ClassInfo classInfo = session.metaData().classInfo(object);
-            if (classInfo != null) {
-                Field identityField = classInfo.getField(classInfo.identityField());
-                Long identity = (Long) FieldWriter.read(identityField, object);
-                if (identity != null) {
-                    String url = session.ensureTransaction().url();
-                    ParameterisedStatement request = getDeleteStatementsBasedOnType(object.getClass()).delete(identity);
-                    try (Neo4jResponse<String> response = session.requestHandler().execute(request, url)) {
-                        session.context().clear(object);
-                    }
+            ParameterisedStatement request = deleteStatement(object);
+            if (request != null) {
+                String url = session.ensureTransaction().url();
+                try (Neo4jResponse<String> response = session.requestHandler().execute(request, url)) {
+                    session.context().clear(object);
                 }
-            } else {
-                session.info(object.getClass().getName() + " is not an instance of a persistable class");
             }
         }
     }
 
+    private ParameterisedStatement deleteStatement(Object object) {
+        Long identity = identity(object);
+        if (identity != null) {
+            return getDeleteStatementsBasedOnType(object.getClass()).delete(identity);
+        }
+        return null;
+    }
+
+    private Long identity(Object object) {
+        ClassInfo classInfo = session.metaData().classInfo(object);
+        if (classInfo != null) {
+            Field identityField = classInfo.getField(classInfo.identityField());
+            return (Long) FieldWriter.read(identityField, object);
+        } else {
+            session.info(object.getClass().getName() + " is not an instance of a persistable class");
+        }
+        return null;
+    }
+
+    private List<Object> elements(Object object) {
+        List<Object> elements = new ArrayList<>();
+        if (object.getClass().isArray()) {
+            int length = Array.getLength(object);
+            for (int i = 0; i < length; i++) {
+                addElement(elements, Array.get(object, i));
+            }
+        } else {
+            for (Object element : (Iterable<?>) object) {
+                addElement(elements, element);
+            }
+        }
+        return elements;
+    }
+
+    private void addElement(List<Object> elements, Object element) {
+        if (element.getClass().isArray() || Iterable.class.isAssignableFrom(element.getClass())) {
+            elements.addAll(elements(element));
+        } else {
+            elements.add(element);
+        }
+    }
+
     @Override
     public <T> void deleteAll(Class<T> type) {
         ClassInfo classInfo = session.metaData().classInfo(type.getName());
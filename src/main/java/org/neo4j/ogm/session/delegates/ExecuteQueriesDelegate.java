@@ -14,14 +14,13 @@
 package org.neo4j.ogm.session.delegates;
 
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.apache.commons.lang.StringUtils;
 import org.neo4j.ogm.cypher.query.GraphModelQuery;
 import org.neo4j.ogm.cypher.query.Query;
 import org.neo4j.ogm.cypher.query.RowModelQuery;
 import org.neo4j.ogm.cypher.query.RowModelQueryWithStatistics;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatement;
 import org.neo4j.ogm.metadata.info.ClassInfo;
 import org.neo4j.ogm.model.GraphModel;
 import org.neo4j.ogm.session.*;
@@ -37,8 +36,6 @@ import org.neo4j.ogm.session.result.RowQueryStatisticsResult;
  */
 public class ExecuteQueriesDelegate implements Capability.ExecuteQueries {
 
-    private static final Pattern WRITE_CYPHER_KEYWORDS = Pattern.compile("\\b(CREATE|MERGE|SET|DELETE|REMOVE)\\b");
-    
     private final Neo4jSession session;
 
     public ExecuteQueriesDelegate(Neo4jSession neo4jSession) {
@@ -151,8 +148,7 @@ public class ExecuteQueriesDelegate implements Capability.ExecuteQueries {
     }
 
     private boolean isReadOnly(String cypher) {
-        Matcher matcher = WRITE_CYPHER_KEYWORDS.matcher(cypher.toUpperCase());
-        return !matcher.find();
+        return ParameterisedStatement.isReadOnly(cypher);
     }
 
     private void validateQuery(String cypher, Map<String, ?> parameters, boolean readOnly) {
@@ -32,7 +32,7 @@ import org.neo4j.ogm.session.Capability;
 import org.neo4j.ogm.session.Neo4jSession;
 import org.neo4j.ogm.session.request.strategy.QueryStatements;
 import org.neo4j.ogm.session.response.Neo4jResponse;
-import org.neo4j.ogm.session.result.GraphRowModel;
+import org.neo4j.ogm.session.result.GraphRowResult;
 
 import java.util.Collection;
 
@@ -77,7 +77,7 @@ public class LoadByTypeDelegate implements Capability.LoadByType {
                     .setPagination(pagination);
 
             if (depth != 0) {
-                try (Neo4jResponse<GraphRowModel> response = session.requestHandler().execute((GraphRowModelQuery) qry, url)) {
+                try (Neo4jResponse<GraphRowResult> response = session.requestHandler().execute((GraphRowModelQuery) qry, url)) {
                     return session.responseHandler().loadByProperty(type, response);
                 }
             } else {
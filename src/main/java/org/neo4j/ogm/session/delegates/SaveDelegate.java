@@ -16,13 +16,19 @@ package org.neo4j.ogm.session.delegates;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
+import org.neo4j.ogm.cypher.compiler.CompilationMode;
 import org.neo4j.ogm.cypher.compiler.CypherContext;
+import org.neo4j.ogm.cypher.compiler.SingleStatementCypherCompiler;
 import org.neo4j.ogm.mapper.EntityGraphMapper;
 import org.neo4j.ogm.metadata.info.ClassInfo;
 import org.neo4j.ogm.session.Capability;
+import org.neo4j.ogm.session.FlushMode;
 import org.neo4j.ogm.session.Neo4jSession;
-import org.neo4j.ogm.session.response.Neo4jResponse;
+import org.neo4j.ogm.session.response.MultiStatementResponse;
+import org.neo4j.ogm.session.transaction.LongTransaction;
 import org.neo4j.ogm.session.transaction.Transaction;
 
 /**
@@ -32,6 +38,17 @@ public class SaveDelegate implements Capability.Save {
 
     private final Neo4jSession session;
 
+    // objects waiting to be saved in write-behind mode, with the depth to which each is saved
+    private final Map<Object, Integer> pending = new IdentityHashMap<>();
+
+    // the save whose dependent statements are to be sent by the request that commits its transaction
+    private CypherContext awaitingCommit;
+
+    private FlushMode flushMode = FlushMode.IMMEDIATE;
+    private int writeBehindThreshold = 100;
+    private CompilationMode compilationMode = CompilationMode.SINGLE_STATEMENT;
+    private int batchSize = SingleStatementCypherCompiler.DEFAULT_BATCH_SIZE;
+
     public SaveDelegate(Neo4jSession neo4jSession) {
         this.session = neo4jSession;
     }
@@ -68,17 +85,146 @@ public class SaveDelegate implements Capability.Save {
             saveAll(object, depth);
         } else {
             ClassInfo classInfo = session.metaData().classInfo(object);
-            if (classInfo != null) {
+            if (classInfo != null && flushMode == FlushMode.WRITE_BEHIND) {
+                defer(object, depth);
+            } else if (classInfo != null) {
                 Transaction tx = session.ensureTransaction();
-                CypherContext context = new EntityGraphMapper(session.metaData(), session.context()).map(object, depth);
-                try (Neo4jResponse<String> response = session.requestHandler().execute(context.getStatements(), tx.url())) {
-                    session.responseHandler().updateObjects(context, response, session.mapper());
-                    tx.append(context);
-                }
+                CypherContext context = mapper().map(object, depth);
+                execute(context, tx, tx.url());
             } else {
                 session.info(object.getClass().getName() + " is not an instance of a persistable class");
             }
         }
     }
 
+    public void setFlushMode(FlushMode flushMode) {
+        this.flushMode = flushMode;
+    }
+
+    public FlushMode getFlushMode() {
+        return flushMode;
+    }
+
+    public void setWriteBehindThreshold(int writeBehindThreshold) {
+        this.writeBehindThreshold = writeBehindThreshold;
+    }
+
+    public void setCompilationMode(CompilationMode compilationMode) {
+        this.compilationMode = compilationMode;
+    }
+
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be at least 1, not " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Maps all the objects waiting to be saved together, so that an object reachable from several of them is created
+     * only once, and sends the resulting statements in a single request.
+     */
+    public void flush() {
+        if (!pending.isEmpty()) {
+            Map<Object, Integer> objects = takePending();
+            Transaction tx = session.ensureTransaction();
+            flush(objects, tx, tx.url());
+        }
+    }
+
+    /**
+     * Flushes the objects waiting to be saved to the given url, rather than to the current transaction's own, e.g. to
+     * send them in the same request that commits the transaction.
+     *
+     * @return true if there were any objects to flush, or statements waiting for the commit
+     */
+    public boolean flush(String url) {
+        if (awaitingCommit != null) {
+            CypherContext context = awaitingCommit;
+            awaitingCommit = null;
+            context.compileDependentStatements();
+            send(context, url);
+            session.ensureTransaction().append(context);
+            return true;
+        }
+        if (pending.isEmpty()) {
+            return false;
+        }
+        Map<Object, Integer> objects = takePending();
+        flush(objects, session.ensureTransaction(), url);
+        return true;
+    }
+
+    private Map<Object, Integer> takePending() {
+        Map<Object, Integer> objects = new IdentityHashMap<>(pending);
+        pending.clear();
+        return objects;
+    }
+
+    private void flush(Map<Object, Integer> objects, Transaction tx, String url) {
+        execute(mapper().map(objects), tx, url);
+    }
+
+    private EntityGraphMapper mapper() {
+        return new EntityGraphMapper(session.metaData(), session.context(), compilationMode, batchSize);
+    }
+
+    /**
+     * Sends the statements of the given context to the given url. Statements that depend on the ids of the nodes
+     * created by them are sent next, to the same transaction, so an autocommit save that has any is made in a
+     * transaction of its own instead, committed by the request that sends them.
+     */
+    private void execute(CypherContext context, Transaction tx, String url) {
+        if (!context.hasDependentStatements()) {
+            send(context, url);
+        } else if (tx instanceof LongTransaction) {
+            // the first request may begin the transaction and so change its url
+            boolean commit = url.endsWith("/commit");
+            send(context, tx.url());
+            context.compileDependentStatements();
+            send(context, commit ? tx.url() + "/commit" : tx.url());
+        } else {
+            try (Transaction transaction = session.beginTransaction()) {
+                send(context, transaction.url());
+                awaitingCommit = context;
+                transaction.commit();
+            } finally {
+                awaitingCommit = null;
+            }
+            return;
+        }
+        tx.append(context);
+    }
+
+    private void send(CypherContext context, String url) {
+        try (MultiStatementResponse response = session.requestHandler().executeAll(context.getStatements(), url)) {
+            session.responseHandler().updateObjects(context, response);
+        }
+    }
+
+    /**
+     * Abandons the objects waiting to be saved, e.g. because the transaction they were to be saved in was rolled back.
+     */
+    public void discard() {
+        pending.clear();
+        awaitingCommit = null;
+    }
+
+    public boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    private void defer(Object object, int depth) {
+        Integer deferredDepth = pending.get(object);
+        if (deferredDepth == null || (deferredDepth >= 0 && (depth < 0 || depth > deferredDepth))) {
+            pending.put(object, depth);
+        }
+        if (pending.size() >= writeBehindThreshold) {
+            flush();
+        }
+    }
 }
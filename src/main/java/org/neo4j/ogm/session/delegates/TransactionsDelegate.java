@@ -37,6 +37,10 @@ public class TransactionsDelegate implements Capability.Transactions {
         autoCommitUrl = url + "db/data/transaction/commit";
     }
 
+    public String autoCommitUrl() {
+        return autoCommitUrl;
+    }
+
     @Override
     public Transaction beginTransaction() {
 
@@ -51,7 +55,7 @@ public class TransactionsDelegate implements Capability.Transactions {
 
     @Override
     public <T> T doInTransaction(GraphCallback<T> graphCallback) {
-        return graphCallback.apply(session.requestHandler(), getCurrentOrAutocommitTransaction(), session.metaData());
+        return graphCallback.apply(session.requestHandler(), session.ensureTransaction(), session.metaData());
     }
 
 
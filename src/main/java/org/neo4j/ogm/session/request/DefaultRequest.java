@@ -14,13 +14,14 @@
 
 package org.neo4j.ogm.session.request;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.StatusLine;
 import org.apache.http.client.ClientProtocolException;
 import org.apache.http.client.HttpResponseException;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
-import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.message.BasicHeader;
 import org.apache.http.protocol.HTTP;
@@ -28,10 +29,13 @@ import org.apache.http.util.EntityUtils;
 import org.neo4j.ogm.authentication.CredentialsService;
 import org.neo4j.ogm.authentication.HttpRequestAuthorization;
 import org.neo4j.ogm.authentication.Neo4jCredentials;
-import org.neo4j.ogm.authentication.UsernamePasswordCredentials;
-import org.neo4j.ogm.session.response.JsonResponse;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatements;
+import org.neo4j.ogm.metadata.MappingException;
 import org.neo4j.ogm.session.response.Neo4jResponse;
+import org.neo4j.ogm.session.response.StreamingJsonResponse;
 import org.neo4j.ogm.session.result.ResultProcessingException;
+import org.neo4j.ogm.session.transaction.LongTransaction;
+import org.neo4j.ogm.session.transaction.TransactionManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,28 +49,43 @@ public class DefaultRequest implements Neo4jRequest<String> {
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultRequest.class);
 
     private final CloseableHttpClient httpClient;
+    private final ObjectMapper mapper;
     private final Neo4jCredentials credentials;
 
-    public DefaultRequest(CloseableHttpClient httpClient) {
+    private TransactionManager transactionManager;
+
+    public DefaultRequest(CloseableHttpClient httpClient, ObjectMapper mapper) {
         this.httpClient = httpClient;
+        this.mapper = mapper;
         this.credentials = CredentialsService.userNameAndPassword();
     }
 
-    public DefaultRequest(CloseableHttpClient httpClient, UsernamePasswordCredentials usernamePasswordCredentials) {
+    public DefaultRequest(CloseableHttpClient httpClient, ObjectMapper mapper, Neo4jCredentials<?> credentials) {
         this.httpClient = httpClient;
-        this.credentials = usernamePasswordCredentials;
+        this.mapper = mapper;
+        this.credentials = credentials;
+    }
+
+    /**
+     * @param transactionManager the manager to tell when a request is sent to a transaction, or begins one on the server
+     */
+    public void setTransactionManager(TransactionManager transactionManager) {
+        this.transactionManager = transactionManager;
     }
 
-    public Neo4jResponse<String> execute(String url, String cypherQuery) {
+    public Neo4jResponse<String> execute(String url, ParameterisedStatements statements) {
 
-        JsonResponse jsonResponse = null;
+        StreamingJsonResponse jsonResponse = null;
+        LongTransaction tx = null;
 
         try {
 
-            LOGGER.debug("POST {}, request: {}", url, cypherQuery);
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("POST {}, request: {}", url, toJson(statements));
+            }
 
             HttpPost request = new HttpPost(url);
-            HttpEntity entity = new StringEntity(cypherQuery,"UTF-8");
+            HttpEntity entity = new ParameterisedStatementsEntity(statements, mapper);
 
             request.setHeader(new BasicHeader(HTTP.CONTENT_TYPE,"application/json;charset=UTF-8"));
             request.setHeader(new BasicHeader("Accept", "application/json;charset=UTF-8"));
@@ -78,6 +97,10 @@ public class DefaultRequest implements Neo4jRequest<String> {
 
             request.setEntity(entity);
 
+            if (transactionManager != null) {
+                tx = transactionManager.requestStarted(url);
+            }
+
             CloseableHttpResponse response = httpClient.execute(request);
 
             StatusLine statusLine = response.getStatusLine();
@@ -98,20 +121,66 @@ public class DefaultRequest implements Neo4jRequest<String> {
                 throw new ClientProtocolException("Response contains no content");
             }
 
+            Header location = response.getFirstHeader("Location");
+            if (location != null && transactionManager != null) {
+                transactionManager.transactionBegun(url, location.getValue());
+            }
+
             LOGGER.debug("Response is OK, creating response handler");
-            jsonResponse = new JsonResponse(response);
+            jsonResponse = tx == null ? new StreamingJsonResponse(response) : new TransactionResponse(response, tx);
             return jsonResponse;
 
         }
+        // the statements could not be written to the request
+        catch (MappingException me) {
+            if (tx != null) {
+                transactionManager.requestCompleted(tx);
+            }
+            throw me;
+        }
         // the primary exception handler, will ensure all resources are properly closed
         catch (Exception e) {
             LOGGER.warn("Caught response exception: {}", e.getLocalizedMessage());
             if (jsonResponse != null) {
                 jsonResponse.close();
+            } else if (tx != null) {
+                transactionManager.requestCompleted(tx);
             }
-            throw new ResultProcessingException("Failed to execute request: " + cypherQuery, e);
+            throw new ResultProcessingException("Failed to execute request: " + toJson(statements), e);
         }
     }
 
+    private String toJson(ParameterisedStatements statements) {
+        try {
+            return mapper.writeValueAsString(statements);
+        } catch (Exception e) {
+            return statements.toString();
+        }
+    }
+
+    /**
+     * The response to a request sent to a transaction, which has the request in flight until the response is closed.
+     */
+    private class TransactionResponse extends StreamingJsonResponse {
+
+        private final LongTransaction tx;
+        private boolean completed;
 
+        TransactionResponse(CloseableHttpResponse response, LongTransaction tx) {
+            super(response);
+            this.tx = tx;
+        }
+
+        @Override
+        public void close() {
+            try {
+                super.close();
+            } finally {
+                if (!completed) {
+                    completed = true;
+                    transactionManager.requestCompleted(tx);
+                }
+            }
+        }
+    }
 }
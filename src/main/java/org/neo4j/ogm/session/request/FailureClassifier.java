@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.session.request;
+
+import java.io.IOException;
+import java.net.ConnectException;
+
+import org.apache.http.client.HttpResponseException;
+import org.neo4j.ogm.session.result.ServerErrorsException;
+
+/**
+ * Tells failed requests that may succeed if they are sent again apart from those that would fail the same way.
+ * <p>
+ * A failure is described by a code: the status code of the first error the server reported in its response, e.g.
+ * <code>Neo.TransientError.Transaction.DeadlockDetected</code>, <code>HTTP.503</code> for an HTTP error status, or
+ * <code>IO.</code> followed by the exception's name for a request that could not be delivered or whose response
+ * was lost. Only a {@link ServerErrorsException} carries a status code: messages are never searched for one, since
+ * they may quote the statements and parameters of the request.
+ * </p>
+ * A request that updates the graph is only retried if it certainly had no effect: the server reported a transient
+ * error, which rolls its transaction back, it answered 503 without handling the request, or the connection was
+ * refused. When the connection fails once the request has been sent, the server may or may not have run the
+ * statements, so only read-only requests are retried.
+ */
+public final class FailureClassifier {
+
+    private static final String TRANSIENT_ERROR = "Neo.TransientError.";
+
+    private FailureClassifier() {
+    }
+
+    /**
+     * @param failure The exception with which a request failed
+     * @return The code describing the failure
+     */
+    public static String code(Throwable failure) {
+        for (Throwable e = failure; e != null; e = e.getCause()) {
+            if (e instanceof HttpResponseException) {
+                return "HTTP." + ((HttpResponseException) e).getStatusCode();
+            }
+            if (e instanceof IOException) {
+                return "IO." + e.getClass().getSimpleName();
+            }
+            if (e instanceof ServerErrorsException && ((ServerErrorsException) e).code() != null) {
+                return ((ServerErrorsException) e).code();
+            }
+        }
+        return "Unknown." + failure.getClass().getSimpleName();
+    }
+
+    /**
+     * @param failure The exception with which a request failed
+     * @param readOnly Whether all the request's statements were read-only
+     * @return <code>true</code> if sending the request again may succeed and cannot apply its statements twice
+     */
+    public static boolean isRetryable(Throwable failure, boolean readOnly) {
+        for (Throwable e = failure; e != null; e = e.getCause()) {
+            if (e instanceof HttpResponseException) {
+                int status = ((HttpResponseException) e).getStatusCode();
+                return status == 503 || (readOnly && (status == 502 || status == 504));
+            }
+            if (e instanceof ConnectException) {
+                return true;
+            }
+            if (e instanceof IOException) {
+                return readOnly;
+            }
+            if (e instanceof ServerErrorsException) {
+                String status = ((ServerErrorsException) e).code();
+                return status != null && status.startsWith(TRANSIENT_ERROR);
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.session.request;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.protocol.HttpContext;
+import org.neo4j.ogm.session.SessionMetrics;
+
+/**
+ * Asks the server for gzip compressed responses and, optionally, compresses request bodies larger than a given
+ * threshold. Responses are decompressed by the {@link GzipResponseInterceptor}.
+ * <p>
+ * The size of a streamed request body isn't known before it is written, so the body is first written to a buffer
+ * which is abandoned as soon as the threshold is exceeded. Smaller bodies are then sent from that buffer, and larger
+ * ones are written again, compressing them on their way to the connection.
+ * </p>
+ */
+public class GzipRequestInterceptor implements HttpRequestInterceptor {
+
+    static final String GZIP = "gzip";
+
+    private final long requestCompressionThreshold;
+    private final SessionMetrics metrics;
+
+    /**
+     * @param requestCompressionThreshold The size in bytes above which request bodies are compressed, or a negative
+     *                                    value to never compress them
+     * @param metrics The {@link SessionMetrics} to which the bytes saved are reported
+     */
+    public GzipRequestInterceptor(long requestCompressionThreshold, SessionMetrics metrics) {
+        this.requestCompressionThreshold = requestCompressionThreshold;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void process(HttpRequest request, HttpContext context) throws HttpException, IOException {
+        if (!request.containsHeader("Accept-Encoding")) {
+            request.addHeader("Accept-Encoding", GZIP);
+        }
+        if (requestCompressionThreshold >= 0 && request instanceof HttpEntityEnclosingRequest
+                && !request.containsHeader(HTTP.CONTENT_ENCODING)) {
+            HttpEntityEnclosingRequest entityRequest = (HttpEntityEnclosingRequest) request;
+            HttpEntity entity = entityRequest.getEntity();
+            if (entity != null && entity.getContentEncoding() == null) {
+                entityRequest.setEntity(compress(entity));
+            }
+        }
+    }
+
+    private HttpEntity compress(HttpEntity entity) throws IOException {
+        long length = entity.getContentLength();
+        if (length >= 0) {
+            return length > requestCompressionThreshold ? new CompressingEntity(entity, metrics) : entity;
+        }
+        if (!entity.isRepeatable()) {
+            return entity;
+        }
+        BoundedOutputStream buffer = new BoundedOutputStream(requestCompressionThreshold);
+        try {
+            entity.writeTo(buffer);
+        } catch (IOException | RuntimeException e) {
+            // the entity may have wrapped the exception thrown when the buffer was exceeded
+            if (!buffer.exceeded) {
+                throw e;
+            }
+        }
+        if (buffer.exceeded) {
+            return new CompressingEntity(entity, metrics);
+        }
+        ByteArrayEntity bufferedEntity = new ByteArrayEntity(buffer.toByteArray());
+        bufferedEntity.setContentType(entity.getContentType());
+        return bufferedEntity;
+    }
+
+    /**
+     * Writes the wrapped entity through a gzip stream.
+     */
+    private static class CompressingEntity extends HttpEntityWrapper {
+
+        private final SessionMetrics metrics;
+
+        CompressingEntity(HttpEntity wrappedEntity, SessionMetrics metrics) {
+            super(wrappedEntity);
+            this.metrics = metrics;
+        }
+
+        @Override
+        public Header getContentEncoding() {
+            return new BasicHeader(HTTP.CONTENT_ENCODING, GZIP);
+        }
+
+        @Override
+        public long getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public boolean isChunked() {
+            return true;
+        }
+
+        @Override
+        public void writeTo(OutputStream outputStream) throws IOException {
+            CountingOutputStream sent = new CountingOutputStream(outputStream);
+            GZIPOutputStream gzip = new GZIPOutputStream(sent, 8192);
+            CountingOutputStream uncompressed = new CountingOutputStream(gzip);
+            wrappedEntity.writeTo(uncompressed);
+            gzip.finish();
+            metrics.compressedRequest(uncompressed.count, sent.count);
+        }
+    }
+
+    /**
+     * A buffer that refuses to hold more than a given number of bytes.
+     */
+    private static class BoundedOutputStream extends OutputStream {
+
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private final long limit;
+        private boolean exceeded;
+
+        BoundedOutputStream(long limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            checkLimit(1);
+            buffer.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            checkLimit(len);
+            buffer.write(b, off, len);
+        }
+
+        byte[] toByteArray() {
+            return buffer.toByteArray();
+        }
+
+        private void checkLimit(int len) throws IOException {
+            if (buffer.size() + len > limit) {
+                exceeded = true;
+                throw new IOException("Request body exceeds " + limit + " bytes");
+            }
+        }
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void close() {
+            // the connection's stream belongs to the HTTP client
+        }
+    }
+}
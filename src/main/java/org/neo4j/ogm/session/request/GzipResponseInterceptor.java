@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.session.request;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpException;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.protocol.HttpContext;
+import org.neo4j.ogm.session.SessionMetrics;
+
+/**
+ * Decompresses gzip encoded responses as they are read, so that compressed responses can be parsed as they
+ * arrive like any other response.
+ */
+public class GzipResponseInterceptor implements HttpResponseInterceptor {
+
+    private final SessionMetrics metrics;
+
+    /**
+     * @param metrics The {@link SessionMetrics} to which the bytes saved are reported
+     */
+    public GzipResponseInterceptor(SessionMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void process(HttpResponse response, HttpContext context) throws HttpException, IOException {
+        HttpEntity entity = response.getEntity();
+        if (entity != null && entity.getContentLength() != 0) {
+            Header contentEncoding = entity.getContentEncoding();
+            if (contentEncoding != null && isGzip(contentEncoding.getValue())) {
+                response.setEntity(new DecompressingEntity(entity, metrics));
+                response.removeHeaders(HTTP.CONTENT_LEN);
+                response.removeHeaders(HTTP.CONTENT_ENCODING);
+                response.removeHeaders("Content-MD5");
+            }
+        }
+    }
+
+    private static boolean isGzip(String encoding) {
+        return GzipRequestInterceptor.GZIP.equalsIgnoreCase(encoding.trim()) || "x-gzip".equalsIgnoreCase(encoding.trim());
+    }
+
+    /**
+     * Reads the wrapped entity through a gzip stream, reporting the bytes saved once the content is closed.
+     */
+    private static class DecompressingEntity extends HttpEntityWrapper {
+
+        private final SessionMetrics metrics;
+        private InputStream content;
+
+        DecompressingEntity(HttpEntity wrappedEntity, SessionMetrics metrics) {
+            super(wrappedEntity);
+            this.metrics = metrics;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            if (content == null) {
+                content = new DecompressingInputStream(wrappedEntity.getContent(), metrics);
+            }
+            return content;
+        }
+
+        @Override
+        public Header getContentEncoding() {
+            return null;
+        }
+
+        @Override
+        public long getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return false;
+        }
+    }
+
+    private static class DecompressingInputStream extends FilterInputStream {
+
+        private final CountingInputStream received;
+        private final SessionMetrics metrics;
+        private long uncompressed;
+        private boolean closed;
+
+        DecompressingInputStream(InputStream compressed, SessionMetrics metrics) throws IOException {
+            this(new CountingInputStream(compressed), metrics);
+        }
+
+        private DecompressingInputStream(CountingInputStream received, SessionMetrics metrics) throws IOException {
+            super(new GZIPInputStream(received, 8192));
+            this.received = received;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                uncompressed++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n > 0) {
+                uncompressed += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(n);
+            uncompressed += skipped;
+            return skipped;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                metrics.compressedResponse(received.count, uncompressed);
+            }
+            in.close();
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream inputStream) {
+            super(inputStream);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -14,6 +14,7 @@
 
 package org.neo4j.ogm.session.request;
 
+import org.neo4j.ogm.cypher.statement.ParameterisedStatements;
 import org.neo4j.ogm.session.response.Neo4jResponse;
 
 /**
@@ -21,6 +22,6 @@ import org.neo4j.ogm.session.response.Neo4jResponse;
  */
 public interface Neo4jRequest<T> {
 
-    Neo4jResponse<T> execute(String url, String jsonStatements);
+    Neo4jResponse<T> execute(String url, ParameterisedStatements statements);
 
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.session.request;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ContentType;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatements;
+import org.neo4j.ogm.metadata.MappingException;
+
+/**
+ * An {@link org.apache.http.HttpEntity} that writes {@link ParameterisedStatements} as JSON directly to the connection,
+ * without first building the request body in memory. The statements are serialised again each time the entity
+ * is written, so the entity is repeatable.
+ * <p>
+ * The length of the body isn't known in advance, so it is sent using chunked transfer encoding.
+ * </p>
+ */
+public class ParameterisedStatementsEntity extends AbstractHttpEntity {
+
+    private final ParameterisedStatements statements;
+    private final ObjectMapper mapper;
+
+    public ParameterisedStatementsEntity(ParameterisedStatements statements, ObjectMapper mapper) {
+        this.statements = statements;
+        this.mapper = mapper;
+        setContentType(ContentType.APPLICATION_JSON.toString());
+        setChunked(true);
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return -1;
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        writeTo(content);
+        return new ByteArrayInputStream(content.toByteArray());
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8)) {
+            // the connection's stream belongs to the HTTP client
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            mapper.writeValue(generator, statements);
+        } catch (JsonProcessingException jpe) {
+            throw new MappingException("Could not create JSON due to " + jpe.getLocalizedMessage(), jpe);
+        }
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+
+    public ParameterisedStatements getStatements() {
+        return statements;
+    }
+}
@@ -0,0 +1,363 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.session.request;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.neo4j.ogm.authentication.Neo4jCredentials;
+import org.neo4j.ogm.cypher.query.Query;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatement;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatements;
+import org.neo4j.ogm.model.GraphModel;
+import org.neo4j.ogm.session.SessionMetrics;
+import org.neo4j.ogm.session.response.GraphModelResponse;
+import org.neo4j.ogm.session.response.Neo4jResponse;
+import org.neo4j.ogm.session.result.ResultProcessingException;
+import org.neo4j.ogm.session.transport.HttpTransport;
+import org.neo4j.ogm.session.transport.Neo4jTransport;
+
+/**
+ * Shares a single request between callers that make the same read-only load at the same time.
+ * <p>
+ * The first caller to make a load sends the request and streams its response. Callers that make an identical load,
+ * i.e. with the same url, credentials, statement, parameters and result formats, while that request is in flight do
+ * not send one of their own: they wait for the first caller to read the response, and each is handed the same records.
+ * A load made after the response has been read is sent again, so results are never served from a cache.
+ * </p>
+ * <p>
+ * The first caller keeps the records it reads so that they can be handed to callers that join later, but only up to a
+ * limit: once it has read more records than that and no caller has joined, it stops keeping them, and identical loads
+ * are sent again. Records are only kept beyond the limit for callers that have already joined.
+ * </p>
+ * The records are only read by the sessions that receive them, which copy their values into their own entities,
+ * so the same {@link GraphModel} may safely be mapped into several sessions' mapping contexts.
+ */
+public class RequestCoalescer {
+
+    /**
+     * The default number of records a caller keeps for others to join its load.
+     */
+    public static final int DEFAULT_BUFFER_LIMIT = 1000;
+
+    private final ConcurrentMap<Key, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final SessionMetrics metrics;
+    private final int bufferLimit;
+
+    /**
+     * @param metrics The metrics to which requests that were not sent are reported
+     */
+    public RequestCoalescer(SessionMetrics metrics) {
+        this(metrics, DEFAULT_BUFFER_LIMIT);
+    }
+
+    /**
+     * @param metrics The metrics to which requests that were not sent are reported
+     * @param bufferLimit The number of records after which a load is no longer shared unless another caller has joined it
+     */
+    public RequestCoalescer(SessionMetrics metrics, int bufferLimit) {
+        this.metrics = metrics;
+        this.bufferLimit = bufferLimit;
+    }
+
+    /**
+     * Sessions whose transports have the same principal are authorised in the same way, so they may share loads.
+     *
+     * @param transport The transport of a session
+     * @return The credentials with which the transport authenticates, if it talks to a server over HTTP, or else the
+     * transport itself, whose sessions are the only ones known to share its credentials
+     */
+    public static Object principal(Neo4jTransport transport) {
+        if (transport instanceof HttpTransport) {
+            Neo4jCredentials<?> credentials = ((HttpTransport) transport).credentials();
+            return credentials == null ? "" : String.valueOf(credentials.credentials());
+        }
+        return transport;
+    }
+
+    /**
+     * @param query The read-only query to run outside a transaction
+     * @param url The url to which the query is sent
+     * @param principal The principal of the caller's transport, see {@link #principal(Neo4jTransport)}
+     * @param request The request with which it is sent if no identical one is in flight
+     * @param mapper The mapper with which its records are read
+     * @return The query's records, which may have been read for another caller
+     */
+    public Neo4jResponse<GraphModel> execute(Query query, String url, Object principal, Neo4jRequest<String> request, ObjectMapper mapper) {
+        Key key = new Key(url, principal, query);
+        while (true) {
+            InFlight call = new InFlight(key);
+            InFlight leader = inFlight.putIfAbsent(key, call);
+
+            if (leader == null) {
+                return call.send(query, url, request, mapper);
+            }
+            if (leader.join()) {
+                metrics.coalescedRequest();
+                return leader.await();
+            }
+            // the load stopped being shared, and was removed, after it was found
+        }
+    }
+
+    /**
+     * @return The number of distinct requests currently in flight
+     */
+    public int size() {
+        return inFlight.size();
+    }
+
+    private static class Key {
+
+        private final String url;
+        private final Object principal;
+        private final String statement;
+        private final Map<String, Object> parameters;
+        private final List<String> resultDataContents;
+
+        Key(String url, Object principal, ParameterisedStatement statement) {
+            this.url = url;
+            this.principal = principal;
+            this.statement = statement.getStatement();
+            this.parameters = statement.getParameters();
+            this.resultDataContents = Arrays.asList(statement.getResultDataContents());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+
+            Key key = (Key) o;
+            return url.equals(key.url)
+                    && principal.equals(key.principal)
+                    && statement.equals(key.statement)
+                    && parameters.equals(key.parameters)
+                    && resultDataContents.equals(key.resultDataContents);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = url.hashCode();
+            result = 31 * result + principal.hashCode();
+            result = 31 * result + statement.hashCode();
+            result = 31 * result + parameters.hashCode();
+            result = 31 * result + resultDataContents.hashCode();
+            return result;
+        }
+    }
+
+    /**
+     * A request sent by one caller, whose outcome is handed to the callers that join it once the request has been read.
+     */
+    private class InFlight {
+
+        private final Key key;
+        private final CountDownLatch done = new CountDownLatch(1);
+        private List<GraphModel> records = new ArrayList<>();
+        private String[] columns = new String[0];
+        private RuntimeException failure;
+        private boolean joinable = true;
+        private int followers;
+
+        InFlight(Key key) {
+            this.key = key;
+        }
+
+        Neo4jResponse<GraphModel> send(Query query, String url, Neo4jRequest<String> request, ObjectMapper mapper) {
+            try {
+                List<ParameterisedStatement> statements = new ArrayList<>();
+                statements.add(query);
+                return new LeaderResponse(this, new GraphModelResponse(request.execute(url, new ParameterisedStatements(statements)), mapper));
+            } catch (RuntimeException e) {
+                complete(null, e);
+                throw e;
+            }
+        }
+
+        synchronized boolean join() {
+            if (joinable) {
+                followers++;
+            }
+            return joinable;
+        }
+
+        /**
+         * Stops other callers from joining the request, and from finding it, so that they send their own.
+         *
+         * @return <code>true</code> if any caller joined the request, and is waiting for its records
+         */
+        synchronized boolean stopJoining() {
+            inFlight.remove(key, this);
+            joinable = false;
+            if (followers == 0) {
+                records = null;
+            }
+            return followers > 0;
+        }
+
+        void keep(GraphModel record) {
+            if (records == null) {
+                return;
+            }
+            records.add(record);
+            if (records.size() == bufferLimit + 1) {
+                stopJoining();
+            }
+        }
+
+        void complete(String[] columns, RuntimeException failure) {
+            stopJoining();
+            if (columns != null) {
+                this.columns = columns;
+            }
+            this.failure = failure;
+            done.countDown();
+        }
+
+        Neo4jResponse<GraphModel> await() {
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ResultProcessingException("Interrupted while waiting for an identical request to complete", e);
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            if (records == null) {
+                throw new ResultProcessingException("An identical request in flight failed", null);
+            }
+            return new BufferedResponse(records, columns);
+        }
+    }
+
+    /**
+     * The response of the caller that sent a request, streamed as it is read and kept for the callers that join it.
+     */
+    private static class LeaderResponse implements Neo4jResponse<GraphModel> {
+
+        private final InFlight call;
+        private final Neo4jResponse<GraphModel> response;
+        private boolean completed;
+
+        LeaderResponse(InFlight call, Neo4jResponse<GraphModel> response) {
+            this.call = call;
+            this.response = response;
+        }
+
+        @Override
+        public GraphModel next() {
+            GraphModel model;
+            try {
+                model = response.next();
+            } catch (RuntimeException e) {
+                complete(e);
+                throw e;
+            }
+            if (model == null) {
+                complete(null);
+            } else if (!completed) {
+                call.keep(model);
+            }
+            return model;
+        }
+
+        @Override
+        public void close() {
+            try {
+                // callers that joined are handed the whole response, even if this caller stops reading it
+                if (!completed && call.stopJoining()) {
+                    while (next() != null) {
+                        // kept for the callers that joined
+                    }
+                }
+                complete(null);
+            } catch (RuntimeException e) {
+                // reported to the callers that joined
+            } finally {
+                response.close();
+            }
+        }
+
+        @Override
+        public void initialiseScan(ResponseRecord record) {
+            response.initialiseScan(record);
+        }
+
+        @Override
+        public String[] columns() {
+            return response.columns();
+        }
+
+        @Override
+        public int rowId() {
+            return response.rowId();
+        }
+
+        private void complete(RuntimeException failure) {
+            if (!completed) {
+                completed = true;
+                call.complete(failure == null ? response.columns() : null, failure);
+            }
+        }
+    }
+
+    /**
+     * One caller's view of records that have already been read.
+     */
+    private static class BufferedResponse implements Neo4jResponse<GraphModel> {
+
+        private final List<GraphModel> records;
+        private final String[] columns;
+        private int next;
+
+        BufferedResponse(List<GraphModel> records, String[] columns) {
+            this.records = records;
+            this.columns = columns;
+        }
+
+        @Override
+        public GraphModel next() {
+            return next < records.size() ? records.get(next++) : null;
+        }
+
+        @Override
+        public void close() {
+            // the underlying response was closed once it had been read
+        }
+
+        @Override
+        public void initialiseScan(ResponseRecord record) {
+            // the records were read as graphs
+        }
+
+        @Override
+        public String[] columns() {
+            return columns;
+        }
+
+        @Override
+        public int rowId() {
+            return next - 1;
+        }
+    }
+}
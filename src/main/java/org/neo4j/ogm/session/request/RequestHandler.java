@@ -23,8 +23,9 @@ import org.neo4j.ogm.cypher.query.RowModelQuery;
 import org.neo4j.ogm.cypher.query.RowModelQueryWithStatistics;
 import org.neo4j.ogm.cypher.statement.ParameterisedStatement;
 import org.neo4j.ogm.model.GraphModel;
+import org.neo4j.ogm.session.response.MultiStatementResponse;
 import org.neo4j.ogm.session.response.Neo4jResponse;
-import org.neo4j.ogm.session.result.GraphRowModel;
+import org.neo4j.ogm.session.result.GraphRowResult;
 import org.neo4j.ogm.session.result.RowModel;
 import org.neo4j.ogm.session.result.RowQueryStatisticsResult;
 
@@ -37,8 +38,11 @@ public interface RequestHandler {
     // the default response type for Query is GraphModel
     Neo4jResponse<GraphModel> execute(Query qry, String url);
     Neo4jResponse<RowModel> execute(RowModelQuery query, String url);
-    Neo4jResponse<GraphRowModel> execute(GraphRowModelQuery query, String url);
+    Neo4jResponse<GraphRowResult> execute(GraphRowModelQuery query, String url);
     Neo4jResponse<String> execute(ParameterisedStatement statement, String url);
     Neo4jResponse<String> execute(List<ParameterisedStatement> statementList, String url);
     Neo4jResponse<RowQueryStatisticsResult> execute(RowModelQueryWithStatistics query, String url);
+
+    // sends all the statements in a single request, their results are read in turn from the response
+    MultiStatementResponse executeAll(List<ParameterisedStatement> statementList, String url);
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.session.request;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.ogm.session.SessionMetrics;
+
+/**
+ * Decides whether, and after how long, a failed autocommit request is sent again.
+ * <p>
+ * A request is sent at most <code>maxAttempts</code> times. Before each retry the caller waits for a random time of
+ * up to <code>initialBackoff</code>, doubled for every attempt already made and capped at <code>maxBackoff</code>;
+ * the randomness keeps clients that failed together from retrying together.
+ * </p>
+ * <p>
+ * Retries are also limited by a budget shared by all the sessions using the policy, so that a server that is failing
+ * every request is not sent several times as many. Each request adds <code>budgetRatio</code> of a retry to the budget
+ * and each retry spends one; the budget holds at most <code>minRetries</code> retries, and starts full, so that
+ * occasional failures are always retried.
+ * </p>
+ */
+public class RetryPolicy {
+
+    private static final long SCALE = 1000;
+
+    private final int maxAttempts;
+    private final long initialBackoff;
+    private final long maxBackoff;
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong budget;
+    private final SessionMetrics metrics;
+
+    /**
+     * @param maxAttempts The number of times a request may be sent, including the first
+     * @param initialBackoff The longest time in milliseconds to wait before the first retry
+     * @param maxBackoff The longest time in milliseconds to wait before any retry
+     * @param budgetRatio The fraction of a retry earned by each request
+     * @param minRetries The number of retries the budget holds when full
+     * @param metrics The metrics to which failures and retries are reported
+     */
+    public RetryPolicy(int maxAttempts, long initialBackoff, long maxBackoff, double budgetRatio, int minRetries, SessionMetrics metrics) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("A request must be attempted at least once: " + maxAttempts);
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Math.max(0, initialBackoff);
+        this.maxBackoff = Math.max(this.initialBackoff, maxBackoff);
+        this.deposit = (long) (budgetRatio * SCALE);
+        this.capacity = Math.max(0, minRetries) * SCALE;
+        this.budget = new AtomicLong(capacity);
+        this.metrics = metrics;
+    }
+
+    /**
+     * Records a request about to be sent for the first time, adding to the retry budget.
+     */
+    public void requestStarted() {
+        long current;
+        do {
+            current = budget.get();
+            if (current >= capacity) {
+                return;
+            }
+        } while (!budget.compareAndSet(current, Math.min(capacity, current + deposit)));
+    }
+
+    /**
+     * Records a failed attempt and decides whether to retry it, spending from the budget if so.
+     *
+     * @param failure The exception with which the attempt failed
+     * @param readOnly Whether all the request's statements were read-only
+     * @param attempt The number of the attempt that failed, starting at 1
+     * @return <code>true</code> if the request should be sent again
+     */
+    public boolean retry(Throwable failure, boolean readOnly, int attempt) {
+        metrics.failedRequest(FailureClassifier.code(failure));
+        if (!FailureClassifier.isRetryable(failure, readOnly)) {
+            return false;
+        }
+        if (attempt >= maxAttempts || !withdraw()) {
+            metrics.retryAbandoned();
+            return false;
+        }
+        metrics.retry();
+        return true;
+    }
+
+    /**
+     * @param attempt The number of the attempt that failed, starting at 1
+     * @return The time in milliseconds to wait before sending the next attempt
+     */
+    public long backoff(int attempt) {
+        long ceiling = initialBackoff;
+        for (int i = 1; i < attempt && ceiling < maxBackoff; i++) {
+            ceiling *= 2;
+        }
+        ceiling = Math.min(ceiling, maxBackoff);
+        return ceiling == 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    private boolean withdraw() {
+        long current;
+        do {
+            current = budget.get();
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!budget.compareAndSet(current, current - SCALE));
+        return true;
+    }
+}
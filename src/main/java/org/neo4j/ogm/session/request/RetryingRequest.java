@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.session.request;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatement;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatements;
+import org.neo4j.ogm.session.response.Neo4jResponse;
+import org.neo4j.ogm.session.response.RecordStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends autocommit requests again when they fail in a way that a {@link RetryPolicy} considers safe to retry.
+ * <p>
+ * A request can fail when it is sent, or the server can report errors in its response. Errors are reported where the
+ * response would have held the statement's result, so they are found when the first result is opened, before any of
+ * its records have been read; the request is retried then too, without the caller noticing. Errors found once records
+ * have been read are never retried.
+ * </p>
+ * Requests sent in a long transaction are never retried: the failure of any statement rolls the transaction back.
+ */
+public class RetryingRequest implements Neo4jRequest<String> {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetryingRequest.class);
+
+    private final Neo4jRequest<String> request;
+    private final RetryPolicy policy;
+    private final String autoCommitUrl;
+
+    /**
+     * @param request The request that sends the statements
+     * @param policy The policy that decides which failures are retried
+     * @param autoCommitUrl The url to which statements are sent outside a transaction; only requests to it are retried
+     */
+    public RetryingRequest(Neo4jRequest<String> request, RetryPolicy policy, String autoCommitUrl) {
+        this.request = request;
+        this.policy = policy;
+        this.autoCommitUrl = autoCommitUrl;
+    }
+
+    @Override
+    public Neo4jResponse<String> execute(String url, ParameterisedStatements statements) {
+        if (!url.equals(autoCommitUrl)) {
+            return request.execute(url, statements);
+        }
+        policy.requestStarted();
+        Attempts attempts = new Attempts(url, statements);
+        Neo4jResponse<String> response = attempts.send();
+        return response instanceof RecordStream
+                ? new RetryingRecordStream((RecordStream) response, attempts)
+                : new RetryingResponse(response, attempts);
+    }
+
+    /**
+     * The attempts made to send one request.
+     */
+    private class Attempts {
+
+        private final String url;
+        private final ParameterisedStatements statements;
+        private final boolean readOnly;
+        private int attempt = 1;
+
+        Attempts(String url, ParameterisedStatements statements) {
+            this.url = url;
+            this.statements = statements;
+            this.readOnly = isReadOnly(statements);
+        }
+
+        Neo4jResponse<String> send() {
+            while (true) {
+                try {
+                    return request.execute(url, statements);
+                } catch (RuntimeException e) {
+                    retryOrThrow(e);
+                }
+            }
+        }
+
+        void retryOrThrow(RuntimeException e) {
+            if (!policy.retry(e, readOnly, attempt)) {
+                throw e;
+            }
+            long backoff = policy.backoff(attempt);
+            logger.debug("Attempt {} of request to {} failed with {}, retrying in {}ms", attempt, url, FailureClassifier.code(e), backoff);
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw e;
+            }
+            attempt++;
+        }
+
+        private boolean isReadOnly(ParameterisedStatements statements) {
+            for (ParameterisedStatement statement : statements.getStatements()) {
+                if (!ParameterisedStatement.isReadOnly(statement.getStatement())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Sends the request again if errors are found when the first result is opened.
+     */
+    private static class RetryingResponse implements Neo4jResponse<String> {
+
+        private final Attempts attempts;
+        private Neo4jResponse<String> response;
+        private boolean opened;
+
+        RetryingResponse(Neo4jResponse<String> response, Attempts attempts) {
+            this.response = response;
+            this.attempts = attempts;
+        }
+
+        @Override
+        public String next() {
+            return response.next();
+        }
+
+        @Override
+        public void close() {
+            response.close();
+        }
+
+        @Override
+        public void initialiseScan(ResponseRecord record) {
+            if (opened) {
+                response.initialiseScan(record);
+                return;
+            }
+            while (true) {
+                try {
+                    response.initialiseScan(record);
+                    opened = true;
+                    return;
+                } catch (RuntimeException e) {
+                    response.close();
+                    attempts.retryOrThrow(e);
+                    response = attempts.send();
+                }
+            }
+        }
+
+        @Override
+        public String[] columns() {
+            return response.columns();
+        }
+
+        @Override
+        public int rowId() {
+            return response.rowId();
+        }
+
+        Neo4jResponse<String> current() {
+            return response;
+        }
+    }
+
+    private static class RetryingRecordStream extends RetryingResponse implements RecordStream {
+
+        RetryingRecordStream(RecordStream stream, Attempts attempts) {
+            super(stream, attempts);
+        }
+
+        @Override
+        public <R> R next(ObjectMapper mapper, Class<R> type) {
+            return ((RecordStream) current()).next(mapper, type);
+        }
+
+        @Override
+        public <R> R statistics(ObjectMapper mapper, Class<R> type) {
+            return ((RecordStream) current()).statistics(mapper, type);
+        }
+    }
+}
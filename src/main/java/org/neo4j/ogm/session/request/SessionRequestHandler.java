@@ -17,7 +17,6 @@ package org.neo4j.ogm.session.request;
 import java.util.ArrayList;
 import java.util.List;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.neo4j.ogm.cypher.query.GraphRowModelQuery;
 import org.neo4j.ogm.cypher.query.Query;
@@ -25,14 +24,11 @@ import org.neo4j.ogm.cypher.query.RowModelQuery;
 import org.neo4j.ogm.cypher.query.RowModelQueryWithStatistics;
 import org.neo4j.ogm.cypher.statement.ParameterisedStatement;
 import org.neo4j.ogm.cypher.statement.ParameterisedStatements;
-import org.neo4j.ogm.metadata.MappingException;
 import org.neo4j.ogm.model.GraphModel;
 import org.neo4j.ogm.session.response.*;
-import org.neo4j.ogm.session.result.GraphRowModel;
+import org.neo4j.ogm.session.result.GraphRowResult;
 import org.neo4j.ogm.session.result.RowModel;
 import org.neo4j.ogm.session.result.RowQueryStatisticsResult;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * @author Vince Bickers
@@ -42,15 +38,34 @@ public class SessionRequestHandler implements RequestHandler {
 
     private final ObjectMapper mapper;
     private final Neo4jRequest<String> request;
-    private final Logger logger = LoggerFactory.getLogger(SessionRequestHandler.class);
+    private final RequestCoalescer coalescer;
+    private final String autoCommitUrl;
+    private final Object principal;
 
     public SessionRequestHandler(ObjectMapper mapper, Neo4jRequest<String> request) {
+        this(mapper, request, null, null, null);
+    }
+
+    /**
+     * @param mapper The mapper with which records are read
+     * @param request The request with which statements are sent
+     * @param coalescer The coalescer that shares identical read-only loads between callers, or <code>null</code>
+     * @param autoCommitUrl The url to which statements are sent outside a transaction; only loads sent to it are coalesced
+     * @param principal The principal of the session's transport; loads are only shared with callers that have the same one
+     */
+    public SessionRequestHandler(ObjectMapper mapper, Neo4jRequest<String> request, RequestCoalescer coalescer, String autoCommitUrl, Object principal) {
         this.request = request;
         this.mapper = mapper;
+        this.coalescer = coalescer;
+        this.autoCommitUrl = autoCommitUrl;
+        this.principal = principal;
     }
 
     @Override
     public Neo4jResponse<GraphModel> execute(Query query, String url) {
+        if (coalescer != null && url.equals(autoCommitUrl) && ParameterisedStatement.isReadOnly(query.getStatement())) {
+            return coalescer.execute(query, url, principal, request, mapper);
+        }
         List<ParameterisedStatement> list = new ArrayList<>();
         list.add(query);
         Neo4jResponse<String> response = execute(list, url);
@@ -66,7 +81,7 @@ public class SessionRequestHandler implements RequestHandler {
     }
 
     @Override
-    public Neo4jResponse<GraphRowModel> execute(GraphRowModelQuery query, String url) {
+    public Neo4jResponse<GraphRowResult> execute(GraphRowModelQuery query, String url) {
         List<ParameterisedStatement> list = new ArrayList<>();
         list.add(query);
         Neo4jResponse<String> response = execute(list, url);
@@ -89,19 +104,22 @@ public class SessionRequestHandler implements RequestHandler {
     }
 
 
+    @Override
+    public MultiStatementResponse executeAll(List<ParameterisedStatement> statementList, String url) {
+        return new MultiStatementResponse(execute(statementList, url), mapper);
+    }
+
     @Override
     public Neo4jResponse<String> execute(List<ParameterisedStatement> statementList, String url) {
-        try {
-            String json = mapper.writeValueAsString(new ParameterisedStatements(statementList));
-            // ugh.
-            if (!json.contains("statement\":\"\"")) {    // not an empty statement
-                logger.debug(json);
-                return request.execute(url, json);
-            }
+        if (statementList.isEmpty()) {
             return new EmptyResponse();
-        } catch (JsonProcessingException jpe) {
-            throw new MappingException("Could not create JSON due to " + jpe.getLocalizedMessage(),jpe);
         }
+        for (ParameterisedStatement statement : statementList) {
+            if (statement.getStatement().isEmpty()) {
+                return new EmptyResponse();
+            }
+        }
+        return request.execute(url, new ParameterisedStatements(statementList));
     }
 
 
@@ -38,4 +38,8 @@ public class DeleteNodeStatements implements DeleteStatements{
     public ParameterisedStatement deleteByType(String label) {
         return new ParameterisedStatement(String.format("MATCH (n:`%s`) OPTIONAL MATCH (n)-[r]-() DELETE r, n", label), Utils.map());
     }
+
+    public ParameterisedStatement deleteByTypeAndIds(String label, Collection<Long> ids) {
+        return new ParameterisedStatement(String.format("MATCH (n:`%s`) WHERE id(n) in { ids } WITH n, id(n) AS id OPTIONAL MATCH (n)-[r]-() DELETE r, n RETURN DISTINCT id", label), Utils.map("ids", ids));
+    }
 }
@@ -38,4 +38,8 @@ public class DeleteRelationshipStatements implements DeleteStatements {
     public ParameterisedStatement deleteByType(String type) {
         return new ParameterisedStatement(String.format("MATCH (n)-[r:`%s`]-() DELETE r", type), Utils.map());
     }
+
+    public ParameterisedStatement deleteByTypeAndIds(String type, Collection<Long> ids) {
+        return new ParameterisedStatement(String.format("MATCH (n)-[r:`%s`]->() WHERE id(r) in { ids } WITH r, id(r) AS id DELETE r RETURN id", type), Utils.map("ids", ids));
+    }
 }
@@ -32,4 +32,10 @@ public interface DeleteStatements {
 
     ParameterisedStatement deleteByType(String label);
 
+    /**
+     * Deletes those of the given ids that identify an entity with the given label or relationship type,
+     * returning the id of each one deleted.
+     */
+    ParameterisedStatement deleteByTypeAndIds(String label, Collection<Long> ids);
+
 }
@@ -30,10 +30,12 @@ public class GraphModelResponse implements Neo4jResponse<GraphModel> {
 
     private final ObjectMapper objectMapper;
     private final Neo4jResponse<String> response;
+    private final RecordStream stream;
 
     public GraphModelResponse(Neo4jResponse<String> response, ObjectMapper mapper) {
         this.response = response;
         this.objectMapper = mapper;
+        this.stream = response instanceof RecordStream ? (RecordStream) response : null;
         try {
             initialiseScan(ResponseRecord.GRAPH);
         } catch (Exception e) {
@@ -44,6 +46,10 @@ public class GraphModelResponse implements Neo4jResponse<GraphModel> {
     @Override
     public GraphModel next() {
 
+        if (stream != null) {
+            return stream.next(objectMapper, GraphModel.class);
+        }
+
         String json = response.next();
 
         if (json != null) {
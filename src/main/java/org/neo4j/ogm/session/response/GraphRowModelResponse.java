@@ -14,61 +14,63 @@
 
 package org.neo4j.ogm.session.response;
 
+import java.util.Iterator;
+
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.neo4j.ogm.json.JSONArray;
 import org.neo4j.ogm.json.JSONException;
 import org.neo4j.ogm.json.JSONObject;
 import org.neo4j.ogm.model.GraphModel;
 import org.neo4j.ogm.session.result.GraphRowModel;
+import org.neo4j.ogm.session.result.GraphRowResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * The {@link Neo4jResponse} that contains data in both graph and row formats.
+ * <p>
+ * Each record is handed out as a {@link GraphRowResult} as soon as it has been read. When the underlying response is a
+ * {@link RecordStream}, such as the {@link StreamingJsonResponse}, records are bound directly from the stream, so the
+ * response body is never held in memory as a whole.
+ * </p>
  *
  * @author Luanne Misquitta
  */
-public class GraphRowModelResponse implements Neo4jResponse<GraphRowModel> {
+public class GraphRowModelResponse implements Neo4jResponse<GraphRowResult> {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(GraphRowModelResponse.class);
 
 	private final ObjectMapper objectMapper;
 	private final Neo4jResponse<String> response;
+	private final RecordStream stream;
+
+	private Iterator<GraphRowResult> graphRowResults;
 
 	public GraphRowModelResponse(Neo4jResponse<String> response, ObjectMapper objectMapper) {
 		this.response = response;
 		this.objectMapper = objectMapper;
-		try {
-			initialiseScan(ResponseRecord.RESULTS);
-		} catch (Exception e) {
-			//Ignore this exception since we're reading the JSON manually in next()
-			//TODO look into enhancing the JSONResponse parsing
+		this.stream = response instanceof RecordStream ? (RecordStream) response : null;
+		if (stream != null) {
+			initialiseScan(ResponseRecord.GRAPH_ROW);
+		} else {
+			try {
+				initialiseScan(ResponseRecord.RESULTS);
+			} catch (Exception e) {
+				//Ignore this exception since we're reading the JSON manually in next()
+				//TODO look into enhancing the JSONResponse parsing
+			}
 		}
 	}
 
 	@Override
-	public GraphRowModel next() {
-		String json = response.next();
-		if (json != null) {
-			try {
-				GraphRowModel graphRowModel = new GraphRowModel();
-				JSONObject jsonObject = getOuterObject(json);
-				JSONArray dataObject = jsonObject.getJSONArray("results").getJSONObject(0).getJSONArray("data");
-				for (int i = 0; i < dataObject.length(); i++) {
-					String graphJson = dataObject.getJSONObject(i).getString("graph");
-					String rowJson = dataObject.getJSONObject(i).getString("row");
-					GraphModel graphModel = objectMapper.readValue(graphJson, GraphModel.class);
-					Object[] rows = objectMapper.readValue(rowJson, Object[].class);
-					graphRowModel.addGraphRowResult(graphModel, rows);
-				}
-				return graphRowModel;
-			} catch (Exception e) {
-				LOGGER.error("failed to parse: {}", json);
-				throw new RuntimeException(e);
-			}
-		} else {
-			return null;
+	public GraphRowResult next() {
+		if (stream != null) {
+			return stream.next(objectMapper, GraphRowResult.class);
+		}
+		if (graphRowResults == null) {
+			graphRowResults = readGraphRowModel().getGraphRowResults().iterator();
 		}
+		return graphRowResults.hasNext() ? graphRowResults.next() : null;
 	}
 
 	@Override
@@ -91,6 +93,28 @@ public class GraphRowModelResponse implements Neo4jResponse<GraphRowModel> {
 		return response.rowId();
 	}
 
+	private GraphRowModel readGraphRowModel() {
+		GraphRowModel graphRowModel = new GraphRowModel();
+		String json = response.next();
+		if (json != null) {
+			try {
+				JSONObject jsonObject = getOuterObject(json);
+				JSONArray dataObject = jsonObject.getJSONArray("results").getJSONObject(0).getJSONArray("data");
+				for (int i = 0; i < dataObject.length(); i++) {
+					String graphJson = dataObject.getJSONObject(i).getString("graph");
+					String rowJson = dataObject.getJSONObject(i).getString("row");
+					GraphModel graphModel = objectMapper.readValue(graphJson, GraphModel.class);
+					Object[] rows = objectMapper.readValue(rowJson, Object[].class);
+					graphRowModel.addGraphRowResult(graphModel, rows);
+				}
+			} catch (Exception e) {
+				LOGGER.error("failed to parse: {}", json);
+				throw new RuntimeException(e);
+			}
+		}
+		return graphRowModel;
+	}
+
 	private JSONObject getOuterObject(String json) throws JSONException {
 		JSONObject outerObject;
 		try {
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.session.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.neo4j.ogm.model.GraphModel;
+import org.neo4j.ogm.session.result.GraphRowResult;
+import org.neo4j.ogm.session.result.RowModel;
+import org.neo4j.ogm.session.result.RowQueryStatisticsResult;
+
+/**
+ * The response to several statements sent to the server in a single request.
+ * <p>
+ * The server returns one result per statement, in the order in which the statements were sent. Each result is
+ * handed out in turn as the typed {@link Neo4jResponse} appropriate to its statement, so the caller must ask for
+ * them in statement order. A result that is not needed can be skipped by asking for the next one.
+ * </p>
+ * Closing one of the typed responses does not close the underlying stream; closing this response does.
+ */
+public class MultiStatementResponse implements AutoCloseable {
+
+    private final Neo4jResponse<String> response;
+    private final ObjectMapper mapper;
+
+    public MultiStatementResponse(Neo4jResponse<String> response, ObjectMapper mapper) {
+        this.response = response;
+        this.mapper = mapper;
+    }
+
+    /**
+     * @return the result of the next statement, which must have requested the "graph" result data format
+     */
+    public Neo4jResponse<GraphModel> nextGraphModelResponse() {
+        return new ResultResponse<>(new GraphModelResponse(response, mapper));
+    }
+
+    /**
+     * @return the result of the next statement, which must have requested both the "graph" and "row" result data formats
+     */
+    public Neo4jResponse<GraphRowResult> nextGraphRowModelResponse() {
+        return new ResultResponse<>(new GraphRowModelResponse(response, mapper));
+    }
+
+    /**
+     * @return the result of the next statement, which must have requested the "row" result data format
+     */
+    public Neo4jResponse<RowModel> nextRowModelResponse() {
+        return new ResultResponse<>(new RowModelResponse(response, mapper));
+    }
+
+    /**
+     * @return the result of the next statement, which must have requested the "row" result data format and statistics
+     */
+    public Neo4jResponse<RowQueryStatisticsResult> nextRowStatisticsResponse() {
+        return new ResultResponse<>(new RowStatisticsResponse(response, mapper));
+    }
+
+    @Override
+    public void close() {
+        response.close();
+    }
+
+    /**
+     * The view of a single statement's result. Its records are read from the shared response, which it leaves open.
+     */
+    private static class ResultResponse<T> implements Neo4jResponse<T> {
+
+        private final Neo4jResponse<T> result;
+
+        ResultResponse(Neo4jResponse<T> result) {
+            this.result = result;
+        }
+
+        @Override
+        public T next() {
+            return result.next();
+        }
+
+        @Override
+        public void close() {
+            // the shared response is closed by the MultiStatementResponse
+        }
+
+        @Override
+        public void initialiseScan(ResponseRecord record) {
+            result.initialiseScan(record);
+        }
+
+        @Override
+        public String[] columns() {
+            return result.columns();
+        }
+
+        @Override
+        public int rowId() {
+            return result.rowId();
+        }
+    }
+}
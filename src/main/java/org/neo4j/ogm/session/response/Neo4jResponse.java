@@ -20,7 +20,7 @@ package org.neo4j.ogm.session.response;
 public interface Neo4jResponse<T> extends AutoCloseable {
 
     public enum ResponseRecord {
-        GRAPH, ROW, RESULTS, STATS
+        GRAPH, ROW, GRAPH_ROW, RESULTS, STATS
     }
 
     T next();
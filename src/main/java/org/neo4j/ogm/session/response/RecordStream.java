@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.session.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A response whose records can be handed out as typed values, rather than as the JSON text of each record.
+ * <p>
+ * The typed responses, e.g. {@link GraphModelResponse}, read their records this way whenever the underlying response
+ * supports it. A response read from the server binds each record from the JSON stream; a response produced in the
+ * same JVM as the database can hand out the values it built directly.
+ * </p>
+ */
+public interface RecordStream extends Neo4jResponse<String> {
+
+    /**
+     * @param mapper The {@link ObjectMapper} used to bind the record, if it needs binding
+     * @param type The type of the record's value: {@link org.neo4j.ogm.model.GraphModel} for graph records,
+     * <code>Object[]</code> or <code>Object</code> for row records and
+     * {@link org.neo4j.ogm.session.result.GraphRowResult} for graph and row records
+     * @return The next record's value, or <code>null</code> if there are no more records
+     */
+    <R> R next(ObjectMapper mapper, Class<R> type);
+
+    /**
+     * Returns the statistics of the current result, if they were requested. They are only available once all
+     * the result's records have been read.
+     *
+     * @param mapper The {@link ObjectMapper} used to bind the statistics, if they need binding
+     * @param type The type of the statistics, i.e. {@link org.neo4j.ogm.session.result.QueryStatistics}
+     * @return The statistics, or <code>null</code>
+     */
+    <R> R statistics(ObjectMapper mapper, Class<R> type);
+}
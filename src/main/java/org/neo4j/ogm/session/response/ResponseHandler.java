@@ -14,10 +14,9 @@
 
 package org.neo4j.ogm.session.response;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.neo4j.ogm.cypher.compiler.CypherContext;
 import org.neo4j.ogm.model.GraphModel;
-import org.neo4j.ogm.session.result.GraphRowModel;
+import org.neo4j.ogm.session.result.GraphRowResult;
 
 import java.util.Collection;
 
@@ -29,7 +28,7 @@ public interface ResponseHandler {
 
     <T> T loadById(Class<T> type, Neo4jResponse<GraphModel> stream, Long id);
     <T> Collection<T> loadAll(Class<T> type, Neo4jResponse<GraphModel> stream);
-    <T> Collection<T> loadByProperty(Class<T> type, Neo4jResponse<GraphRowModel> stream);
+    <T> Collection<T> loadByProperty(Class<T> type, Neo4jResponse<GraphRowResult> stream);
 
-    void updateObjects(CypherContext context, Neo4jResponse<String> response, ObjectMapper mapper);
+    void updateObjects(CypherContext context, MultiStatementResponse response);
 }
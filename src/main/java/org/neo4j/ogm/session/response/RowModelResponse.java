@@ -29,15 +29,22 @@ public class RowModelResponse implements Neo4jResponse<RowModel> {
 
     private final ObjectMapper objectMapper;
     private final Neo4jResponse<String> response;
+    private final RecordStream stream;
 
     public RowModelResponse(Neo4jResponse<String> response, ObjectMapper mapper) {
         this.response = response;
         this.objectMapper = mapper;
+        this.stream = response instanceof RecordStream ? (RecordStream) response : null;
         initialiseScan(ResponseRecord.ROW);
     }
 
     @Override
     public RowModel next() {
+        if (stream != null) {
+            Object[] row = stream.next(objectMapper, Object[].class);
+            return row == null ? null : new RowModel(row);
+        }
+
         String json = response.next();
         if (json != null) {
             try {
@@ -35,11 +35,19 @@ public class RowStatisticsResponse implements Neo4jResponse<RowQueryStatisticsRe
 
 	private final ObjectMapper objectMapper;
 	private final Neo4jResponse<String> response;
+	private final RecordStream stream;
 	private String[] columns;
+	private boolean read;
 
 	public RowStatisticsResponse(Neo4jResponse<String> response, ObjectMapper mapper) {
 		this.response = response;
 		this.objectMapper = mapper;
+		this.stream = response instanceof RecordStream ? (RecordStream) response : null;
+		if (stream != null) {
+			// the rows and the stats are read from the same result, so this response can share a stream with others
+			initialiseScan(ResponseRecord.ROW);
+			return;
+		}
 		try {
 			initialiseScan(ResponseRecord.RESULTS);
 		} catch (Exception e) {
@@ -49,6 +57,9 @@ public class RowStatisticsResponse implements Neo4jResponse<RowQueryStatisticsRe
 	}
 	@Override
 	public RowQueryStatisticsResult next() {
+		if (stream != null) {
+			return nextFromStream();
+		}
 		String json = response.next();
 		if (json != null) {
 			try {
@@ -96,6 +107,23 @@ public class RowStatisticsResponse implements Neo4jResponse<RowQueryStatisticsRe
 		return -1;
 	}
 
+	private RowQueryStatisticsResult nextFromStream() {
+		if (read) {
+			return null;
+		}
+		read = true;
+		List<Object> rows = new ArrayList<>();
+		Object row;
+		while ((row = stream.next(objectMapper, Object.class)) != null) {
+			rows.add(row);
+		}
+		columns = stream.columns();
+		RowQueryStatisticsResult rowQueryStatisticsResult = new RowQueryStatisticsResult();
+		rowQueryStatisticsResult.setRows(rows);
+		rowQueryStatisticsResult.setStats(stream.statistics(objectMapper, QueryStatistics.class));
+		return rowQueryStatisticsResult;
+	}
+
 	private JSONObject getOuterObject(String json) throws JSONException {
 		JSONObject outerObject;
 		try {
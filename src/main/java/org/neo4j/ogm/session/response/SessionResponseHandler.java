@@ -17,7 +17,6 @@ package org.neo4j.ogm.session.response;
 import java.lang.reflect.Field;
 import java.util.*;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.neo4j.ogm.annotation.RelationshipEntity;
 import org.neo4j.ogm.cypher.compiler.CypherContext;
 import org.neo4j.ogm.entityaccess.FieldWriter;
@@ -29,7 +28,6 @@ import org.neo4j.ogm.metadata.EntityUtils;
 import org.neo4j.ogm.metadata.MetaData;
 import org.neo4j.ogm.metadata.info.ClassInfo;
 import org.neo4j.ogm.model.GraphModel;
-import org.neo4j.ogm.session.result.GraphRowModel;
 import org.neo4j.ogm.session.result.GraphRowResult;
 import org.neo4j.ogm.session.result.RowModel;
 
@@ -48,14 +46,14 @@ public class SessionResponseHandler implements ResponseHandler {
     }
 
     @Override
-    public <T> Collection<T> loadByProperty(Class<T> type, Neo4jResponse<GraphRowModel> response) {
+    public <T> Collection<T> loadByProperty(Class<T> type, Neo4jResponse<GraphRowResult> response) {
 
         List<T> result = new ArrayList<>();
         Set<Long> resultEntityIds = new LinkedHashSet<>();
         ClassInfo classInfo = metaData.classInfo(type.getName());
-        GraphRowModel graphRowModel = response.next();
+        GraphRowResult graphRowResult;
 
-        for(GraphRowResult graphRowResult : graphRowModel.getGraphRowResults()) {
+        while ((graphRowResult = response.next()) != null) {
             //Load the GraphModel into the ogm
             GraphEntityMapper ogm = new GraphEntityMapper(metaData, mappingContext);
             ogm.map(type, graphRowResult.getGraph());
@@ -83,17 +81,45 @@ public class SessionResponseHandler implements ResponseHandler {
     }
 
     @Override
-    public void updateObjects(CypherContext context, Neo4jResponse<String> response, ObjectMapper mapper) {
+    public void updateObjects(CypherContext context, MultiStatementResponse response) {
+
+        // the statements are read in turn, each one's result following the last
+        for (int statement = 0; statement < Math.max(1, context.getStatements().size()); statement++) {
+            updateObjects(context, response.nextRowModelResponse());
+        }
+
+        // finally, all new relationships just established in the graph need to be added to the mapping context,
+        // unless some of them are still to be created by statements that depend on these ones
+        Map<String, Long> directRefMap = context.identities();
+        if(directRefMap.size() > 0 && !context.hasDependentStatements()) {
+            for (Object object : context.log()) {
+                if (object instanceof TransientRelationship) {
+                    MappedRelationship relationship = (((TransientRelationship) object).convert(directRefMap));
+                    if(mappingContext.getRelationshipEntity(relationship.getRelationshipId()) == null) {
+                        relationship.setRelationshipId(null);
+                    }
+                    mappingContext.mappedRelationships().add(relationship);
+                }
+            }
+        }
+
+        response.close();
+    }
+
+    private void updateObjects(CypherContext context, Neo4jResponse<RowModel> rowModelResponse) {
 
-        RowModelResponse rowModelResponse = new RowModelResponse(response, mapper);
         String[] variables = rowModelResponse.columns();
         RowModel rowModel;
 
-        Map<String, Long> directRefMap = new HashMap<>();
-
         while ((rowModel = rowModelResponse.next()) != null) {
             Object[] results = rowModel.getValues();
 
+            //Rows of the templated statements hold a reference and the identity it was given
+            if (variables.length == 2 && variables[0].equals("ref") && variables[1].equals("id")) {
+                updateObject(context, results[0].toString(), Long.parseLong(results[1].toString()));
+                continue;
+            }
+
             for (int i = 0; i < variables.length; i++) {
 
                 String variable = variables[i];
@@ -103,53 +129,42 @@ public class SessionResponseHandler implements ResponseHandler {
                 if (variable.equalsIgnoreCase("relRef")) {
                     for (int j=0; j<variables.length;j++) {
                         if (variables[j].equalsIgnoreCase("relId")) {
-                            directRefMap.put(results[i].toString(),Long.parseLong(results[j].toString()));
+                            context.registerIdentity(results[i].toString(), Long.parseLong(results[j].toString()));
                         }
                     }
                     continue;
                 }
 
-                // create the mapping between the cypher variable and the newly created domain object's
-                // identity, as returned by the database
-                Long identity = Long.parseLong(results[i].toString());
-                directRefMap.put(variable, identity);
+                updateObject(context, variable, Long.parseLong(results[i].toString()));
+            }
+        }
+    }
 
-                // find the newly created domain object in the context log
-                Object persisted = context.getNewObject(variable);
+    private void updateObject(CypherContext context, String variable, Long identity) {
 
-                if (persisted != null) {  // it will be null if the variable represents a simple relationship.
+        // create the mapping between the cypher variable and the newly created domain object's
+        // identity, as returned by the database
+        context.registerIdentity(variable, identity);
 
-                    // set the id field of the newly created domain object
-                    ClassInfo classInfo = metaData.classInfo(persisted);
-                    Field identityField = classInfo.getField(classInfo.identityField());
-                    FieldWriter.write(identityField, persisted, identity);
+        // find the newly created domain object in the context log
+        Object persisted = context.getNewObject(variable);
 
-                    // ensure the newly created domain object is added into the mapping context
-                    if (classInfo.annotationsInfo().get(RelationshipEntity.CLASS) == null) {
-                        mappingContext.registerNodeEntity(persisted, identity);
-                    } else {
-                        mappingContext.registerRelationshipEntity(persisted, identity);
-                    }
-                    mappingContext.remember(persisted); //remember the persisted entity so it isn't marked for rewrite just after it's been retrieved and had it's id set
+        if (persisted != null) {  // it will be null if the variable represents a simple relationship.
 
-                }
-            }
-        }
+            // set the id field of the newly created domain object
+            ClassInfo classInfo = metaData.classInfo(persisted);
+            Field identityField = classInfo.getField(classInfo.identityField());
+            FieldWriter.write(identityField, persisted, identity);
 
-        // finally, all new relationships just established in the graph need to be added to the mapping context.
-        if(directRefMap.size() > 0) {
-            for (Object object : context.log()) {
-                if (object instanceof TransientRelationship) {
-                    MappedRelationship relationship = (((TransientRelationship) object).convert(directRefMap));
-                    if(mappingContext.getRelationshipEntity(relationship.getRelationshipId()) == null) {
-                        relationship.setRelationshipId(null);
-                    }
-                    mappingContext.mappedRelationships().add(relationship);
-                }
+            // ensure the newly created domain object is added into the mapping context
+            if (classInfo.annotationsInfo().get(RelationshipEntity.CLASS) == null) {
+                mappingContext.registerNodeEntity(persisted, identity);
+            } else {
+                mappingContext.registerRelationshipEntity(persisted, identity);
             }
-        }
+            mappingContext.remember(persisted); //remember the persisted entity so it isn't marked for rewrite just after it's been retrieved and had it's id set
 
-        rowModelResponse.close();
+        }
     }
 
     @Override
@@ -0,0 +1,472 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.session.response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.neo4j.ogm.session.result.ResultProcessingException;
+import org.neo4j.ogm.session.result.ServerErrorsException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link Neo4jResponse} that reads the transactional endpoint's JSON in a single pass using Jackson's
+ * streaming {@link JsonParser}, instead of splitting the body on delimiter tokens.
+ * <p>
+ * Records are handed out in the same shape as {@link JsonResponse}, e.g. <code>{"graph":{...}}</code>, so this
+ * class can be used wherever the delimiter-based response is. Unlike {@link JsonResponse}, each record is read
+ * exactly once from the underlying stream, whatever its content.
+ * </p>
+ * <p>
+ * A response may contain several results, one for each statement in the request. These are read in order,
+ * by calling {@link #initialiseScan(ResponseRecord)} again once the records of the current result are no longer
+ * needed. See {@link MultiStatementResponse}.
+ * </p>
+ */
+public class StreamingJsonResponse implements RecordStream {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StreamingJsonResponse.class);
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final String RESULTS_FIELD = "results";
+    private static final String COLUMNS_FIELD = "columns";
+    private static final String DATA_FIELD = "data";
+    private static final String STATS_FIELD = "stats";
+    private static final String ERRORS_FIELD = "errors";
+    private static final String CODE_FIELD = "code";
+
+    private final InputStream results;
+    private final CloseableHttpResponse response;
+    private final JsonParser parser;
+
+    private ResponseRecord record;
+    private String recordField;
+    private String[] columns;
+    private String statistics;
+    private int currentRow = -1;
+    private boolean started;
+    private boolean inData;
+    private boolean pendingResult;
+    private boolean exhausted;
+
+    public StreamingJsonResponse(CloseableHttpResponse response) {
+        try {
+            this.response = response;
+            this.results = response.getEntity().getContent();
+            this.parser = JSON_FACTORY.createParser(results);
+        } catch (IOException ioException) {
+            throw new RuntimeException(ioException);
+        }
+    }
+
+    public StreamingJsonResponse(InputStream inputStream) {
+        try {
+            this.response = null;
+            this.results = inputStream;
+            this.parser = JSON_FACTORY.createParser(results);
+        } catch (IOException ioException) {
+            throw new RuntimeException(ioException);
+        }
+    }
+
+    /**
+     * Prepares the response for reading records of the given kind.
+     * <p>
+     * When the response contains several results, e.g. because several statements were sent in one request,
+     * calling this method again moves on to the next result, skipping any records of the current result
+     * that have not yet been read.
+     * </p>
+     *
+     * @param record The kind of record to read from the result
+     */
+    @Override
+    public void initialiseScan(ResponseRecord record) {
+        this.record = record;
+        this.recordField = extractField(record);
+        this.columns = null;
+        this.statistics = null;
+        this.currentRow = -1;
+        try {
+            if (!started) {
+                started = true;
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    throw new ResultProcessingException("Unexpected problem! Cypher response does not start with an object", null);
+                }
+                if (record == ResponseRecord.RESULTS) {
+                    return;
+                }
+                pendingResult = openResults();
+            } else {
+                skipResult();
+            }
+            if (pendingResult) {
+                pendingResult = false;
+                openResult();
+            }
+        } catch (IOException ioException) {
+            throw new ResultProcessingException("Could not parse response", ioException);
+        }
+    }
+
+    @Override
+    public String next() {
+        try {
+            if (record == ResponseRecord.RESULTS) {
+                return nextDocument();
+            }
+            if (record == ResponseRecord.STATS) {
+                return nextStats();
+            }
+            if (nextRecordObject()) {
+                return readRecord();
+            }
+            return null;
+        } catch (IOException ioException) {
+            throw new ResultProcessingException("Could not parse response", ioException);
+        }
+    }
+
+    /**
+     * Binds the next record's value directly from the stream into an instance of the given type, without first
+     * copying the record into a String. Only the record currently being read is held in memory.
+     * <p>
+     * When scanning {@link ResponseRecord#GRAPH_ROW} records, the whole record, i.e. both its <code>graph</code>
+     * and <code>row</code> values, is bound to the given type.
+     * </p>
+     *
+     * @param mapper The {@link ObjectMapper} used to bind the record
+     * @param type The type of the record's value, e.g. {@link org.neo4j.ogm.model.GraphModel} for graph records
+     * @return The next record's value, or <code>null</code> if there are no more records
+     */
+    @Override
+    public <R> R next(ObjectMapper mapper, Class<R> type) {
+        try {
+            R value = null;
+            if (nextRecordObject()) {
+                if (recordField == null) {
+                    return mapper.readValue(parser, type);
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    parser.nextToken();
+                    if (recordField.equals(field)) {
+                        value = mapper.readValue(parser, type);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+            return value;
+        } catch (IOException ioException) {
+            throw new ResultProcessingException("Could not parse response", ioException);
+        }
+    }
+
+    /**
+     * Returns the statistics of the current result, if they were requested. They are only available once all
+     * the result's records have been read.
+     *
+     * @return The JSON representation of the current result's <code>stats</code>, or <code>null</code>
+     */
+    public String statistics() {
+        return statistics;
+    }
+
+    @Override
+    public <R> R statistics(ObjectMapper mapper, Class<R> type) {
+        if (statistics == null) {
+            return null;
+        }
+        try {
+            return mapper.readValue(statistics, type);
+        } catch (IOException ioException) {
+            throw new ResultProcessingException("Could not parse response", ioException);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            parser.close();
+            results.close();
+            if (response != null) {
+                LOGGER.debug("Closing HttpResponse");
+                response.close();
+            }
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public String[] columns() {
+        return this.columns;
+    }
+
+    @Override
+    public int rowId() {
+        return currentRow;
+    }
+
+    /**
+     * Walks the top-level response object until the parser is positioned inside the first entry of the
+     * <code>results</code> array. Any errors encountered on the way are thrown.
+     *
+     * @return <code>true</code> if a result was found, <code>false</code> if the response contains none
+     */
+    private boolean openResults() throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if (RESULTS_FIELD.equals(field)) {
+                if (parser.nextToken() == JsonToken.START_OBJECT) {
+                    return true;
+                }
+            } else if (ERRORS_FIELD.equals(field)) {
+                readErrors();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        exhausted = true;
+        return false;
+    }
+
+    /**
+     * Reads the columns of the current result, leaving the parser positioned at the start of its data array.
+     */
+    private void openResult() throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if (COLUMNS_FIELD.equals(field)) {
+                columns = readColumns();
+            } else if (DATA_FIELD.equals(field)) {
+                inData = true;
+                return;
+            } else {
+                parser.skipChildren();
+            }
+        }
+        nextResult();
+    }
+
+    /**
+     * Advances to the start of the next object in the current data array, closing the result once the
+     * array is exhausted.
+     *
+     * @return <code>true</code> if the parser is positioned at the start of a record
+     */
+    private boolean nextRecordObject() throws IOException {
+        if (inData) {
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                currentRow++;
+                return true;
+            }
+            inData = false;
+            closeResult();
+        }
+        return false;
+    }
+
+    /**
+     * Skips any records of the current result that have not been read, and closes it.
+     */
+    private void skipResult() throws IOException {
+        if (inData) {
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                parser.skipChildren();
+            }
+            inData = false;
+            closeResult();
+        }
+    }
+
+    /**
+     * Reads the fields that follow the data array of the current result, then moves on to the next result.
+     */
+    private void closeResult() throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if (STATS_FIELD.equals(field)) {
+                statistics = copyCurrentStructure();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        nextResult();
+    }
+
+    /**
+     * Looks for a further result in the response. If there are none, the remainder of the response is consumed,
+     * throwing any errors reported by the server.
+     */
+    private void nextResult() throws IOException {
+        if (parser.nextToken() == JsonToken.START_OBJECT) {
+            pendingResult = true;
+        } else {
+            closeResponse();
+        }
+    }
+
+    /**
+     * Consumes the remaining top-level fields of the response, throwing any errors reported by the server.
+     */
+    private void closeResponse() throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if (ERRORS_FIELD.equals(field)) {
+                readErrors();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        exhausted = true;
+    }
+
+    private String readRecord() throws IOException {
+        if (recordField == null) {
+            return copyCurrentStructure();
+        }
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+            generator.writeStartObject();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if (recordField.equals(field)) {
+                    generator.writeFieldName(field);
+                    generator.copyCurrentStructure(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            generator.writeEndObject();
+        }
+        return writer.toString();
+    }
+
+    private String nextStats() throws IOException {
+        if (inData) {
+            skipResult();
+            if (statistics != null) {
+                currentRow++;
+                return "{\"" + STATS_FIELD + "\":" + statistics + "}";
+            }
+        }
+        return null;
+    }
+
+    private String nextDocument() throws IOException {
+        if (exhausted) {
+            return null;
+        }
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+            generator.writeStartObject();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if (ERRORS_FIELD.equals(field)) {
+                    readErrors();
+                } else {
+                    generator.writeFieldName(field);
+                    generator.copyCurrentStructure(parser);
+                }
+            }
+            generator.writeEndObject();
+        }
+        exhausted = true;
+        currentRow++;
+        return writer.toString();
+    }
+
+    private String[] readColumns() throws IOException {
+        List<String> columnList = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            columnList.add(parser.getText());
+        }
+        return columnList.toArray(new String[columnList.size()]);
+    }
+
+    private String copyCurrentStructure() throws IOException {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+            generator.copyCurrentStructure(parser);
+        }
+        return writer.toString();
+    }
+
+    private void readErrors() throws IOException {
+        if (parser.getCurrentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        String errors = copyCurrentStructure();
+        if (!"[]".equals(errors)) {
+            exhausted = true;
+            throw new ServerErrorsException("\"" + ERRORS_FIELD + "\":" + errors, firstCode(errors));
+        }
+    }
+
+    private static String firstCode(String errors) throws IOException {
+        try (JsonParser errorsParser = JSON_FACTORY.createParser(errors)) {
+            errorsParser.nextToken();
+            if (errorsParser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (errorsParser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = errorsParser.getCurrentName();
+                errorsParser.nextToken();
+                if (CODE_FIELD.equals(field)) {
+                    return errorsParser.getValueAsString();
+                }
+                errorsParser.skipChildren();
+            }
+            return null;
+        }
+    }
+
+    private String extractField(ResponseRecord format) {
+
+        switch (format) {
+            case GRAPH:
+                return "graph";
+            case ROW:
+                return "row";
+            case GRAPH_ROW:
+                return null; // the whole record
+            case RESULTS:
+                return RESULTS_FIELD;
+            case STATS:
+                return STATS_FIELD;
+            default:
+                throw new RuntimeException("Unhandled response format: " + format);
+        }
+    }
+}
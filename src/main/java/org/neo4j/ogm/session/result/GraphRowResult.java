@@ -26,6 +26,10 @@ public class GraphRowResult {
 	private GraphModel graph;
 	private Object[] row;
 
+	@SuppressWarnings("UnusedDeclaration")
+	public GraphRowResult() {
+	}
+
 	public GraphRowResult(GraphModel graph, Object[] row) {
 		this.graph = graph;
 		this.row = row;
@@ -38,4 +42,14 @@ public class GraphRowResult {
 	public Object[] getRow() {
 		return row;
 	}
+
+	@SuppressWarnings("UnusedDeclaration")
+	public void setGraph(GraphModel graph) {
+		this.graph = graph;
+	}
+
+	@SuppressWarnings("UnusedDeclaration")
+	public void setRow(Object[] row) {
+		this.row = row;
+	}
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.session.result;
+
+/**
+ * Thrown when the server reports errors in the response to a request, instead of the result of its statements.
+ * <p>
+ * The message holds the errors as the server reported them. The status code of the first error, e.g.
+ * <code>Neo.TransientError.Transaction.DeadlockDetected</code>, tells whether the request may be sent again.
+ * </p>
+ */
+public class ServerErrorsException extends ResultProcessingException {
+
+    private final String code;
+
+    /**
+     * @param errors The errors reported by the server
+     * @param code The status code of the first of the errors, or <code>null</code> if it had none
+     */
+    public ServerErrorsException(String errors, String code) {
+        super(errors, null);
+        this.code = code;
+    }
+
+    /**
+     * @return The status code of the first error reported by the server, or <code>null</code> if it had none
+     */
+    public String code() {
+        return code;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.session.transaction;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.StatusLine;
+import org.apache.http.client.HttpResponseException;
+import org.apache.http.client.methods.HttpDelete;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.util.EntityUtils;
+import org.neo4j.ogm.authentication.HttpRequestAuthorization;
+import org.neo4j.ogm.authentication.Neo4jCredentials;
+import org.neo4j.ogm.session.result.ErrorsException;
+import org.neo4j.ogm.session.result.ResultProcessingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Completes transactions using the server's transactional HTTP endpoint.
+ *
+ * @author Luanne Misquitta
+ */
+public class HttpTransactionEndpoint implements TransactionEndpoint {
+
+    private final Logger logger = LoggerFactory.getLogger(HttpTransactionEndpoint.class);
+    private final CloseableHttpClient httpClient;
+    private final Neo4jCredentials credentials;
+
+    public HttpTransactionEndpoint(CloseableHttpClient httpClient, Neo4jCredentials credentials) {
+        this.httpClient = httpClient;
+        this.credentials = credentials;
+    }
+
+    @Override
+    public void commit(String transactionUrl) {
+        String url = transactionUrl + "/commit";
+        logger.debug("POST {}", url);
+        HttpPost request = new HttpPost(url);
+        request.setHeader(new BasicHeader(HTTP.CONTENT_TYPE,"application/json;charset=UTF-8"));
+        executeRequest(request);
+    }
+
+    @Override
+    public void rollback(String transactionUrl) {
+        logger.debug("DELETE {}", transactionUrl);
+        HttpDelete request = new HttpDelete(transactionUrl);
+        executeRequest(request);
+    }
+
+    @Override
+    public void keepAlive(String transactionUrl) {
+        logger.debug("POST {} to keep the transaction alive", transactionUrl);
+        HttpPost request = new HttpPost(transactionUrl);
+        request.setHeader(new BasicHeader(HTTP.CONTENT_TYPE, "application/json;charset=UTF-8"));
+        request.setEntity(new StringEntity("{\"statements\":[]}", "UTF-8"));
+        executeRequest(request);
+    }
+
+    private HttpResponse executeRequest(HttpRequestBase request) {
+
+        try {
+
+            request.setHeader(new BasicHeader("Accept", "application/json;charset=UTF-8"));
+            HttpRequestAuthorization.authorize(request, credentials);
+
+            HttpResponse response = httpClient.execute(request);
+            StatusLine statusLine = response.getStatusLine();
+
+            logger.debug("Status code: {}", statusLine.getStatusCode());
+
+            if (statusLine.getStatusCode() >= 300) {
+                throw new HttpResponseException(
+                        statusLine.getStatusCode(),
+                        statusLine.getReasonPhrase());
+            }
+
+            HttpEntity responseEntity = response.getEntity();
+            if (responseEntity != null) {
+                String responseText = EntityUtils.toString(responseEntity);
+                logger.debug(responseText);
+                EntityUtils.consume(responseEntity);
+                if (responseText.contains("\"errors\":[{") || responseText.contains("\"errors\": [{")) {
+                    throw new ErrorsException(responseText);
+                }
+            }
+            return response;
+        }
+
+        catch (Exception e) {
+            throw new ResultProcessingException("Failed to execute request: ", e);
+        }
+
+        // always clean up the connection
+        finally {
+            request.releaseConnection();
+        }
+    }
+}
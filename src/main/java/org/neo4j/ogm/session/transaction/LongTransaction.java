@@ -20,6 +20,14 @@ import org.slf4j.LoggerFactory;
 import org.neo4j.ogm.mapper.MappingContext;
 
 /**
+ * A transaction spanning several requests to the server.
+ * <p>
+ * A transaction opened by the {@link TransactionManager} is not begun on the server straight away. Its url is the
+ * endpoint that begins a new transaction, so the first statement sent to it begins the transaction as well; the
+ * server's reply tells us where the transaction lives, and the url changes accordingly.
+ * </p>
+ * The server does not accept concurrent requests for one transaction, so a keep-alive request is only sent while
+ * none of the owner's requests is in flight, and the owner's requests wait for a keep-alive request to finish.
  * @author Vince Bickers
  */
 public class LongTransaction extends SimpleTransaction {
@@ -28,9 +36,109 @@ public class LongTransaction extends SimpleTransaction {
 
     private final TransactionManager transactionRequestHandler;
 
+    private boolean begun;
+    private volatile long lastActivity = System.currentTimeMillis();
+
+    // guarded by this
+    private int requestsInFlight;
+    private boolean keepingAlive;
+    private boolean completing;
+
+    /**
+     * @param url the endpoint of a transaction that has already been begun on the server
+     */
     public LongTransaction(MappingContext mappingContext, String url, TransactionManager transactionRequestHandler) {
+        this(mappingContext, url, transactionRequestHandler, true);
+    }
+
+    LongTransaction(MappingContext mappingContext, String url, TransactionManager transactionRequestHandler, boolean begun) {
         super(mappingContext, url);
         this.transactionRequestHandler = transactionRequestHandler;
+        this.begun = begun;
+    }
+
+    /**
+     * @return true once the server has begun this transaction, which it does not do until the first statement is sent
+     */
+    public boolean isBegun() {
+        return begun;
+    }
+
+    void begin(String location) {
+        logger.debug("Transaction begun with endpoint {}", location);
+        setUrl(location);
+        begun = true;
+        touch();
+    }
+
+    /**
+     * Records that a request has just been sent to this transaction, resetting the server's idle timer.
+     */
+    void touch() {
+        lastActivity = System.currentTimeMillis();
+    }
+
+    long lastActivity() {
+        return lastActivity;
+    }
+
+    /**
+     * Called before the owner of this transaction sends it a request. Waits until a keep-alive request that is being
+     * sent to the transaction has finished.
+     */
+    synchronized void requestStarted() {
+        boolean interrupted = false;
+        while (keepingAlive) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        requestsInFlight++;
+        touch();
+    }
+
+    /**
+     * Called once the response to a request started by the owner of this transaction has been read or discarded.
+     */
+    synchronized void requestCompleted() {
+        requestsInFlight--;
+        touch();
+    }
+
+    /**
+     * Called before this transaction is committed or rolled back, after which it is no longer kept alive.
+     */
+    synchronized void completing() {
+        completing = true;
+    }
+
+    /**
+     * Keeps this transaction open on the server, unless its owner has a request in flight or is completing it.
+     *
+     * @return true if a keep-alive request was sent, false if none was needed
+     */
+    boolean keepAlive() {
+        synchronized (this) {
+            if (requestsInFlight > 0 || completing) {
+                return false;
+            }
+            keepingAlive = true;
+        }
+        try {
+            transactionRequestHandler.keepAlive(this);
+            return true;
+        } finally {
+            synchronized (this) {
+                keepingAlive = false;
+                touch();
+                notifyAll();
+            }
+        }
     }
 
     public void commit() {
@@ -31,7 +31,7 @@ public class SimpleTransaction implements Transaction {
 
     private final Logger logger = LoggerFactory.getLogger(Transaction.class);
     private final MappingContext mappingContext;
-    private final String url;
+    private String url;
     private final boolean autocommit;
 
     private final List<CypherContext> contexts;
@@ -62,6 +62,10 @@ public class SimpleTransaction implements Transaction {
         return url;
     }
 
+    protected void setUrl(String url) {
+        this.url = url;
+    }
+
     public void rollback() {
         logger.debug("rollback invoked");
         if (status == Status.OPEN || status == Status.PENDING) {
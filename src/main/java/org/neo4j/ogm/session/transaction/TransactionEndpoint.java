@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.session.transaction;
+
+/**
+ * Completes transactions on behalf of the {@link TransactionManager}. Statements themselves are sent by a
+ * {@link org.neo4j.ogm.session.request.Neo4jRequest}; this is the other half of a transport.
+ */
+public interface TransactionEndpoint {
+
+    /**
+     * Commits the transaction at the given url. Failures are thrown as a
+     * {@link org.neo4j.ogm.session.result.ResultProcessingException}.
+     */
+    void commit(String transactionUrl);
+
+    /**
+     * Rolls back the transaction at the given url. Failures are thrown as a
+     * {@link org.neo4j.ogm.session.result.ResultProcessingException}.
+     */
+    void rollback(String transactionUrl);
+
+    /**
+     * Resets the idle timer of the transaction at the given url, without running any statements. This may be called
+     * from a thread other than the one that owns the transaction.
+     */
+    void keepAlive(String transactionUrl);
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.session.transaction;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.ogm.session.SessionMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps long transactions open on the server while their owners are busy doing other things.
+ * <p>
+ * The server expires a transaction that receives no requests for longer than its transaction timeout. Transactions
+ * registered here are checked periodically, and any that has been idle for longer than the given fraction of the
+ * timeout is sent an empty request, which resets the server's timer. A transaction is registered once it has been
+ * begun on the server and deregistered before it commits or rolls back.
+ * </p>
+ * The server does not accept concurrent requests for the same transaction, so a transaction whose owner has a request
+ * in flight is not sent a keep-alive request; see {@link LongTransaction#keepAlive()}.
+ */
+public class TransactionKeepAlive {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionKeepAlive.class);
+
+    private final Set<LongTransaction> transactions = Collections.newSetFromMap(new ConcurrentHashMap<LongTransaction, Boolean>());
+    private final SessionMetrics metrics;
+    private final long idleThreshold;
+    private final ScheduledFuture<?> task;
+
+    /**
+     * @param scheduler The scheduler on which idle transactions are checked and kept alive
+     * @param transactionTimeout The server's transaction timeout, in milliseconds
+     * @param idleRatio The fraction of the timeout for which a transaction may stay idle before it is kept alive
+     * @param metrics The metrics to which the keep-alive requests are reported
+     */
+    public TransactionKeepAlive(ScheduledExecutorService scheduler, long transactionTimeout, double idleRatio, SessionMetrics metrics) {
+        if (transactionTimeout <= 0) {
+            throw new IllegalArgumentException("The transaction timeout must be positive: " + transactionTimeout);
+        }
+        if (idleRatio <= 0 || idleRatio >= 1) {
+            throw new IllegalArgumentException("The keep-alive ratio must be between 0 and 1: " + idleRatio);
+        }
+        this.metrics = metrics;
+        this.idleThreshold = (long) (transactionTimeout * idleRatio);
+
+        // a transaction is kept alive no later than one check period after it crosses the threshold
+        long period = Math.max(1, Math.min(idleThreshold, transactionTimeout - idleThreshold) / 2);
+        this.task = scheduler.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                keepAliveIdleTransactions();
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public void register(LongTransaction tx) {
+        transactions.add(tx);
+    }
+
+    public void deregister(LongTransaction tx) {
+        transactions.remove(tx);
+    }
+
+    /**
+     * @return The number of transactions currently being kept alive
+     */
+    public int size() {
+        return transactions.size();
+    }
+
+    /**
+     * Stops checking for idle transactions. The scheduler itself is left running.
+     */
+    public void cancel() {
+        task.cancel(false);
+        transactions.clear();
+    }
+
+    private void keepAliveIdleTransactions() {
+        long now = System.currentTimeMillis();
+        for (LongTransaction tx : transactions) {
+            if (now - tx.lastActivity() < idleThreshold) {
+                continue;
+            }
+            try {
+                if (tx.keepAlive()) {
+                    metrics.keepAlive(true);
+                }
+            } catch (RuntimeException e) {
+                // the transaction has most likely expired or completed; its owner will find out on its next request
+                logger.warn("Failed to keep transaction {} alive: {}", tx.url(), e.getLocalizedMessage());
+                metrics.keepAlive(false);
+                transactions.remove(tx);
+            }
+        }
+    }
+}
@@ -14,25 +14,10 @@
 
 package org.neo4j.ogm.session.transaction;
 
-import org.apache.http.Header;
-import org.apache.http.HttpEntity;
-import org.apache.http.HttpResponse;
-import org.apache.http.StatusLine;
-import org.apache.http.client.HttpResponseException;
-import org.apache.http.client.methods.HttpDelete;
-import org.apache.http.client.methods.HttpPost;
-import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.message.BasicHeader;
-import org.apache.http.protocol.HTTP;
-import org.apache.http.util.EntityUtils;
 import org.neo4j.ogm.authentication.CredentialsService;
-import org.neo4j.ogm.authentication.HttpRequestAuthorization;
-import org.neo4j.ogm.authentication.Neo4jCredentials;
 import org.neo4j.ogm.authentication.UsernamePasswordCredentials;
 import org.neo4j.ogm.mapper.MappingContext;
-import org.neo4j.ogm.session.result.ErrorsException;
-import org.neo4j.ogm.session.result.ResultProcessingException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,100 +28,185 @@ import org.slf4j.LoggerFactory;
 public class TransactionManager {
 
     private final Logger logger = LoggerFactory.getLogger(TransactionManager.class);
-    private final CloseableHttpClient httpClient;
+    private final TransactionEndpoint endpoint;
     private final String url;
-    private final Neo4jCredentials credentials;
 
     private static final ThreadLocal<Transaction> transaction = new ThreadLocal<>();
 
+    private Synchronization synchronization;
+    private TransactionKeepAlive keepAlive;
+
+    /**
+     * Work that must be done by the owner of this {@link TransactionManager} when a transaction completes.
+     */
+    public interface Synchronization {
+
+        /**
+         * Called before a transaction is committed, while it can still accept statements. Statements that have yet to
+         * be sent may be sent to the given commit url, which commits the transaction along with them.
+         *
+         * @return true if statements were sent to the commit url, in which case the transaction has been committed
+         */
+        boolean beforeCommit(Transaction tx, String commitUrl);
+
+        /**
+         * Called once a transaction has been rolled back.
+         */
+        void afterRollback(Transaction tx);
+    }
+
     public TransactionManager(CloseableHttpClient httpClient, String server) {
-        this.url = transactionRequestEndpoint(server);
-        this.httpClient = httpClient;
-        this.credentials = CredentialsService.userNameAndPassword();
-        transaction.remove(); // ensures this thread does not have a current tx;
+        this(new HttpTransactionEndpoint(httpClient, CredentialsService.userNameAndPassword()), server);
     }
 
     public TransactionManager(CloseableHttpClient httpClient, String server, UsernamePasswordCredentials credentials) {
+        this(new HttpTransactionEndpoint(httpClient, credentials), server);
+    }
+
+    public TransactionManager(TransactionEndpoint endpoint, String server) {
         this.url = transactionRequestEndpoint(server);
-        this.httpClient = httpClient;
-        this.credentials = credentials;
+        this.endpoint = endpoint;
         transaction.remove(); // ensures this thread does not have a current tx;
     }
 
+    /**
+     * Opens a transaction for the current thread. No request is made to the server: the transaction is begun by the
+     * first statement sent to it.
+     */
     public Transaction openTransaction(MappingContext mappingContext) {
-        String transactionEndpoint = newTransactionEndpointUrl();
-        logger.debug("Creating new transaction with endpoint {}", transactionEndpoint);
-        transaction.set(new LongTransaction(mappingContext, transactionEndpoint, this));
+        logger.debug("Creating new transaction, to be begun at {}", url);
+        transaction.set(new LongTransaction(mappingContext, url, this, false));
         return transaction.get();
     }
 
-    public void rollback(Transaction tx) {
-        String url = tx.url();
-        logger.debug("DELETE {}", url);
-        HttpDelete request = new HttpDelete(url);
-        executeRequest(request);
+    /**
+     * Called when a request sent to the given url has begun a transaction on the server, whose endpoint is the given
+     * location. If the request was the first statement of the current thread's transaction, the transaction takes
+     * the new endpoint for its url.
+     */
+    public void transactionBegun(String requestUrl, String location) {
+        Transaction tx = transaction.get();
+        if (tx instanceof LongTransaction) {
+            LongTransaction longTransaction = (LongTransaction) tx;
+            if (!longTransaction.isBegun() && longTransaction.url().equals(requestUrl)) {
+                longTransaction.begin(location);
+                if (keepAlive != null) {
+                    keepAlive.register(longTransaction);
+                }
+            }
+        }
     }
 
-    public void commit(Transaction tx) {
-        String url = tx.url() + "/commit";
-        logger.debug("POST {}", url);
-        HttpPost request = new HttpPost(url);
-        request.setHeader(new BasicHeader(HTTP.CONTENT_TYPE,"application/json;charset=UTF-8"));
-        executeRequest(request);
+    public void setSynchronization(Synchronization synchronization) {
+        this.synchronization = synchronization;
     }
 
-    public Transaction getCurrentTransaction() {
-        return transaction.get();
+    /**
+     * @param keepAlive Keeps the transactions begun by this manager open on the server while they are idle
+     */
+    public void setKeepAlive(TransactionKeepAlive keepAlive) {
+        this.keepAlive = keepAlive;
     }
 
-    private HttpResponse executeRequest(HttpRequestBase request) {
-
-        try {
-
-            request.setHeader(new BasicHeader("Accept", "application/json;charset=UTF-8"));
-            HttpRequestAuthorization.authorize(request, credentials);
-
-            HttpResponse response = httpClient.execute(request);
-            StatusLine statusLine = response.getStatusLine();
+    /**
+     * Called before a request is sent to the given url. If it is the url of the current thread's transaction, the
+     * transaction has a request in flight until {@link #requestCompleted(LongTransaction)} is called with it.
+     *
+     * @return the transaction to which the request is sent, or null if it is not sent to the current transaction
+     */
+    public LongTransaction requestStarted(String requestUrl) {
+        Transaction tx = transaction.get();
+        if (tx instanceof LongTransaction && tx.url() != null && requestUrl.startsWith(tx.url())) {
+            LongTransaction longTransaction = (LongTransaction) tx;
+            longTransaction.requestStarted();
+            return longTransaction;
+        }
+        return null;
+    }
 
-            logger.debug("Status code: {}", statusLine.getStatusCode());
+    /**
+     * Called once the response to a request for which {@link #requestStarted(String)} returned the given transaction
+     * has been read or discarded.
+     */
+    public void requestCompleted(LongTransaction tx) {
+        if (tx != null) {
+            tx.requestCompleted();
+        }
+    }
 
-            if (statusLine.getStatusCode() >= 300) {
-                throw new HttpResponseException(
-                        statusLine.getStatusCode(),
-                        statusLine.getReasonPhrase());
+    public void rollback(Transaction tx) {
+        LongTransaction longTransaction = completing(tx);
+        try {
+            if (isBegun(tx)) {
+                endpoint.rollback(tx.url());
+            } else {
+                logger.debug("Transaction was never begun, nothing to roll back");
             }
+        } finally {
+            requestCompleted(longTransaction);
+            complete(tx);
+            if (synchronization != null) {
+                synchronization.afterRollback(tx);
+            }
+        }
+    }
 
-            HttpEntity responseEntity = response.getEntity();
-            if (responseEntity != null) {
-                String responseText = EntityUtils.toString(responseEntity);
-                logger.debug(responseText);
-                EntityUtils.consume(responseEntity);
-                if (responseText.contains("\"errors\":[{") || responseText.contains("\"errors\": [{")) {
-                    throw new ErrorsException(responseText);
-                }
+    public void commit(Transaction tx) {
+        // a transaction that was never begun commits by sending its statements to the autocommit endpoint
+        String url = isBegun(tx) ? tx.url() + "/commit" : this.url + "/commit";
+        LongTransaction longTransaction = completing(tx);
+        try {
+            if (synchronization != null && synchronization.beforeCommit(tx, url)) {
+                logger.debug("Transaction committed with its pending statements");
+                return;
+            }
+            if (isBegun(tx)) {
+                endpoint.commit(tx.url());
+            } else {
+                logger.debug("Transaction was never begun, nothing to commit");
             }
-            return response;
+        } finally {
+            requestCompleted(longTransaction);
+            complete(tx);
         }
+    }
 
-        catch (Exception e) {
-            throw new ResultProcessingException("Failed to execute request: ", e);
+    /**
+     * Stops keeping the given transaction alive before it is committed or rolled back, and waits for a keep-alive
+     * request that is being sent to it to finish.
+     *
+     * @return the transaction, which has a request in flight until it is completed, or null if it is not a long transaction
+     */
+    private LongTransaction completing(Transaction tx) {
+        if (!(tx instanceof LongTransaction)) {
+            return null;
+        }
+        LongTransaction longTransaction = (LongTransaction) tx;
+        longTransaction.completing();
+        if (keepAlive != null) {
+            keepAlive.deregister(longTransaction);
         }
+        longTransaction.requestStarted();
+        return longTransaction;
+    }
+
+    void keepAlive(LongTransaction tx) {
+        endpoint.keepAlive(tx.url());
+    }
+
+    public Transaction getCurrentTransaction() {
+        return transaction.get();
+    }
 
-        // always clean up the connection and the thread-local transaction instance;
-        finally {
-            request.releaseConnection();
-            transaction.remove();
+    private void complete(Transaction tx) {
+        transaction.remove();
+        if (keepAlive != null && tx instanceof LongTransaction) {
+            keepAlive.deregister((LongTransaction) tx);
         }
     }
 
-    private String newTransactionEndpointUrl() {
-        logger.debug("POST {}", url);
-        HttpPost request = new HttpPost(url);
-        request.setHeader(new BasicHeader(HTTP.CONTENT_TYPE, "application/json;charset=UTF-8"));
-        HttpResponse response = executeRequest(request);
-        Header location = response.getHeaders("Location")[0];
-        return location.getValue();
+    private boolean isBegun(Transaction tx) {
+        return !(tx instanceof LongTransaction) || ((LongTransaction) tx).isBegun();
     }
 
     private String transactionRequestEndpoint(String server) {
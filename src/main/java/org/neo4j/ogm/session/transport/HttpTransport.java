@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.session.transport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.neo4j.ogm.authentication.CredentialsService;
+import org.neo4j.ogm.authentication.Neo4jCredentials;
+import org.neo4j.ogm.authentication.UsernamePasswordCredentials;
+import org.neo4j.ogm.session.request.DefaultRequest;
+import org.neo4j.ogm.session.request.Neo4jRequest;
+import org.neo4j.ogm.session.transaction.HttpTransactionEndpoint;
+import org.neo4j.ogm.session.transaction.TransactionEndpoint;
+import org.neo4j.ogm.session.transaction.TransactionManager;
+
+/**
+ * Talks to a Neo4j server over its transactional HTTP endpoint, exchanging statements and results as JSON.
+ */
+public class HttpTransport implements Neo4jTransport {
+
+    private final String url;
+    private final CloseableHttpClient httpClient;
+    private final ObjectMapper mapper;
+    private final Neo4jCredentials<?> credentials;
+
+    /**
+     * @param url The base url of the server
+     * @param httpClient The client with which requests are sent
+     * @param mapper The mapper with which statements and results are converted to and from JSON
+     * @param credentials The credentials to authenticate with, or <code>null</code> to read them from System properties
+     */
+    public HttpTransport(String url, CloseableHttpClient httpClient, ObjectMapper mapper, UsernamePasswordCredentials credentials) {
+        this.url = url;
+        this.httpClient = httpClient;
+        this.mapper = mapper;
+        this.credentials = credentials == null ? CredentialsService.userNameAndPassword() : credentials;
+    }
+
+    /**
+     * @return The credentials with which requests are authenticated, or <code>null</code> if they are not
+     */
+    public Neo4jCredentials<?> credentials() {
+        return credentials;
+    }
+
+    @Override
+    public String url() {
+        return url;
+    }
+
+    @Override
+    public Neo4jRequest<String> request(TransactionManager transactionManager) {
+        DefaultRequest request = new DefaultRequest(httpClient, mapper, credentials);
+        request.setTransactionManager(transactionManager);
+        return request;
+    }
+
+    @Override
+    public TransactionEndpoint transactionEndpoint() {
+        return new HttpTransactionEndpoint(httpClient, credentials);
+    }
+}
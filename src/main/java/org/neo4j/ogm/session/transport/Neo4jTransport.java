@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.session.transport;
+
+import org.neo4j.ogm.session.request.Neo4jRequest;
+import org.neo4j.ogm.session.transaction.TransactionEndpoint;
+import org.neo4j.ogm.session.transaction.TransactionManager;
+
+/**
+ * The means by which a session talks to the database: how statements are sent, and how transactions complete.
+ * <p>
+ * Statements are sent to urls derived from {@link #url()} in the same way as for the server's transactional HTTP
+ * endpoint: <code>{url}/db/data/transaction</code> begins a transaction, <code>{url}/db/data/transaction/commit</code>
+ * runs statements in a transaction of their own, and a transaction that has begun has a url of its own. A transport
+ * that begins a transaction tells the session's {@link TransactionManager} the transaction's url with
+ * {@link TransactionManager#transactionBegun(String, String)}.
+ * </p>
+ */
+public interface Neo4jTransport {
+
+    /**
+     * @return The base url of the database
+     */
+    String url();
+
+    /**
+     * @param transactionManager The transaction manager of the session the request is for
+     * @return The request used by a session to send its statements
+     */
+    Neo4jRequest<String> request(TransactionManager transactionManager);
+
+    /**
+     * @return The endpoint used by a session's {@link TransactionManager} to complete its transactions
+     */
+    TransactionEndpoint transactionEndpoint();
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.session.transport.embedded;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatement;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatements;
+import org.neo4j.ogm.session.request.Neo4jRequest;
+import org.neo4j.ogm.session.response.Neo4jResponse;
+import org.neo4j.ogm.session.result.ResultProcessingException;
+import org.neo4j.ogm.session.transaction.TransactionManager;
+
+/**
+ * Runs a session's statements against the database of an {@link EmbeddedTransport}.
+ * <p>
+ * As with the HTTP endpoint, a statement that fails rolls back the transaction it was sent to.
+ * </p>
+ */
+class EmbeddedRequest implements Neo4jRequest<String> {
+
+    private final EmbeddedTransport transport;
+    private final TransactionManager transactionManager;
+
+    EmbeddedRequest(EmbeddedTransport transport, TransactionManager transactionManager) {
+        this.transport = transport;
+        this.transactionManager = transactionManager;
+    }
+
+    @Override
+    public Neo4jResponse<String> execute(String url, ParameterisedStatements statements) {
+
+        if (transport.isAutocommit(url)) {
+            try (Transaction tx = transport.database().beginTx()) {
+                EmbeddedResponse response = run(statements);
+                tx.success();
+                return response;
+            } catch (ResultProcessingException rpe) {
+                throw rpe;
+            } catch (RuntimeException e) {
+                throw new ResultProcessingException("Failed to commit transaction", e);
+            }
+        }
+
+        if (transport.isBegin(url)) {
+            String transactionUrl = transport.begin();
+            if (transactionManager != null) {
+                transactionManager.transactionBegun(url, transactionUrl);
+            }
+            return run(transactionUrl, statements);
+        }
+
+        if (transport.isCommit(url)) {
+            String transactionUrl = transport.transactionUrl(url);
+            EmbeddedResponse response = run(transactionUrl, statements);
+            transport.commit(transactionUrl);
+            return response;
+        }
+
+        return run(url, statements);
+    }
+
+    private EmbeddedResponse run(String transactionUrl, ParameterisedStatements statements) {
+        transport.transaction(transactionUrl);
+        try {
+            return run(statements);
+        } catch (ResultProcessingException rpe) {
+            transport.rollback(transactionUrl);
+            throw rpe;
+        }
+    }
+
+    private EmbeddedResponse run(ParameterisedStatements statements) {
+        List<EmbeddedResponse.StatementResult> results = new ArrayList<>();
+        for (ParameterisedStatement statement : statements.getStatements()) {
+            try {
+                results.add(EmbeddedResponse.execute(transport.database(), statement));
+            } catch (RuntimeException e) {
+                throw new ResultProcessingException("Failed to execute statement: " + statement.getStatement(), e);
+            }
+        }
+        return new EmbeddedResponse(results);
+    }
+}
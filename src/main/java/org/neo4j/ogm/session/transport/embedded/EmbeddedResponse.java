@@ -0,0 +1,456 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.session.transport.embedded;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Path;
+import org.neo4j.graphdb.PropertyContainer;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.Result;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatement;
+import org.neo4j.ogm.model.GraphModel;
+import org.neo4j.ogm.model.NodeModel;
+import org.neo4j.ogm.model.RelationshipModel;
+import org.neo4j.ogm.session.response.RecordStream;
+import org.neo4j.ogm.session.result.GraphRowResult;
+import org.neo4j.ogm.session.result.ResultProcessingException;
+
+/**
+ * The results of statements run by an {@link EmbeddedRequest}.
+ * <p>
+ * Each statement's records are built when it is run, while the transaction that produced them is still open, in the
+ * form the statement asked for: a {@link GraphModel} for "graph" results and an array of values for "row" results.
+ * The values are those the HTTP endpoint would have returned, so nodes and relationships are rows of their
+ * properties, integers are Integers where they fit, and arrays are Lists. A record read with {@link #next()} is
+ * written as the JSON the HTTP endpoint would have sent for it.
+ * </p>
+ */
+class EmbeddedResponse implements RecordStream {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final List<StatementResult> results;
+
+    private ResponseRecord record;
+    private StatementResult result;
+    private int index = -1;
+    private int currentRow = -1;
+    private boolean statisticsRead;
+
+    EmbeddedResponse(List<StatementResult> results) {
+        this.results = results;
+    }
+
+    /**
+     * Runs the statement in the current thread's transaction and builds its records.
+     */
+    static StatementResult execute(GraphDatabaseService database, ParameterisedStatement statement) {
+        boolean graph = false;
+        boolean row = statement.getResultDataContents() == null;
+        if (statement.getResultDataContents() != null) {
+            for (String resultDataContent : statement.getResultDataContents()) {
+                graph |= "graph".equals(resultDataContent);
+                row |= "row".equals(resultDataContent);
+            }
+        }
+
+        try (Result result = database.execute(statement.getStatement(), parameters(statement.getParameters()))) {
+            List<String> columnList = result.columns();
+            String[] columns = columnList.toArray(new String[columnList.size()]);
+            List<GraphRowResult> records = new ArrayList<>();
+            while (result.hasNext()) {
+                Map<String, Object> record = result.next();
+                Object[] values = new Object[columns.length];
+                for (int i = 0; i < columns.length; i++) {
+                    values[i] = record.get(columns[i]);
+                }
+                records.add(new GraphRowResult(graph ? graph(values) : null, row ? row(values) : null));
+            }
+            Map<String, Object> statistics = statement.isIncludeStats() ? statistics(result.getQueryStatistics()) : null;
+            return new StatementResult(columns, records, statistics);
+        }
+    }
+
+    @Override
+    public void initialiseScan(ResponseRecord record) {
+        this.record = record;
+        index++;
+        currentRow = -1;
+        statisticsRead = false;
+        result = index < results.size() ? results.get(index) : null;
+    }
+
+    @Override
+    public <R> R next(ObjectMapper mapper, Class<R> type) {
+        if (result == null || currentRow + 1 >= result.records.size()) {
+            return null;
+        }
+        GraphRowResult record = result.records.get(++currentRow);
+        if (type == GraphModel.class) {
+            return type.cast(record.getGraph());
+        }
+        if (type == Object[].class) {
+            return type.cast(record.getRow());
+        }
+        if (type == GraphRowResult.class) {
+            return type.cast(record);
+        }
+        if (type == Object.class) {
+            return type.cast(Arrays.asList(record.getRow()));
+        }
+        throw new IllegalArgumentException("Records cannot be read as " + type.getName());
+    }
+
+    @Override
+    public <R> R statistics(ObjectMapper mapper, Class<R> type) {
+        if (result == null || result.statistics == null) {
+            return null;
+        }
+        return mapper.convertValue(result.statistics, type);
+    }
+
+    @Override
+    public String next() {
+        if (record == ResponseRecord.RESULTS) {
+            return nextDocument();
+        }
+        if (record == ResponseRecord.STATS) {
+            return nextStats();
+        }
+        if (result == null || currentRow + 1 >= result.records.size()) {
+            return null;
+        }
+        return json(record(result.records.get(++currentRow), record));
+    }
+
+    /**
+     * @return the remaining results as a whole response document, the first time it is called
+     */
+    private String nextDocument() {
+        if (result == null) {
+            return null;
+        }
+        List<Object> documentResults = new ArrayList<>();
+        for (StatementResult statementResult : results.subList(index, results.size())) {
+            List<Object> data = new ArrayList<>();
+            for (GraphRowResult graphRowResult : statementResult.records) {
+                data.add(record(graphRowResult, ResponseRecord.GRAPH_ROW));
+            }
+            Map<String, Object> documentResult = new LinkedHashMap<>();
+            documentResult.put("columns", Arrays.asList(statementResult.columns));
+            documentResult.put("data", data);
+            if (statementResult.statistics != null) {
+                documentResult.put("stats", statementResult.statistics);
+            }
+            documentResults.add(documentResult);
+        }
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("results", documentResults);
+        index = results.size();
+        result = null;
+        currentRow++;
+        return json(document);
+    }
+
+    private String nextStats() {
+        if (result == null || result.statistics == null || statisticsRead) {
+            return null;
+        }
+        statisticsRead = true;
+        currentRow++;
+        return json(Collections.singletonMap("stats", result.statistics));
+    }
+
+    @Override
+    public void close() {
+        // the records were read from the database when the statements ran
+    }
+
+    @Override
+    public String[] columns() {
+        return result == null ? null : result.columns;
+    }
+
+    @Override
+    public int rowId() {
+        return currentRow;
+    }
+
+    /**
+     * @return the parts of a record the given kind of record is made of, in the form the HTTP endpoint sends them
+     */
+    private static Map<String, Object> record(GraphRowResult graphRowResult, ResponseRecord record) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        if (record != ResponseRecord.ROW && graphRowResult.getGraph() != null) {
+            json.put("graph", graph(graphRowResult.getGraph()));
+        }
+        if (record != ResponseRecord.GRAPH && graphRowResult.getRow() != null) {
+            json.put("row", Arrays.asList(graphRowResult.getRow()));
+        }
+        return json;
+    }
+
+    private static Map<String, Object> graph(GraphModel graphModel) {
+        List<Object> nodes = new ArrayList<>();
+        for (NodeModel nodeModel : graphModel.getNodes()) {
+            Map<String, Object> node = new LinkedHashMap<>();
+            node.put("id", String.valueOf(nodeModel.getId()));
+            node.put("labels", Arrays.asList(nodeModel.getLabels()));
+            node.put("properties", nodeModel.getProperties());
+            nodes.add(node);
+        }
+        List<Object> relationships = new ArrayList<>();
+        for (RelationshipModel relationshipModel : graphModel.getRelationships()) {
+            Map<String, Object> relationship = new LinkedHashMap<>();
+            relationship.put("id", String.valueOf(relationshipModel.getId()));
+            relationship.put("type", relationshipModel.getType());
+            relationship.put("startNode", String.valueOf(relationshipModel.getStartNode()));
+            relationship.put("endNode", String.valueOf(relationshipModel.getEndNode()));
+            relationship.put("properties", relationshipModel.getProperties());
+            relationships.add(relationship);
+        }
+        Map<String, Object> graph = new LinkedHashMap<>();
+        graph.put("nodes", nodes);
+        graph.put("relationships", relationships);
+        return graph;
+    }
+
+    private static String json(Object value) {
+        try {
+            return JSON.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new ResultProcessingException("Could not write record", e);
+        }
+    }
+
+    private static GraphModel graph(Object[] values) {
+        Map<Long, NodeModel> nodes = new LinkedHashMap<>();
+        Map<Long, RelationshipModel> relationships = new LinkedHashMap<>();
+        for (Object value : values) {
+            extract(value, nodes, relationships);
+        }
+        GraphModel graphModel = new GraphModel();
+        graphModel.setNodes(nodes.values().toArray(new NodeModel[nodes.size()]));
+        graphModel.setRelationships(relationships.values().toArray(new RelationshipModel[relationships.size()]));
+        return graphModel;
+    }
+
+    private static void extract(Object value, Map<Long, NodeModel> nodes, Map<Long, RelationshipModel> relationships) {
+        if (value instanceof Node) {
+            addNode((Node) value, nodes);
+        } else if (value instanceof Relationship) {
+            addRelationship((Relationship) value, nodes, relationships);
+        } else if (value instanceof Path) {
+            for (Node node : ((Path) value).nodes()) {
+                addNode(node, nodes);
+            }
+            for (Relationship relationship : ((Path) value).relationships()) {
+                addRelationship(relationship, nodes, relationships);
+            }
+        } else if (value instanceof Map) {
+            for (Object element : ((Map<?, ?>) value).values()) {
+                extract(element, nodes, relationships);
+            }
+        } else if (value instanceof Iterable) {
+            for (Object element : (Iterable<?>) value) {
+                extract(element, nodes, relationships);
+            }
+        } else if (value instanceof Object[]) {
+            for (Object element : (Object[]) value) {
+                extract(element, nodes, relationships);
+            }
+        }
+    }
+
+    private static void addNode(Node node, Map<Long, NodeModel> nodes) {
+        if (!nodes.containsKey(node.getId())) {
+            NodeModel nodeModel = new NodeModel();
+            nodeModel.setId(node.getId());
+            List<String> labels = new ArrayList<>();
+            for (org.neo4j.graphdb.Label label : node.getLabels()) {
+                labels.add(label.name());
+            }
+            nodeModel.setLabels(labels.toArray(new String[labels.size()]));
+            nodeModel.setProperties(properties(node));
+            nodes.put(node.getId(), nodeModel);
+        }
+    }
+
+    private static void addRelationship(Relationship relationship, Map<Long, NodeModel> nodes, Map<Long, RelationshipModel> relationships) {
+        if (!relationships.containsKey(relationship.getId())) {
+            RelationshipModel relationshipModel = new RelationshipModel();
+            relationshipModel.setId(relationship.getId());
+            relationshipModel.setType(relationship.getType().name());
+            relationshipModel.setStartNode(relationship.getStartNode().getId());
+            relationshipModel.setEndNode(relationship.getEndNode().getId());
+            relationshipModel.setProperties(properties(relationship));
+            relationships.put(relationship.getId(), relationshipModel);
+            addNode(relationship.getStartNode(), nodes);
+            addNode(relationship.getEndNode(), nodes);
+        }
+    }
+
+    private static Object[] row(Object[] values) {
+        Object[] row = new Object[values.length];
+        for (int i = 0; i < values.length; i++) {
+            row[i] = value(values[i]);
+        }
+        return row;
+    }
+
+    private static Map<String, Object> properties(PropertyContainer container) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> property : container.getAllProperties().entrySet()) {
+            properties.put(property.getKey(), value(property.getValue()));
+        }
+        return properties;
+    }
+
+    /**
+     * Converts a value returned by Cypher to the value the HTTP endpoint's JSON would have been bound to.
+     */
+    private static Object value(Object value) {
+        if (value instanceof PropertyContainer) {
+            return properties((PropertyContainer) value);
+        }
+        if (value instanceof Path) {
+            List<Object> elements = new ArrayList<>();
+            for (PropertyContainer element : (Path) value) {
+                elements.add(properties(element));
+            }
+            return elements;
+        }
+        if (value instanceof Map) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                map.put(String.valueOf(entry.getKey()), value(entry.getValue()));
+            }
+            return map;
+        }
+        if (value instanceof Iterable) {
+            List<Object> list = new ArrayList<>();
+            for (Object element : (Iterable<?>) value) {
+                list.add(value(element));
+            }
+            return list;
+        }
+        if (value != null && value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            List<Object> list = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                list.add(value(Array.get(value, i)));
+            }
+            return list;
+        }
+        if (value instanceof Long || value instanceof Short || value instanceof Byte) {
+            long number = ((Number) value).longValue();
+            return number >= Integer.MIN_VALUE && number <= Integer.MAX_VALUE ? (Object) (int) number : (Object) number;
+        }
+        if (value instanceof Float) {
+            return ((Float) value).doubleValue();
+        }
+        if (value instanceof Character) {
+            return value.toString();
+        }
+        return value;
+    }
+
+    private static Map<String, Object> parameters(Map<String, Object> parameters) {
+        Map<String, Object> converted = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+            converted.put(parameter.getKey(), parameter(parameter.getValue()));
+        }
+        return converted;
+    }
+
+    /**
+     * Converts a parameter to the value the HTTP endpoint would have received as JSON, where the database would not
+     * accept it as it is.
+     */
+    private static Object parameter(Object value) {
+        if (value instanceof Map) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                map.put(String.valueOf(entry.getKey()), parameter(entry.getValue()));
+            }
+            return map;
+        }
+        if (value instanceof Iterable) {
+            List<Object> list = new ArrayList<>();
+            for (Object element : (Iterable<?>) value) {
+                list.add(parameter(element));
+            }
+            return list;
+        }
+        if (value instanceof Object[]) {
+            List<Object> list = new ArrayList<>();
+            for (Object element : (Object[]) value) {
+                list.add(parameter(element));
+            }
+            return list;
+        }
+        if (value instanceof Character) {
+            return value.toString();
+        }
+        if (value instanceof Enum) {
+            return ((Enum<?>) value).name();
+        }
+        return value;
+    }
+
+    private static Map<String, Object> statistics(org.neo4j.graphdb.QueryStatistics queryStatistics) {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("contains_updates", queryStatistics.containsUpdates());
+        statistics.put("nodes_created", queryStatistics.getNodesCreated());
+        statistics.put("nodes_deleted", queryStatistics.getNodesDeleted());
+        statistics.put("properties_set", queryStatistics.getPropertiesSet());
+        statistics.put("relationships_created", queryStatistics.getRelationshipsCreated());
+        statistics.put("relationship_deleted", queryStatistics.getRelationshipsDeleted());
+        statistics.put("labels_added", queryStatistics.getLabelsAdded());
+        statistics.put("labels_removed", queryStatistics.getLabelsRemoved());
+        statistics.put("indexes_added", queryStatistics.getIndexesAdded());
+        statistics.put("indexes_removed", queryStatistics.getIndexesRemoved());
+        statistics.put("constraints_added", queryStatistics.getConstraintsAdded());
+        statistics.put("constraints_removed", queryStatistics.getConstraintsRemoved());
+        return statistics;
+    }
+
+    /**
+     * The columns, records and statistics of one statement.
+     */
+    static class StatementResult {
+
+        private final String[] columns;
+        private final List<GraphRowResult> records;
+        private final Map<String, Object> statistics;
+
+        StatementResult(String[] columns, List<GraphRowResult> records, Map<String, Object> statistics) {
+            this.columns = columns;
+            this.records = records;
+            this.statistics = statistics;
+        }
+    }
+}
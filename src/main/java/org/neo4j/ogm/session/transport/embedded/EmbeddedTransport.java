@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.session.transport.embedded;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.ogm.session.request.Neo4jRequest;
+import org.neo4j.ogm.session.result.ResultProcessingException;
+import org.neo4j.ogm.session.transaction.TransactionEndpoint;
+import org.neo4j.ogm.session.transaction.TransactionManager;
+import org.neo4j.ogm.session.transport.Neo4jTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs statements directly against a {@link GraphDatabaseService} in the same JVM, with no HTTP or JSON involved.
+ * <p>
+ * Results are built as {@link org.neo4j.ogm.model.GraphModel}s and rows straight from the nodes, relationships and
+ * values returned by Cypher, in the same shape as the transactional HTTP endpoint would return them.
+ * </p>
+ * <p>
+ * The database's transactions are bound to the thread that begins them. A session's long transactions are bound to
+ * their thread too, so a transaction begun here is always used, committed and rolled back by the same thread.
+ * </p>
+ */
+public class EmbeddedTransport implements Neo4jTransport, TransactionEndpoint {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmbeddedTransport.class);
+
+    private static final String URL = "embedded://localhost";
+    private static final String BEGIN_URL = URL + "/db/data/transaction";
+    private static final String COMMIT = "/commit";
+
+    private final GraphDatabaseService database;
+    private final Map<String, Transaction> transactions = new ConcurrentHashMap<>();
+    private final AtomicLong transactionIds = new AtomicLong();
+
+    public EmbeddedTransport(GraphDatabaseService database) {
+        this.database = database;
+    }
+
+    @Override
+    public String url() {
+        return URL;
+    }
+
+    @Override
+    public Neo4jRequest<String> request(TransactionManager transactionManager) {
+        return new EmbeddedRequest(this, transactionManager);
+    }
+
+    @Override
+    public TransactionEndpoint transactionEndpoint() {
+        return this;
+    }
+
+    @Override
+    public void commit(String transactionUrl) {
+        Transaction tx = remove(transactionUrl);
+        LOGGER.debug("Committing transaction {}", transactionUrl);
+        try {
+            tx.success();
+            tx.close();
+        } catch (RuntimeException e) {
+            throw new ResultProcessingException("Failed to commit transaction " + transactionUrl, e);
+        }
+    }
+
+    @Override
+    public void rollback(String transactionUrl) {
+        Transaction tx = remove(transactionUrl);
+        LOGGER.debug("Rolling back transaction {}", transactionUrl);
+        try {
+            tx.failure();
+            tx.close();
+        } catch (RuntimeException e) {
+            throw new ResultProcessingException("Failed to roll back transaction " + transactionUrl, e);
+        }
+    }
+
+    @Override
+    public void keepAlive(String transactionUrl) {
+        // embedded transactions do not time out
+    }
+
+    GraphDatabaseService database() {
+        return database;
+    }
+
+    boolean isAutocommit(String url) {
+        return url.equals(BEGIN_URL + COMMIT);
+    }
+
+    boolean isBegin(String url) {
+        return url.equals(BEGIN_URL);
+    }
+
+    boolean isCommit(String url) {
+        return url.endsWith(COMMIT);
+    }
+
+    String transactionUrl(String commitUrl) {
+        return commitUrl.substring(0, commitUrl.length() - COMMIT.length());
+    }
+
+    /**
+     * Begins a transaction, bound to the current thread.
+     *
+     * @return The url of the new transaction
+     */
+    String begin() {
+        String transactionUrl = BEGIN_URL + "/" + transactionIds.incrementAndGet();
+        transactions.put(transactionUrl, database.beginTx());
+        LOGGER.debug("Begun transaction {}", transactionUrl);
+        return transactionUrl;
+    }
+
+    Transaction transaction(String transactionUrl) {
+        Transaction tx = transactions.get(transactionUrl);
+        if (tx == null) {
+            throw new ResultProcessingException("No such transaction: " + transactionUrl, null);
+        }
+        return tx;
+    }
+
+    private Transaction remove(String transactionUrl) {
+        Transaction tx = transactions.remove(transactionUrl);
+        if (tx == null) {
+            throw new ResultProcessingException("No such transaction: " + transactionUrl, null);
+        }
+        return tx;
+    }
+}
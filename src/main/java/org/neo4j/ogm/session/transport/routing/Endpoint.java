@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.session.transport.routing;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A server to which a {@link RoutingTransport} may send statements, together with what the transport knows about it:
+ * whether it is healthy, and how many of its requests are still being read.
+ */
+public class Endpoint {
+
+    private final String url;
+    private final AtomicInteger outstandingRequests = new AtomicInteger();
+    private final AtomicLong requestsSent = new AtomicLong();
+    private volatile boolean healthy = true;
+
+    Endpoint(String url) {
+        this.url = url.endsWith("/") ? url : url + "/";
+    }
+
+    /**
+     * @return The base url of the server, ending with a slash
+     */
+    public String url() {
+        return url;
+    }
+
+    /**
+     * @return The number of requests sent to the server whose responses have not yet been closed
+     */
+    public int outstandingRequests() {
+        return outstandingRequests.get();
+    }
+
+    /**
+     * @return The number of requests sent to the server so far
+     */
+    public long requestsSent() {
+        return requestsSent.get();
+    }
+
+    /**
+     * @return <code>false</code> if a request to the server failed and it has not passed a health check since
+     */
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    void requestStarted() {
+        requestsSent.incrementAndGet();
+        outstandingRequests.incrementAndGet();
+    }
+
+    void requestCompleted() {
+        outstandingRequests.decrementAndGet();
+    }
+
+    void setHealthy(boolean healthy) {
+        this.healthy = healthy;
+    }
+
+    @Override
+    public String toString() {
+        return url + (healthy ? "" : " (ejected)");
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.session.transport.routing;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends each request to the replica with the fewest responses still being read, so that a replica that is slow to
+ * answer is given less work. Replicas that are equally busy take turns.
+ */
+public class LeastOutstandingRequestsPolicy implements LoadBalancingPolicy {
+
+    private final AtomicInteger start = new AtomicInteger();
+
+    @Override
+    public Endpoint select(List<Endpoint> candidates) {
+        int size = candidates.size();
+        int offset = (start.getAndIncrement() & Integer.MAX_VALUE) % size;
+
+        Endpoint selected = null;
+        for (int i = 0; i < size; i++) {
+            Endpoint candidate = candidates.get((offset + i) % size);
+            if (selected == null || candidate.outstandingRequests() < selected.outstandingRequests()) {
+                selected = candidate;
+            }
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.session.transport.routing;
+
+import java.util.List;
+
+/**
+ * Chooses the read replica to which a {@link RoutingTransport} sends a read-only request.
+ */
+public interface LoadBalancingPolicy {
+
+    /**
+     * @param candidates The healthy replicas, never empty
+     * @return One of the candidates
+     */
+    Endpoint select(List<Endpoint> candidates);
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.session.transport.routing;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.client.HttpResponseException;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatement;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatements;
+import org.neo4j.ogm.session.request.Neo4jRequest;
+import org.neo4j.ogm.session.response.Neo4jResponse;
+import org.neo4j.ogm.session.response.RecordStream;
+import org.neo4j.ogm.session.result.ResultProcessingException;
+
+/**
+ * Sends a session's read-only autocommit requests to a read replica, and everything else to the writer.
+ */
+class RoutingRequest implements Neo4jRequest<String> {
+
+    private final RoutingTransport transport;
+    private final Neo4jRequest<String> writerRequest;
+    private final Neo4jRequest<String> readerRequest;
+    private final String autoCommitUrl;
+
+    RoutingRequest(RoutingTransport transport, Neo4jRequest<String> writerRequest, Neo4jRequest<String> readerRequest) {
+        this.transport = transport;
+        this.writerRequest = writerRequest;
+        this.readerRequest = readerRequest;
+        this.autoCommitUrl = transport.writer().url() + RoutingTransport.AUTOCOMMIT_PATH;
+    }
+
+    @Override
+    public Neo4jResponse<String> execute(String url, ParameterisedStatements statements) {
+        if (!url.equals(autoCommitUrl) || !isReadOnly(statements)) {
+            return send(transport.writer(), writerRequest, url, statements);
+        }
+
+        List<Endpoint> failed = new ArrayList<>();
+        Endpoint reader;
+        while ((reader = transport.selectReader(failed)) != null) {
+            try {
+                return send(reader, readerRequest, reader.url() + RoutingTransport.AUTOCOMMIT_PATH, statements);
+            } catch (ResultProcessingException e) {
+                if (!isUnavailable(e)) {
+                    throw e;
+                }
+                transport.eject(reader, e);
+                failed.add(reader);
+            }
+        }
+        return send(transport.writer(), writerRequest, url, statements);
+    }
+
+    private Neo4jResponse<String> send(Endpoint endpoint, Neo4jRequest<String> request, String url, ParameterisedStatements statements) {
+        endpoint.requestStarted();
+        Neo4jResponse<String> response;
+        try {
+            response = request.execute(url, statements);
+        } catch (RuntimeException e) {
+            endpoint.requestCompleted();
+            throw e;
+        }
+        return response instanceof RecordStream
+                ? new RoutedRecordStream((RecordStream) response, endpoint)
+                : new RoutedResponse(response, endpoint);
+    }
+
+    private static boolean isReadOnly(ParameterisedStatements statements) {
+        if (statements.getStatements().isEmpty()) {
+            return false;
+        }
+        for (ParameterisedStatement statement : statements.getStatements()) {
+            if (!ParameterisedStatement.isReadOnly(statement.getStatement())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A request that could not be delivered, or that the server failed to handle, may succeed elsewhere.
+     * One that the server rejected would be rejected by every server.
+     */
+    private static boolean isUnavailable(ResultProcessingException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof HttpResponseException) {
+            return ((HttpResponseException) cause).getStatusCode() >= 500;
+        }
+        return cause instanceof IOException;
+    }
+
+    /**
+     * Tells the endpoint its request has completed when the response is closed.
+     */
+    private static class RoutedResponse implements Neo4jResponse<String> {
+
+        private final Neo4jResponse<String> response;
+        private final Endpoint endpoint;
+        private boolean closed;
+
+        RoutedResponse(Neo4jResponse<String> response, Endpoint endpoint) {
+            this.response = response;
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        public String next() {
+            return response.next();
+        }
+
+        @Override
+        public void close() {
+            try {
+                response.close();
+            } finally {
+                if (!closed) {
+                    closed = true;
+                    endpoint.requestCompleted();
+                }
+            }
+        }
+
+        @Override
+        public void initialiseScan(ResponseRecord record) {
+            response.initialiseScan(record);
+        }
+
+        @Override
+        public String[] columns() {
+            return response.columns();
+        }
+
+        @Override
+        public int rowId() {
+            return response.rowId();
+        }
+    }
+
+    private static class RoutedRecordStream extends RoutedResponse implements RecordStream {
+
+        private final RecordStream stream;
+
+        RoutedRecordStream(RecordStream stream, Endpoint endpoint) {
+            super(stream, endpoint);
+            this.stream = stream;
+        }
+
+        @Override
+        public <R> R next(ObjectMapper mapper, Class<R> type) {
+            return stream.next(mapper, type);
+        }
+
+        @Override
+        public <R> R statistics(ObjectMapper mapper, Class<R> type) {
+            return stream.statistics(mapper, type);
+        }
+    }
+}
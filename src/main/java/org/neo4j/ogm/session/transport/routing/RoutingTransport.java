@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.session.transport.routing;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+import org.neo4j.ogm.authentication.CredentialsService;
+import org.neo4j.ogm.authentication.HttpRequestAuthorization;
+import org.neo4j.ogm.authentication.Neo4jCredentials;
+import org.neo4j.ogm.authentication.UsernamePasswordCredentials;
+import org.neo4j.ogm.session.request.DefaultRequest;
+import org.neo4j.ogm.session.request.Neo4jRequest;
+import org.neo4j.ogm.session.transaction.TransactionEndpoint;
+import org.neo4j.ogm.session.transaction.TransactionManager;
+import org.neo4j.ogm.session.transport.HttpTransport;
+import org.neo4j.ogm.session.transport.Neo4jTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Talks to a cluster of Neo4j servers over HTTP, spreading reads across its read replicas.
+ * <p>
+ * Statements that run in a transaction of their own and do not update the graph are sent to one of the replicas,
+ * chosen by a {@link LoadBalancingPolicy}. Everything else is sent to the writer: statements that update the graph,
+ * and all the statements of a long transaction, including its reads, so that they see the transaction's own writes.
+ * If there are no healthy replicas, reads are sent to the writer too.
+ * </p>
+ * <p>
+ * A replica that cannot be reached, or that answers with a server error, is ejected and the read is retried on
+ * another one. Replicas are checked periodically: those that answer are put back into use, and those that don't are
+ * ejected before a read has to fail on them.
+ * </p>
+ * Replicas are expected to lag the writer, so a read sent to one may not yet see a write that has just been committed.
+ */
+public class RoutingTransport implements Neo4jTransport {
+
+    static final String AUTOCOMMIT_PATH = "db/data/transaction/commit";
+    private static final String HEALTH_CHECK_PATH = "db/data/";
+
+    private static final Logger logger = LoggerFactory.getLogger(RoutingTransport.class);
+
+    private final HttpTransport writerTransport;
+    private final Endpoint writer;
+    private final List<Endpoint> readers;
+    private final LoadBalancingPolicy policy;
+    private final CloseableHttpClient httpClient;
+    private final Neo4jCredentials credentials;
+    private final DefaultRequest readerRequest;
+    private final ScheduledExecutorService healthChecker;
+
+    /**
+     * @param writerUrl The base url of the server to which writes and long transactions are sent
+     * @param readerUrls The base urls of the read replicas
+     * @param policy The policy that chooses the replica for each read
+     * @param healthCheckInterval The time in milliseconds between health checks of the replicas; zero or less never checks
+     * @param httpClient The client with which requests are sent
+     * @param mapper The mapper with which statements and results are converted to and from JSON
+     * @param credentials The credentials to authenticate with, or <code>null</code> to read them from System properties
+     */
+    public RoutingTransport(String writerUrl, List<String> readerUrls, LoadBalancingPolicy policy, long healthCheckInterval,
+                            CloseableHttpClient httpClient, ObjectMapper mapper, UsernamePasswordCredentials credentials) {
+        this.writerTransport = new HttpTransport(writerUrl, httpClient, mapper, credentials);
+        this.writer = new Endpoint(writerUrl);
+        List<Endpoint> endpoints = new ArrayList<>();
+        for (String readerUrl : readerUrls) {
+            endpoints.add(new Endpoint(readerUrl));
+        }
+        this.readers = Collections.unmodifiableList(endpoints);
+        this.policy = policy;
+        this.httpClient = httpClient;
+        this.credentials = credentials == null ? CredentialsService.userNameAndPassword() : credentials;
+        this.readerRequest = credentials == null
+                ? new DefaultRequest(httpClient, mapper)
+                : new DefaultRequest(httpClient, mapper, credentials);
+        this.healthChecker = healthChecker(healthCheckInterval);
+    }
+
+    @Override
+    public String url() {
+        return writerTransport.url();
+    }
+
+    @Override
+    public Neo4jRequest<String> request(TransactionManager transactionManager) {
+        return new RoutingRequest(this, writerTransport.request(transactionManager), readerRequest);
+    }
+
+    @Override
+    public TransactionEndpoint transactionEndpoint() {
+        return writerTransport.transactionEndpoint();
+    }
+
+    /**
+     * @return The server to which writes and long transactions are sent
+     */
+    public Endpoint writer() {
+        return writer;
+    }
+
+    /**
+     * @return The read replicas, in the order in which they were given
+     */
+    public List<Endpoint> readers() {
+        return readers;
+    }
+
+    /**
+     * Checks every replica once, putting those that answer back into use and ejecting those that don't.
+     */
+    public void checkHealth() {
+        for (Endpoint reader : readers) {
+            boolean healthy = isReachable(reader);
+            if (healthy && !reader.isHealthy()) {
+                logger.info("Read replica {} is available again", reader.url());
+            } else if (!healthy && reader.isHealthy()) {
+                logger.warn("Read replica {} failed its health check and has been ejected", reader.url());
+            }
+            reader.setHealthy(healthy);
+        }
+    }
+
+    /**
+     * Stops checking the health of the replicas. The HTTP client is not closed.
+     */
+    public void close() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+    }
+
+    /**
+     * @param excluded Replicas that must not be chosen, because the request has already failed on them
+     * @return A healthy replica chosen by the policy, or <code>null</code> if there are none
+     */
+    Endpoint selectReader(Collection<Endpoint> excluded) {
+        List<Endpoint> candidates = new ArrayList<>(readers.size());
+        for (Endpoint reader : readers) {
+            if (reader.isHealthy() && !excluded.contains(reader)) {
+                candidates.add(reader);
+            }
+        }
+        return candidates.isEmpty() ? null : policy.select(candidates);
+    }
+
+    void eject(Endpoint reader, Exception cause) {
+        reader.setHealthy(false);
+        logger.warn("Read replica {} has been ejected: {}", reader.url(), cause.getLocalizedMessage());
+    }
+
+    private boolean isReachable(Endpoint endpoint) {
+        HttpGet request = new HttpGet(endpoint.url() + HEALTH_CHECK_PATH);
+        HttpRequestAuthorization.authorize(request, credentials);
+        try (CloseableHttpResponse response = httpClient.execute(request)) {
+            EntityUtils.consume(response.getEntity());
+            // any answer that is not a server error, even an authentication failure, shows the server is up
+            return response.getStatusLine().getStatusCode() < 500;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private ScheduledExecutorService healthChecker(long interval) {
+        if (interval <= 0 || readers.isEmpty()) {
+            return null;
+        }
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "neo4j-ogm-routing-health-check");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        scheduler.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                checkHealth();
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+        return scheduler;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+package org.neo4j.ogm.benchmark;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import org.junit.Test;
+import org.neo4j.ogm.annotation.Relationship;
+import org.neo4j.ogm.domain.forum.Member;
+import org.neo4j.ogm.domain.forum.activity.Activity;
+import org.neo4j.ogm.metadata.MetaData;
+import org.neo4j.ogm.metadata.info.ClassInfo;
+
+/**
+ * Measures how many times per millisecond the views of a class' property and relationship fields can be obtained,
+ * as the mappers and the dirty checks of the {@link org.neo4j.ogm.mapper.EntityMemo} do for every entity.
+ *
+ * Run with <code>mvn test -Pbenchmark</code>.
+ */
+public class ClassInfoViewsBenchmark {
+
+    private static final int LOOKUPS = 1000000;
+
+    private final MetaData metaData = new MetaData("org.neo4j.ogm.domain.forum");
+    private final ClassInfo memberInfo = metaData.classInfo(Member.class.getName());
+
+    @Test
+    public void lookUpViews() {
+
+        // warm up
+        lookUp(LOOKUPS / 10);
+
+        long elapsed = -System.currentTimeMillis();
+        lookUp(LOOKUPS);
+        elapsed += System.currentTimeMillis();
+
+        System.out.println(String.format("%d lookups in %d ms, %d lookups/ms",
+                LOOKUPS, elapsed, LOOKUPS / Math.max(1, elapsed)));
+    }
+
+    private void lookUp(int count) {
+        for (int lookups = 0; lookups < count; lookups += 5) {
+            assertEquals(5, memberInfo.propertyFields().size());
+            assertNotNull(memberInfo.propertyField("userName"));
+            assertNotNull(memberInfo.relationshipField("HAS_ACTIVITY", Relationship.OUTGOING, true));
+            assertEquals(1, memberInfo.candidateRelationshipFields("FOLLOWERS", Relationship.OUTGOING, false).size());
+            assertEquals(1, memberInfo.findIterableFields(Activity.class, "HAS_ACTIVITY", Relationship.OUTGOING, true).size());
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+package org.neo4j.ogm.benchmark;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import org.neo4j.ogm.domain.music.Artist;
+import org.neo4j.ogm.mapper.GraphEntityMapper;
+import org.neo4j.ogm.mapper.MappingContext;
+import org.neo4j.ogm.metadata.MetaData;
+import org.neo4j.ogm.model.GraphModel;
+import org.neo4j.ogm.model.NodeModel;
+import org.neo4j.ogm.model.RelationshipModel;
+
+/**
+ * Hydrates the same graph of artists and albums from one thread and from several threads at once, each with a
+ * session's worth of mapping context of its own, and reports how often the threads were blocked on a monitor.
+ *
+ * Run with <code>mvn test -Pbenchmark</code>.
+ */
+public class ConcurrentHydrationBenchmark {
+
+    private static final int ARTISTS = 2000;
+    private static final int ALBUMS_PER_ARTIST = 5;
+    private static final int HYDRATIONS = 20;
+    private static final int[] THREADS = { 1, 4, 8 };
+
+    private final MetaData metaData = new MetaData("org.neo4j.ogm.domain.music");
+    private final GraphModel graphModel = artistsAndAlbums();
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+    @Test
+    public void hydrateConcurrently() throws Exception {
+        if (threadMXBean.isThreadContentionMonitoringSupported()) {
+            threadMXBean.setThreadContentionMonitoringEnabled(true);
+        }
+
+        // warm up
+        run(THREADS[THREADS.length - 1]);
+
+        for (int threads : THREADS) {
+            long[] blocked = new long[2];
+            long elapsed = run(threads, blocked);
+            System.out.println(String.format("%d threads: %d hydrations each in %d ms, %d nodes/ms, blocked %d times for %d ms",
+                    threads, HYDRATIONS, elapsed, threads * (long) HYDRATIONS * graphModel.getNodes().size() / Math.max(1, elapsed),
+                    blocked[0], blocked[1]));
+        }
+    }
+
+    private long run(int threads) throws Exception {
+        return run(threads, new long[2]);
+    }
+
+    private long run(int threads, final long[] blocked) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Callable<long[]>> tasks = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            tasks.add(new Callable<long[]>() {
+                @Override
+                public long[] call() {
+                    return hydrate();
+                }
+            });
+        }
+        long elapsed = -System.currentTimeMillis();
+        List<Future<long[]>> results = executor.invokeAll(tasks);
+        elapsed += System.currentTimeMillis();
+        executor.shutdown();
+
+        for (Future<long[]> result : results) {
+            blocked[0] += result.get()[0];
+            blocked[1] += result.get()[1];
+        }
+        return elapsed;
+    }
+
+    private long[] hydrate() {
+        ThreadInfo before = threadMXBean.getThreadInfo(Thread.currentThread().getId());
+        for (int i = 0; i < HYDRATIONS; i++) {
+            List<Artist> artists = new GraphEntityMapper(metaData, new MappingContext(metaData)).map(Artist.class, graphModel);
+            assertEquals(ARTISTS, artists.size());
+        }
+        ThreadInfo after = threadMXBean.getThreadInfo(Thread.currentThread().getId());
+        return new long[] { after.getBlockedCount() - before.getBlockedCount(), after.getBlockedTime() - before.getBlockedTime() };
+    }
+
+    private GraphModel artistsAndAlbums() {
+        List<NodeModel> nodes = new ArrayList<>();
+        List<RelationshipModel> relationships = new ArrayList<>();
+        long id = 0;
+        for (int i = 0; i < ARTISTS; i++) {
+            long artistId = id++;
+            nodes.add(node(artistId, "l'artiste", "Artist " + i));
+            for (int j = 0; j < ALBUMS_PER_ARTIST; j++) {
+                long albumId = id++;
+                nodes.add(node(albumId, "l'album", "Album " + i + "-" + j));
+
+                RelationshipModel relationship = new RelationshipModel();
+                relationship.setId(albumId);
+                relationship.setType("HAS-ALBUM");
+                relationship.setStartNode(artistId);
+                relationship.setEndNode(albumId);
+                relationships.add(relationship);
+            }
+        }
+        GraphModel graphModel = new GraphModel();
+        graphModel.setNodes(nodes.toArray(new NodeModel[nodes.size()]));
+        graphModel.setRelationships(relationships.toArray(new RelationshipModel[relationships.size()]));
+        return graphModel;
+    }
+
+    private NodeModel node(long id, String label, String name) {
+        NodeModel node = new NodeModel();
+        node.setId(id);
+        node.setLabels(new String[] { label });
+        node.setProperties(Collections.<String, Object>singletonMap("name", name));
+        return node;
+    }
+}
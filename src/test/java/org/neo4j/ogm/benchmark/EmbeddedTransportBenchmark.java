@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+package org.neo4j.ogm.benchmark;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.neo4j.ogm.domain.music.Album;
+import org.neo4j.ogm.domain.music.Artist;
+import org.neo4j.ogm.session.Session;
+import org.neo4j.ogm.session.SessionFactory;
+import org.neo4j.ogm.session.transport.embedded.EmbeddedTransport;
+import org.neo4j.ogm.testutil.Neo4jIntegrationTestRule;
+
+/**
+ * Compares the HTTP transport with the {@link EmbeddedTransport} on the same in-process database, saving and
+ * loading artists and their albums from the music domain.
+ *
+ * Run with <code>mvn test -Pbenchmark</code>.
+ */
+public class EmbeddedTransportBenchmark {
+
+    @ClassRule
+    public static Neo4jIntegrationTestRule databaseServerRule = new Neo4jIntegrationTestRule();
+
+    private static final int ARTISTS = 100;
+    private static final int ALBUMS = 5;
+    private static final int ITERATIONS = 5;
+
+    private static SessionFactory sessionFactory;
+
+    @BeforeClass
+    public static void init() {
+        sessionFactory = new SessionFactory("org.neo4j.ogm.domain.music");
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    public void compareHttpAndEmbeddedTransports() {
+
+        // warm up
+        for (int i = 0; i < ITERATIONS; i++) {
+            run(http());
+            run(embedded());
+        }
+
+        long http = -System.currentTimeMillis();
+        for (int i = 0; i < ITERATIONS; i++) {
+            run(http());
+        }
+        http += System.currentTimeMillis();
+
+        long embedded = -System.currentTimeMillis();
+        for (int i = 0; i < ITERATIONS; i++) {
+            run(embedded());
+        }
+        embedded += System.currentTimeMillis();
+
+        System.out.println(String.format("%d artists with %d albums each, saved and loaded x %d: HTTP %d ms, embedded %d ms",
+                ARTISTS, ALBUMS, ITERATIONS, http, embedded));
+    }
+
+    private Session http() {
+        return sessionFactory.openSession(databaseServerRule.url());
+    }
+
+    private Session embedded() {
+        return sessionFactory.openSession(new EmbeddedTransport(databaseServerRule.getGraphDatabaseService()));
+    }
+
+    private void run(Session session) {
+        List<Artist> artists = new ArrayList<>();
+        for (int i = 0; i < ARTISTS; i++) {
+            Artist artist = new Artist("Artist " + i);
+            for (int j = 0; j < ALBUMS; j++) {
+                Album album = new Album("Album " + j);
+                album.setArtist(artist);
+                artist.getAlbums().add(album);
+            }
+            artists.add(artist);
+        }
+        session.save(artists);
+
+        session.clear();
+        assertEquals(ARTISTS, session.loadAll(Artist.class, 1).size());
+        assertEquals(ARTISTS * ALBUMS, session.loadAll(Album.class, 1).size());
+
+        session.purgeDatabase();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+package org.neo4j.ogm.benchmark;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import org.neo4j.ogm.annotation.Relationship;
+import org.neo4j.ogm.domain.music.Album;
+import org.neo4j.ogm.domain.music.Artist;
+import org.neo4j.ogm.entityaccess.DefaultEntityAccessStrategy;
+import org.neo4j.ogm.entityaccess.EntityAccessStrategy;
+import org.neo4j.ogm.metadata.MetaData;
+import org.neo4j.ogm.metadata.info.ClassInfo;
+
+/**
+ * Measures how many readers and writers the {@link DefaultEntityAccessStrategy} can look up per millisecond, from
+ * one thread and from several threads at once, as the mappers of concurrent sessions do.
+ *
+ * Run with <code>mvn test -Pbenchmark</code>.
+ */
+public class EntityAccessBenchmark {
+
+    private static final int LOOKUPS = 2000000;
+    private static final int[] THREADS = { 1, 4, 8 };
+
+    private final MetaData metaData = new MetaData("org.neo4j.ogm.domain.music");
+    private final ClassInfo artistInfo = metaData.classInfo(Artist.class.getName());
+    private final ClassInfo albumInfo = metaData.classInfo(Album.class.getName());
+
+    @Test
+    public void lookUpAccessorsConcurrently() throws Exception {
+
+        // warm up
+        run(THREADS[THREADS.length - 1]);
+
+        for (int threads : THREADS) {
+            long elapsed = run(threads);
+            System.out.println(String.format("%d threads: %d lookups each in %d ms, %d lookups/ms",
+                    threads, LOOKUPS, elapsed, threads * (long) LOOKUPS / Math.max(1, elapsed)));
+        }
+    }
+
+    private long run(int threads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            tasks.add(new Callable<Integer>() {
+                @Override
+                public Integer call() {
+                    return lookUp();
+                }
+            });
+        }
+        long elapsed = -System.currentTimeMillis();
+        List<Future<Integer>> results = executor.invokeAll(tasks);
+        elapsed += System.currentTimeMillis();
+        executor.shutdown();
+
+        for (Future<Integer> result : results) {
+            assertEquals(LOOKUPS, (int) result.get());
+        }
+        return elapsed;
+    }
+
+    private int lookUp() {
+        // each session's mappers have their own strategy
+        EntityAccessStrategy strategy = new DefaultEntityAccessStrategy();
+        Artist artist = new Artist();
+        int lookups = 0;
+        while (lookups < LOOKUPS) {
+            assertNotNull(strategy.getPropertyWriter(albumInfo, "name"));
+            assertNotNull(strategy.getPropertyReader(artistInfo, "name"));
+            assertNotNull(strategy.getRelationalWriter(albumInfo, "HAS-ALBUM", Relationship.INCOMING, artist));
+            assertNotNull(strategy.getIterableWriter(artistInfo, Album.class, "HAS-ALBUM", Relationship.OUTGOING));
+            assertEquals(3, strategy.getRelationalReaders(albumInfo).size());
+            lookups += 5;
+        }
+        return lookups;
+    }
+}
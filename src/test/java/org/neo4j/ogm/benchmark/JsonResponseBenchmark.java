@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+package org.neo4j.ogm.benchmark;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.neo4j.ogm.model.GraphModel;
+import org.neo4j.ogm.session.response.GraphModelResponse;
+import org.neo4j.ogm.session.response.JsonResponse;
+import org.neo4j.ogm.session.response.Neo4jResponse;
+import org.neo4j.ogm.session.response.StreamingJsonResponse;
+
+/**
+ * Compares the delimiter-based {@link JsonResponse} with the {@link StreamingJsonResponse} on a large
+ * graph-format response whose records embed the <code>"graph</code> scan token in their property values.
+ *
+ * Run with <code>mvn test -Pbenchmark</code>.
+ */
+public class JsonResponseBenchmark {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private static final int RECORDS = 5000;
+    private static final int ITERATIONS = 10;
+
+    private static byte[] response;
+
+    @BeforeClass
+    public static void createResponse() {
+        StringBuilder sb = new StringBuilder("{\"results\":[{\"columns\":[\"p\"],\"data\":[");
+        for (int i = 0; i < RECORDS; i++) {
+            if (i > 0) {
+                sb.append(",");
+            }
+            long a = 2 * i;
+            long b = 2 * i + 1;
+            sb.append("{\"graph\":{\"nodes\":[")
+                    .append("{\"id\":\"").append(a).append("\",\"labels\":[\"Person\"],\"properties\":{\"name\":\"person-").append(a)
+                    .append("\",\"bio\":\"{\\\"graph\\\": a biography that happens to contain the scan token\"}},")
+                    .append("{\"id\":\"").append(b).append("\",\"labels\":[\"Person\"],\"properties\":{\"name\":\"person-").append(b).append("\"}}],")
+                    .append("\"relationships\":[{\"id\":\"").append(i).append("\",\"type\":\"KNOWS\",\"startNode\":\"").append(a)
+                    .append("\",\"endNode\":\"").append(b).append("\",\"properties\":{\"since\":2015}}]}}");
+        }
+        sb.append("]}],\"errors\":[]}");
+        response = sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void compareDelimiterAndStreamingParsers() {
+
+        // warm up
+        for (int i = 0; i < ITERATIONS; i++) {
+            assertEquals(RECORDS, parse(new JsonResponse(new ByteArrayInputStream(response))));
+            assertEquals(RECORDS, parse(new StreamingJsonResponse(new ByteArrayInputStream(response))));
+        }
+
+        long scanner = -System.currentTimeMillis();
+        for (int i = 0; i < ITERATIONS; i++) {
+            parse(new JsonResponse(new ByteArrayInputStream(response)));
+        }
+        scanner += System.currentTimeMillis();
+
+        long streaming = -System.currentTimeMillis();
+        for (int i = 0; i < ITERATIONS; i++) {
+            parse(new StreamingJsonResponse(new ByteArrayInputStream(response)));
+        }
+        streaming += System.currentTimeMillis();
+
+        System.out.println(String.format("%d records (%d bytes) x %d: JsonResponse %d ms, StreamingJsonResponse %d ms",
+                RECORDS, response.length, ITERATIONS, scanner, streaming));
+    }
+
+    private int parse(Neo4jResponse<String> jsonResponse) {
+        int count = 0;
+        try (Neo4jResponse<GraphModel> graphModelResponse = new GraphModelResponse(jsonResponse, mapper)) {
+            while (graphModelResponse.next() != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
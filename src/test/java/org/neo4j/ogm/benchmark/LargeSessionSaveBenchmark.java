@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+package org.neo4j.ogm.benchmark;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.neo4j.ogm.cypher.compiler.CompilationMode;
+import org.neo4j.ogm.domain.music.Album;
+import org.neo4j.ogm.domain.music.Artist;
+import org.neo4j.ogm.session.Neo4jSession;
+import org.neo4j.ogm.session.SessionFactory;
+import org.neo4j.ogm.session.transport.embedded.EmbeddedTransport;
+import org.neo4j.ogm.testutil.Neo4jIntegrationTestRule;
+
+/**
+ * Measures the cost of saving a single entity into sessions that already hold increasingly many relationships.
+ * Each save should cost the same whatever the size of the session, since only the relationships of the nodes it
+ * touches are consulted.
+ *
+ * Run with <code>mvn test -Pbenchmark</code>.
+ */
+public class LargeSessionSaveBenchmark {
+
+    @ClassRule
+    public static Neo4jIntegrationTestRule databaseServerRule = new Neo4jIntegrationTestRule();
+
+    private static final int ALBUMS_PER_ARTIST = 1000;
+    private static final int[] SESSION_ARTISTS = { 0, 1, 10, 50 };
+    private static final int SAVES = 200;
+
+    private static SessionFactory sessionFactory;
+
+    @BeforeClass
+    public static void init() {
+        sessionFactory = new SessionFactory("org.neo4j.ogm.domain.music");
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    public void saveOneEntityIntoLargeSessions() {
+
+        // warm up
+        run(SESSION_ARTISTS[SESSION_ARTISTS.length - 1]);
+
+        for (int artists : SESSION_ARTISTS) {
+            long[] times = run(artists);
+            System.out.println(String.format("session holding %d relationships: %d new entities saved in %d ms, %d updates saved in %d ms",
+                    artists * ALBUMS_PER_ARTIST, SAVES, times[0], SAVES, times[1]));
+        }
+    }
+
+    private long[] run(int artists) {
+        Neo4jSession session = (Neo4jSession) sessionFactory.openSession(new EmbeddedTransport(databaseServerRule.getGraphDatabaseService()));
+        session.setCompilationMode(CompilationMode.TEMPLATED);
+
+        for (int i = 0; i < artists; i++) {
+            Artist artist = new Artist("Artist " + i);
+            for (int j = 0; j < ALBUMS_PER_ARTIST; j++) {
+                Album album = new Album("Album " + j);
+                album.setArtist(artist);
+                artist.getAlbums().add(album);
+            }
+            session.save(artist);
+        }
+        assertEquals(artists * ALBUMS_PER_ARTIST, session.context().mappedRelationships().size());
+
+        long created = -System.currentTimeMillis();
+        Album album = null;
+        for (int i = 0; i < SAVES; i++) {
+            Artist artist = new Artist("Single " + i);
+            album = new Album("Single " + i);
+            album.setArtist(artist);
+            artist.getAlbums().add(album);
+            session.save(album);
+        }
+        created += System.currentTimeMillis();
+
+        long updated = -System.currentTimeMillis();
+        for (int i = 0; i < SAVES; i++) {
+            album.setName("Single, take " + i);
+            session.save(album);
+        }
+        updated += System.currentTimeMillis();
+
+        session.purgeDatabase();
+        return new long[] { created, updated };
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+package org.neo4j.ogm.benchmark;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.neo4j.ogm.metadata.MetaData;
+
+/**
+ * Measures how many class lookups by label, relationship type and simple class name, and how many resolutions of a
+ * node's labels to its class, {@link MetaData} can do per millisecond. The mappers make these on every node and
+ * relationship they read.
+ *
+ * Run with <code>mvn test -Pbenchmark</code>.
+ */
+public class MetaDataLookupBenchmark {
+
+    private static final int LOOKUPS = 500000;
+
+    private final MetaData metaData = new MetaData("org.neo4j.ogm.domain.forum", "org.neo4j.ogm.domain.canonical",
+            "org.neo4j.ogm.domain.cineasts.annotated", "org.neo4j.ogm.domain.music", "org.neo4j.ogm.domain.pizza",
+            "org.neo4j.ogm.domain.education", "org.neo4j.ogm.domain.social");
+
+    @Test
+    public void lookUpClasses() {
+
+        // warm up
+        lookUp(LOOKUPS / 10);
+
+        long elapsed = -System.currentTimeMillis();
+        lookUp(LOOKUPS);
+        elapsed += System.currentTimeMillis();
+
+        System.out.println(String.format("%d lookups in %d ms, %d lookups/ms",
+                LOOKUPS, elapsed, LOOKUPS / Math.max(1, elapsed)));
+    }
+
+    private void lookUp(int count) {
+        for (int lookups = 0; lookups < count; lookups += 5) {
+            assertEquals("org.neo4j.ogm.domain.forum.Member", metaData.classInfo("User").name());
+            assertEquals("org.neo4j.ogm.domain.canonical.ArbitraryRelationshipEntity", metaData.classInfo("MEMBER_OF").name());
+            assertEquals("org.neo4j.ogm.domain.forum.Topic", metaData.classInfo("Topic").name());
+            assertEquals(2, metaData.classInfoByLabelOrType("HAS").size());
+            assertEquals("org.neo4j.ogm.domain.forum.Member", metaData.resolve("Login", "User").name());
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+package org.neo4j.ogm.benchmark;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.neo4j.ogm.domain.music.Album;
+import org.neo4j.ogm.domain.music.Artist;
+import org.neo4j.ogm.entityaccess.DefaultEntityAccessStrategy;
+import org.neo4j.ogm.entityaccess.EntityAccessStrategy;
+import org.neo4j.ogm.entityaccess.MethodHandleEntityAccessStrategy;
+import org.neo4j.ogm.entityaccess.PropertyReader;
+import org.neo4j.ogm.entityaccess.PropertyWriter;
+import org.neo4j.ogm.mapper.GraphEntityMapper;
+import org.neo4j.ogm.mapper.MappingContext;
+import org.neo4j.ogm.metadata.MetaData;
+import org.neo4j.ogm.metadata.info.ClassInfo;
+import org.neo4j.ogm.model.GraphModel;
+import org.neo4j.ogm.model.NodeModel;
+import org.neo4j.ogm.model.RelationshipModel;
+
+/**
+ * Compares the reflective accessors of the {@link DefaultEntityAccessStrategy} with the method handles of the
+ * {@link MethodHandleEntityAccessStrategy}, by reading and writing properties directly and by hydrating a large
+ * graph of artists and their albums.
+ *
+ * Run with <code>mvn test -Pbenchmark</code>.
+ */
+public class PropertyAccessBenchmark {
+
+    private static final int ACCESSES = 5000000;
+    private static final int ARTISTS = 20000;
+    private static final int ALBUMS_PER_ARTIST = 5;
+    private static final int RUNS = 5;
+
+    private final MetaData metaData = new MetaData("org.neo4j.ogm.domain.music");
+    private final ClassInfo albumInfo = metaData.classInfo(Album.class.getName());
+
+    @Test
+    public void accessProperties() {
+        EntityAccessStrategy[] strategies = { new DefaultEntityAccessStrategy(), new MethodHandleEntityAccessStrategy() };
+
+        // warm up
+        for (EntityAccessStrategy strategy : strategies) {
+            access(strategy);
+        }
+
+        for (EntityAccessStrategy strategy : strategies) {
+            long best = Long.MAX_VALUE;
+            for (int run = 0; run < RUNS; run++) {
+                best = Math.min(best, access(strategy));
+            }
+            System.out.println(String.format("%s: %d reads and writes in %d ms, %d accesses/ms",
+                    strategy.getClass().getSimpleName(), ACCESSES * 3, best, ACCESSES * 3L / Math.max(1, best)));
+        }
+    }
+
+    @Test
+    public void hydrateGraph() {
+        GraphModel graphModel = artistsAndAlbums();
+        EntityAccessStrategy[] strategies = { new DefaultEntityAccessStrategy(), new MethodHandleEntityAccessStrategy() };
+
+        // warm up
+        for (EntityAccessStrategy strategy : strategies) {
+            hydrate(strategy, graphModel);
+        }
+
+        for (EntityAccessStrategy strategy : strategies) {
+            long best = Long.MAX_VALUE;
+            for (int run = 0; run < RUNS; run++) {
+                best = Math.min(best, hydrate(strategy, graphModel));
+            }
+            System.out.println(String.format("%s: %d nodes and %d relationships hydrated in %d ms",
+                    strategy.getClass().getSimpleName(), graphModel.getNodes().size(), graphModel.getRelationships().size(), best));
+        }
+    }
+
+    private long access(EntityAccessStrategy strategy) {
+        PropertyWriter nameWriter = strategy.getPropertyWriter(albumInfo, "name");
+        PropertyReader nameReader = strategy.getPropertyReader(albumInfo, "name");
+        PropertyReader idReader = strategy.getIdentityPropertyReader(albumInfo);
+
+        Album album = new Album();
+        String[] names = { "Help!", "Revolver", "Abbey Road" };
+        int length = 0;
+
+        long elapsed = -System.currentTimeMillis();
+        for (int i = 0; i < ACCESSES; i++) {
+            nameWriter.write(album, names[i % names.length]);
+            length += ((String) nameReader.read(album)).length();
+            if (idReader.read(album) != null) {
+                length--;
+            }
+        }
+        elapsed += System.currentTimeMillis();
+
+        assertEquals(names[(ACCESSES - 1) % names.length], album.getName());
+        assertTrue(length > 0);
+        return elapsed;
+    }
+
+    private long hydrate(EntityAccessStrategy strategy, GraphModel graphModel) {
+        MappingContext mappingContext = new MappingContext(metaData);
+        mappingContext.setEntityAccessStrategy(strategy);
+
+        long elapsed = -System.currentTimeMillis();
+        List<Artist> artists = new GraphEntityMapper(metaData, mappingContext).map(Artist.class, graphModel);
+        elapsed += System.currentTimeMillis();
+
+        assertEquals(ARTISTS, artists.size());
+        assertEquals(ALBUMS_PER_ARTIST, artists.get(0).getAlbums().size());
+        return elapsed;
+    }
+
+    private GraphModel artistsAndAlbums() {
+        List<NodeModel> nodes = new ArrayList<>();
+        List<RelationshipModel> relationships = new ArrayList<>();
+        long id = 0;
+        for (int i = 0; i < ARTISTS; i++) {
+            long artistId = id++;
+            nodes.add(node(artistId, "l'artiste", "Artist " + i));
+            for (int j = 0; j < ALBUMS_PER_ARTIST; j++) {
+                long albumId = id++;
+                nodes.add(node(albumId, "l'album", "Album " + i + "-" + j));
+
+                RelationshipModel relationship = new RelationshipModel();
+                relationship.setId(albumId);
+                relationship.setType("HAS-ALBUM");
+                relationship.setStartNode(artistId);
+                relationship.setEndNode(albumId);
+                relationships.add(relationship);
+            }
+        }
+        GraphModel graphModel = new GraphModel();
+        graphModel.setNodes(nodes.toArray(new NodeModel[nodes.size()]));
+        graphModel.setRelationships(relationships.toArray(new RelationshipModel[relationships.size()]));
+        return graphModel;
+    }
+
+    private NodeModel node(long id, String label, String name) {
+        NodeModel node = new NodeModel();
+        node.setId(id);
+        node.setLabels(new String[] { label });
+        node.setProperties(Collections.<String, Object>singletonMap("name", name));
+        return node;
+    }
+}
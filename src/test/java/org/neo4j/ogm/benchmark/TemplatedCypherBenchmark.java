@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.benchmark;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.neo4j.ogm.cypher.compiler.CompilationMode;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatement;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatements;
+import org.neo4j.ogm.domain.music.Album;
+import org.neo4j.ogm.domain.music.Artist;
+import org.neo4j.ogm.session.Neo4jSession;
+import org.neo4j.ogm.session.SessionFactory;
+import org.neo4j.ogm.session.request.Neo4jRequest;
+import org.neo4j.ogm.session.response.Neo4jResponse;
+import org.neo4j.ogm.session.transaction.TransactionEndpoint;
+import org.neo4j.ogm.session.transaction.TransactionManager;
+import org.neo4j.ogm.session.transport.Neo4jTransport;
+import org.neo4j.ogm.session.transport.embedded.EmbeddedTransport;
+import org.neo4j.ogm.testutil.Neo4jIntegrationTestRule;
+
+/**
+ * Compares the {@link CompilationMode#SINGLE_STATEMENT} and {@link CompilationMode#TEMPLATED} compilation modes,
+ * creating, updating and unlinking artists and their albums from the music domain one artist at a time, and
+ * creating a single artist with many albums.
+ * <p>
+ * The database caches query plans by statement text, so the plan cache hit rate is estimated by replaying the
+ * statements sent through a least-recently-used cache of the database's default size of 1000 plans.
+ * </p>
+ * Run with <code>mvn test -Pbenchmark</code>.
+ */
+public class TemplatedCypherBenchmark {
+
+    @ClassRule
+    public static Neo4jIntegrationTestRule databaseServerRule = new Neo4jIntegrationTestRule();
+
+    private static final int ARTISTS = 500;
+    private static final int MAX_ALBUMS = 5;
+    private static final int PLAN_CACHE_SIZE = 1000;
+    private static final int BULK_ALBUMS = 50;
+
+    private static SessionFactory sessionFactory;
+
+    @BeforeClass
+    public static void init() {
+        sessionFactory = new SessionFactory("org.neo4j.ogm.domain.music");
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    public void compareCompilationModes() {
+
+        // warm up
+        run(CompilationMode.SINGLE_STATEMENT);
+        run(CompilationMode.TEMPLATED);
+
+        report(CompilationMode.SINGLE_STATEMENT, run(CompilationMode.SINGLE_STATEMENT));
+        report(CompilationMode.TEMPLATED, run(CompilationMode.TEMPLATED));
+    }
+
+    @Test
+    public void compareBulkCreation() {
+        // a single statement for thousands of albums takes too long to plan, or runs out of memory as it is built
+        bulkCreate(CompilationMode.SINGLE_STATEMENT, BULK_ALBUMS);
+        bulkCreate(CompilationMode.TEMPLATED, BULK_ALBUMS);
+        bulkCreate(CompilationMode.TEMPLATED, BULK_ALBUMS * 100);
+    }
+
+    private void bulkCreate(CompilationMode compilationMode, int albums) {
+        Neo4jSession session = (Neo4jSession) sessionFactory.openSession(new RecordingTransport(new PlanCache()));
+        session.setCompilationMode(compilationMode);
+
+        Artist artist = new Artist("Prolific");
+        for (int i = 0; i < albums; i++) {
+            Album album = new Album("Album " + i);
+            album.setArtist(artist);
+            artist.getAlbums().add(album);
+        }
+
+        long elapsed = -System.currentTimeMillis();
+        session.save(artist);
+        elapsed += System.currentTimeMillis();
+
+        System.out.println(String.format("%s: 1 artist with %d albums created in %d ms", compilationMode, albums, elapsed));
+        session.purgeDatabase();
+    }
+
+    private PlanCache run(CompilationMode compilationMode) {
+        PlanCache planCache = new PlanCache();
+        Neo4jSession session = (Neo4jSession) sessionFactory.openSession(new RecordingTransport(planCache));
+        session.setCompilationMode(compilationMode);
+
+        planCache.elapsed = -System.currentTimeMillis();
+        for (int i = 0; i < ARTISTS; i++) {
+            Artist artist = new Artist("Artist " + i);
+            for (int j = 0; j <= i % MAX_ALBUMS; j++) {
+                Album album = new Album("Album " + j);
+                album.setArtist(artist);
+                artist.getAlbums().add(album);
+            }
+            session.save(artist);
+
+            artist.setName("Renamed " + i);
+            session.save(artist);
+
+            Album album = artist.getAlbums().iterator().next();
+            album.setArtist(null);
+            artist.getAlbums().remove(album);
+            session.save(artist);
+        }
+        planCache.elapsed += System.currentTimeMillis();
+
+        session.clear();
+        assertEquals(ARTISTS, session.loadAll(Artist.class, 0).size());
+        session.purgeDatabase();
+
+        return planCache;
+    }
+
+    private void report(CompilationMode compilationMode, PlanCache planCache) {
+        System.out.println(String.format("%s: %d artists created, updated and unlinked in %d ms, %d statements with %d distinct texts, estimated plan cache hit rate %.1f%%",
+                compilationMode, ARTISTS, planCache.elapsed, planCache.statements, planCache.distinct, 100.0 * planCache.hits / planCache.statements));
+    }
+
+    /**
+     * Replays statement texts through a least-recently-used cache of {@link #PLAN_CACHE_SIZE} entries.
+     */
+    private static class PlanCache {
+
+        private final Map<String, Boolean> cache = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > PLAN_CACHE_SIZE;
+            }
+        };
+        private final Map<String, Boolean> seen = new LinkedHashMap<>();
+
+        private long elapsed;
+        private int statements;
+        private int hits;
+        private int distinct;
+
+        synchronized void planned(String statement) {
+            statements++;
+            if (cache.put(statement, Boolean.TRUE) != null) {
+                hits++;
+            }
+            if (seen.put(statement, Boolean.TRUE) == null) {
+                distinct++;
+            }
+        }
+    }
+
+    /**
+     * An {@link EmbeddedTransport} that replays the statements sent by the session through a {@link PlanCache}.
+     */
+    private static class RecordingTransport implements Neo4jTransport {
+
+        private final EmbeddedTransport transport = new EmbeddedTransport(databaseServerRule.getGraphDatabaseService());
+        private final PlanCache planCache;
+
+        RecordingTransport(PlanCache planCache) {
+            this.planCache = planCache;
+        }
+
+        @Override
+        public String url() {
+            return transport.url();
+        }
+
+        @Override
+        public Neo4jRequest<String> request(TransactionManager transactionManager) {
+            final Neo4jRequest<String> request = transport.request(transactionManager);
+            return new Neo4jRequest<String>() {
+                @Override
+                public Neo4jResponse<String> execute(String url, ParameterisedStatements statements) {
+                    for (ParameterisedStatement statement : statements.getStatements()) {
+                        planCache.planned(statement.getStatement());
+                    }
+                    return request.execute(url, statements);
+                }
+            };
+        }
+
+        @Override
+        public TransactionEndpoint transactionEndpoint() {
+            return transport.transactionEndpoint();
+        }
+    }
+}
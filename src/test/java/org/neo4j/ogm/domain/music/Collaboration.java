@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+package org.neo4j.ogm.domain.music;
+
+import org.neo4j.ogm.annotation.EndNode;
+import org.neo4j.ogm.annotation.Property;
+import org.neo4j.ogm.annotation.RelationshipEntity;
+import org.neo4j.ogm.annotation.StartNode;
+
+/**
+ * A relationship entity with a property whose name must be quoted in Cypher.
+ */
+@RelationshipEntity(type = "COLLABORATED-WITH")
+public class Collaboration {
+
+	private Long id;
+
+	@StartNode
+	private Artist artist;
+
+	@EndNode
+	private Artist collaborator;
+
+	@Property(name = "year-released")
+	private int year;
+
+	public Collaboration() {
+	}
+
+	public Collaboration(Artist artist, Artist collaborator, int year) {
+		this.artist = artist;
+		this.collaborator = collaborator;
+		this.year = year;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Artist getArtist() {
+		return artist;
+	}
+
+	public Artist getCollaborator() {
+		return collaborator;
+	}
+
+	public int getYear() {
+		return year;
+	}
+}
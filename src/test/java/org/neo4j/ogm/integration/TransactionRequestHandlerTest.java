@@ -33,6 +33,9 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 /**
@@ -57,6 +60,40 @@ public class TransactionRequestHandlerTest
         }
     }
 
+    @Test
+    public void shouldNotBeginTransactionUntilFirstStatementIsSent() {
+        SessionFactory sessionFactory = new SessionFactory();
+        session = sessionFactory.openSession(neo4jRule.url());
+
+        try (Transaction tx = session.beginTransaction()) {
+            String beginUrl = tx.url();
+            assertFalse(((LongTransaction) tx).isBegun());
+
+            session.query("CREATE (n:Lazy)", Utils.map());
+
+            assertTrue(((LongTransaction) tx).isBegun());
+            assertNotEquals(beginUrl, tx.url());
+            assertTrue(tx.url().startsWith(beginUrl + "/"));
+
+            tx.commit();
+        }
+        Number count = (Number) session.query("MATCH (n:Lazy) RETURN count(n) AS c", Utils.map()).queryResults().iterator().next().get("c");
+        assertEquals(1, count.intValue());
+    }
+
+    @Test
+    public void shouldCommitAndRollbackTransactionsThatWereNeverBegun() {
+        TransactionManager txRequestHandler = new TransactionManager(httpClient, neo4jRule.url());
+        try (Transaction tx = txRequestHandler.openTransaction(null)) {
+            tx.commit();
+            assertEquals(Transaction.Status.COMMITTED, tx.status());
+        }
+        try (Transaction tx = txRequestHandler.openTransaction(null)) {
+            tx.rollback();
+            assertEquals(Transaction.Status.ROLLEDBACK, tx.status());
+        }
+    }
+
     @Test
     public void testCreateConcurrentTransactions() {
 
@@ -114,6 +151,8 @@ public class TransactionRequestHandlerTest
         session = sessionFactory.openSession(neo4jRule.url());
 
         try (Transaction tx = session.beginTransaction()) {
+            // Begin the transaction on the server with its first statement
+            session.query("MATCH (n) RETURN count(n)", Utils.map());
             // Wait for transaction to timeout on server
             Thread.sleep(3000);
             // Try to purge database using timed-out transaction
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+package org.neo4j.ogm.integration.async;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.neo4j.ogm.domain.music.Artist;
+import org.neo4j.ogm.session.AsyncSession;
+import org.neo4j.ogm.session.Session;
+import org.neo4j.ogm.session.SessionFactory;
+import org.neo4j.ogm.testutil.Neo4jIntegrationTestRule;
+
+/**
+ * Tests of sessions whose operations run asynchronously on a shared executor.
+ */
+public class AsyncSessionTest {
+
+    @ClassRule
+    public static Neo4jIntegrationTestRule databaseServerRule = new Neo4jIntegrationTestRule();
+
+    private SessionFactory sessionFactory;
+    private ExecutorService executor;
+
+    @Before
+    public void init() {
+        sessionFactory = new SessionFactory("org.neo4j.ogm.domain.music");
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+        sessionFactory.close();
+        databaseServerRule.clearDatabase();
+    }
+
+    @Test
+    public void shouldRunOperationsOfEachSessionInOrder() throws Exception {
+        AsyncSession session = sessionFactory.openAsyncSession(databaseServerRule.url(), executor);
+
+        Future<Artist> saved = session.save(new Artist("Queen"));
+        Future<Collection<Artist>> loaded = session.loadAll(Artist.class);
+
+        assertNotNull(saved.get(10, TimeUnit.SECONDS).getId());
+        assertEquals(1, loaded.get(10, TimeUnit.SECONDS).size());
+        assertEquals("Queen", loaded.get().iterator().next().getName());
+    }
+
+    @Test
+    public void shouldShareTheExecutorBetweenManySessions() throws Exception {
+        List<AsyncSession> sessions = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            sessions.add(sessionFactory.openAsyncSession(databaseServerRule.url(), executor));
+        }
+
+        List<Future<Artist>> futures = new ArrayList<>();
+        for (int i = 0; i < 160; i++) {
+            futures.add(sessions.get(i % sessions.size()).save(new Artist("Artist " + i)));
+        }
+        for (Future<Artist> future : futures) {
+            assertNotNull(future.get(30, TimeUnit.SECONDS).getId());
+        }
+
+        AsyncSession session = sessionFactory.openAsyncSession(databaseServerRule.url(), executor);
+        assertEquals(160L, (long) session.countEntitiesOfType(Artist.class).get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldNotifyCallbacksOfTheOutcome() throws Exception {
+        AsyncSession session = sessionFactory.openAsyncSession(databaseServerRule.url(), executor);
+        final CountDownLatch latch = new CountDownLatch(2);
+        final AtomicReference<Long> count = new AtomicReference<>();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        session.submit(new AsyncSession.Operation<Long>() {
+            @Override
+            public Long apply(Session session) {
+                session.save(new Artist("Queen"));
+                return session.countEntitiesOfType(Artist.class);
+            }
+        }, new AsyncSession.Callback<Long>() {
+            @Override
+            public void onSuccess(Long result) {
+                count.set(result);
+                latch.countDown();
+            }
+
+            @Override
+            public void onFailure(Throwable cause) {
+                latch.countDown();
+            }
+        });
+
+        Future<Object> failed = session.submit(new AsyncSession.Operation<Object>() {
+            @Override
+            public Object apply(Session session) {
+                return session.query("MATCH n RETURN", Collections.<String, Object>emptyMap());
+            }
+        }, new AsyncSession.Callback<Object>() {
+            @Override
+            public void onSuccess(Object result) {
+                latch.countDown();
+            }
+
+            @Override
+            public void onFailure(Throwable cause) {
+                failure.set(cause);
+                latch.countDown();
+            }
+        });
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(1L, (long) count.get());
+        assertNotNull(failure.get());
+        try {
+            failed.get();
+            fail("Expected the invalid query to fail");
+        } catch (ExecutionException e) {
+            assertSame(failure.get(), e.getCause());
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.integration.coalescing;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.neo4j.ogm.domain.music.Album;
+import org.neo4j.ogm.domain.music.Artist;
+import org.neo4j.ogm.session.HttpClientConfiguration;
+import org.neo4j.ogm.session.Session;
+import org.neo4j.ogm.session.SessionConfiguration;
+import org.neo4j.ogm.session.SessionFactory;
+import org.neo4j.ogm.testutil.Neo4jIntegrationTestRule;
+
+/**
+ * Tests of the coalescing of identical loads made by concurrent sessions.
+ */
+public class RequestCoalescingIntegrationTest {
+
+    @ClassRule
+    public static Neo4jIntegrationTestRule databaseServerRule = new Neo4jIntegrationTestRule();
+
+    private SessionFactory sessionFactory;
+    private ExecutorService executor;
+
+    @Before
+    public void init() {
+        SessionConfiguration configuration = new SessionConfiguration();
+        configuration.setRequestCoalescingEnabled(true);
+        sessionFactory = new SessionFactory(new HttpClientConfiguration(), configuration, "org.neo4j.ogm.domain.music");
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+        sessionFactory.close();
+        databaseServerRule.clearDatabase();
+    }
+
+    @Test
+    public void shouldMapSharedLoadsIntoEachSessionsOwnEntities() throws Exception {
+        Artist queen = new Artist("Queen");
+        Album album = new Album("A Night at the Opera");
+        album.setArtist(queen);
+        queen.getAlbums().add(album);
+        sessionFactory.openSession(databaseServerRule.url()).save(queen);
+
+        final Long id = queen.getId();
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Future<Artist>> loads = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            loads.add(executor.submit(new Callable<Artist>() {
+                @Override
+                public Artist call() throws Exception {
+                    Session session = sessionFactory.openSession(databaseServerRule.url());
+                    start.await();
+                    return session.load(Artist.class, id);
+                }
+            }));
+        }
+        start.countDown();
+
+        Map<Artist, Boolean> artists = new IdentityHashMap<>();
+        Map<Album, Boolean> albums = new IdentityHashMap<>();
+        for (Future<Artist> load : loads) {
+            Artist artist = load.get(30, TimeUnit.SECONDS);
+            assertEquals("Queen", artist.getName());
+            assertEquals(1, artist.getAlbums().size());
+            artists.put(artist, true);
+            albums.put(artist.getAlbums().iterator().next(), true);
+        }
+        assertEquals(16, artists.size());
+        assertEquals(16, albums.size());
+    }
+
+    @Test
+    public void shouldNotShareLoadsBetweenSessionsWithDifferentCredentials() throws Exception {
+        Artist queen = new Artist("Queen");
+        sessionFactory.openSession(databaseServerRule.url()).save(queen);
+
+        final Long id = queen.getId();
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Future<Artist>> loads = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            final String username = "user" + i;
+            loads.add(executor.submit(new Callable<Artist>() {
+                @Override
+                public Artist call() throws Exception {
+                    Session session = sessionFactory.openSession(databaseServerRule.url(), username, "password");
+                    start.await();
+                    return session.load(Artist.class, id);
+                }
+            }));
+        }
+        start.countDown();
+
+        for (Future<Artist> load : loads) {
+            assertEquals("Queen", load.get(30, TimeUnit.SECONDS).getName());
+        }
+        assertEquals(0, sessionFactory.metrics().getRequestsCoalesced());
+    }
+
+    @Test
+    public void shouldSeeChangesMadeBeforeTheLoadWasSent() {
+        Session writer = sessionFactory.openSession(databaseServerRule.url());
+        Artist artist = new Artist("Queen");
+        writer.save(artist);
+
+        Session reader = sessionFactory.openSession(databaseServerRule.url());
+        assertEquals("Queen", reader.load(Artist.class, artist.getId()).getName());
+
+        artist.setName("Queen + Adam Lambert");
+        writer.save(artist);
+
+        Session other = sessionFactory.openSession(databaseServerRule.url());
+        assertEquals("Queen + Adam Lambert", other.load(Artist.class, artist.getId()).getName());
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+package org.neo4j.ogm.integration.embedded;
+
+import static org.junit.Assert.*;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.neo4j.ogm.cypher.query.GraphRowModelQuery;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatement;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatements;
+import org.neo4j.ogm.domain.music.Album;
+import org.neo4j.ogm.domain.music.Artist;
+import org.neo4j.ogm.session.Session;
+import org.neo4j.ogm.session.SessionFactory;
+import org.neo4j.ogm.session.Utils;
+import org.neo4j.ogm.session.response.Neo4jResponse;
+import org.neo4j.ogm.session.result.QueryStatistics;
+import org.neo4j.ogm.session.result.ResultProcessingException;
+import org.neo4j.ogm.session.transaction.Transaction;
+import org.neo4j.ogm.session.transport.HttpTransport;
+import org.neo4j.ogm.session.transport.Neo4jTransport;
+import org.neo4j.ogm.session.transport.embedded.EmbeddedTransport;
+import org.neo4j.ogm.testutil.Neo4jIntegrationTestRule;
+
+/**
+ * Tests of sessions that run their statements in an embedded database rather than over HTTP.
+ */
+public class EmbeddedTransportIntegrationTest {
+
+    @ClassRule
+    public static Neo4jIntegrationTestRule databaseServerRule = new Neo4jIntegrationTestRule();
+
+    private SessionFactory sessionFactory;
+    private Session session;
+
+    @Before
+    public void init() {
+        sessionFactory = new SessionFactory("org.neo4j.ogm.domain.music");
+        session = sessionFactory.openSession(new EmbeddedTransport(databaseServerRule.getGraphDatabaseService()));
+    }
+
+    @After
+    public void tearDown() {
+        sessionFactory.close();
+        databaseServerRule.clearDatabase();
+    }
+
+    @Test
+    public void shouldSaveAndLoadEntitiesWithTheirRelationships() {
+        Artist queen = new Artist("Queen");
+        Album album = new Album("A Night at the Opera");
+        album.setArtist(queen);
+        queen.getAlbums().add(album);
+        session.save(queen);
+
+        assertNotNull(queen.getId());
+        assertNotNull(album.getId());
+
+        Session other = sessionFactory.openSession(new EmbeddedTransport(databaseServerRule.getGraphDatabaseService()));
+        Artist loaded = other.load(Artist.class, queen.getId());
+        assertEquals("Queen", loaded.getName());
+        assertEquals(1, loaded.getAlbums().size());
+        assertEquals("A Night at the Opera", loaded.getAlbums().iterator().next().getName());
+
+        Collection<Album> albums = other.loadAll(Album.class);
+        assertEquals(1, albums.size());
+        assertEquals("Queen", albums.iterator().next().getArtist().getName());
+    }
+
+    @Test
+    public void shouldSeeTheSameDataAsTheHttpTransport() {
+        session.save(new Artist("Queen"));
+
+        Session http = sessionFactory.openSession(databaseServerRule.url());
+        assertEquals(1, http.loadAll(Artist.class).size());
+
+        http.save(new Artist("U2"));
+        assertEquals(2, session.countEntitiesOfType(Artist.class));
+    }
+
+    @Test
+    public void shouldReturnRowsInTheSameShapeAsTheHttpTransport() {
+        session.save(new Artist("Queen"));
+        String cypher = "MATCH (a) RETURN a, a.name AS name, id(a) AS id, [1, 2] AS numbers";
+
+        Map<String, Object> embedded = session.query(cypher, Utils.map()).queryResults().iterator().next();
+        Map<String, Object> http = sessionFactory.openSession(databaseServerRule.url()).query(cypher, Utils.map()).queryResults().iterator().next();
+
+        assertEquals(http, embedded);
+        assertEquals(http.get("id").getClass(), embedded.get("id").getClass());
+    }
+
+    @Test
+    public void shouldWriteRecordsAsTheJsonOfTheHttpTransport() throws Exception {
+        Artist queen = new Artist("Queen");
+        Album album = new Album("A Night at the Opera");
+        album.setArtist(queen);
+        queen.getAlbums().add(album);
+        session.save(queen);
+        ParameterisedStatement statement = new GraphRowModelQuery("MATCH (a)-[r]->(b) RETURN a, r, b.name AS name, [1, 2] AS numbers", Utils.map());
+
+        try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
+            HttpTransport http = new HttpTransport(databaseServerRule.url(), httpClient, new ObjectMapper(), null);
+            EmbeddedTransport embedded = new EmbeddedTransport(databaseServerRule.getGraphDatabaseService());
+            for (Neo4jResponse.ResponseRecord record : Neo4jResponse.ResponseRecord.values()) {
+                assertEquals(record.name(), records(http, statement, record), records(embedded, statement, record));
+            }
+        }
+    }
+
+    private String records(Neo4jTransport transport, ParameterisedStatement statement, Neo4jResponse.ResponseRecord record) throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        StringBuilder records = new StringBuilder();
+        String url = transport.url() + "/db/data/transaction/commit";
+        try (Neo4jResponse<String> response = transport.request(null).execute(url, new ParameterisedStatements(Collections.singletonList(statement)))) {
+            response.initialiseScan(record);
+            String json;
+            while ((json = response.next()) != null) {
+                records.append(mapper.readTree(json)).append('\n');
+            }
+        }
+        return records.toString();
+    }
+
+    @Test
+    public void shouldReportQueryStatistics() {
+        QueryStatistics statistics = session.query("CREATE (:Band {name: 'Queen'}), (:Band {name: 'U2'})", Utils.map()).queryStatistics();
+        assertEquals(2, statistics.getNodesCreated());
+        assertEquals(2, statistics.getPropertiesSet());
+        assertTrue(statistics.containsUpdates());
+    }
+
+    @Test
+    public void shouldCommitLongTransactions() {
+        try (Transaction tx = session.beginTransaction()) {
+            session.save(new Artist("Queen"));
+            session.save(new Artist("U2"));
+            assertEquals(2, session.countEntitiesOfType(Artist.class));
+            tx.commit();
+        }
+        assertEquals(2, sessionFactory.openSession(databaseServerRule.url()).loadAll(Artist.class).size());
+    }
+
+    @Test
+    public void shouldRollbackLongTransactions() {
+        try (Transaction tx = session.beginTransaction()) {
+            session.save(new Artist("Queen"));
+            tx.rollback();
+        }
+        assertEquals(0, session.countEntitiesOfType(Artist.class));
+    }
+
+    @Test
+    public void shouldRollbackTransactionsWhoseStatementsFail() {
+        try (Transaction tx = session.beginTransaction()) {
+            session.save(new Artist("Queen"));
+            session.query("GARBAGE", Utils.map());
+            fail("Should have caught exception");
+        } catch (ResultProcessingException expected) {
+            // the failed statement's transaction is already closed, so closing it again reports an error too
+        }
+        assertEquals(0, session.countEntitiesOfType(Artist.class));
+    }
+
+    @Test
+    public void shouldDeleteEntities() {
+        Artist queen = new Artist("Queen");
+        session.save(queen);
+        session.delete(queen);
+
+        Iterator<Map<String, Object>> results = session.query("MATCH (a) RETURN count(a) AS c", Utils.map()).queryResults().iterator();
+        assertEquals(0, results.next().get("c"));
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+package org.neo4j.ogm.integration.pool;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.neo4j.ogm.domain.music.Artist;
+import org.neo4j.ogm.session.ConnectionPoolStatistics;
+import org.neo4j.ogm.session.HttpClientConfiguration;
+import org.neo4j.ogm.session.Session;
+import org.neo4j.ogm.session.SessionFactory;
+import org.neo4j.ogm.testutil.Neo4jIntegrationTestRule;
+
+/**
+ * Tests of the HTTP connection pool shared by the sessions of a factory.
+ */
+public class ConnectionPoolIntegrationTest {
+
+    @ClassRule
+    public static Neo4jIntegrationTestRule databaseServerRule = new Neo4jIntegrationTestRule();
+
+    private SessionFactory sessionFactory;
+
+    @Before
+    public void init() {
+        HttpClientConfiguration configuration = new HttpClientConfiguration();
+        configuration.setMaxTotalConnections(8);
+        configuration.setMaxConnectionsPerRoute(4);
+        configuration.setConnectTimeout(5000);
+        configuration.setSocketTimeout(30000);
+        sessionFactory = new SessionFactory(configuration, "org.neo4j.ogm.domain.music");
+    }
+
+    @After
+    public void tearDown() {
+        sessionFactory.close();
+        databaseServerRule.clearDatabase();
+    }
+
+    @Test
+    public void shouldReportTheConfiguredPoolSize() {
+        ConnectionPoolStatistics statistics = sessionFactory.connectionPoolStatistics();
+        assertEquals(8, statistics.getMax());
+        assertEquals(0, statistics.getLeased());
+        assertEquals(0, statistics.getPending());
+    }
+
+    @Test
+    public void shouldOnlyEvictConnectionsWhenAskedTo() {
+        assertFalse(evictorRunning());
+
+        HttpClientConfiguration configuration = new HttpClientConfiguration();
+        configuration.setIdleConnectionEvictionInterval(1000);
+        SessionFactory evicting = new SessionFactory(configuration, "org.neo4j.ogm.domain.music");
+        assertTrue(evictorRunning());
+
+        evicting.close();
+    }
+
+    @Test
+    public void shouldReturnConnectionsToThePoolWhenRequestsComplete() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            final String name = "Artist " + i;
+            futures.add(executor.submit(new Callable<Long>() {
+                @Override
+                public Long call() {
+                    Session session = sessionFactory.openSession(databaseServerRule.url());
+                    Artist artist = new Artist(name);
+                    session.save(artist);
+                    return artist.getId();
+                }
+            }));
+        }
+        for (Future<Long> future : futures) {
+            assertNotNull(future.get());
+        }
+        executor.shutdown();
+
+        ConnectionPoolStatistics statistics = sessionFactory.connectionPoolStatistics();
+        assertEquals(0, statistics.getLeased());
+        assertEquals(0, statistics.getPending());
+        assertTrue(statistics.getAvailable() > 0);
+        assertTrue(statistics.getAvailable() <= 4);
+
+        Session session = sessionFactory.openSession(databaseServerRule.url());
+        assertEquals(64, session.loadAll(Artist.class).size());
+    }
+
+    private static boolean evictorRunning() {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.isAlive() && thread.getName().equals("neo4j-ogm-connection-evictor")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
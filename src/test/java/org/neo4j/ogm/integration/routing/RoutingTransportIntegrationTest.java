@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.integration.routing;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatement;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatements;
+import org.neo4j.ogm.domain.music.Artist;
+import org.neo4j.ogm.session.HttpClientConfiguration;
+import org.neo4j.ogm.session.Session;
+import org.neo4j.ogm.session.SessionConfiguration;
+import org.neo4j.ogm.session.SessionFactory;
+import org.neo4j.ogm.session.Utils;
+import org.neo4j.ogm.session.response.Neo4jResponse;
+import org.neo4j.ogm.session.transaction.Transaction;
+import org.neo4j.ogm.session.transport.routing.LeastOutstandingRequestsPolicy;
+import org.neo4j.ogm.session.transport.routing.RoundRobinPolicy;
+import org.neo4j.ogm.session.transport.routing.RoutingTransport;
+import org.neo4j.ogm.testutil.Neo4jIntegrationTestRule;
+import org.neo4j.ogm.testutil.TestServer;
+
+/**
+ * Tests of the routing of reads to replicas and writes to the writer.
+ */
+public class RoutingTransportIntegrationTest {
+
+    private static final String WHICH_SERVER = "MATCH (m:Marker) RETURN m.server AS server";
+
+    @ClassRule
+    public static Neo4jIntegrationTestRule writer = new Neo4jIntegrationTestRule();
+
+    @ClassRule
+    public static Neo4jIntegrationTestRule reader1 = new Neo4jIntegrationTestRule();
+
+    @ClassRule
+    public static Neo4jIntegrationTestRule reader2 = new Neo4jIntegrationTestRule();
+
+    private SessionFactory sessionFactory;
+
+    @Before
+    public void init() {
+        SessionConfiguration configuration = new SessionConfiguration();
+        // health checks are run explicitly by the tests that need them
+        configuration.setRoutingHealthCheckInterval(0);
+        sessionFactory = new SessionFactory(new HttpClientConfiguration(), configuration, "org.neo4j.ogm.domain.music");
+
+        mark(writer, "writer");
+        mark(reader1, "reader-1");
+        mark(reader2, "reader-2");
+    }
+
+    @After
+    public void tearDown() {
+        sessionFactory.close();
+        writer.clearDatabase();
+        reader1.clearDatabase();
+        reader2.clearDatabase();
+    }
+
+    @Test
+    public void shouldSendReadsToEachReplicaInTurn() {
+        RoutingTransport transport = sessionFactory.routingTransport(writer.url(), Arrays.asList(reader1.url(), reader2.url()), new RoundRobinPolicy());
+        Session session = sessionFactory.openSession(transport);
+
+        assertEquals("reader-1", whichServer(session));
+        assertEquals("reader-2", whichServer(session));
+        assertEquals("reader-1", whichServer(session));
+        assertEquals("reader-2", whichServer(session));
+
+        assertEquals(2, transport.readers().get(0).requestsSent());
+        assertEquals(2, transport.readers().get(1).requestsSent());
+        assertEquals(0, transport.writer().requestsSent());
+        assertEquals(0, transport.readers().get(0).outstandingRequests());
+    }
+
+    @Test
+    public void shouldSendWritesToTheWriter() {
+        RoutingTransport transport = sessionFactory.routingTransport(writer.url(), Arrays.asList(reader1.url(), reader2.url()), new RoundRobinPolicy());
+        Session session = sessionFactory.openSession(transport);
+
+        session.save(new Artist("Queen"));
+        session.query("MATCH (m:Marker) SET m.visited = true", Utils.map());
+
+        assertEquals(0, transport.readers().get(0).requestsSent());
+        assertEquals(0, transport.readers().get(1).requestsSent());
+        assertEquals(1, sessionFactory.openSession(writer.url()).loadAll(Artist.class).size());
+        assertEquals(Boolean.TRUE, sessionFactory.openSession(writer.url())
+                .queryForObject(Boolean.class, "MATCH (m:Marker) RETURN m.visited", Utils.map()));
+    }
+
+    @Test
+    public void shouldSendReadsInLongTransactionsToTheWriter() {
+        RoutingTransport transport = sessionFactory.routingTransport(writer.url(), Arrays.asList(reader1.url(), reader2.url()), new RoundRobinPolicy());
+        Session session = sessionFactory.openSession(transport);
+
+        try (Transaction tx = session.beginTransaction()) {
+            session.save(new Artist("Queen"));
+            assertEquals("writer", whichServer(session));
+            assertEquals(1, session.loadAll(Artist.class).size());
+            tx.commit();
+        }
+
+        assertEquals(0, transport.readers().get(0).requestsSent());
+        assertEquals(0, transport.readers().get(1).requestsSent());
+        assertEquals("reader-1", whichServer(session));
+    }
+
+    @Test
+    public void shouldEjectAnUnreachableReplicaAndRetryTheReadElsewhere() throws Exception {
+        String unreachable = "http://localhost:" + freePort();
+        RoutingTransport transport = sessionFactory.routingTransport(writer.url(), Arrays.asList(unreachable, reader1.url()), new RoundRobinPolicy());
+        Session session = sessionFactory.openSession(transport);
+
+        assertEquals("reader-1", whichServer(session));
+        assertFalse(transport.readers().get(0).isHealthy());
+        assertEquals(0, transport.readers().get(0).outstandingRequests());
+
+        assertEquals("reader-1", whichServer(session));
+        assertEquals("reader-1", whichServer(session));
+        assertEquals(1, transport.readers().get(0).requestsSent());
+        assertEquals(3, transport.readers().get(1).requestsSent());
+
+        transport.checkHealth();
+        assertFalse(transport.readers().get(0).isHealthy());
+        assertTrue(transport.readers().get(1).isHealthy());
+    }
+
+    @Test
+    public void shouldSendReadsToTheWriterWhenNoReplicaIsHealthy() throws Exception {
+        RoutingTransport transport = sessionFactory.routingTransport(writer.url(),
+                Collections.singletonList("http://localhost:" + freePort()), new RoundRobinPolicy());
+        Session session = sessionFactory.openSession(transport);
+
+        assertEquals("writer", whichServer(session));
+        assertEquals("writer", whichServer(session));
+        assertEquals(1, transport.readers().get(0).requestsSent());
+    }
+
+    @Test
+    public void shouldPutAReplicaBackIntoUseOnceItPassesAHealthCheck() throws Exception {
+        int port = freePort();
+        RoutingTransport transport = sessionFactory.routingTransport(writer.url(),
+                Collections.singletonList("http://localhost:" + port), new RoundRobinPolicy());
+        Session session = sessionFactory.openSession(transport);
+
+        assertEquals("writer", whichServer(session));
+        assertFalse(transport.readers().get(0).isHealthy());
+
+        TestServer replica = new TestServer(port);
+        try {
+            mark(replica, "reader-3");
+            transport.checkHealth();
+            assertTrue(transport.readers().get(0).isHealthy());
+            assertEquals("reader-3", whichServer(session));
+        } finally {
+            replica.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldSendReadsToTheReplicaWithFewestOutstandingRequests() {
+        RoutingTransport transport = sessionFactory.routingTransport(writer.url(), Arrays.asList(reader1.url(), reader2.url()), new LeastOutstandingRequestsPolicy());
+        Session session = sessionFactory.openSession(transport);
+
+        List<Neo4jResponse<String>> open = new ArrayList<>();
+        try {
+            // keep two responses from the first replica open, so that it is busier than the second
+            while (transport.readers().get(0).outstandingRequests() < 2) {
+                open.add(transport.request(null).execute(writer.url() + "db/data/transaction/commit", whichServerStatement()));
+            }
+            int busy = transport.readers().get(1).outstandingRequests();
+
+            for (int i = 0; i < busy + 2; i++) {
+                assertEquals("reader-2", whichServer(session));
+            }
+        } finally {
+            for (Neo4jResponse<String> response : open) {
+                response.close();
+            }
+        }
+        assertEquals(0, transport.readers().get(0).outstandingRequests());
+        assertEquals(0, transport.readers().get(1).outstandingRequests());
+    }
+
+    private static String whichServer(Session session) {
+        Iterable<Map<String, Object>> rows = session.query(WHICH_SERVER, Utils.map());
+        return (String) rows.iterator().next().get("server");
+    }
+
+    private static ParameterisedStatements whichServerStatement() {
+        return new ParameterisedStatements(Collections.singletonList(new ParameterisedStatement(WHICH_SERVER, Utils.map())));
+    }
+
+    private void mark(TestServer server, String name) {
+        sessionFactory.openSession(server.url()).query("CREATE (:Marker {server: {name}})", Utils.map("name", name));
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+package org.neo4j.ogm.integration.transaction;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.neo4j.ogm.domain.music.Artist;
+import org.neo4j.ogm.session.HttpClientConfiguration;
+import org.neo4j.ogm.session.Session;
+import org.neo4j.ogm.session.SessionConfiguration;
+import org.neo4j.ogm.session.SessionFactory;
+import org.neo4j.ogm.session.transaction.Transaction;
+import org.neo4j.ogm.testutil.Neo4jIntegrationTestRule;
+
+/**
+ * Tests of the keep-alive requests sent for idle long transactions.
+ */
+public class TransactionKeepAliveIntegrationTest {
+
+    @ClassRule
+    public static Neo4jIntegrationTestRule databaseServerRule = new Neo4jIntegrationTestRule("2"); // idle tx killed after 2 secs
+
+    private SessionFactory sessionFactory;
+    private Session session;
+
+    @Before
+    public void init() {
+        SessionConfiguration configuration = new SessionConfiguration();
+        configuration.setTransactionTimeout(2000);
+        configuration.setTransactionKeepAliveRatio(0.25);
+        sessionFactory = new SessionFactory(new HttpClientConfiguration(), configuration, "org.neo4j.ogm.domain.music");
+        session = sessionFactory.openSession(databaseServerRule.url());
+    }
+
+    @After
+    public void tearDown() {
+        sessionFactory.close();
+        databaseServerRule.clearDatabase();
+    }
+
+    @Test
+    public void shouldKeepIdleTransactionsOpenBeyondTheServerTimeout() throws InterruptedException {
+        try (Transaction tx = session.beginTransaction()) {
+            session.save(new Artist("Queen"));
+            Thread.sleep(4000);
+            session.save(new Artist("U2"));
+            tx.commit();
+        }
+
+        assertTrue(sessionFactory.metrics().getKeepAlivesSent() > 0);
+        assertEquals(0, sessionFactory.metrics().getKeepAliveFailures());
+        assertEquals(2, session.countEntitiesOfType(Artist.class));
+    }
+
+    @Test
+    public void shouldStopKeepingTransactionsAliveWhenTheyComplete() throws InterruptedException {
+        try (Transaction tx = session.beginTransaction()) {
+            session.save(new Artist("Queen"));
+            tx.commit();
+        }
+        try (Transaction tx = session.beginTransaction()) {
+            session.save(new Artist("U2"));
+            tx.rollback();
+        }
+
+        long sent = sessionFactory.metrics().getKeepAlivesSent();
+        Thread.sleep(2000);
+        assertEquals(sent, sessionFactory.metrics().getKeepAlivesSent());
+    }
+
+    @Test
+    public void shouldNotKeepAliveTransactionsThatAreInUse() throws InterruptedException {
+        try (Transaction tx = session.beginTransaction()) {
+            for (int i = 0; i < 10; i++) {
+                session.save(new Artist("Artist " + i));
+                Thread.sleep(100);
+            }
+            tx.commit();
+        }
+
+        assertEquals(0, sessionFactory.metrics().getKeepAlivesSent());
+    }
+}
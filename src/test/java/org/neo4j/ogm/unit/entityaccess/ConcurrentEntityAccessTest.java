@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+package org.neo4j.ogm.unit.entityaccess;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.junit.Test;
+import org.neo4j.ogm.annotation.Relationship;
+import org.neo4j.ogm.domain.music.Album;
+import org.neo4j.ogm.domain.music.Artist;
+import org.neo4j.ogm.entityaccess.*;
+import org.neo4j.ogm.metadata.MetaData;
+import org.neo4j.ogm.metadata.info.ClassInfo;
+
+/**
+ * Tests of entity access plans built by several threads at once.
+ */
+public class ConcurrentEntityAccessTest {
+
+    private static final int THREADS = 8;
+    private static final int ITERATIONS = 2000;
+
+    @Test
+    public void shouldFindTheSameAccessorsWhenClassesAreFirstAccessedConcurrently() throws Exception {
+
+        final MetaData metaData = new MetaData("org.neo4j.ogm.domain.music");
+        final ClassInfo albumInfo = metaData.classInfo(Album.class.getName());
+        final ClassInfo artistInfo = metaData.classInfo(Artist.class.getName());
+        final CyclicBarrier barrier = new CyclicBarrier(THREADS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Void>> results = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            results.add(executor.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    DefaultEntityAccessStrategy strategy = new DefaultEntityAccessStrategy();
+                    barrier.await();
+
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        Artist artist = new Artist("Artist " + i);
+                        Album album = new Album();
+
+                        strategy.getPropertyWriter(albumInfo, "name").write(album, "Album " + i);
+                        assertEquals("Album " + i, album.getName());
+
+                        assertEquals("Artist " + i, strategy.getPropertyReader(artistInfo, "name").read(artist));
+
+                        RelationalWriter artistWriter = strategy.getRelationalWriter(albumInfo, "HAS-ALBUM", Relationship.INCOMING, artist);
+                        artistWriter.write(album, artist);
+                        assertSame(artist, album.getArtist());
+
+                        RelationalWriter albumsWriter = strategy.getIterableWriter(artistInfo, Album.class, "HAS-ALBUM", Relationship.OUTGOING);
+                        albumsWriter.write(artist, Collections.singleton(album));
+                        assertTrue(artist.getAlbums().contains(album));
+
+                        assertEquals(3, strategy.getRelationalReaders(albumInfo).size());
+                        assertNotNull(strategy.getIdentityPropertyReader(artistInfo));
+                        assertNull(strategy.getPropertyWriter(albumInfo, "noSuchProperty"));
+                    }
+                    return null;
+                }
+            }));
+        }
+
+        try {
+            for (Future<Void> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
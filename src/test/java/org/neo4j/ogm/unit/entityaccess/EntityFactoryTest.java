@@ -90,4 +90,21 @@ public class EntityFactoryTest {
         assertNotNull("The resultant instance shouldn't be null", instance);
     }
 
+    @Test
+    public void shouldUseTheClassesLoadedWhenTheDomainWasScanned() {
+        Thread thread = Thread.currentThread();
+        ClassLoader contextClassLoader = thread.getContextClassLoader();
+
+        // a class loader that can't see the domain classes
+        thread.setContextClassLoader(new ClassLoader(null) {});
+        try {
+            NodeModel personNodeModel = new NodeModel();
+            personNodeModel.setLabels(new String[] {"Individual"});
+            Individual sheila = this.entityFactory.newObject(personNodeModel);
+            assertNotNull(sheila);
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+    }
+
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+package org.neo4j.ogm.unit.entityaccess;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.ogm.annotation.typeconversion.DateLong;
+import org.neo4j.ogm.entityaccess.*;
+import org.neo4j.ogm.metadata.MetaData;
+import org.neo4j.ogm.metadata.info.ClassInfo;
+
+/**
+ * Tests of the entity access strategy that uses method handles.
+ */
+public class MethodHandleEntityAccessStrategyTest {
+
+    private EntityAccessStrategy entityAccessStrategy;
+    private ClassInfo classInfo;
+
+    @Before
+    public void setup() {
+        entityAccessStrategy = new MethodHandleEntityAccessStrategy();
+        classInfo = new MetaData("org.neo4j.ogm.unit.entityaccess").classInfo(Gadget.class.getName());
+    }
+
+    @Test
+    public void shouldReadAndWritePrivateFields() {
+        Gadget gadget = new Gadget();
+
+        entityAccessStrategy.getPropertyWriter(classInfo, "name").write(gadget, "Sprocket");
+        assertEquals("Sprocket", gadget.name);
+        assertEquals("Sprocket", entityAccessStrategy.getPropertyReader(classInfo, "name").read(gadget));
+
+        gadget.id = 42L;
+        assertEquals(42L, entityAccessStrategy.getIdentityPropertyReader(classInfo).read(gadget));
+    }
+
+    @Test
+    public void shouldCoerceValuesForPrimitiveFields() {
+        Gadget gadget = new Gadget();
+
+        entityAccessStrategy.getPropertyWriter(classInfo, "weight").write(gadget, 12L);
+        assertEquals(12, gadget.weight);
+        assertEquals(12, entityAccessStrategy.getPropertyReader(classInfo, "weight").read(gadget));
+    }
+
+    @Test
+    public void shouldInvokeGettersAndSetters() {
+        Gadget gadget = new Gadget();
+
+        entityAccessStrategy.getPropertyWriter(classInfo, "colour").write(gadget, "red");
+        assertEquals("red", gadget.colour);
+        assertTrue(gadget.colourSetterWasCalled);
+
+        assertEquals("red", entityAccessStrategy.getPropertyReader(classInfo, "colour").read(gadget));
+        assertTrue(gadget.colourGetterWasCalled);
+    }
+
+    @Test
+    public void shouldConvertPropertiesWithConverters() {
+        Gadget gadget = new Gadget();
+        Date launched = new Date(1234567890L);
+
+        PropertyWriter writer = entityAccessStrategy.getPropertyWriter(classInfo, "launched");
+        assertEquals(Long.class, writer.type());
+
+        writer.write(gadget, 1234567890L);
+        assertEquals(launched, gadget.launched);
+        assertEquals(1234567890L, entityAccessStrategy.getPropertyReader(classInfo, "launched").read(gadget));
+    }
+
+    @Test
+    public void shouldReportArgumentsOfTheWrongType() {
+        try {
+            entityAccessStrategy.getPropertyWriter(classInfo, "colour").write(new Gadget(), new Object());
+            fail("Expected an EntityAccessException");
+        } catch (EntityAccessException eae) {
+            assertTrue(eae.getMessage().startsWith("Failed to invoke method 'setColour'"));
+        }
+    }
+
+    @Test
+    public void shouldChooseTheSameAccessorsAsTheDefaultStrategy() {
+        EntityAccessStrategy defaultStrategy = new DefaultEntityAccessStrategy();
+
+        List<String> expected = new ArrayList<>();
+        for (PropertyReader reader : defaultStrategy.getPropertyReaders(classInfo)) {
+            expected.add(reader.propertyName());
+        }
+        List<String> actual = new ArrayList<>();
+        for (PropertyReader reader : entityAccessStrategy.getPropertyReaders(classInfo)) {
+            actual.add(reader.propertyName());
+        }
+        assertEquals(expected, actual);
+        assertNotSame(defaultStrategy.getPropertyWriter(classInfo, "name"), entityAccessStrategy.getPropertyWriter(classInfo, "name"));
+    }
+
+    public static class Gadget {
+
+        private Long id;
+
+        private String name;
+
+        private int weight;
+
+        @DateLong
+        private Date launched;
+
+        private String colour;
+        private boolean colourSetterWasCalled;
+        private boolean colourGetterWasCalled;
+
+        public String getColour() {
+            colourGetterWasCalled = true;
+            return colour;
+        }
+
+        public void setColour(String colour) {
+            colourSetterWasCalled = true;
+            this.colour = colour;
+        }
+    }
+}
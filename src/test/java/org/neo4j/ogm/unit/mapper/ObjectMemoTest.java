@@ -16,9 +16,15 @@ package org.neo4j.ogm.unit.mapper;
 
 import static org.junit.Assert.*;
 
+import java.util.Collections;
+import java.util.Map;
+
 import org.junit.Test;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatement;
+import org.neo4j.ogm.domain.bike.Bike;
 import org.neo4j.ogm.domain.education.School;
 import org.neo4j.ogm.domain.education.Teacher;
+import org.neo4j.ogm.mapper.EntityGraphMapper;
 import org.neo4j.ogm.mapper.MappingContext;
 import org.neo4j.ogm.metadata.MetaData;
 
@@ -30,6 +36,8 @@ public class ObjectMemoTest {
     private static final MetaData metaData = new MetaData("org.neo4j.ogm.domain.education");
     private static final MappingContext mappingContext = new MappingContext(metaData);
 
+    private static final MetaData bikeMetaData = new MetaData("org.neo4j.ogm.domain.bike");
+
     @Test
     public void testUnchangedObjectDetected() {
         Teacher mrsJones = new Teacher();
@@ -65,6 +73,77 @@ public class ObjectMemoTest {
         assertFalse(mappingContext.isDirty(teacher));
     }
 
+    @Test
+    public void testObjectNotRememberedHasNoKnownChanges() {
+        Teacher teacher = new Teacher("Miss White");
+        assertNull(mappingContext.changedProperties(teacher));
+
+        teacher.setId(116L);
+        assertNull(mappingContext.changedProperties(teacher));
+        assertTrue(mappingContext.isDirty(teacher));
+    }
+
+    @Test
+    public void testChangedPropertiesReported() {
+        MappingContext bikeContext = new MappingContext(bikeMetaData);
+        Bike bike = bike();
+        bikeContext.remember(bike);
+
+        assertTrue(bikeContext.changedProperties(bike).isEmpty());
+
+        bike.setBrand("Raleigh");
+        assertEquals(Collections.singleton("brand"), bikeContext.changedProperties(bike));
+    }
+
+    @Test
+    public void testArrayChangedInPlaceDetected() {
+        MappingContext bikeContext = new MappingContext(bikeMetaData);
+        Bike bike = bike();
+        bikeContext.remember(bike);
+
+        bike.getColours()[1] = "green";
+        assertTrue(bikeContext.isDirty(bike));
+        assertEquals(Collections.singleton("colours"), bikeContext.changedProperties(bike));
+    }
+
+    @Test
+    public void testArrayReplacedByEqualArrayNotDetected() {
+        MappingContext bikeContext = new MappingContext(bikeMetaData);
+        Bike bike = bike();
+        bikeContext.remember(bike);
+
+        bike.setColours(new String[] { "red", "black" });
+        assertFalse(bikeContext.isDirty(bike));
+    }
+
+    @Test
+    public void testPropertySetToNullDetected() {
+        MappingContext bikeContext = new MappingContext(bikeMetaData);
+        Bike bike = bike();
+        bikeContext.remember(bike);
+
+        bike.setBrand(null);
+        assertEquals(Collections.singleton("brand"), bikeContext.changedProperties(bike));
+    }
+
+    @Test
+    public void testOnlyChangedPropertiesAreUpdated() {
+        MappingContext bikeContext = new MappingContext(bikeMetaData);
+        Bike bike = bike();
+        bikeContext.remember(bike);
 
+        bike.setBrand("Raleigh");
 
+        ParameterisedStatement statement = new EntityGraphMapper(bikeMetaData, bikeContext).map(bike, 0).getStatements().get(0);
+        Map<?, ?> props = (Map<?, ?>) statement.getParameters().get("$1_props");
+        assertEquals(Collections.singletonMap("brand", "Raleigh"), props);
+    }
+
+    private Bike bike() {
+        Bike bike = new Bike();
+        bike.setId(1L);
+        bike.setBrand("Huffy");
+        bike.setColours(new String[] { "red", "black" });
+        return bike;
+    }
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.unit.mapper;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.ogm.domain.policy.Person;
+import org.neo4j.ogm.domain.policy.Policy;
+import org.neo4j.ogm.mapper.MappedRelationship;
+import org.neo4j.ogm.mapper.RelationshipRegister;
+
+/**
+ * Tests of the indexed lookups of the mapping context's relationship register.
+ */
+public class RelationshipRegisterTest {
+
+    private RelationshipRegister register;
+
+    private final MappedRelationship jimInfluencesHealthcare = new MappedRelationship(1L, "INFLUENCES", 2L, Person.class, Policy.class);
+    private final MappedRelationship jimWritesHealthcare = new MappedRelationship(1L, "WRITES", 2L, Person.class, Policy.class);
+    private final MappedRelationship janeInfluencesHealthcare = new MappedRelationship(3L, "INFLUENCES", 2L, Person.class, Policy.class);
+    private final MappedRelationship janeLikesJim = new MappedRelationship(3L, "LIKES", 1L, 10L, Person.class, Person.class);
+
+    @Before
+    public void setUp() {
+        register = new RelationshipRegister();
+        register.addAll(Arrays.asList(jimInfluencesHealthcare, jimWritesHealthcare, janeInfluencesHealthcare, janeLikesJim));
+    }
+
+    @Test
+    public void shouldFindOutgoingRelationshipsByStartNodeAndType() {
+        assertEquals(Arrays.asList(jimInfluencesHealthcare), register.outgoing(1L, "INFLUENCES"));
+        assertEquals(Arrays.asList(janeLikesJim), register.outgoing(3L, "LIKES"));
+        assertTrue(register.outgoing(2L, "INFLUENCES").isEmpty());
+        assertTrue(register.outgoing(1L, "LIKES").isEmpty());
+    }
+
+    @Test
+    public void shouldFindIncomingRelationshipsByEndNodeAndType() {
+        assertEquals(new HashSet<>(Arrays.asList(jimInfluencesHealthcare, janeInfluencesHealthcare)), new HashSet<>(register.incoming(2L, "INFLUENCES")));
+        assertEquals(Arrays.asList(janeLikesJim), register.incoming(1L, "LIKES"));
+        assertTrue(register.incoming(3L, "LIKES").isEmpty());
+    }
+
+    @Test
+    public void shouldFindAllRelationshipsOfANode() {
+        assertEquals(new HashSet<>(Arrays.asList(jimInfluencesHealthcare, jimWritesHealthcare, janeLikesJim)), new HashSet<>(register.relationships(1L)));
+        assertTrue(register.relationships(4L).isEmpty());
+    }
+
+    @Test
+    public void shouldFindRelationshipEntitiesById() {
+        assertEquals(Arrays.asList(janeLikesJim), register.relationshipEntity(10L));
+        assertTrue(register.relationshipEntity(11L).isEmpty());
+    }
+
+    @Test
+    public void shouldNotIndexDuplicates() {
+        assertFalse(register.add(new MappedRelationship(1L, "INFLUENCES", 2L, Person.class, Policy.class)));
+        assertEquals(4, register.size());
+        assertEquals(1, register.outgoing(1L, "INFLUENCES").size());
+    }
+
+    @Test
+    public void shouldUnindexRemovedRelationships() {
+        assertTrue(register.remove(new MappedRelationship(1L, "INFLUENCES", 2L, Person.class, Policy.class)));
+        assertFalse(register.remove(jimInfluencesHealthcare));
+
+        assertEquals(3, register.size());
+        assertTrue(register.outgoing(1L, "INFLUENCES").isEmpty());
+        assertEquals(Arrays.asList(janeInfluencesHealthcare), register.incoming(2L, "INFLUENCES"));
+    }
+
+    @Test
+    public void shouldUnindexRelationshipsRemovedThroughTheIterator() {
+        Iterator<MappedRelationship> iterator = register.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getStartNodeId() == 3L) {
+                iterator.remove();
+            }
+        }
+        assertEquals(2, register.size());
+        assertTrue(register.relationships(3L).isEmpty());
+        assertTrue(register.relationshipEntity(10L).isEmpty());
+        assertEquals(Arrays.asList(jimInfluencesHealthcare), register.incoming(2L, "INFLUENCES"));
+    }
+
+    @Test
+    public void shouldUnindexEverythingWhenCleared() {
+        register.clear();
+        assertTrue(register.isEmpty());
+        assertTrue(register.relationships(1L).isEmpty());
+        assertTrue(register.relationshipEntity(10L).isEmpty());
+    }
+}
@@ -53,6 +53,11 @@ public class DeleteStatementsTest {
         assertEquals("MATCH (n:`TRAFFIC_WARDENS`) OPTIONAL MATCH (n)-[r]-() DELETE r, n", deleteNodeStatements.deleteByType("TRAFFIC_WARDENS").getStatement());
     }
 
+    @Test
+    public void testDeleteByLabelAndIds() {
+        assertEquals("MATCH (n:`TRAFFIC_WARDENS`) WHERE id(n) in { ids } WITH n, id(n) AS id OPTIONAL MATCH (n)-[r]-() DELETE r, n RETURN DISTINCT id", deleteNodeStatements.deleteByTypeAndIds("TRAFFIC_WARDENS", Arrays.asList(1L, 2L)).getStatement());
+    }
+
     @Test
     public void testDeleteOneRel() {
         assertEquals("MATCH (n)-[r]->() WHERE ID(r) = { id } DELETE r", deleteRelStatements.delete(0L).getStatement());
@@ -68,4 +73,9 @@ public class DeleteStatementsTest {
     public void testDeleteByType() {
         assertEquals("MATCH (n)-[r:`TRAFFIC_WARDEN`]-() DELETE r", deleteRelStatements.deleteByType("TRAFFIC_WARDEN").getStatement());
     }
+
+    @Test
+    public void testDeleteByTypeAndIds() {
+        assertEquals("MATCH (n)-[r:`TRAFFIC_WARDEN`]->() WHERE id(r) in { ids } WITH r, id(r) AS id DELETE r RETURN id", deleteRelStatements.deleteByTypeAndIds("TRAFFIC_WARDEN", Arrays.asList(1L, 2L)).getStatement());
+    }
 }
@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.unit.mapper.cypher;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.neo4j.ogm.cypher.compiler.CompilationMode;
+import org.neo4j.ogm.cypher.compiler.CypherContext;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatement;
+import org.neo4j.ogm.domain.education.Course;
+import org.neo4j.ogm.domain.education.School;
+import org.neo4j.ogm.domain.education.Student;
+import org.neo4j.ogm.domain.education.Teacher;
+import org.neo4j.ogm.domain.forum.Forum;
+import org.neo4j.ogm.domain.forum.ForumTopicLink;
+import org.neo4j.ogm.domain.forum.Topic;
+import org.neo4j.ogm.domain.music.Artist;
+import org.neo4j.ogm.domain.music.Collaboration;
+import org.neo4j.ogm.domain.social.SocialUser;
+import org.neo4j.ogm.mapper.EntityGraphMapper;
+import org.neo4j.ogm.mapper.EntityToGraphMapper;
+import org.neo4j.ogm.mapper.MappedRelationship;
+import org.neo4j.ogm.mapper.MappingContext;
+import org.neo4j.ogm.metadata.MetaData;
+
+/**
+ * Tests of the statements compiled in the templated compilation mode.
+ */
+public class TemplatedCypherCompilerTest {
+
+    private static final String CREATE_STUDENT = "UNWIND {rows} AS row CREATE (n:`DomainObject`:`Student`) SET n=row.props RETURN row.ref AS ref, id(n) AS id";
+
+    private EntityToGraphMapper mapper;
+    private static MetaData mappingMetadata;
+    private static MappingContext mappingContext;
+
+    @BeforeClass
+    public static void setUpTestDatabase() {
+        mappingMetadata = new MetaData("org.neo4j.ogm.domain.education", "org.neo4j.ogm.domain.forum", "org.neo4j.ogm.domain.social", "org.neo4j.ogm.domain.music");
+        mappingContext = new MappingContext(mappingMetadata);
+    }
+
+    @Before
+    public void setUpMapper() {
+        this.mapper = new EntityGraphMapper(mappingMetadata, mappingContext, CompilationMode.TEMPLATED);
+    }
+
+    @After
+    public void cleanGraph() {
+        mappingContext.clear();
+    }
+
+    @Test
+    public void createSingleObjectWithLabelsAndProperties() {
+        CypherContext context = mapper.map(new Student("Gary"));
+
+        assertEquals(1, context.getStatements().size());
+        assertEquals(CREATE_STUDENT, context.getStatements().get(0).getStatement());
+
+        List<Map<String, Object>> rows = rows(context.getStatements().get(0));
+        assertEquals(1, rows.size());
+        assertEquals("_0", rows.get(0).get("ref"));
+        assertEquals(Collections.singletonMap("name", "Gary"), rows.get(0).get("props"));
+        assertFalse(context.hasDependentStatements());
+    }
+
+    @Test
+    public void createSeveralObjectsWithTheSameStatement() {
+        Map<Object, Integer> students = new IdentityHashMap<>();
+        students.put(new Student("Gary"), -1);
+        students.put(new Student("Sheila"), -1);
+        students.put(new Student("Yvonne"), -1);
+
+        CypherContext context = mapper.map(students);
+
+        assertEquals(1, context.getStatements().size());
+        assertEquals(CREATE_STUDENT, context.getStatements().get(0).getStatement());
+        assertEquals(3, rows(context.getStatements().get(0)).size());
+    }
+
+    @Test
+    public void splitRowsIntoBatches() {
+        Map<Object, Integer> students = new IdentityHashMap<>();
+        for (int i = 0; i < 5; i++) {
+            students.put(new Student("Student " + i), -1);
+        }
+
+        CypherContext context = new EntityGraphMapper(mappingMetadata, mappingContext, CompilationMode.TEMPLATED, 2).map(students);
+
+        assertEquals(3, context.getStatements().size());
+        Set<String> refs = new HashSet<>();
+        for (ParameterisedStatement statement : context.getStatements()) {
+            assertEquals(CREATE_STUDENT, statement.getStatement());
+            assertTrue(rows(statement).size() <= 2);
+            for (Map<String, Object> row : rows(statement)) {
+                refs.add((String) row.get("ref"));
+            }
+        }
+        assertEquals(5, refs.size());
+    }
+
+    @Test
+    public void updateSingleObjectPropertyAndLabel() {
+        Student sheila = new Student("Sheila Smythe");
+        sheila.setId(42L);
+        mappingContext.remember(sheila);
+
+        sheila.setName("Sheila Smythe-Jones");
+
+        CypherContext context = mapper.map(sheila);
+
+        assertEquals(1, context.getStatements().size());
+        assertEquals("UNWIND {rows} AS row MATCH (n) WHERE id(n)=row.id SET n:`DomainObject`:`Student`, n+=row.props",
+                context.getStatements().get(0).getStatement());
+        Map<String, Object> row = rows(context.getStatements().get(0)).get(0);
+        assertEquals(42L, row.get("id"));
+        assertEquals("Sheila Smythe-Jones", ((Map) row.get("props")).get("name"));
+    }
+
+    @Test
+    public void doNothingIfNothingHasChanged() {
+        Student sheila = new Student("Sheila Smythe");
+        sheila.setId(0L);
+        mappingContext.remember(sheila);
+
+        CypherContext context = mapper.map(sheila);
+
+        assertTrue(context.getStatements().isEmpty());
+        assertFalse(context.hasDependentStatements());
+    }
+
+    @Test
+    public void createRelationshipsBetweenNewObjectsOnceTheirIdsAreKnown() {
+        School waller = new School("Waller");
+        Teacher mary = new Teacher("Mary");
+
+        mary.setSchool(waller);
+        waller.getTeachers().add(mary);
+
+        CypherContext context = mapper.map(waller);
+
+        assertEquals(2, context.getStatements().size());
+        assertEquals("UNWIND {rows} AS row CREATE (n:`DomainObject`:`School`) SET n=row.props RETURN row.ref AS ref, id(n) AS id",
+                context.getStatements().get(0).getStatement());
+        assertEquals("UNWIND {rows} AS row CREATE (n:`Teacher`) SET n=row.props RETURN row.ref AS ref, id(n) AS id",
+                context.getStatements().get(1).getStatement());
+        assertTrue(context.hasDependentStatements());
+
+        context.registerIdentity("_0", 10L);
+        context.registerIdentity("_2", 20L);
+        context.compileDependentStatements();
+
+        assertFalse(context.hasDependentStatements());
+        assertEquals(2, context.getStatements().size());
+        for (ParameterisedStatement statement : context.getStatements()) {
+            Map<String, Object> row = rows(statement).get(0);
+            if (statement.getStatement().contains("`TEACHERS`")) {
+                assertEquals(relationshipTemplate("TEACHERS", ""), statement.getStatement());
+                assertEquals(10L, row.get("startNodeId"));
+                assertEquals(20L, row.get("endNodeId"));
+            } else {
+                assertEquals(relationshipTemplate("SCHOOL", ""), statement.getStatement());
+                assertEquals(20L, row.get("startNodeId"));
+                assertEquals(10L, row.get("endNodeId"));
+            }
+        }
+    }
+
+    @Test
+    public void createRelationshipsBetweenExistingObjectsWithTheSameStatement() {
+        SocialUser user1 = new SocialUser("x");
+        user1.setId(0L);
+        SocialUser user2 = new SocialUser("y");
+        user2.setId(1L);
+        SocialUser user3 = new SocialUser("z");
+        user3.setId(2L);
+        user1.setFollowers(new HashSet<>(Arrays.asList(user2, user3)));
+
+        mappingContext.remember(user1);
+        mappingContext.remember(user2);
+        mappingContext.remember(user3);
+
+        CypherContext context = mapper.map(user1);
+
+        assertEquals(1, context.getStatements().size());
+        assertEquals(relationshipTemplate("IS_FOLLOWED_BY", ""), context.getStatements().get(0).getStatement());
+        assertEquals(2, rows(context.getStatements().get(0)).size());
+        assertFalse(context.hasDependentStatements());
+    }
+
+    @Test
+    public void mergeRelationshipEntitiesOnTheirPropertyKeys() {
+        Forum forum = new Forum();
+        forum.setName("SDN FAQs");
+
+        Topic topic = new Topic();
+
+        ForumTopicLink link = new ForumTopicLink();
+        link.setForum(forum);
+        link.setTopic(topic);
+        link.setTimestamp(1647209L);
+
+        forum.setTopicsInForum(Arrays.asList(link));
+
+        CypherContext context = mapper.map(forum);
+        context.registerIdentity("_0", 10L);
+        context.registerIdentity("_2", 20L);
+        context.compileDependentStatements();
+
+        assertEquals(1, context.getStatements().size());
+        assertEquals(relationshipTemplate("HAS_TOPIC", "{`timestamp`:row.props.`timestamp`}"), context.getStatements().get(0).getStatement());
+        assertEquals("_1", rows(context.getStatements().get(0)).get(0).get("ref"));
+    }
+
+    @Test
+    public void quotePropertyKeysThatRelationshipEntitiesAreMergedOn() {
+        Collaboration collaboration = new Collaboration(new Artist("Queen"), new Artist("David Bowie"), 1981);
+
+        CypherContext context = mapper.map(collaboration);
+        context.registerIdentity("_0", 10L);
+        context.registerIdentity("_1", 20L);
+        context.compileDependentStatements();
+
+        assertEquals(1, context.getStatements().size());
+        assertEquals(relationshipTemplate("COLLABORATED-WITH", "{`year-released`:row.props.`year-released`}"), context.getStatements().get(0).getStatement());
+    }
+
+    @Test
+    public void deleteRelationshipsWithTheSameStatement() {
+        Course music = new Course("GCSE Music");
+        music.setId(0L);
+
+        Student xavier = new Student("xavier");
+        xavier.setId(1L);
+
+        Student yvonne = new Student("Yvonne");
+        yvonne.setId(2L);
+
+        Student zack = new Student("Zack");
+        zack.setId(3L);
+
+        music.setStudents(Arrays.asList(yvonne, xavier, zack));
+
+        mappingContext.registerRelationship(new MappedRelationship(0L, "STUDENTS", 1L, Course.class, Student.class));
+        mappingContext.registerRelationship(new MappedRelationship(0L, "STUDENTS", 2L, Course.class, Student.class));
+        mappingContext.registerRelationship(new MappedRelationship(0L, "STUDENTS", 3L, Course.class, Student.class));
+
+        mappingContext.remember(xavier);
+        mappingContext.remember(yvonne);
+        mappingContext.remember(zack);
+        mappingContext.remember(music);
+
+        music.setStudents(Arrays.asList(yvonne));
+
+        CypherContext context = mapper.map(music);
+
+        assertEquals(1, context.getStatements().size());
+        assertEquals("UNWIND {rows} AS row MATCH (s)-[r:`STUDENTS`]->(e) WHERE id(s)=row.startNodeId AND id(e)=row.endNodeId DELETE r",
+                context.getStatements().get(0).getStatement());
+        assertEquals(2, rows(context.getStatements().get(0)).size());
+    }
+
+    private String relationshipTemplate(String type, String properties) {
+        return "UNWIND {rows} AS row MATCH (s) WHERE id(s)=row.startNodeId MATCH (e) WHERE id(e)=row.endNodeId " +
+                "MERGE (s)-[r:`" + type + "`" + properties + "]->(e) RETURN row.ref AS ref, id(r) AS id";
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> rows(ParameterisedStatement statement) {
+        return (List<Map<String, Object>>) statement.getParameters().get("rows");
+    }
+}
@@ -19,7 +19,9 @@ import static org.junit.Assert.*;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -32,6 +34,7 @@ import org.neo4j.ogm.domain.forum.Member;
 import org.neo4j.ogm.domain.forum.activity.Activity;
 import org.neo4j.ogm.domain.forum.activity.Post;
 import org.neo4j.ogm.metadata.AmbiguousBaseClassException;
+import org.neo4j.ogm.metadata.MappingException;
 import org.neo4j.ogm.metadata.MetaData;
 import org.neo4j.ogm.metadata.info.ClassInfo;
 import org.neo4j.ogm.metadata.info.FieldInfo;
@@ -637,6 +640,18 @@ public class MetaDataTest {
         assertEquals("NOMINATION", classInfo.neo4jName());
     }
 
+    @Test
+    public void testTypeDescriptorClassesAreKeptWithTheirFieldsAndMethods() {
+        ClassInfo classInfo = metaData.classInfo("Topic");
+        FieldInfo fieldInfo = classInfo.relationshipFieldByName("posts");
+        assertEquals(Post.class, fieldInfo.getTypeDescriptorClass());
+
+        // scanning another domain leaves the classes loaded for this one alone
+        new MetaData("org.neo4j.ogm.domain.education");
+        assertSame(Post.class, fieldInfo.getTypeDescriptorClass());
+        assertEquals(Post.class, classInfo.methodsInfo().get("getPosts").getTypeDescriptorClass());
+    }
+
     /**
      * @see DATAGRAPH-690
      */
@@ -666,7 +681,83 @@ public class MetaDataTest {
         assertNull(classInfo.getTypeParameterDescriptorForRelationship("ACTS_IN", Relationship.OUTGOING));
 
         assertNull(classInfo.getTypeParameterDescriptorForRelationship("HAS", Relationship.OUTGOING));
+    }
 
+    @Test
+    public void testClassInfoIsFoundForLabelTypeAndPartialName() {
+        assertEquals("org.neo4j.ogm.domain.forum.Member", metaData.classInfo("User").name());
+        assertEquals("org.neo4j.ogm.domain.forum.Member", metaData.classInfo("Member").name());
+        assertEquals("org.neo4j.ogm.domain.forum.Member", metaData.classInfo("forum.Member").name());
+        assertEquals("org.neo4j.ogm.domain.canonical.ArbitraryRelationshipEntity", metaData.classInfo("MEMBER_OF").name());
+        assertNull(metaData.classInfo("DoesNotExist"));
     }
 
+    @Test
+    public void testClassInfosAreFoundForEveryRelationshipEntityOfAType() {
+        MetaData pizzaMetaData = new MetaData("org.neo4j.ogm.domain.pizza");
+        Set<String> names = new HashSet<>();
+        for (ClassInfo classInfo : pizzaMetaData.classInfoByLabelOrType("HAS")) {
+            names.add(classInfo.name());
+        }
+        assertEquals(2, names.size());
+        assertTrue(names.contains("org.neo4j.ogm.domain.pizza.PizzaCheese"));
+        assertTrue(names.contains("org.neo4j.ogm.domain.pizza.PizzaSeasoning"));
+    }
+
+    @Test(expected = MappingException.class)
+    public void testAmbiguousSimpleNameIsNotResolvedToEitherClass() {
+        new MetaData("org.neo4j.ogm.domain.cineasts.annotated", "org.neo4j.ogm.domain.entityMapping").classInfo("Rating");
+    }
+
+    @Test
+    public void testResolvedTaxaAreRemembered() {
+        ClassInfo classInfo = metaData.resolve("Login", "User");
+        assertSame(classInfo, metaData.resolve("User", "Login"));
+        assertSame(classInfo, metaData.resolve("Login", "User"));
+        assertNull(metaData.resolve("DoesNotExist"));
+        assertNull(metaData.resolve("DoesNotExist"));
+    }
+
+    @Test
+    public void testUnresolvableTaxaAreNotRemembered() {
+        for (int i = 0; i < 2; i++) {
+            try {
+                metaData.resolve("Login", "Topic");
+                fail("Expected an AmbiguousBaseClassException");
+            } catch (AmbiguousBaseClassException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testDerivedFieldViewsAreImmutableAndReused() {
+        ClassInfo classInfo = metaData.classInfo("Member");
+        assertSame(classInfo.propertyFields(), classInfo.propertyFields());
+        assertSame(classInfo.relationshipFields(), classInfo.relationshipFields());
+        assertSame(classInfo.candidateRelationshipFields("HAS_ACTIVITY", Relationship.OUTGOING, false),
+                classInfo.candidateRelationshipFields("HAS_ACTIVITY", Relationship.OUTGOING, false));
+        try {
+            classInfo.propertyFields().clear();
+            fail("Expected the property fields to be immutable");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testDerivedFieldViewsAreLookedUpIgnoringCase() {
+        ClassInfo classInfo = metaData.classInfo("Member");
+        assertEquals("userName", classInfo.propertyFieldByName("USERNAME").getName());
+        assertEquals("userName", classInfo.propertyField("username").getName());
+        assertEquals("activityList", classInfo.relationshipField("has_activity").getName());
+        assertEquals("activityList", classInfo.relationshipFieldByName("ACTIVITYLIST").getName());
+        assertNull(classInfo.propertyField("doesNotExist"));
+    }
+
+    @Test
+    public void testDerivedFieldViewsIncludeInheritedFields() {
+        ClassInfo classInfo = metaData.classInfo("GoldMembership");
+        assertNotNull(classInfo.propertyFieldByName("fees"));
+    }
 }
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+package org.neo4j.ogm.unit.request;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.util.EntityUtils;
+import org.junit.Test;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatement;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatements;
+import org.neo4j.ogm.session.SessionMetrics;
+import org.neo4j.ogm.session.request.GzipRequestInterceptor;
+import org.neo4j.ogm.session.request.GzipResponseInterceptor;
+import org.neo4j.ogm.session.request.ParameterisedStatementsEntity;
+import org.neo4j.ogm.session.response.Neo4jResponse;
+import org.neo4j.ogm.session.response.RowModelResponse;
+import org.neo4j.ogm.session.response.StreamingJsonResponse;
+import org.neo4j.ogm.session.result.RowModel;
+
+/**
+ * Tests of the gzip compression of requests and responses.
+ */
+public class GzipInterceptorTest {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void shouldAcceptGzipWithoutCompressingSmallRequests() throws Exception {
+        SessionMetrics metrics = new SessionMetrics();
+        HttpPost request = post(statements(1));
+
+        new GzipRequestInterceptor(4096, metrics).process(request, new BasicHttpContext());
+
+        assertEquals("gzip", request.getFirstHeader("Accept-Encoding").getValue());
+        assertNull(request.getEntity().getContentEncoding());
+        assertEquals(mapper.writeValueAsString(statements(1)), EntityUtils.toString(request.getEntity()));
+        assertEquals(0, metrics.getCompressedRequests());
+    }
+
+    @Test
+    public void shouldCompressRequestsAboveTheThreshold() throws Exception {
+        SessionMetrics metrics = new SessionMetrics();
+        HttpPost request = post(statements(1000));
+
+        new GzipRequestInterceptor(4096, metrics).process(request, new BasicHttpContext());
+
+        HttpEntity entity = request.getEntity();
+        assertEquals("gzip", entity.getContentEncoding().getValue());
+        assertTrue(entity.isChunked());
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        entity.writeTo(compressed);
+        String json = new String(gunzip(compressed.toByteArray()), "UTF-8");
+
+        assertEquals(mapper.writeValueAsString(statements(1000)), json);
+        assertEquals(1, metrics.getCompressedRequests());
+        assertEquals(json.length() - compressed.size(), metrics.getRequestBytesSaved());
+    }
+
+    @Test
+    public void shouldNotCompressRequestsWhenThereIsNoThreshold() throws Exception {
+        HttpPost request = post(statements(1000));
+
+        new GzipRequestInterceptor(-1, new SessionMetrics()).process(request, new BasicHttpContext());
+
+        assertTrue(request.getEntity() instanceof ParameterisedStatementsEntity);
+        assertEquals("gzip", request.getFirstHeader("Accept-Encoding").getValue());
+    }
+
+    @Test
+    public void shouldStreamDecompressedResponsesIntoTheParser() throws Exception {
+        SessionMetrics metrics = new SessionMetrics();
+        StringBuilder rows = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            rows.append(i == 0 ? "" : ",").append("{\"row\":[").append(i).append("]}");
+        }
+        String json = "{\"results\":[{\"columns\":[\"id(n)\"],\"data\":[" + rows + "]}],\"errors\":[]}";
+        byte[] compressed = gzip(json.getBytes("UTF-8"));
+
+        HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+        ByteArrayEntity entity = new ByteArrayEntity(compressed);
+        entity.setContentEncoding("gzip");
+        response.setEntity(entity);
+
+        new GzipResponseInterceptor(metrics).process(response, new BasicHttpContext());
+
+        assertNull(response.getEntity().getContentEncoding());
+        try (Neo4jResponse<RowModel> rsp = new RowModelResponse(new StreamingJsonResponse(response.getEntity().getContent()), mapper)) {
+            int count = 0;
+            while (rsp.next() != null) {
+                count++;
+            }
+            assertEquals(1000, count);
+        }
+
+        assertEquals(1, metrics.getCompressedResponses());
+        assertEquals(json.length() - compressed.length, metrics.getResponseBytesSaved());
+        assertEquals(metrics.getResponseBytesSaved(), metrics.getBytesSaved());
+    }
+
+    private HttpPost post(ParameterisedStatements statements) {
+        HttpPost request = new HttpPost("http://localhost:7474/db/data/transaction/commit");
+        request.setEntity(new ParameterisedStatementsEntity(statements, mapper));
+        return request;
+    }
+
+    private ParameterisedStatements statements(int rows) {
+        List<Map<String, Object>> props = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("name", "Artist " + i);
+            row.put("label", "Artist");
+            props.add(row);
+        }
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("rows", props);
+        return new ParameterisedStatements(Collections.singletonList(
+                new ParameterisedStatement("UNWIND {rows} AS row CREATE (n:Artist) SET n = row", parameters)));
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            byte[] buffer = new byte[4096];
+            int n;
+            while ((n = gzip.read(buffer)) > 0) {
+                out.write(buffer, 0, n);
+            }
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+package org.neo4j.ogm.unit.request;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.After;
+import org.junit.Test;
+import org.neo4j.ogm.authentication.UsernamePasswordCredentials;
+import org.neo4j.ogm.cypher.query.GraphModelQuery;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatements;
+import org.neo4j.ogm.model.GraphModel;
+import org.neo4j.ogm.session.SessionMetrics;
+import org.neo4j.ogm.session.Utils;
+import org.neo4j.ogm.session.request.Neo4jRequest;
+import org.neo4j.ogm.session.request.RequestCoalescer;
+import org.neo4j.ogm.session.request.SessionRequestHandler;
+import org.neo4j.ogm.session.response.Neo4jResponse;
+import org.neo4j.ogm.session.response.StreamingJsonResponse;
+import org.neo4j.ogm.session.result.ResultProcessingException;
+import org.neo4j.ogm.session.transport.HttpTransport;
+
+/**
+ * Tests of the coalescing of identical requests in flight at the same time.
+ */
+public class RequestCoalescerTest {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final String AUTOCOMMIT_URL = "http://localhost:7474/db/data/transaction/commit";
+    private static final String LOAD = "MATCH p=(n)-[*0..1]-(m) WHERE id(n) = { id } RETURN p";
+    private static final Object PRINCIPAL = new UsernamePasswordCredentials("neo4j", "password").credentials();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final SessionMetrics metrics = new SessionMetrics();
+    private final RequestCoalescer coalescer = new RequestCoalescer(metrics);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldShareOneRequestBetweenIdenticalConcurrentLoads() throws Exception {
+        final BlockingRequest request = new BlockingRequest();
+        int callers = 8;
+
+        List<Future<List<GraphModel>>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(load(request, AUTOCOMMIT_URL, 1L)));
+        }
+
+        awaitCoalesced(callers - 1);
+        request.release.countDown();
+
+        for (Future<List<GraphModel>> result : results) {
+            List<GraphModel> graphs = result.get(10, TimeUnit.SECONDS);
+            assertEquals(1, graphs.size());
+            assertEquals("Queen", graphs.get(0).node(1L).property("name"));
+        }
+        assertEquals(1, request.sent.get());
+        assertEquals(callers - 1, metrics.getRequestsCoalesced());
+        assertEquals(0, coalescer.size());
+    }
+
+    @Test
+    public void shouldSendLoadsWithDifferentParametersSeparately() throws Exception {
+        BlockingRequest request = new BlockingRequest();
+        request.release.countDown();
+
+        executor.submit(load(request, AUTOCOMMIT_URL, 1L)).get(10, TimeUnit.SECONDS);
+        executor.submit(load(request, AUTOCOMMIT_URL, 2L)).get(10, TimeUnit.SECONDS);
+
+        assertEquals(2, request.sent.get());
+        assertEquals(0, metrics.getRequestsCoalesced());
+    }
+
+    @Test
+    public void shouldNotShareLoadsBetweenSessionsWithDifferentCredentials() throws Exception {
+        BlockingRequest request = new BlockingRequest();
+        Object other = new UsernamePasswordCredentials("neo4j", "other").credentials();
+
+        Future<List<GraphModel>> first = executor.submit(load(request, AUTOCOMMIT_URL, 1L, PRINCIPAL));
+        Future<List<GraphModel>> second = executor.submit(load(request, AUTOCOMMIT_URL, 1L, other));
+        Future<List<GraphModel>> anonymous = executor.submit(load(request, AUTOCOMMIT_URL, 1L, ""));
+
+        // each load is sent while the others are still in flight
+        long deadline = System.currentTimeMillis() + 10000;
+        while (request.sent.get() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        request.release.countDown();
+
+        first.get(10, TimeUnit.SECONDS);
+        second.get(10, TimeUnit.SECONDS);
+        anonymous.get(10, TimeUnit.SECONDS);
+        assertEquals(3, request.sent.get());
+        assertEquals(0, metrics.getRequestsCoalesced());
+    }
+
+    @Test
+    public void shouldGiveHttpTransportsThePrincipalOfTheirCredentials() {
+        String url = "http://localhost:7474";
+        Object alice = RequestCoalescer.principal(new HttpTransport(url, null, mapper, new UsernamePasswordCredentials("alice", "secret")));
+        Object bob = RequestCoalescer.principal(new HttpTransport(url, null, mapper, new UsernamePasswordCredentials("bob", "secret")));
+        Object wrongPassword = RequestCoalescer.principal(new HttpTransport(url, null, mapper, new UsernamePasswordCredentials("alice", "wrong")));
+
+        assertEquals(alice, RequestCoalescer.principal(new HttpTransport(url, null, mapper, new UsernamePasswordCredentials("alice", "secret"))));
+        assertNotEquals(alice, bob);
+        assertNotEquals(alice, wrongPassword);
+    }
+
+    @Test
+    public void shouldSendTheLoadAgainOnceTheResponseHasBeenRead() throws Exception {
+        BlockingRequest request = new BlockingRequest();
+        request.release.countDown();
+
+        load(request, AUTOCOMMIT_URL, 1L).call();
+        load(request, AUTOCOMMIT_URL, 1L).call();
+
+        assertEquals(2, request.sent.get());
+    }
+
+    @Test
+    public void shouldNotCoalesceLoadsInTransactions() throws Exception {
+        BlockingRequest request = new BlockingRequest();
+        request.release.countDown();
+
+        String txUrl = "http://localhost:7474/db/data/transaction/12";
+        Future<List<GraphModel>> first = executor.submit(load(request, txUrl, 1L));
+        Future<List<GraphModel>> second = executor.submit(load(request, txUrl, 1L));
+        first.get(10, TimeUnit.SECONDS);
+        second.get(10, TimeUnit.SECONDS);
+
+        assertEquals(2, request.sent.get());
+        assertEquals(0, metrics.getRequestsCoalesced());
+    }
+
+    @Test
+    public void shouldNotCoalesceStatementsThatUpdateTheGraph() {
+        BlockingRequest request = new BlockingRequest();
+        request.release.countDown();
+
+        SessionRequestHandler handler = new SessionRequestHandler(mapper, request, coalescer, AUTOCOMMIT_URL, PRINCIPAL);
+        handler.execute(new GraphModelQuery("MATCH (n) SET n.seen = true RETURN n", Utils.map()), AUTOCOMMIT_URL).close();
+
+        assertEquals(1, request.sent.get());
+        assertEquals(0, coalescer.size());
+    }
+
+    @Test
+    public void shouldReportAFailedRequestToEveryCaller() throws Exception {
+        BlockingRequest request = new BlockingRequest();
+        request.fail = true;
+        int callers = 4;
+
+        List<Future<List<GraphModel>>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(load(request, AUTOCOMMIT_URL, 1L)));
+        }
+
+        awaitCoalesced(callers - 1);
+        request.release.countDown();
+
+        for (Future<List<GraphModel>> result : results) {
+            try {
+                result.get(10, TimeUnit.SECONDS);
+                fail("Expected the request to fail");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof ResultProcessingException);
+            }
+        }
+        assertEquals(1, request.sent.get());
+        assertEquals(0, coalescer.size());
+    }
+
+    @Test
+    public void shouldHandACallerThatJoinsWhileTheResponseIsReadTheRecordsAlreadyRead() throws Exception {
+        BlockingRequest request = new BlockingRequest();
+        request.graphs = 3;
+        request.release.countDown();
+
+        SessionRequestHandler handler = new SessionRequestHandler(mapper, request, coalescer, AUTOCOMMIT_URL, PRINCIPAL);
+        try (Neo4jResponse<GraphModel> response = handler.execute(new GraphModelQuery(LOAD, Utils.map("id", 1L)), AUTOCOMMIT_URL)) {
+            assertNotNull(response.next());
+
+            Future<List<GraphModel>> joined = executor.submit(load(request, AUTOCOMMIT_URL, 1L));
+            awaitCoalesced(1);
+
+            assertNotNull(response.next());
+            assertNotNull(response.next());
+            assertNull(response.next());
+            assertEquals(3, joined.get(10, TimeUnit.SECONDS).size());
+        }
+        assertEquals(1, request.sent.get());
+        assertEquals(0, coalescer.size());
+    }
+
+    @Test
+    public void shouldStopSharingALoadOnceMoreRecordsThanTheBufferLimitHaveBeenRead() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer(metrics, 1);
+        BlockingRequest request = new BlockingRequest();
+        request.graphs = 3;
+        request.release.countDown();
+
+        SessionRequestHandler handler = new SessionRequestHandler(mapper, request, coalescer, AUTOCOMMIT_URL, PRINCIPAL);
+        try (Neo4jResponse<GraphModel> response = handler.execute(new GraphModelQuery(LOAD, Utils.map("id", 1L)), AUTOCOMMIT_URL)) {
+            assertEquals(1, coalescer.size());
+            response.next();
+            response.next();
+            assertEquals(0, coalescer.size());
+
+            Neo4jResponse<GraphModel> other = new SessionRequestHandler(mapper, request, coalescer, AUTOCOMMIT_URL, PRINCIPAL)
+                    .execute(new GraphModelQuery(LOAD, Utils.map("id", 1L)), AUTOCOMMIT_URL);
+            other.close();
+        }
+        assertEquals(2, request.sent.get());
+        assertEquals(0, metrics.getRequestsCoalesced());
+    }
+
+    @Test
+    public void shouldReadTheWholeResponseForCallersThatJoinedWhenTheSenderClosesItEarly() throws Exception {
+        BlockingRequest request = new BlockingRequest();
+        request.graphs = 3;
+        request.release.countDown();
+
+        SessionRequestHandler handler = new SessionRequestHandler(mapper, request, coalescer, AUTOCOMMIT_URL, PRINCIPAL);
+        Neo4jResponse<GraphModel> response = handler.execute(new GraphModelQuery(LOAD, Utils.map("id", 1L)), AUTOCOMMIT_URL);
+        Future<List<GraphModel>> joined = executor.submit(load(request, AUTOCOMMIT_URL, 1L));
+        awaitCoalesced(1);
+        response.close();
+
+        assertEquals(3, joined.get(10, TimeUnit.SECONDS).size());
+        assertEquals(1, request.sent.get());
+    }
+
+    private Callable<List<GraphModel>> load(Neo4jRequest<String> request, String url, Long id) {
+        return load(request, url, id, PRINCIPAL);
+    }
+
+    private Callable<List<GraphModel>> load(final Neo4jRequest<String> request, final String url, final Long id, final Object principal) {
+        return new Callable<List<GraphModel>>() {
+            @Override
+            public List<GraphModel> call() {
+                SessionRequestHandler handler = new SessionRequestHandler(mapper, request, coalescer, AUTOCOMMIT_URL, principal);
+                List<GraphModel> graphs = new ArrayList<>();
+                try (Neo4jResponse<GraphModel> response = handler.execute(new GraphModelQuery(LOAD, Utils.map("id", id)), url)) {
+                    GraphModel graph;
+                    while ((graph = response.next()) != null) {
+                        graphs.add(graph);
+                    }
+                }
+                return graphs;
+            }
+        };
+    }
+
+    private void awaitCoalesced(long callers) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (metrics.getRequestsCoalesced() < callers && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(callers, metrics.getRequestsCoalesced());
+    }
+
+    /**
+     * Answers every request with the same graphs, once released.
+     */
+    private static class BlockingRequest implements Neo4jRequest<String> {
+
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final AtomicInteger sent = new AtomicInteger();
+        private volatile boolean fail;
+        private volatile int graphs = 1;
+
+        @Override
+        public Neo4jResponse<String> execute(String url, ParameterisedStatements statements) {
+            sent.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            if (fail) {
+                throw new ResultProcessingException("Failed to execute request", null);
+            }
+            StringBuilder data = new StringBuilder();
+            for (int i = 0; i < graphs; i++) {
+                data.append(i == 0 ? "" : ",").append(
+                        "{\"graph\":{\"nodes\":[{\"id\":\"1\",\"labels\":[\"Artist\"],\"properties\":{\"name\":\"Queen\"}}],\"relationships\":[]}}");
+            }
+            String json = "{\"results\":[{\"columns\":[\"p\"],\"data\":[" + data + "]}],\"errors\":[]}";
+            return new StreamingJsonResponse(new ByteArrayInputStream(json.getBytes()));
+        }
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+package org.neo4j.ogm.unit.request;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.client.HttpResponseException;
+import org.junit.Test;
+import org.neo4j.ogm.cypher.query.GraphModelQuery;
+import org.neo4j.ogm.cypher.query.RowModelQuery;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatements;
+import org.neo4j.ogm.model.GraphModel;
+import org.neo4j.ogm.session.SessionMetrics;
+import org.neo4j.ogm.session.Utils;
+import org.neo4j.ogm.session.request.FailureClassifier;
+import org.neo4j.ogm.session.request.Neo4jRequest;
+import org.neo4j.ogm.session.request.RetryPolicy;
+import org.neo4j.ogm.session.request.RetryingRequest;
+import org.neo4j.ogm.session.request.SessionRequestHandler;
+import org.neo4j.ogm.session.response.Neo4jResponse;
+import org.neo4j.ogm.session.response.StreamingJsonResponse;
+import org.neo4j.ogm.session.result.ResultProcessingException;
+import org.neo4j.ogm.session.result.RowModel;
+
+/**
+ * Tests of the retrying of requests that fail transiently.
+ */
+public class RetryingRequestTest {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final String AUTOCOMMIT_URL = "http://localhost:7474/db/data/transaction/commit";
+    private static final String READ = "MATCH (n) RETURN n";
+    private static final String WRITE = "CREATE (n) RETURN id(n)";
+
+    private static final String GRAPH = "{\"results\":[{\"columns\":[\"n\"],\"data\":[" +
+            "{\"graph\":{\"nodes\":[{\"id\":\"1\",\"labels\":[\"Person\"],\"properties\":{}}],\"relationships\":[]}}]}],\"errors\":[]}";
+    private static final String ROW = "{\"results\":[{\"columns\":[\"id(n)\"],\"data\":[{\"row\":[7]}]}],\"errors\":[]}";
+    private static final String DEADLOCK = "{\"results\":[],\"errors\":[" +
+            "{\"code\":\"Neo.TransientError.Transaction.DeadlockDetected\",\"message\":\"Deadlock\"}]}";
+    private static final String SYNTAX_ERROR = "{\"results\":[],\"errors\":[" +
+            "{\"code\":\"Neo.ClientError.Statement.InvalidSyntax\",\"message\":\"Invalid input\"}]}";
+
+    private final SessionMetrics metrics = new SessionMetrics();
+
+    @Test
+    public void shouldRetryTransientErrorsReportedInTheResponse() {
+        ScriptedRequest request = new ScriptedRequest(DEADLOCK, DEADLOCK, GRAPH);
+
+        try (Neo4jResponse<GraphModel> response = handler(request, policy(3)).execute(new GraphModelQuery(READ, Utils.map()), AUTOCOMMIT_URL)) {
+            assertEquals(1, response.next().getNodes().size());
+            assertNull(response.next());
+        }
+
+        assertEquals(3, request.sent);
+        assertEquals(2, metrics.getRetries());
+        assertEquals(Long.valueOf(2), metrics.getFailedRequests().get("Neo.TransientError.Transaction.DeadlockDetected"));
+    }
+
+    @Test
+    public void shouldRetryWritesWhoseConnectionWasRefused() {
+        ScriptedRequest request = new ScriptedRequest(new ConnectException("Connection refused"), ROW);
+
+        try (Neo4jResponse<RowModel> response = handler(request, policy(3)).execute(new RowModelQuery(WRITE, Utils.map()), AUTOCOMMIT_URL)) {
+            assertEquals(7, response.next().getValues()[0]);
+        }
+
+        assertEquals(2, request.sent);
+        assertEquals(Long.valueOf(1), metrics.getFailedRequests().get("IO.ConnectException"));
+    }
+
+    @Test
+    public void shouldRetryReadsButNotWritesWhoseConnectionFailedAfterSending() {
+        ScriptedRequest reads = new ScriptedRequest(new SocketException("Connection reset"), ROW);
+        handler(reads, policy(3)).execute(new RowModelQuery(READ, Utils.map()), AUTOCOMMIT_URL).close();
+        assertEquals(2, reads.sent);
+
+        ScriptedRequest writes = new ScriptedRequest(new SocketException("Connection reset"), ROW);
+        try {
+            handler(writes, policy(3)).execute(new RowModelQuery(WRITE, Utils.map()), AUTOCOMMIT_URL);
+            fail("The write should not have been retried");
+        } catch (ResultProcessingException e) {
+            assertEquals(1, writes.sent);
+        }
+    }
+
+    @Test
+    public void shouldNotTakeTheStatusCodeOfAFailedWriteFromItsParameters() {
+        ScriptedRequest request = new ScriptedRequest(new SocketTimeoutException("Read timed out"), ROW);
+        RowModelQuery write = new RowModelQuery("CREATE (n:Note {text: { text }}) RETURN id(n)",
+                Utils.map("text", "\"code\":\"Neo.TransientError.Transaction.DeadlockDetected\""));
+        try {
+            handler(request, policy(3)).execute(write, AUTOCOMMIT_URL);
+            fail("The write should not have been retried");
+        } catch (ResultProcessingException e) {
+            assertEquals(1, request.sent);
+            assertEquals(0, metrics.getRetries());
+            assertEquals(Long.valueOf(1), metrics.getFailedRequests().get("IO.SocketTimeoutException"));
+        }
+    }
+
+    @Test
+    public void shouldRetryServiceUnavailable() {
+        ScriptedRequest request = new ScriptedRequest(new HttpResponseException(503, "Service Unavailable"), ROW);
+        handler(request, policy(3)).execute(new RowModelQuery(WRITE, Utils.map()), AUTOCOMMIT_URL).close();
+
+        assertEquals(2, request.sent);
+        assertEquals(Long.valueOf(1), metrics.getFailedRequests().get("HTTP.503"));
+    }
+
+    @Test
+    public void shouldNotRetryClientErrors() {
+        ScriptedRequest request = new ScriptedRequest(SYNTAX_ERROR, ROW);
+        try {
+            handler(request, policy(3)).execute(new RowModelQuery(READ, Utils.map()), AUTOCOMMIT_URL);
+            fail("Expected the syntax error to be reported");
+        } catch (ResultProcessingException e) {
+            assertEquals(1, request.sent);
+            assertEquals(0, metrics.getRetries());
+            assertEquals(Long.valueOf(1), metrics.getFailedRequests().get("Neo.ClientError.Statement.InvalidSyntax"));
+        }
+    }
+
+    @Test
+    public void shouldGiveUpAfterTheLastAttempt() {
+        ScriptedRequest request = new ScriptedRequest(DEADLOCK, DEADLOCK, DEADLOCK, ROW);
+        try {
+            handler(request, policy(3)).execute(new RowModelQuery(READ, Utils.map()), AUTOCOMMIT_URL);
+            fail("Expected the deadlock to be reported");
+        } catch (ResultProcessingException e) {
+            assertEquals(3, request.sent);
+            assertEquals(2, metrics.getRetries());
+            assertEquals(1, metrics.getRetriesAbandoned());
+        }
+    }
+
+    @Test
+    public void shouldStopRetryingOnceTheBudgetIsSpent() {
+        RetryPolicy policy = new RetryPolicy(3, 0, 0, 0.0, 1, metrics);
+
+        ScriptedRequest first = new ScriptedRequest(DEADLOCK, ROW);
+        handler(first, policy).execute(new RowModelQuery(READ, Utils.map()), AUTOCOMMIT_URL).close();
+        assertEquals(2, first.sent);
+
+        ScriptedRequest second = new ScriptedRequest(DEADLOCK, ROW);
+        try {
+            handler(second, policy).execute(new RowModelQuery(READ, Utils.map()), AUTOCOMMIT_URL);
+            fail("Expected the retry budget to be spent");
+        } catch (ResultProcessingException e) {
+            assertEquals(1, second.sent);
+            assertEquals(1, metrics.getRetriesAbandoned());
+        }
+    }
+
+    @Test
+    public void shouldEarnRetriesWithEachRequest() {
+        RetryPolicy policy = new RetryPolicy(3, 0, 0, 0.5, 1, metrics);
+
+        handler(new ScriptedRequest(DEADLOCK, ROW), policy).execute(new RowModelQuery(READ, Utils.map()), AUTOCOMMIT_URL).close();
+        handler(new ScriptedRequest(ROW), policy).execute(new RowModelQuery(READ, Utils.map()), AUTOCOMMIT_URL).close();
+
+        ScriptedRequest request = new ScriptedRequest(DEADLOCK, ROW);
+        handler(request, policy).execute(new RowModelQuery(READ, Utils.map()), AUTOCOMMIT_URL).close();
+        assertEquals(2, request.sent);
+    }
+
+    @Test
+    public void shouldNotRetryRequestsInTransactions() {
+        ScriptedRequest request = new ScriptedRequest(DEADLOCK, ROW);
+        try {
+            handler(request, policy(3)).execute(new RowModelQuery(READ, Utils.map()), "http://localhost:7474/db/data/transaction/12");
+            fail("Expected the deadlock to be reported");
+        } catch (ResultProcessingException e) {
+            assertEquals(1, request.sent);
+            assertTrue(metrics.getFailedRequests().isEmpty());
+        }
+    }
+
+    @Test
+    public void shouldNotRetryErrorsFoundAfterRecordsWereRead() {
+        String partial = "{\"results\":[{\"columns\":[\"id(n)\"],\"data\":[{\"row\":[7]}]}],\"errors\":[" +
+                "{\"code\":\"Neo.TransientError.Transaction.DeadlockDetected\",\"message\":\"Deadlock\"}]}";
+        ScriptedRequest request = new ScriptedRequest(partial, ROW);
+
+        try (Neo4jResponse<RowModel> response = handler(request, policy(3)).execute(new RowModelQuery(READ, Utils.map()), AUTOCOMMIT_URL)) {
+            assertEquals(7, response.next().getValues()[0]);
+            response.next();
+            fail("Expected the deadlock to be reported");
+        } catch (ResultProcessingException e) {
+            assertEquals(1, request.sent);
+        }
+    }
+
+    @Test
+    public void shouldClassifyFailures() {
+        assertEquals("HTTP.502", FailureClassifier.code(new ResultProcessingException("failed", new HttpResponseException(502, "Bad Gateway"))));
+        assertTrue(FailureClassifier.isRetryable(new HttpResponseException(502, "Bad Gateway"), true));
+        assertFalse(FailureClassifier.isRetryable(new HttpResponseException(502, "Bad Gateway"), false));
+        assertFalse(FailureClassifier.isRetryable(new HttpResponseException(500, "Internal Server Error"), true));
+        assertEquals("Unknown.IllegalStateException", FailureClassifier.code(new IllegalStateException()));
+        assertEquals("Unknown.ResultProcessingException", FailureClassifier.code(new ResultProcessingException("\"code\":\"Neo.TransientError.Transaction.DeadlockDetected\"", null)));
+        assertFalse(FailureClassifier.isRetryable(new ResultProcessingException("\"code\":\"Neo.TransientError.Transaction.DeadlockDetected\"", null), true));
+        assertFalse(FailureClassifier.isRetryable(new IllegalStateException(), true));
+    }
+
+    @Test
+    public void shouldBackOffExponentiallyWithinTheMaximum() {
+        RetryPolicy policy = new RetryPolicy(10, 10, 100, 0.1, 10, metrics);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(policy.backoff(1) <= 10);
+            assertTrue(policy.backoff(2) <= 20);
+            assertTrue(policy.backoff(3) <= 40);
+            assertTrue(policy.backoff(9) <= 100);
+        }
+    }
+
+    private RetryPolicy policy(int maxAttempts) {
+        return new RetryPolicy(maxAttempts, 0, 0, 0.1, 10, metrics);
+    }
+
+    private static SessionRequestHandler handler(Neo4jRequest<String> request, RetryPolicy policy) {
+        return new SessionRequestHandler(mapper, new RetryingRequest(request, policy, AUTOCOMMIT_URL));
+    }
+
+    /**
+     * Answers each request in turn with the next response body, or fails it with the next exception.
+     */
+    private static class ScriptedRequest implements Neo4jRequest<String> {
+
+        private final List<Object> script;
+        private int sent;
+
+        ScriptedRequest(Object... script) {
+            this.script = new LinkedList<>(Arrays.asList(script));
+        }
+
+        @Override
+        public Neo4jResponse<String> execute(String url, ParameterisedStatements statements) {
+            sent++;
+            Object next = script.remove(0);
+            if (next instanceof Exception) {
+                throw new ResultProcessingException("Failed to execute request: " + toJson(statements), (Exception) next);
+            }
+            return new StreamingJsonResponse(new ByteArrayInputStream(((String) next).getBytes()));
+        }
+
+        private static String toJson(ParameterisedStatements statements) {
+            try {
+                return mapper.writeValueAsString(statements);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+}
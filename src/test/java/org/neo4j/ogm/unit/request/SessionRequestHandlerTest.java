@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+package org.neo4j.ogm.unit.request;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatement;
+import org.neo4j.ogm.cypher.statement.ParameterisedStatements;
+import org.neo4j.ogm.session.request.Neo4jRequest;
+import org.neo4j.ogm.session.request.ParameterisedStatementsEntity;
+import org.neo4j.ogm.session.request.SessionRequestHandler;
+import org.neo4j.ogm.session.response.EmptyResponse;
+import org.neo4j.ogm.session.response.Neo4jResponse;
+
+/**
+ * Tests of the statements the session request handler sends.
+ */
+public class SessionRequestHandlerTest {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void shouldNotSendARequestContainingAnEmptyStatement() {
+        RecordingRequest request = new RecordingRequest();
+        SessionRequestHandler handler = new SessionRequestHandler(mapper, request);
+
+        List<ParameterisedStatement> statements = Arrays.asList(
+                new ParameterisedStatement("MATCH n RETURN n", Collections.<String, Object>emptyMap()),
+                new ParameterisedStatement("  ", Collections.<String, Object>emptyMap()));
+
+        assertTrue(handler.execute(statements, "http://localhost:7474") instanceof EmptyResponse);
+        assertTrue(request.sent.isEmpty());
+    }
+
+    @Test
+    public void shouldSendStatementsWhoseParametersLookLikeAnEmptyStatement() {
+        RecordingRequest request = new RecordingRequest();
+        SessionRequestHandler handler = new SessionRequestHandler(mapper, request);
+
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("name", "statement\":\"\"");
+
+        handler.execute(new ParameterisedStatement("CREATE (n {name:{name}})", parameters), "http://localhost:7474");
+        assertEquals(1, request.sent.size());
+    }
+
+    @Test
+    public void shouldWriteTheSameJsonEachTimeTheEntityIsWritten() throws IOException {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("ids", Arrays.asList(1L, 2L, 3L));
+        ParameterisedStatements statements = new ParameterisedStatements(Collections.singletonList(
+                new ParameterisedStatement("MATCH n WHERE id(n) IN {ids} RETURN n", parameters)));
+
+        ParameterisedStatementsEntity entity = new ParameterisedStatementsEntity(statements, mapper);
+        String expected = mapper.writeValueAsString(statements);
+
+        assertTrue(entity.isRepeatable());
+        assertTrue(entity.isChunked());
+        assertEquals(-1, entity.getContentLength());
+
+        for (int i = 0; i < 2; i++) {
+            ClosingAwareOutputStream outputStream = new ClosingAwareOutputStream();
+            entity.writeTo(outputStream);
+            assertEquals(expected, outputStream.toString("UTF-8"));
+            assertFalse(outputStream.closed);
+        }
+    }
+
+    private static class RecordingRequest implements Neo4jRequest<String> {
+
+        private final List<ParameterisedStatements> sent = new ArrayList<>();
+
+        @Override
+        public Neo4jResponse<String> execute(String url, ParameterisedStatements statements) {
+            sent.add(statements);
+            return new EmptyResponse();
+        }
+    }
+
+    private static class ClosingAwareOutputStream extends ByteArrayOutputStream {
+
+        private boolean closed;
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+package org.neo4j.ogm.unit.response;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.neo4j.ogm.session.response.GraphRowModelResponse;
+import org.neo4j.ogm.session.response.JsonResponse;
+import org.neo4j.ogm.session.response.Neo4jResponse;
+import org.neo4j.ogm.session.response.StreamingJsonResponse;
+import org.neo4j.ogm.session.result.GraphRowResult;
+import org.neo4j.ogm.session.result.ResultProcessingException;
+
+/**
+ * Tests of graph and row results read from a response.
+ */
+public class GraphRowModelResponseTest {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void shouldReadEachGraphRowResultFromTheStream() {
+        try (Neo4jResponse<GraphRowResult> rsp = new GraphRowModelResponse(new StreamingJsonResponse(graphRows()), mapper)) {
+            assertArrayEquals(new String[] { "p", "id(n)" }, rsp.columns());
+
+            GraphRowResult result = rsp.next();
+            assertEquals(0, rsp.rowId());
+            assertEquals(1, result.getGraph().getNodes().size());
+            assertEquals("Alice", result.getGraph().node(1L).property("name"));
+            assertEquals(1, result.getRow()[1]);
+
+            result = rsp.next();
+            assertEquals(1, rsp.rowId());
+            assertEquals(2, result.getGraph().getNodes().size());
+            assertEquals("KNOWS", result.getGraph().getRelationships().iterator().next().getType());
+            assertEquals(2, result.getRow()[1]);
+
+            assertNull(rsp.next());
+        }
+    }
+
+    @Test
+    public void shouldReadGraphRowResultsFromAStringResponse() {
+        try (Neo4jResponse<GraphRowResult> rsp = new GraphRowModelResponse(new JsonResponse(graphRows()), mapper)) {
+            assertEquals(1, rsp.next().getRow()[1]);
+            assertEquals(2, rsp.next().getGraph().getNodes().size());
+            assertNull(rsp.next());
+        }
+    }
+
+    @Test(expected = ResultProcessingException.class)
+    public void shouldReportErrorsAfterTheLastGraphRowResult() {
+        try (Neo4jResponse<GraphRowResult> rsp = new GraphRowModelResponse(new StreamingJsonResponse(graphRowsAndErrors()), mapper)) {
+            assertNotNull(rsp.next());
+            rsp.next();
+        }
+    }
+
+    private InputStream graphRows() {
+        final String s = "{\"results\":[{\"columns\":[\"p\",\"id(n)\"],\"data\":[" +
+                "{\"graph\":{\"nodes\":[{\"id\":\"1\",\"labels\":[\"Person\"],\"properties\":{\"name\":\"Alice\"}}],\"relationships\":[]},\"row\":[{\"name\":\"Alice\"},1]}," +
+                "{\"row\":[{\"name\":\"Bob\"},2],\"graph\":{\"nodes\":[{\"id\":\"1\",\"labels\":[\"Person\"],\"properties\":{}},{\"id\":\"2\",\"labels\":[\"Person\"],\"properties\":{}}]," +
+                "\"relationships\":[{\"id\":\"3\",\"type\":\"KNOWS\",\"startNode\":\"1\",\"endNode\":\"2\",\"properties\":{}}]}}" +
+                "]}],\"errors\":[]}";
+
+        return new ByteArrayInputStream(s.getBytes());
+    }
+
+    private InputStream graphRowsAndErrors() {
+        final String s = "{\"results\":[{\"columns\":[\"p\",\"id(n)\"],\"data\":[" +
+                "{\"graph\":{\"nodes\":[],\"relationships\":[]},\"row\":[{},1]}" +
+                "]}],\"errors\":[{\"code\":\"Neo.DatabaseError.Statement.ExecutionFailure\",\"message\":\"Failed\"}]}";
+
+        return new ByteArrayInputStream(s.getBytes());
+    }
+}
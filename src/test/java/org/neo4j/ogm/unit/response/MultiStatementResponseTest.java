@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+package org.neo4j.ogm.unit.response;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.neo4j.ogm.model.GraphModel;
+import org.neo4j.ogm.session.response.MultiStatementResponse;
+import org.neo4j.ogm.session.response.Neo4jResponse;
+import org.neo4j.ogm.session.response.StreamingJsonResponse;
+import org.neo4j.ogm.session.result.ResultProcessingException;
+import org.neo4j.ogm.session.result.RowModel;
+import org.neo4j.ogm.session.result.RowQueryStatisticsResult;
+
+/**
+ * Tests of responses to several statements sent in one request.
+ */
+public class MultiStatementResponseTest {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void shouldReadEachResultWithItsOwnColumnsAndFormat() {
+        try (MultiStatementResponse response = new MultiStatementResponse(new StreamingJsonResponse(threeResults()), mapper)) {
+
+            try (Neo4jResponse<GraphModel> graphs = response.nextGraphModelResponse()) {
+                assertArrayEquals(new String[] { "p" }, graphs.columns());
+                assertEquals(1, graphs.next().getNodes().size());
+                assertNull(graphs.next());
+            }
+
+            try (Neo4jResponse<RowModel> rows = response.nextRowModelResponse()) {
+                assertArrayEquals(new String[] { "count(n)" }, rows.columns());
+                assertEquals(42, rows.next().getValues()[0]);
+                assertNull(rows.next());
+            }
+
+            try (Neo4jResponse<RowQueryStatisticsResult> stats = response.nextRowStatisticsResponse()) {
+                RowQueryStatisticsResult result = stats.next();
+                assertArrayEquals(new String[] { "id(n)" }, stats.columns());
+                assertEquals(2, result.getRows().size());
+                assertEquals(2, result.getStats().getNodesCreated());
+                assertNull(stats.next());
+            }
+        }
+    }
+
+    @Test
+    public void shouldSkipResultsThatAreNotRead() {
+        try (MultiStatementResponse response = new MultiStatementResponse(new StreamingJsonResponse(threeResults()), mapper)) {
+            response.nextGraphModelResponse().close();
+            response.nextRowModelResponse().close();
+
+            RowQueryStatisticsResult result = response.nextRowStatisticsResponse().next();
+            assertEquals(2, result.getStats().getNodesCreated());
+        }
+    }
+
+    @Test(expected = ResultProcessingException.class)
+    public void shouldReportErrorsWhenAStatementHasNoResult() {
+        try (MultiStatementResponse response = new MultiStatementResponse(new StreamingJsonResponse(oneResultAndErrors()), mapper)) {
+            try (Neo4jResponse<RowModel> rows = response.nextRowModelResponse()) {
+                assertEquals(1, rows.next().getValues()[0]);
+                rows.next();
+            }
+        }
+    }
+
+    private InputStream threeResults() {
+        final String s = "{\"results\":[" +
+                "{\"columns\":[\"p\"],\"data\":[{\"graph\":{\"nodes\":[{\"id\":\"1\",\"labels\":[\"Person\"],\"properties\":{}}],\"relationships\":[]}}]}," +
+                "{\"columns\":[\"count(n)\"],\"data\":[{\"row\":[42]}]}," +
+                "{\"columns\":[\"id(n)\"],\"data\":[{\"row\":[7]},{\"row\":[8]}],\"stats\":{\"contains_updates\":true,\"nodes_created\":2}}" +
+                "],\"errors\":[]}";
+
+        return new ByteArrayInputStream(s.getBytes());
+    }
+
+    private InputStream oneResultAndErrors() {
+        final String s = "{\"results\":[{\"columns\":[\"n\"],\"data\":[{\"row\":[1]}]}]," +
+                "\"errors\":[{\"code\":\"Neo.ClientError.Statement.InvalidSyntax\",\"message\":\"Invalid input\"}]}";
+
+        return new ByteArrayInputStream(s.getBytes());
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+package org.neo4j.ogm.unit.response;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.neo4j.ogm.model.GraphModel;
+import org.neo4j.ogm.session.response.GraphModelResponse;
+import org.neo4j.ogm.session.response.Neo4jResponse;
+import org.neo4j.ogm.session.response.RowModelResponse;
+import org.neo4j.ogm.session.response.StreamingJsonResponse;
+import org.neo4j.ogm.session.result.ResultProcessingException;
+import org.neo4j.ogm.session.result.RowModel;
+
+/**
+ * Tests of the single-pass parsing of JSON responses.
+ */
+public class StreamingJsonResponseTest {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Test(expected = ResultProcessingException.class)
+    public void shouldHandleNoResultsAndErrors() {
+        try (StreamingJsonResponse rsp = new StreamingJsonResponse(noResultsAndErrors())) {
+            parseResponse(rsp);
+        }
+    }
+
+    @Test(expected = ResultProcessingException.class)
+    public void shouldHandleResultsAndErrors() {
+        try (StreamingJsonResponse rsp = new StreamingJsonResponse(resultsAndErrors())) {
+            parseResponse(rsp);
+        }
+    }
+
+    @Test(expected = ResultProcessingException.class)
+    public void shouldHandleEmptyResultsAndErrors() {
+        try (StreamingJsonResponse rsp = new StreamingJsonResponse(emptyResultsAndErrors())) {
+            parseResponse(rsp);
+        }
+    }
+
+    @Test
+    public void shouldHandleNoResultsAndNoErrors() {
+        try (StreamingJsonResponse rsp = new StreamingJsonResponse(noResultsAndNoErrors())) {
+            parseResponse(rsp);
+            assertEquals(0, rsp.rowId());
+        }
+    }
+
+    @Test
+    public void shouldHandleResultsAndNoErrors() {
+        try (StreamingJsonResponse rsp = new StreamingJsonResponse(resultsAndNoErrors())) {
+            parseResponse(rsp);
+            assertArrayEquals(new String[] { "collect(p)" }, rsp.columns());
+        }
+    }
+
+    @Test
+    public void shouldReadRowRecords() {
+        try (Neo4jResponse<RowModel> rsp = new RowModelResponse(new StreamingJsonResponse(rows()), mapper)) {
+            assertArrayEquals(new String[] { "a", "b" }, rsp.columns());
+
+            RowModel row = rsp.next();
+            assertEquals(1, row.getValues()[0]);
+            assertEquals("graph", row.getValues()[1]);
+
+            row = rsp.next();
+            assertEquals(2, row.getValues()[0]);
+            assertEquals("\"row", row.getValues()[1]);
+
+            assertNull(rsp.next());
+            assertEquals(1, rsp.rowId());
+        }
+    }
+
+    @Test
+    public void shouldReadGraphRecordsContainingTheScanToken() {
+        try (Neo4jResponse<GraphModel> rsp = new GraphModelResponse(new StreamingJsonResponse(graphs()), mapper)) {
+            GraphModel graphModel = rsp.next();
+            assertEquals(1, graphModel.getNodes().size());
+            assertEquals("{\"graph\":", graphModel.node(1L).property("name"));
+
+            graphModel = rsp.next();
+            assertEquals(2, graphModel.getNodes().size());
+            assertEquals(1, graphModel.getRelationships().size());
+
+            assertNull(rsp.next());
+        }
+    }
+
+    @Test
+    public void shouldReadRecordsInTheSameShapeAsJsonResponse() {
+        try (StreamingJsonResponse rsp = new StreamingJsonResponse(rows())) {
+            rsp.initialiseScan(Neo4jResponse.ResponseRecord.ROW);
+            assertEquals("{\"row\":[1,\"graph\"]}", rsp.next());
+            assertEquals("{\"row\":[2,\"\\\"row\"]}", rsp.next());
+            assertNull(rsp.next());
+        }
+    }
+
+    @Test
+    public void shouldBindRecordsDirectlyFromTheStream() {
+        try (StreamingJsonResponse rsp = new StreamingJsonResponse(graphs())) {
+            rsp.initialiseScan(Neo4jResponse.ResponseRecord.GRAPH);
+
+            GraphModel graphModel = rsp.next(mapper, GraphModel.class);
+            assertEquals(0, rsp.rowId());
+            assertEquals(1, graphModel.getNodes().size());
+
+            graphModel = rsp.next(mapper, GraphModel.class);
+            assertEquals(1, rsp.rowId());
+            assertEquals("KNOWS", graphModel.getRelationships().iterator().next().getType());
+            assertEquals(2L, (long) graphModel.getRelationships().iterator().next().getEndNode());
+
+            assertNull(rsp.next(mapper, GraphModel.class));
+        }
+    }
+
+    @Test(expected = ResultProcessingException.class)
+    public void shouldReportErrorsAfterTheLastBoundRecord() {
+        try (StreamingJsonResponse rsp = new StreamingJsonResponse(resultsAndErrors())) {
+            rsp.initialiseScan(Neo4jResponse.ResponseRecord.ROW);
+            while (rsp.next(mapper, Object[].class) != null);
+        }
+    }
+
+    @Test
+    public void shouldReadTheWholeDocumentAsOneResultsRecord() {
+        try (StreamingJsonResponse rsp = new StreamingJsonResponse(transactionalResults())) {
+            rsp.initialiseScan(Neo4jResponse.ResponseRecord.RESULTS);
+            String json = rsp.next();
+            assertTrue(json.startsWith("{\"commit\":"));
+            assertTrue(json.contains("\"results\":[{\"columns\":[\"n\"]"));
+            assertFalse(json.contains("errors"));
+            assertNull(rsp.next());
+        }
+    }
+
+    @Test
+    public void shouldReadStatsRecord() {
+        try (StreamingJsonResponse rsp = new StreamingJsonResponse(stats())) {
+            rsp.initialiseScan(Neo4jResponse.ResponseRecord.STATS);
+            assertEquals("{\"stats\":{\"contains_updates\":true,\"nodes_created\":1}}", rsp.next());
+            assertNull(rsp.next());
+        }
+    }
+
+    private void parseResponse(StreamingJsonResponse rsp) {
+        rsp.initialiseScan(Neo4jResponse.ResponseRecord.ROW);
+        while (rsp.next() != null);
+    }
+
+    private InputStream resultsAndErrors() {
+        String s = "{" +
+                "\"results\": [{\"columns\": [\"_0\"],\"data\": [{\"row\": [0]}]}]," +
+                "\"errors\": [{\"code\": \"Neo.DatabaseError.Transaction.CouldNotCommit\"," +
+                "\"message\": \"org.neo4j.kernel.api.exceptions.TransactionFailureException: \"," +
+                "\"stackTrace\": \"java.lang.RuntimeException: org.neo4j.kernel.api.exceptions.TransactionFailureException: \\\tat" +
+                "...}]}";
+
+        return new ByteArrayInputStream(s.getBytes());
+    }
+
+    private InputStream noResultsAndErrors() {
+        String s = "{" +
+                "\"results\": [{\"columns\": [\"_0\"],\"data\": [{\"row\": []," +
+                "\"errors\": [{\"code\": \"Neo.DatabaseError.Statement.ExecutionFailure\"," +
+                "\"message\": \"Could not create token\"," +
+                "\"stackTrace\": \"org.neo4j.graphdb.TransactionFailureException: Could not create token\\\tat org.neo4j.kernel.impl.core.TokenHolder.getOrCreateId(TokenHolder.java:121)\\\tat" +
+                "...}]}";
+
+        return new ByteArrayInputStream(s.getBytes());
+    }
+
+    private InputStream emptyResultsAndErrors() {
+        String s = "{\"results\":[],\"errors\":[{\"code\":\"Neo.ClientError.Statement.InvalidSyntax\",\"message\":\"Invalid input\"}]}";
+
+        return new ByteArrayInputStream(s.getBytes());
+    }
+
+    private InputStream resultsAndNoErrors() {
+
+        final String s= "{\"results\": [{\"columns\": [\"collect(p)\"],\"data\": [{\"row\": [[[{\"name\": \"My Test\"}]]]}]}],\"errors\": []}";
+
+        return new ByteArrayInputStream(s.getBytes());
+    }
+
+    private InputStream noResultsAndNoErrors() {
+
+        final String s = "{\"results\": [{\"columns\": [\"collect(p)\"],\"data\": [{\"row\": [[]]}]}],\"errors\": []}";
+
+        return new ByteArrayInputStream(s.getBytes());
+    }
+
+    private InputStream rows() {
+
+        final String s = "{\"results\":[{\"columns\":[\"a\",\"b\"],\"data\":[{\"row\":[1,\"graph\"]},{\"row\":[2,\"\\\"row\"]}]}],\"errors\":[]}";
+
+        return new ByteArrayInputStream(s.getBytes());
+    }
+
+    private InputStream graphs() {
+
+        final String s = "{\"results\":[{\"columns\":[\"p\"],\"data\":[" +
+                "{\"graph\":{\"nodes\":[{\"id\":\"1\",\"labels\":[\"Person\"],\"properties\":{\"name\":\"{\\\"graph\\\":\"}}],\"relationships\":[]}}," +
+                "{\"graph\":{\"nodes\":[{\"id\":\"1\",\"labels\":[\"Person\"],\"properties\":{}},{\"id\":\"2\",\"labels\":[\"Person\"],\"properties\":{}}]," +
+                "\"relationships\":[{\"id\":\"3\",\"type\":\"KNOWS\",\"startNode\":\"1\",\"endNode\":\"2\",\"properties\":{}}]}}" +
+                "]}],\"errors\":[]}";
+
+        return new ByteArrayInputStream(s.getBytes());
+    }
+
+    private InputStream transactionalResults() {
+
+        final String s = "{\"commit\":\"http://localhost:7474/db/data/transaction/7/commit\"," +
+                "\"results\":[{\"columns\":[\"n\"],\"data\":[{\"row\":[{\"name\":\"results\"}]}]}]," +
+                "\"transaction\":{\"expires\":\"Tue, 14 Jul 2015 12:53:24 +0000\"},\"errors\":[]}";
+
+        return new ByteArrayInputStream(s.getBytes());
+    }
+
+    private InputStream stats() {
+
+        final String s = "{\"results\":[{\"columns\":[],\"data\":[],\"stats\":{\"contains_updates\":true,\"nodes_created\":1}}],\"errors\":[]}";
+
+        return new ByteArrayInputStream(s.getBytes());
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+package org.neo4j.ogm.unit.session;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+import org.neo4j.ogm.session.AsyncSession;
+import org.neo4j.ogm.session.Session;
+
+/**
+ * Checks that operations rejected by a saturated executor fail rather than being lost.
+ */
+public class AsyncSessionTest {
+
+    // a single thread and no queue: any operation offered while the thread is busy is rejected
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new SynchronousQueue<Runnable>(), new ThreadPoolExecutor.AbortPolicy());
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldFailAnOperationRejectedWhenItIsSubmitted() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                await(release);
+            }
+        });
+
+        RecordingCallback callback = new RecordingCallback();
+        Future<String> future = new AsyncSession(null, executor).submit(operation("rejected", null), callback);
+
+        assertRejected(future, callback);
+        release.countDown();
+    }
+
+    @Test
+    public void shouldFailOperationsRejectedAfterThePreviousOneCompletes() throws Exception {
+        AsyncSession session = new AsyncSession(null, executor);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> first = session.submit(operation("first", release));
+        RecordingCallback secondCallback = new RecordingCallback();
+        Future<String> second = session.submit(operation("second", null), secondCallback);
+        RecordingCallback thirdCallback = new RecordingCallback();
+        Future<String> third = session.submit(operation("third", null), thirdCallback);
+
+        // the next operation is offered from the executor's only thread, which is still busy
+        release.countDown();
+
+        assertEquals("first", first.get(10, TimeUnit.SECONDS));
+        assertRejected(second, secondCallback);
+        assertRejected(third, thirdCallback);
+    }
+
+    @Test
+    public void shouldRunOperationsSubmittedOnceTheExecutorHasCapacity() throws Exception {
+        AsyncSession session = new AsyncSession(null, executor);
+        CountDownLatch release = new CountDownLatch(1);
+
+        session.submit(operation("first", release));
+        Future<String> rejected = session.submit(operation("second", null));
+        release.countDown();
+        try {
+            rejected.get(10, TimeUnit.SECONDS);
+            fail("Expected the operation to be rejected");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+
+        long deadline = System.currentTimeMillis() + 10000;
+        while (executor.getActiveCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals("third", session.submit(operation("third", null)).get(10, TimeUnit.SECONDS));
+    }
+
+    private void assertRejected(Future<String> future, RecordingCallback callback) throws Exception {
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            fail("Expected the operation to be rejected");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+        assertTrue(callback.done.await(10, TimeUnit.SECONDS));
+        assertTrue(callback.failure.get() instanceof RejectedExecutionException);
+    }
+
+    private static AsyncSession.Operation<String> operation(final String result, final CountDownLatch release) {
+        return new AsyncSession.Operation<String>() {
+            @Override
+            public String apply(Session session) {
+                if (release != null) {
+                    await(release);
+                }
+                return result;
+            }
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class RecordingCallback implements AsyncSession.Callback<String> {
+
+        private final CountDownLatch done = new CountDownLatch(1);
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        @Override
+        public void onSuccess(String result) {
+            done.countDown();
+        }
+
+        @Override
+        public void onFailure(Throwable cause) {
+            failure.set(cause);
+            done.countDown();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+
+package org.neo4j.ogm.unit.session.capability;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.neo4j.ogm.domain.music.Album;
+import org.neo4j.ogm.domain.music.Artist;
+import org.neo4j.ogm.session.Neo4jSession;
+import org.neo4j.ogm.session.SessionFactory;
+import org.neo4j.ogm.testutil.Neo4jIntegrationTestRule;
+
+/**
+ * Tests of deleting collections of entities and entities by id.
+ */
+public class DeleteCapabilityTest {
+
+	@ClassRule
+	public static Neo4jIntegrationTestRule databaseServerRule = new Neo4jIntegrationTestRule();
+
+	private SessionFactory sessionFactory;
+	private Neo4jSession session;
+	private Artist aerosmith;
+	private Artist bonJovi;
+	private Artist defLeppard;
+
+	@Before
+	public void init() throws IOException {
+		sessionFactory = new SessionFactory("org.neo4j.ogm.domain.music");
+		session = (Neo4jSession) sessionFactory.openSession(databaseServerRule.url());
+		aerosmith = new Artist("Aerosmith");
+		bonJovi = new Artist("Bon Jovi");
+		defLeppard = new Artist("Def Leppard");
+		session.save(Arrays.asList(aerosmith, bonJovi, defLeppard));
+	}
+
+	@After
+	public void clearDatabase() {
+		databaseServerRule.clearDatabase();
+	}
+
+	@Test
+	public void deleteCollectionShouldDeleteLists() {
+		List<Artist> artists = Arrays.asList(aerosmith, bonJovi);
+		session.delete(artists);
+		assertNull(session.load(Artist.class, aerosmith.getId()));
+		assertNull(session.load(Artist.class, bonJovi.getId()));
+		assertEquals(1, session.countEntitiesOfType(Artist.class));
+	}
+
+	@Test
+	public void deleteCollectionShouldDeleteSets() {
+		Set<Artist> artists = new HashSet<>();
+		artists.add(aerosmith);
+		artists.add(bonJovi);
+		artists.add(defLeppard);
+		session.delete(artists);
+		assertEquals(0, session.countEntitiesOfType(Artist.class));
+	}
+
+	@Test
+	public void deleteCollectionShouldDeleteArrays() {
+		Artist[] artists = new Artist[] {aerosmith, defLeppard};
+		session.delete(artists);
+		assertEquals(1, session.countEntitiesOfType(Artist.class));
+		assertEquals("Bon Jovi", session.loadAll(Artist.class).iterator().next().getName());
+	}
+
+	@Test
+	public void deleteCollectionShouldDeleteInBatches() {
+		session.setBatchSize(2);
+		session.delete(Arrays.asList(aerosmith, bonJovi, defLeppard));
+		assertEquals(0, session.countEntitiesOfType(Artist.class));
+		assertTrue(session.loadAll(Artist.class).isEmpty());
+	}
+
+	@Test
+	public void deleteByIdsShouldDeleteLoadedEntities() {
+		session.delete(Artist.class, Arrays.asList(aerosmith.getId(), bonJovi.getId()));
+		assertNull(session.load(Artist.class, aerosmith.getId()));
+		assertNull(session.load(Artist.class, bonJovi.getId()));
+		assertEquals(1, session.countEntitiesOfType(Artist.class));
+	}
+
+	@Test
+	public void deleteByIdsShouldDeleteEntitiesThatHaveNotBeenLoaded() {
+		Neo4jSession other = (Neo4jSession) sessionFactory.openSession(databaseServerRule.url());
+		other.setBatchSize(1);
+		other.delete(Artist.class, Arrays.asList(aerosmith.getId(), bonJovi.getId(), defLeppard.getId()));
+		assertEquals(0, other.countEntitiesOfType(Artist.class));
+	}
+
+	@Test
+	public void deleteByIdsShouldForgetRelationshipsOfDeletedNodes() {
+		Album album = new Album("Slippery When Wet");
+		album.setArtist(bonJovi);
+		bonJovi.getAlbums().add(album);
+		session.save(bonJovi);
+
+		session.delete(Album.class, Collections.singletonList(album.getId()));
+		assertTrue(session.context().mappedRelationships().isEmpty());
+
+		bonJovi.getAlbums().clear();
+		session.save(bonJovi);
+		assertEquals(0, session.countEntitiesOfType(Album.class));
+		assertEquals("Bon Jovi", session.load(Artist.class, bonJovi.getId()).getName());
+	}
+
+	@Test
+	public void deleteByIdsShouldNotDeleteEntitiesOfAnotherType() {
+		Album album = new Album("Slippery When Wet");
+		album.setArtist(bonJovi);
+		bonJovi.getAlbums().add(album);
+		session.save(bonJovi);
+
+		session.delete(Artist.class, Arrays.asList(album.getId(), aerosmith.getId()));
+		assertNull(session.load(Artist.class, aerosmith.getId()));
+		assertEquals(1, session.countEntitiesOfType(Album.class));
+		assertEquals(1, session.context().mappedRelationships().size());
+
+		session.clear();
+		Album loaded = session.load(Album.class, album.getId());
+		assertEquals("Slippery When Wet", loaded.getName());
+		assertEquals("Bon Jovi", loaded.getArtist().getName());
+	}
+}
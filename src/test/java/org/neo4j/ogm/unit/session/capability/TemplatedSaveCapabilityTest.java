@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+package org.neo4j.ogm.unit.session.capability;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.neo4j.ogm.cypher.compiler.CompilationMode;
+import org.neo4j.ogm.cypher.compiler.CypherContext;
+import org.neo4j.ogm.domain.music.Album;
+import org.neo4j.ogm.domain.music.Artist;
+import org.neo4j.ogm.domain.music.Collaboration;
+import org.neo4j.ogm.domain.music.Recording;
+import org.neo4j.ogm.domain.music.Studio;
+import org.neo4j.ogm.mapper.EntityGraphMapper;
+import org.neo4j.ogm.session.FlushMode;
+import org.neo4j.ogm.session.Neo4jSession;
+import org.neo4j.ogm.session.Session;
+import org.neo4j.ogm.session.SessionFactory;
+import org.neo4j.ogm.session.transaction.Transaction;
+import org.neo4j.ogm.testutil.Neo4jIntegrationTestRule;
+
+/**
+ * Tests of saving objects in the templated compilation mode.
+ */
+public class TemplatedSaveCapabilityTest {
+
+	@ClassRule
+	public static Neo4jIntegrationTestRule databaseServerRule = new Neo4jIntegrationTestRule();
+
+	private SessionFactory sessionFactory;
+	private Neo4jSession session;
+
+	@Before
+	public void init() throws IOException {
+		sessionFactory = new SessionFactory("org.neo4j.ogm.domain.music");
+		session = (Neo4jSession) sessionFactory.openSession(databaseServerRule.url());
+		session.setCompilationMode(CompilationMode.TEMPLATED);
+	}
+
+	@After
+	public void clearDatabase() {
+		databaseServerRule.clearDatabase();
+	}
+
+	@Test
+	public void shouldCreateNewObjectsAndTheRelationshipsBetweenThem() {
+		Artist queen = queen();
+
+		session.save(queen);
+
+		assertNotNull(queen.getId());
+		for (Album album : queen.getAlbums()) {
+			assertNotNull(album.getId());
+		}
+		assertNull(session.transactionManager().getCurrentTransaction());
+		assertEquals(2, reload(queen).getAlbums().size());
+	}
+
+	@Test
+	public void shouldNotRewriteObjectsOrRelationshipsThatHaveNotChanged() {
+		Artist queen = queen();
+		session.save(queen);
+
+		Album jazz = new Album("Jazz");
+		jazz.setArtist(queen);
+		queen.getAlbums().add(jazz);
+		session.save(queen);
+
+		assertNotNull(jazz.getId());
+		assertEquals(3, reload(queen).getAlbums().size());
+		assertEquals(3, other().loadAll(Album.class, 0).size());
+	}
+
+	@Test
+	public void shouldUpdateExistingObjects() {
+		Artist queen = queen();
+		session.save(queen);
+
+		queen.setName("Queen + Adam Lambert");
+		session.save(queen);
+
+		assertEquals("Queen + Adam Lambert", reload(queen).getName());
+	}
+
+	@Test
+	public void shouldDeleteRelationshipsThatHaveBeenRemoved() {
+		Artist queen = queen();
+		session.save(queen);
+
+		Album removed = queen.getAlbums().iterator().next();
+		removed.setArtist(null);
+		queen.getAlbums().remove(removed);
+		session.save(queen);
+
+		assertEquals(1, reload(queen).getAlbums().size());
+		assertEquals(2, other().loadAll(Album.class, 0).size());
+	}
+
+	@Test
+	public void shouldCreateRelationshipEntitiesWithTheirProperties() {
+		Album album = new Album("A Night at the Opera");
+		Studio studio = new Studio("Rockfield");
+		Recording recording = new Recording(album, studio, 1975);
+		album.setRecording(recording);
+
+		session.save(album);
+
+		assertNotNull(recording.getId());
+		Recording loaded = other().load(Recording.class, recording.getId());
+		assertEquals(1975, loaded.getYear());
+		assertEquals("Rockfield", loaded.getStudio().getName());
+	}
+
+	@Test
+	public void shouldCreateRelationshipEntitiesWithPropertiesThatNeedQuoting() {
+		Collaboration collaboration = new Collaboration(new Artist("Queen"), new Artist("David Bowie"), 1981);
+
+		session.save(collaboration);
+
+		Collaboration loaded = other().load(Collaboration.class, collaboration.getId());
+		assertEquals(1981, loaded.getYear());
+		assertEquals("David Bowie", loaded.getCollaborator().getName());
+	}
+
+	@Test
+	public void shouldSaveLargeObjectGraphsInBatches() {
+		session.setBatchSize(100);
+		Artist artist = new Artist("Prolific");
+		for (int i = 0; i < 250; i++) {
+			Album album = new Album("Album " + i);
+			album.setArtist(artist);
+			artist.getAlbums().add(album);
+		}
+
+		session.save(artist);
+
+		Set<Long> ids = new HashSet<>();
+		for (Album album : artist.getAlbums()) {
+			ids.add(album.getId());
+		}
+		assertEquals(250, ids.size());
+		assertFalse(ids.contains(null));
+		assertEquals(250, session.context().mappedRelationships().size());
+		assertEquals(250, reload(artist).getAlbums().size());
+	}
+
+	@Test
+	public void shouldSaveAndRollBackInAnExplicitTransaction() {
+		Artist queen = queen();
+		try (Transaction tx = session.beginTransaction()) {
+			session.save(queen);
+			assertEquals(2, session.loadAll(Album.class).size());
+			tx.rollback();
+		}
+
+		assertEquals(0, other().loadAll(Artist.class, 0).size());
+	}
+
+	@Test
+	public void shouldSendDependentStatementsWithTheCommitRequestInWriteBehindMode() {
+		session.setFlushMode(FlushMode.WRITE_BEHIND);
+		Artist queen = queen();
+		try (Transaction tx = session.beginTransaction()) {
+			session.save(queen);
+			tx.commit();
+		}
+
+		assertNotNull(queen.getId());
+		assertEquals(2, reload(queen).getAlbums().size());
+	}
+
+	@Test
+	public void shouldRegisterNewRelationshipsWithTheMappingContext() {
+		Artist queen = queen();
+		session.save(queen);
+
+		assertEquals(2, session.context().mappedRelationships().size());
+		CypherContext context = new EntityGraphMapper(session.metaData(), session.context(), CompilationMode.TEMPLATED).map(queen);
+		assertTrue(context.getStatements().isEmpty());
+	}
+
+	private Artist queen() {
+		Artist queen = new Artist("Queen");
+		for (String name : new String[] { "A Night at the Opera", "News of the World" }) {
+			Album album = new Album(name);
+			album.setArtist(queen);
+			queen.getAlbums().add(album);
+		}
+		return queen;
+	}
+
+	private Artist reload(Artist artist) {
+		return other().load(Artist.class, artist.getId());
+	}
+
+	private Session other() {
+		return sessionFactory.openSession(databaseServerRule.url());
+	}
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+package org.neo4j.ogm.unit.session.capability;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.Collection;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.neo4j.ogm.domain.music.Album;
+import org.neo4j.ogm.domain.music.Artist;
+import org.neo4j.ogm.session.FlushMode;
+import org.neo4j.ogm.session.Neo4jSession;
+import org.neo4j.ogm.session.Session;
+import org.neo4j.ogm.session.SessionFactory;
+import org.neo4j.ogm.session.transaction.LongTransaction;
+import org.neo4j.ogm.session.transaction.Transaction;
+import org.neo4j.ogm.testutil.Neo4jIntegrationTestRule;
+
+/**
+ * Tests of saving objects in the write-behind flush mode.
+ */
+public class WriteBehindCapabilityTest {
+
+	@ClassRule
+	public static Neo4jIntegrationTestRule databaseServerRule = new Neo4jIntegrationTestRule();
+
+	private SessionFactory sessionFactory;
+	private Neo4jSession session;
+
+	@Before
+	public void init() throws IOException {
+		sessionFactory = new SessionFactory("org.neo4j.ogm.domain.music");
+		session = (Neo4jSession) sessionFactory.openSession(databaseServerRule.url());
+		session.setFlushMode(FlushMode.WRITE_BEHIND);
+	}
+
+	@After
+	public void clearDatabase() {
+		databaseServerRule.clearDatabase();
+	}
+
+	@Test
+	public void shouldHoldSavesUntilFlushed() {
+		Artist queen = new Artist("Queen");
+		Artist u2 = new Artist("U2");
+		session.save(queen);
+		session.save(u2);
+
+		assertNull(queen.getId());
+		assertEquals(0, countArtists());
+
+		session.flush();
+
+		assertNotNull(queen.getId());
+		assertNotNull(u2.getId());
+		assertEquals(2, countArtists());
+	}
+
+	@Test
+	public void shouldCreateObjectsReachableFromSeveralSavedObjectsOnlyOnce() {
+		Artist queen = new Artist("Queen");
+		Album aNightAtTheOpera = new Album("A Night at the Opera");
+		Album newsOfTheWorld = new Album("News of the World");
+		aNightAtTheOpera.setArtist(queen);
+		newsOfTheWorld.setArtist(queen);
+		queen.getAlbums().add(aNightAtTheOpera);
+		queen.getAlbums().add(newsOfTheWorld);
+
+		session.save(aNightAtTheOpera);
+		session.save(newsOfTheWorld);
+		session.flush();
+
+		assertEquals(1, countArtists());
+		Session other = sessionFactory.openSession(databaseServerRule.url());
+		assertEquals(2, other.load(Artist.class, queen.getId()).getAlbums().size());
+	}
+
+	@Test
+	public void shouldFlushWhenTheThresholdIsReached() {
+		session.setWriteBehindThreshold(10);
+		Artist last = null;
+		for (int i = 0; i < 25; i++) {
+			last = new Artist("Artist " + i);
+			session.save(last);
+		}
+
+		assertEquals(20, countArtists());
+		assertNull(last.getId());
+	}
+
+	@Test
+	public void shouldFlushBeforeOtherRequests() {
+		session.save(new Artist("Queen"));
+
+		Collection<Artist> artists = session.loadAll(Artist.class);
+
+		assertEquals(1, artists.size());
+		assertNotNull(artists.iterator().next().getId());
+	}
+
+	@Test
+	public void shouldFlushOnCommit() {
+		Artist queen = new Artist("Queen");
+		try (Transaction tx = session.beginTransaction()) {
+			session.save(queen);
+			assertNull(queen.getId());
+			tx.commit();
+		}
+
+		assertNotNull(queen.getId());
+		assertEquals(1, countArtists());
+	}
+
+	@Test
+	public void shouldSendSavesWithTheCommitRequestWhenNothingElseBeganTheTransaction() {
+		Artist queen = new Artist("Queen");
+		try (Transaction tx = session.beginTransaction()) {
+			session.save(queen);
+			tx.commit();
+			assertFalse(((LongTransaction) tx).isBegun());
+		}
+
+		assertNotNull(queen.getId());
+		assertEquals(1, countArtists());
+	}
+
+	@Test
+	public void shouldSendSavesWithTheCommitRequestOfABegunTransaction() {
+		Artist queen = new Artist("Queen");
+		try (Transaction tx = session.beginTransaction()) {
+			session.save(new Artist("U2"));
+			session.countEntitiesOfType(Artist.class);
+			assertTrue(((LongTransaction) tx).isBegun());
+
+			session.save(queen);
+			tx.commit();
+		}
+
+		assertNotNull(queen.getId());
+		assertEquals(2, countArtists());
+	}
+
+	@Test
+	public void shouldDiscardSavesOnRollback() {
+		try (Transaction tx = session.beginTransaction()) {
+			session.save(new Artist("Queen"));
+			tx.rollback();
+		}
+
+		session.flush();
+		assertEquals(0, countArtists());
+	}
+
+	private int countArtists() {
+		Session other = sessionFactory.openSession(databaseServerRule.url());
+		return other.loadAll(Artist.class, 0).size();
+	}
+}
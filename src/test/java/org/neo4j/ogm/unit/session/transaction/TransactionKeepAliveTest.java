@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2002-2015 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This product is licensed to you under the Apache License, Version 2.0 (the "License").
+ * You may not use this product except in compliance with the License.
+ *
+ * This product may include a number of subcomponents with
+ * separate copyright notices and license terms. Your use of the source
+ * code for these subcomponents is subject to the terms and
+ * conditions of the subcomponent's license, as noted in the LICENSE file.
+ *
+ */
+package org.neo4j.ogm.unit.session.transaction;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.ogm.mapper.MappingContext;
+import org.neo4j.ogm.metadata.MetaData;
+import org.neo4j.ogm.session.SessionMetrics;
+import org.neo4j.ogm.session.transaction.LongTransaction;
+import org.neo4j.ogm.session.transaction.Transaction;
+import org.neo4j.ogm.session.transaction.TransactionEndpoint;
+import org.neo4j.ogm.session.transaction.TransactionKeepAlive;
+import org.neo4j.ogm.session.transaction.TransactionManager;
+
+/**
+ * Checks that keep-alive requests are never sent to a transaction at the same time as its owner's requests.
+ */
+public class TransactionKeepAliveTest {
+
+    private static final String SERVER = "http://localhost:7474";
+    private static final String TX_URL = SERVER + "/db/data/transaction/1";
+
+    private static final MetaData metaData = new MetaData("org.neo4j.ogm.domain.education");
+
+    private final RecordingEndpoint endpoint = new RecordingEndpoint();
+    private final SessionMetrics metrics = new SessionMetrics();
+
+    private ScheduledExecutorService scheduler;
+    private TransactionKeepAlive keepAlive;
+    private TransactionManager transactionManager;
+
+    @Before
+    public void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        // transactions idle for 50ms are kept alive
+        keepAlive = new TransactionKeepAlive(scheduler, 200, 0.25, metrics);
+        transactionManager = new TransactionManager(endpoint, SERVER);
+        transactionManager.setKeepAlive(keepAlive);
+    }
+
+    @After
+    public void tearDown() {
+        keepAlive.cancel();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void shouldNotKeepAliveATransactionWithARequestInFlight() throws InterruptedException {
+        beginTransaction();
+
+        LongTransaction tx = transactionManager.requestStarted(TX_URL);
+        assertNotNull(tx);
+        Thread.sleep(300);
+        assertEquals(0, endpoint.keepAlives.get());
+
+        transactionManager.requestCompleted(tx);
+        Thread.sleep(300);
+        assertTrue(endpoint.keepAlives.get() > 0);
+        assertEquals(0, metrics.getKeepAliveFailures());
+    }
+
+    @Test
+    public void shouldNotTrackRequestsToOtherUrls() {
+        beginTransaction();
+        assertNull(transactionManager.requestStarted(SERVER + "/db/data/transaction/commit"));
+    }
+
+    @Test
+    public void shouldStopKeepingAliveBeforeCommitting() throws InterruptedException {
+        endpoint.keepAliveMillis = 20;
+        for (int i = 0; i < 10; i++) {
+            Transaction tx = beginTransaction();
+            Thread.sleep(60 + i * 3);
+            endpoint.keepAliveSize = -1;
+            tx.commit();
+            assertEquals(0, endpoint.keepAliveSize);
+        }
+        assertEquals(0, endpoint.overlaps.get());
+        assertEquals(0, metrics.getKeepAliveFailures());
+    }
+
+    @Test
+    public void shouldStopKeepingAliveBeforeRollingBack() throws InterruptedException {
+        endpoint.keepAliveMillis = 20;
+        for (int i = 0; i < 10; i++) {
+            Transaction tx = beginTransaction();
+            Thread.sleep(60 + i * 3);
+            tx.rollback();
+        }
+        assertEquals(0, endpoint.overlaps.get());
+        assertEquals(0, metrics.getKeepAliveFailures());
+    }
+
+    private Transaction beginTransaction() {
+        Transaction tx = transactionManager.openTransaction(new MappingContext(metaData));
+        transactionManager.transactionBegun(tx.url(), TX_URL);
+        assertEquals(1, keepAlive.size());
+        return tx;
+    }
+
+    private class RecordingEndpoint implements TransactionEndpoint {
+
+        final AtomicInteger keepAlives = new AtomicInteger();
+        final AtomicInteger overlaps = new AtomicInteger();
+        final AtomicInteger active = new AtomicInteger();
+
+        volatile long keepAliveMillis;
+        volatile int keepAliveSize;
+
+        @Override
+        public void commit(String transactionUrl) {
+            keepAliveSize = keepAlive.size();
+            request(0);
+        }
+
+        @Override
+        public void rollback(String transactionUrl) {
+            request(0);
+        }
+
+        @Override
+        public void keepAlive(String transactionUrl) {
+            keepAlives.incrementAndGet();
+            request(keepAliveMillis);
+        }
+
+        private void request(long millis) {
+            if (active.incrementAndGet() > 1) {
+                overlaps.incrementAndGet();
+            }
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                active.decrementAndGet();
+            }
+        }
+    }
+}